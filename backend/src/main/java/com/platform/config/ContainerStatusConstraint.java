@@ -0,0 +1,59 @@
+// src/main/java/com/platform/config/ContainerStatusConstraint.java
+package com.platform.config;
+
+import com.platform.model.enums.ContainerStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the check constraint on containers.status in line with ContainerStatus.
+ *
+ * Hibernate creates the constraint together with the table, listing the statuses of that
+ * time, and ddl-auto: update never alters it. On a database created before STARTING,
+ * STOPPING, REMOVING or HIBERNATED existed, writing one of them fails until the constraint
+ * is recreated, which this does on every startup.
+ */
+@Component
+public class ContainerStatusConstraint {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContainerStatusConstraint.class);
+
+    static final String CONSTRAINT = "containers_status_check";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Only injected so Hibernate has created or updated the schema before this runs
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void apply() {
+        String database = jdbcTemplate.execute(
+            (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            logger.debug("Skipping {} on {}", CONSTRAINT, database);
+            return;
+        }
+        // One statement, so no write ever sees the table without the constraint
+        jdbcTemplate.execute(alterStatement());
+        logger.info("Recreated {} for {} statuses", CONSTRAINT, ContainerStatus.values().length);
+    }
+
+    static String alterStatement() {
+        String statuses = Arrays.stream(ContainerStatus.values())
+            .map(status -> "'" + status.name() + "'")
+            .collect(Collectors.joining(", "));
+        return "ALTER TABLE containers DROP CONSTRAINT IF EXISTS " + CONSTRAINT +
+               ", ADD CONSTRAINT " + CONSTRAINT + " CHECK (status IN (" + statuses + "))";
+    }
+}
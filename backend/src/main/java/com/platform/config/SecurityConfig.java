@@ -1,42 +1,83 @@
 // src/main/java/com/platform/config/SecurityConfig.java
 package com.platform.config;
 
+import com.platform.security.crypto.BoundedPasswordEncoder;
 import com.platform.security.jwt.JwtAuthenticationFilter;
+import com.platform.security.ratelimit.RateLimitFilter;
 import com.platform.security.service.CustomUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.Arrays;
+import java.util.function.Supplier;
 
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity(prePostEnabled = true)
 public class SecurityConfig {
 
+    public static final String GATEWAY_SECRET_HEADER = "X-Gateway-Secret";
+
     @Autowired
     private CustomUserDetailsService customUserDetailsService;
 
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
-    @Bean
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${password-hashing.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    // 0 means one thread per CPU core
+    @Value("${password-hashing.threads:0}")
+    private int hashingThreads;
+
+    @Value("${password-hashing.queue-capacity:64}")
+    private int hashingQueueCapacity;
+
+    @Value("${password-hashing.timeout-ms:10000}")
+    private long hashingTimeoutMs;
+
+    @Value("${password-hashing.retry-after-seconds:1}")
+    private long hashingRetryAfterSeconds;
+
+    // Shared with the SSH gateway; introspection and gateway login are refused while it is empty
+    @Value("${jwt.introspection.client-secret:}")
+    private String introspectionClientSecret;
+
+    @Bean(destroyMethod = "shutdown")
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(bcryptStrength, hashingThreads, hashingQueueCapacity,
+                hashingTimeoutMs, hashingRetryAfterSeconds, meterRegistry);
     }
 
     @Bean
@@ -44,6 +85,8 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(customUserDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Rehashes stored passwords on login when the configured BCrypt strength changes
+        authProvider.setUserDetailsPasswordService(customUserDetailsService);
         return authProvider;
     }
 
@@ -59,10 +102,21 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(authz -> authz
+                // Completion of async responses (job event streams); the original request was authorized
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                // Auth endpoints that act on the current user
+                .requestMatchers("/api/auth/me", "/api/auth/logout", "/api/auth/logout-all",
+                                 "/api/auth/validate-token").authenticated()
+                // Only for the SSH gateway: introspection (RFC 7662 wants an authenticated caller), and the
+                // login whose rate limit is sized for all gateway users sharing one IP
+                .requestMatchers("/api/auth/introspect", "/api/auth/gateway/login").access(this::isGatewayClient)
+                // Session heartbeats; a session can outlive the user's token, so the gateway itself authenticates
+                .requestMatchers(HttpMethod.POST, "/api/containers/activity").access(this::isGatewayClient)
                 // Public endpoints
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/api/containers/images").permitAll() // Adicionar esta linha
                 .requestMatchers("/actuator/**").permitAll()
+                .requestMatchers("/.well-known/**").permitAll()
                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
                 .requestMatchers("/ws/**").permitAll() // WebSocket endpoints
                 .requestMatchers("/", "/favicon.ico").permitAll()
@@ -70,11 +124,26 @@ public class SecurityConfig {
                 .anyRequest().authenticated()
             )
             .authenticationProvider(authenticationProvider())
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            // After JWT authentication so limits can be keyed by user id
+            .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
 
+    private AuthorizationDecision isGatewayClient(Supplier<Authentication> authentication,
+                                                  RequestAuthorizationContext context) {
+        HttpServletRequest request = context.getRequest();
+        String presented = request.getHeader(GATEWAY_SECRET_HEADER);
+        if (introspectionClientSecret.isBlank() || presented == null) {
+            return new AuthorizationDecision(false);
+        }
+        // Constant time, so the secret cannot be guessed byte by byte
+        return new AuthorizationDecision(MessageDigest.isEqual(
+            presented.getBytes(StandardCharsets.UTF_8),
+            introspectionClientSecret.getBytes(StandardCharsets.UTF_8)));
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
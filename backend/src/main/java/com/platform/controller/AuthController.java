@@ -1,23 +1,30 @@
 // src/main/java/com/platform/controller/AuthController.java
 package com.platform.controller;
 
+import com.platform.dto.request.IntrospectRequest;
 import com.platform.dto.request.LoginRequest;
 import com.platform.dto.request.RefreshTokenRequest;
 import com.platform.dto.request.RegisterRequest;
 import com.platform.dto.response.AuthResponse;
+import com.platform.dto.response.IntrospectResponse;
 import com.platform.dto.response.MessageResponse;
 import com.platform.dto.response.UserDTO;
 import com.platform.security.jwt.UserPrincipal;
 import com.platform.service.AuthService;
+import com.platform.service.TokenIntrospectionService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+
 @RestController
 @RequestMapping("/api/auth")
 @CrossOrigin(origins = "*", maxAge = 3600)
@@ -28,6 +35,13 @@ public class AuthController {
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private TokenIntrospectionService tokenIntrospectionService;
+
+    // Upper bound for caching introspection results, so disabled users are noticed in time
+    @Value("${jwt.introspection.max-cache-seconds:60}")
+    private long introspectionMaxCacheSeconds;
+
     @PostMapping("/login")
     public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest loginRequest) {
         logger.info("Login attempt for user: {}", loginRequest.getUsername());
@@ -37,6 +51,14 @@ public class AuthController {
         return ResponseEntity.ok(authResponse);
     }
 
+    // Dedicated to the SSH gateway: repeat logins skip BCrypt and no refresh token is issued
+    @PostMapping("/gateway/login")
+    public ResponseEntity<AuthResponse> gatewayLogin(@Valid @RequestBody LoginRequest loginRequest) {
+        AuthResponse authResponse = authService.gatewayLogin(loginRequest);
+        
+        return ResponseEntity.ok(authResponse);
+    }
+
     @PostMapping("/register")
     public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest registerRequest) {
         logger.info("Registration attempt for username: {}, email: {}", 
@@ -88,17 +110,44 @@ public class AuthController {
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<MessageResponse> logout(@AuthenticationPrincipal UserPrincipal userPrincipal) {
-        // With JWT, logout is handled client-side by removing the token
-        // In a more complex implementation, you might maintain a blacklist of tokens
+    public ResponseEntity<MessageResponse> logout(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @RequestBody(required = false) RefreshTokenRequest refreshTokenRequest) {
+        // The access token expires on its own; the refresh token is revoked server-side
+        authService.logout(userPrincipal,
+                refreshTokenRequest != null ? refreshTokenRequest.getRefreshToken() : null);
         logger.info("User {} logged out", userPrincipal.getUsername());
         
         return ResponseEntity.ok(MessageResponse.success("Logged out successfully"));
     }
 
+    @PostMapping("/logout-all")
+    public ResponseEntity<MessageResponse> logoutEverywhere(@AuthenticationPrincipal UserPrincipal userPrincipal) {
+        int revoked = authService.logoutEverywhere(userPrincipal);
+        logger.info("User {} logged out of {} sessions", userPrincipal.getUsername(), revoked);
+        
+        return ResponseEntity.ok(MessageResponse.success("Logged out of all sessions"));
+    }
+
     @GetMapping("/validate-token")
     public ResponseEntity<MessageResponse> validateToken(@AuthenticationPrincipal UserPrincipal userPrincipal) {
         // If we reach here, the JWT filter already validated the token
         return ResponseEntity.ok(MessageResponse.success("Token is valid"));
     }
-}
\ No newline at end of file
+
+    @PostMapping("/introspect")
+    public ResponseEntity<IntrospectResponse> introspect(@Valid @RequestBody IntrospectRequest introspectRequest) {
+        IntrospectResponse response = tokenIntrospectionService.introspect(introspectRequest.getTokens());
+
+        // Results stay valid until the first active token expires
+        long maxAge = introspectionMaxCacheSeconds;
+        Long earliestExpiry = response.getEarliestExpiry();
+        if (earliestExpiry != null) {
+            maxAge = Math.max(0, Math.min(maxAge, earliestExpiry - System.currentTimeMillis() / 1000));
+        }
+
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.maxAge(Duration.ofSeconds(maxAge)).cachePrivate())
+            .body(response);
+    }
+}
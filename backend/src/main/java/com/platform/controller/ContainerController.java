@@ -1,21 +1,38 @@
 // src/main/java/com/platform/controller/ContainerController.java
 package com.platform.controller;
 
+import com.platform.dto.request.BulkContainerRequest;
+import com.platform.dto.request.ContainerActivityRequest;
 import com.platform.dto.request.CreateContainerRequest;
+import com.platform.dto.response.BulkContainerResultDTO;
 import com.platform.dto.response.ContainerDTO;
-import com.platform.dto.response.MessageResponse;
+import com.platform.dto.response.ContainerJobDTO;
+import com.platform.dto.response.ContainerTelemetryDTO;
+import com.platform.model.enums.ContainerStatus;
 import com.platform.security.jwt.UserPrincipal;
 import com.platform.service.ContainerService;
+import com.platform.service.ContainerStatusCounters;
+import com.platform.service.job.ContainerBulkService;
+import com.platform.service.job.ContainerJob;
+import com.platform.service.job.ContainerJobService;
+import com.platform.service.stats.ContainerTelemetryService;
+import com.platform.service.stats.TelemetryResolution;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.net.URI;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/containers")
@@ -27,17 +44,29 @@ public class ContainerController {
     @Autowired
     private ContainerService containerService;
 
+    @Autowired
+    private ContainerJobService containerJobService;
+
+    @Autowired
+    private ContainerBulkService containerBulkService;
+
+    @Autowired
+    private ContainerTelemetryService containerTelemetryService;
+
+    @Autowired
+    private ContainerStatusCounters statusCounters;
+
     @PostMapping
-    public ResponseEntity<ContainerDTO> createContainer(
+    public ResponseEntity<ContainerJobDTO> createContainer(
             @Valid @RequestBody CreateContainerRequest request,
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
         
         logger.info("Creating container '{}' with image '{}' for user: {}", 
                    request.getName(), request.getImage(), userPrincipal.getUsername());
         
-        ContainerDTO container = containerService.createContainer(request, userPrincipal.getUsername());
+        ContainerJob job = containerJobService.submitCreate(request, userPrincipal);
         
-        return ResponseEntity.status(HttpStatus.CREATED).body(container);
+        return accepted(job);
     }
 
     @GetMapping
@@ -46,7 +75,8 @@ public class ContainerController {
         
         logger.debug("Fetching containers for user: {}", userPrincipal.getUsername());
         
-        List<ContainerDTO> containers = containerService.getUserContainers(userPrincipal.getUsername());
+        containerService.reconcileIfUnsynced(userPrincipal);
+        List<ContainerDTO> containers = containerService.getUserContainers(userPrincipal);
         
         return ResponseEntity.ok(containers);
     }
@@ -58,45 +88,108 @@ public class ContainerController {
         
         logger.debug("Fetching container {} for user: {}", id, userPrincipal.getUsername());
         
-        ContainerDTO container = containerService.getContainer(id, userPrincipal.getUsername());
+        ContainerDTO container = containerService.getContainer(id, userPrincipal);
         
         return ResponseEntity.ok(container);
     }
 
     @PostMapping("/{id}/start")
-    public ResponseEntity<ContainerDTO> startContainer(
+    public ResponseEntity<ContainerJobDTO> startContainer(
             @PathVariable Long id,
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
         
         logger.info("Starting container {} for user: {}", id, userPrincipal.getUsername());
         
-        ContainerDTO container = containerService.startContainer(id, userPrincipal.getUsername());
+        ContainerJob job = containerJobService.submitStart(id, userPrincipal);
+        
+        return accepted(job);
+    }
+
+    // Synchronous: the SSH gateway calls this right before proxying a session
+    @PostMapping("/{id}/connect")
+    public ResponseEntity<ContainerDTO> connectContainer(
+            @PathVariable Long id,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        
+        logger.debug("Connecting to container {} for user: {}", id, userPrincipal.getUsername());
+        
+        ContainerDTO container = containerService.connectContainer(id, userPrincipal);
         
         return ResponseEntity.ok(container);
     }
 
+    // Only for the SSH gateway (see SecurityConfig): the containers it has open sessions to
+    @PostMapping("/activity")
+    public ResponseEntity<Void> recordSessionActivity(@Valid @RequestBody ContainerActivityRequest request) {
+        
+        int touched = containerService.recordSessionActivity(request.getContainerIds());
+        logger.debug("Gateway reported {} containers with open sessions, {} running", 
+                    request.getContainerIds().size(), touched);
+        
+        return ResponseEntity.noContent().build();
+    }
+
     @PostMapping("/{id}/stop")
-    public ResponseEntity<ContainerDTO> stopContainer(
+    public ResponseEntity<ContainerJobDTO> stopContainer(
             @PathVariable Long id,
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
         
         logger.info("Stopping container {} for user: {}", id, userPrincipal.getUsername());
         
-        ContainerDTO container = containerService.stopContainer(id, userPrincipal.getUsername());
+        ContainerJob job = containerJobService.submitStop(id, userPrincipal);
         
-        return ResponseEntity.ok(container);
+        return accepted(job);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<MessageResponse> deleteContainer(
+    public ResponseEntity<ContainerJobDTO> deleteContainer(
             @PathVariable Long id,
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
         
         logger.info("Deleting container {} for user: {}", id, userPrincipal.getUsername());
         
-        containerService.deleteContainer(id, userPrincipal.getUsername());
+        ContainerJob job = containerJobService.submitDelete(id, userPrincipal);
+        
+        return accepted(job);
+    }
+
+    // Waits for every item and returns them together with the totals
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkContainerResultDTO> bulkAction(
+            @Valid @RequestBody BulkContainerRequest request,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        
+        BulkContainerResultDTO result = containerBulkService.execute(request, userPrincipal);
+        
+        return ResponseEntity.ok(result);
+    }
+
+    // Server-Sent Events: "item" for every container as it finishes, "complete" with the totals
+    @PostMapping(value = "/bulk", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamBulkAction(
+            @Valid @RequestBody BulkContainerRequest request,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        
+        return containerBulkService.stream(request, userPrincipal);
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ContainerJobDTO> getJob(
+            @PathVariable String jobId,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        
+        ContainerJob job = containerJobService.getJob(jobId, userPrincipal);
+        
+        return ResponseEntity.ok(ContainerJobDTO.fromJob(job));
+    }
+
+    // Server-Sent Events: "progress" for every stage, "complete" once the job has finished
+    @GetMapping(value = "/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamJob(
+            @PathVariable String jobId,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
         
-        return ResponseEntity.ok(MessageResponse.success("Container deleted successfully"));
+        return containerJobService.subscribe(jobId, userPrincipal);
     }
 
     @GetMapping("/{id}/logs")
@@ -108,11 +201,31 @@ public class ContainerController {
         logger.debug("Fetching logs for container {} (lines: {}) for user: {}", 
                     id, lines, userPrincipal.getUsername());
         
-        List<String> logs = containerService.getContainerLogs(id, userPrincipal.getUsername(), lines);
+        List<String> logs = containerService.getContainerLogs(id, userPrincipal, lines);
         
         return ResponseEntity.ok(logs);
     }
 
+    // Served from the sampled history in memory; resolution is raw, 1m or 5m
+    @GetMapping("/{id}/telemetry")
+    public ResponseEntity<ContainerTelemetryDTO> getContainerTelemetry(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "raw") String resolution,
+            @RequestParam(defaultValue = "60") int minutes,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        
+        TelemetryResolution telemetryResolution = TelemetryResolution.fromParam(resolution);
+        // Ownership check; reads the row, not Docker
+        ContainerDTO container = containerService.getContainer(id, userPrincipal);
+        long since = System.currentTimeMillis() - minutes * 60_000L;
+        
+        ContainerTelemetryDTO telemetry = new ContainerTelemetryDTO(id, telemetryResolution.getParam(),
+            containerTelemetryService.current(container.getContainerId()).orElse(null),
+            containerTelemetryService.history(container.getContainerId(), telemetryResolution, since));
+        
+        return ResponseEntity.ok(telemetry);
+    }
+
     @GetMapping("/images")
     public ResponseEntity<List<String>> getAvailableImages() {
         List<String> images = List.of(
@@ -128,26 +241,36 @@ public class ContainerController {
         return ResponseEntity.ok(images);
     }
 
+    // Served from in-memory counters, so it costs neither a row load nor a Docker call
     @GetMapping("/stats")
     public ResponseEntity<ContainerStatsResponse> getUserStats(
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
         
-        List<ContainerDTO> containers = containerService.getUserContainers(userPrincipal.getUsername());
-        
-        long running = containers.stream().filter(ContainerDTO::isRunning).count();
-        long total = containers.size();
-        long stopped = total - running;
-        
-        ContainerStatsResponse stats = new ContainerStatsResponse(total, running, stopped);
-        
-        return ResponseEntity.ok(stats);
+        return ResponseEntity.ok(ContainerStatsResponse.fromCounts(statusCounters.countsFor(userPrincipal.getId())));
+    }
+
+    // Host-wide totals over all users
+    @GetMapping("/stats/all")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ContainerStatsResponse> getHostStats() {
+        return ResponseEntity.ok(ContainerStatsResponse.fromCounts(statusCounters.totals()));
+    }
+
+    private ResponseEntity<ContainerJobDTO> accepted(ContainerJob job) {
+        return ResponseEntity.accepted()
+            .location(URI.create("/api/containers/jobs/" + job.getId()))
+            .body(ContainerJobDTO.fromJob(job));
     }
 
     // Inner class for stats response
     public static class ContainerStatsResponse {
+        private static final Set<ContainerStatus> STOPPED_STATUSES =
+            EnumSet.of(ContainerStatus.CREATED, ContainerStatus.EXITED, ContainerStatus.DEAD);
+
         private long total;
         private long running;
         private long stopped;
+        private Map<ContainerStatus, Long> byStatus;
 
         public ContainerStatsResponse(long total, long running, long stopped) {
             this.total = total;
@@ -155,6 +278,16 @@ public class ContainerController {
             this.stopped = stopped;
         }
 
+        public static ContainerStatsResponse fromCounts(Map<ContainerStatus, Long> counts) {
+            long total = counts.values().stream().mapToLong(Long::longValue).sum();
+            long running = counts.getOrDefault(ContainerStatus.RUNNING, 0L);
+            // Paused, hibernated and transitional containers are only in byStatus
+            long stopped = STOPPED_STATUSES.stream().mapToLong(status -> counts.getOrDefault(status, 0L)).sum();
+            ContainerStatsResponse stats = new ContainerStatsResponse(total, running, stopped);
+            stats.setByStatus(counts);
+            return stats;
+        }
+
         public long getTotal() { return total; }
         public void setTotal(long total) { this.total = total; }
 
@@ -163,5 +296,8 @@ public class ContainerController {
 
         public long getStopped() { return stopped; }
         public void setStopped(long stopped) { this.stopped = stopped; }
+
+        public Map<ContainerStatus, Long> getByStatus() { return byStatus; }
+        public void setByStatus(Map<ContainerStatus, Long> byStatus) { this.byStatus = byStatus; }
     }
-}
\ No newline at end of file
+}
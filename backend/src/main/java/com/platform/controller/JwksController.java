@@ -0,0 +1,32 @@
+// src/main/java/com/platform/controller/JwksController.java
+package com.platform.controller;
+
+import com.platform.security.jwt.JwtKeyManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+public class JwksController {
+
+    @Autowired
+    private JwtKeyManager keyManager;
+
+    @Value("${jwt.signing.jwks-max-age-seconds:300}")
+    private long jwksMaxAgeSeconds;
+
+    // Public verification keys, so other services can check tokens without calling the API
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, List<Map<String, Object>>>> getJwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(jwksMaxAgeSeconds, TimeUnit.SECONDS).cachePublic())
+                .body(Map.of("keys", keyManager.getPublicJwks()));
+    }
+}
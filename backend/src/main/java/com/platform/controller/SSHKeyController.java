@@ -34,7 +34,7 @@ public class SSHKeyController {
         
         logger.info("Adding SSH key '{}' for user: {}", request.getName(), userPrincipal.getUsername());
         
-        SSHKeyDTO sshKey = sshKeyService.addSSHKey(request, userPrincipal.getUsername());
+        SSHKeyDTO sshKey = sshKeyService.addSSHKey(request, userPrincipal.getId());
         
         return ResponseEntity.status(HttpStatus.CREATED).body(sshKey);
     }
@@ -45,7 +45,7 @@ public class SSHKeyController {
         
         logger.debug("Fetching SSH keys for user: {}", userPrincipal.getUsername());
         
-        List<SSHKeyDTO> sshKeys = sshKeyService.getUserSSHKeys(userPrincipal.getUsername());
+        List<SSHKeyDTO> sshKeys = sshKeyService.getUserSSHKeys(userPrincipal.getId());
         
         return ResponseEntity.ok(sshKeys);
     }
@@ -57,7 +57,7 @@ public class SSHKeyController {
         
         logger.info("Deleting SSH key {} for user: {}", id, userPrincipal.getUsername());
         
-        sshKeyService.deleteSSHKey(id, userPrincipal.getUsername());
+        sshKeyService.deleteSSHKey(id, userPrincipal.getId());
         
         return ResponseEntity.ok(MessageResponse.success("SSH key deleted successfully"));
     }
@@ -66,7 +66,7 @@ public class SSHKeyController {
     public ResponseEntity<SSHKeyStatsResponse> getUserSSHKeyStats(
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
         
-        List<SSHKeyDTO> sshKeys = sshKeyService.getUserSSHKeys(userPrincipal.getUsername());
+        List<SSHKeyDTO> sshKeys = sshKeyService.getUserSSHKeys(userPrincipal.getId());
         
         long totalKeys = sshKeys.size();
         long activeKeys = sshKeys.stream().filter(SSHKeyDTO::isActive).count();
@@ -0,0 +1,65 @@
+package com.platform.dto.request;
+
+import com.platform.model.enums.ContainerBulkAction;
+import com.platform.model.enums.ContainerStatus;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+import java.util.Map;
+
+// Targets are either explicit ids or a selector, not both
+public class BulkContainerRequest {
+
+    @NotNull(message = "Action is required")
+    private ContainerBulkAction action;
+
+    private List<Long> containerIds;
+
+    @Valid
+    private Selector selector;
+
+    // Constructors
+    public BulkContainerRequest() {}
+
+    public BulkContainerRequest(ContainerBulkAction action, List<Long> containerIds) {
+        this.action = action;
+        this.containerIds = containerIds;
+    }
+
+    // Getters and Setters
+    public ContainerBulkAction getAction() { return action; }
+    public void setAction(ContainerBulkAction action) { this.action = action; }
+
+    public List<Long> getContainerIds() { return containerIds; }
+    public void setContainerIds(List<Long> containerIds) { this.containerIds = containerIds; }
+
+    public Selector getSelector() { return selector; }
+    public void setSelector(Selector selector) { this.selector = selector; }
+
+    // Every criterion that is set must match; an empty selector matches all containers in scope
+    public static class Selector {
+
+        private List<ContainerStatus> statuses;
+
+        private String image;
+
+        // Matched against the Docker labels, so hibernated containers never match
+        private Map<String, String> labels;
+
+        // Containers of every user instead of only the caller's; administrators only
+        private boolean allUsers;
+
+        public List<ContainerStatus> getStatuses() { return statuses; }
+        public void setStatuses(List<ContainerStatus> statuses) { this.statuses = statuses; }
+
+        public String getImage() { return image; }
+        public void setImage(String image) { this.image = image; }
+
+        public Map<String, String> getLabels() { return labels; }
+        public void setLabels(Map<String, String> labels) { this.labels = labels; }
+
+        public boolean isAllUsers() { return allUsers; }
+        public void setAllUsers(boolean allUsers) { this.allUsers = allUsers; }
+    }
+}
@@ -0,0 +1,22 @@
+package com.platform.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class ContainerActivityRequest {
+    @NotEmpty(message = "At least one container id is required")
+    @Size(max = 1000, message = "At most 1000 containers can be reported per request")
+    private List<@NotNull Long> containerIds;
+
+    public ContainerActivityRequest() {}
+
+    public ContainerActivityRequest(List<Long> containerIds) {
+        this.containerIds = containerIds;
+    }
+
+    public List<Long> getContainerIds() { return containerIds; }
+    public void setContainerIds(List<Long> containerIds) { this.containerIds = containerIds; }
+}
@@ -1,5 +1,7 @@
 package com.platform.dto.response;
 
+import com.platform.model.entity.User;
+
 import java.time.LocalDateTime;
 
 public class AuthResponse {
@@ -56,6 +58,12 @@ public class AuthResponse {
             this.createdAt = createdAt;
         }
 
+        // Only reads columns, so it also works on a user loaded outside of a transaction
+        public static UserInfo fromUser(User user) {
+            return new UserInfo(user.getId(), user.getUsername(), user.getEmail(), user.getFirstName(),
+                    user.getLastName(), user.getRole().name(), user.getCreatedAt());
+        }
+
         public Long getId() { return id; }
         public void setId(Long id) { this.id = id; }
 
@@ -0,0 +1,56 @@
+package com.platform.dto.response;
+
+import com.platform.model.enums.ContainerBulkAction;
+
+import java.util.List;
+
+public class BulkContainerResultDTO {
+    private ContainerBulkAction action;
+    private int total;
+    private long succeeded;
+    private long failed;
+    private long skipped;
+    // Set when Docker was changed but the database update failed; a reconcile catches up
+    private String error;
+    private List<BulkItemResultDTO> items;
+
+    public BulkContainerResultDTO() {}
+
+    public static BulkContainerResultDTO fromItems(ContainerBulkAction action, List<BulkItemResultDTO> items, String error) {
+        BulkContainerResultDTO dto = new BulkContainerResultDTO();
+        dto.setAction(action);
+        dto.setTotal(items.size());
+        dto.setSucceeded(count(items, BulkItemResultDTO.Outcome.SUCCEEDED));
+        dto.setFailed(count(items, BulkItemResultDTO.Outcome.FAILED));
+        dto.setSkipped(count(items, BulkItemResultDTO.Outcome.SKIPPED));
+        dto.setError(error);
+        dto.setItems(items);
+        return dto;
+    }
+
+    private static long count(List<BulkItemResultDTO> items, BulkItemResultDTO.Outcome outcome) {
+        return items.stream().filter(item -> item.getOutcome() == outcome).count();
+    }
+
+    // Getters and Setters
+    public ContainerBulkAction getAction() { return action; }
+    public void setAction(ContainerBulkAction action) { this.action = action; }
+
+    public int getTotal() { return total; }
+    public void setTotal(int total) { this.total = total; }
+
+    public long getSucceeded() { return succeeded; }
+    public void setSucceeded(long succeeded) { this.succeeded = succeeded; }
+
+    public long getFailed() { return failed; }
+    public void setFailed(long failed) { this.failed = failed; }
+
+    public long getSkipped() { return skipped; }
+    public void setSkipped(long skipped) { this.skipped = skipped; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+
+    public List<BulkItemResultDTO> getItems() { return items; }
+    public void setItems(List<BulkItemResultDTO> items) { this.items = items; }
+}
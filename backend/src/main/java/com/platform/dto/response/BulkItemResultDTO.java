@@ -0,0 +1,57 @@
+package com.platform.dto.response;
+
+import com.platform.model.enums.ContainerStatus;
+
+public class BulkItemResultDTO {
+
+    public enum Outcome {
+        SUCCEEDED,
+        FAILED,
+        SKIPPED
+    }
+
+    private Long containerId;
+    private String name;
+    private Outcome outcome;
+    // Null for deleted containers and for failures
+    private ContainerStatus status;
+    private String message;
+
+    public BulkItemResultDTO() {}
+
+    public BulkItemResultDTO(Long containerId, String name, Outcome outcome, ContainerStatus status, String message) {
+        this.containerId = containerId;
+        this.name = name;
+        this.outcome = outcome;
+        this.status = status;
+        this.message = message;
+    }
+
+    public static BulkItemResultDTO succeeded(Long containerId, String name, ContainerStatus status) {
+        return new BulkItemResultDTO(containerId, name, Outcome.SUCCEEDED, status, null);
+    }
+
+    public static BulkItemResultDTO failed(Long containerId, String name, String message) {
+        return new BulkItemResultDTO(containerId, name, Outcome.FAILED, null, message);
+    }
+
+    public static BulkItemResultDTO skipped(Long containerId, String name, ContainerStatus status, String message) {
+        return new BulkItemResultDTO(containerId, name, Outcome.SKIPPED, status, message);
+    }
+
+    // Getters and Setters
+    public Long getContainerId() { return containerId; }
+    public void setContainerId(Long containerId) { this.containerId = containerId; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public Outcome getOutcome() { return outcome; }
+    public void setOutcome(Outcome outcome) { this.outcome = outcome; }
+
+    public ContainerStatus getStatus() { return status; }
+    public void setStatus(ContainerStatus status) { this.status = status; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
@@ -20,11 +20,17 @@ public class ContainerDTO {
     private LocalDateTime updatedAt;
     private LocalDateTime startedAt;
     private LocalDateTime stoppedAt;
+    private Integer exitCode;
     private String sshConnectionString;
 
     public ContainerDTO() {}
 
     public static ContainerDTO fromContainer(Container container) {
+        return fromContainer(container, container.getUser().getUsername());
+    }
+
+    // Takes the owner's username from the caller, so the lazy user association is not loaded
+    public static ContainerDTO fromContainer(Container container, String username) {
         ContainerDTO dto = new ContainerDTO();
         dto.setId(container.getId());
         dto.setContainerId(container.getContainerId());
@@ -39,13 +45,14 @@ public class ContainerDTO {
         dto.setUpdatedAt(container.getUpdatedAt());
         dto.setStartedAt(container.getStartedAt());
         dto.setStoppedAt(container.getStoppedAt());
+        dto.setExitCode(container.getExitCode());
         
         // Generate SSH connection string
         if (container.getSshPort() != null && container.getStatus().canConnect()) {
             dto.setSshConnectionString(
                 String.format("ssh -p %d %s@localhost", 
                     container.getSshPort(), 
-                    container.getUser().getUsername())
+                    username)
             );
         }
         
@@ -96,6 +103,9 @@ public class ContainerDTO {
     public LocalDateTime getStoppedAt() { return stoppedAt; }
     public void setStoppedAt(LocalDateTime stoppedAt) { this.stoppedAt = stoppedAt; }
 
+    public Integer getExitCode() { return exitCode; }
+    public void setExitCode(Integer exitCode) { this.exitCode = exitCode; }
+
     public String getSshConnectionString() { return sshConnectionString; }
     public void setSshConnectionString(String sshConnectionString) { 
         this.sshConnectionString = sshConnectionString; 
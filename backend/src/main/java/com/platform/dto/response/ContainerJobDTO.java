@@ -0,0 +1,77 @@
+package com.platform.dto.response;
+
+import com.platform.model.enums.ContainerJobStatus;
+import com.platform.model.enums.ContainerJobType;
+import com.platform.service.image.ImagePullProgress;
+import com.platform.service.job.ContainerJob;
+
+import java.time.LocalDateTime;
+
+public class ContainerJobDTO {
+    private String id;
+    private ContainerJobType type;
+    private ContainerJobStatus status;
+    private Long containerId;
+    private String stage;
+    private String message;
+    private String error;
+    private ContainerDTO container;
+    private ImagePullProgress.Snapshot pull;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public ContainerJobDTO() {}
+
+    public static ContainerJobDTO fromJob(ContainerJob job) {
+        ContainerJobDTO dto = new ContainerJobDTO();
+        // Snapshot under the job's lock so the fields belong together
+        synchronized (job) {
+            dto.setId(job.getId());
+            dto.setType(job.getType());
+            dto.setStatus(job.getStatus());
+            dto.setContainerId(job.getContainerId());
+            dto.setStage(job.getStage());
+            dto.setMessage(job.getMessage());
+            dto.setError(job.getError());
+            dto.setContainer(job.getResult());
+            dto.setPull(job.getPull());
+            dto.setCreatedAt(job.getCreatedAt());
+            dto.setUpdatedAt(job.getUpdatedAt());
+        }
+        return dto;
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public ContainerJobType getType() { return type; }
+    public void setType(ContainerJobType type) { this.type = type; }
+
+    public ContainerJobStatus getStatus() { return status; }
+    public void setStatus(ContainerJobStatus status) { this.status = status; }
+
+    public Long getContainerId() { return containerId; }
+    public void setContainerId(Long containerId) { this.containerId = containerId; }
+
+    public String getStage() { return stage; }
+    public void setStage(String stage) { this.stage = stage; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+
+    public ContainerDTO getContainer() { return container; }
+    public void setContainer(ContainerDTO container) { this.container = container; }
+
+    public ImagePullProgress.Snapshot getPull() { return pull; }
+    public void setPull(ImagePullProgress.Snapshot pull) { this.pull = pull; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
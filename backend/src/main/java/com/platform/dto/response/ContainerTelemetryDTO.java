@@ -0,0 +1,36 @@
+package com.platform.dto.response;
+
+import com.platform.service.stats.TelemetrySample;
+
+import java.util.List;
+
+public class ContainerTelemetryDTO {
+    private Long containerId;
+    private String resolution;
+    // Null until the container has been sampled twice while running
+    private TelemetrySample current;
+    private List<TelemetrySample> samples;
+
+    public ContainerTelemetryDTO() {}
+
+    public ContainerTelemetryDTO(Long containerId, String resolution, TelemetrySample current,
+                                 List<TelemetrySample> samples) {
+        this.containerId = containerId;
+        this.resolution = resolution;
+        this.current = current;
+        this.samples = samples;
+    }
+
+    // Getters and Setters
+    public Long getContainerId() { return containerId; }
+    public void setContainerId(Long containerId) { this.containerId = containerId; }
+
+    public String getResolution() { return resolution; }
+    public void setResolution(String resolution) { this.resolution = resolution; }
+
+    public TelemetrySample getCurrent() { return current; }
+    public void setCurrent(TelemetrySample current) { this.current = current; }
+
+    public List<TelemetrySample> getSamples() { return samples; }
+    public void setSamples(List<TelemetrySample> samples) { this.samples = samples; }
+}
@@ -0,0 +1,62 @@
+package com.platform.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.List;
+
+public class IntrospectResponse {
+    // Same order as the tokens in the request
+    private List<TokenInfo> results;
+
+    public IntrospectResponse() {}
+
+    public IntrospectResponse(List<TokenInfo> results) {
+        this.results = results;
+    }
+
+    public List<TokenInfo> getResults() { return results; }
+    public void setResults(List<TokenInfo> results) { this.results = results; }
+
+    // Earliest expiry (epoch seconds) among the active tokens, null when none is active
+    @JsonIgnore
+    public Long getEarliestExpiry() {
+        return results.stream()
+                .filter(TokenInfo::isActive)
+                .map(TokenInfo::getExpiresAt)
+                .min(Long::compare)
+                .orElse(null);
+    }
+
+    // Nested class for per-token results
+    public static class TokenInfo {
+        private boolean active;
+        private String subject;
+        private Long userId;
+        private Long expiresAt; // epoch seconds
+
+        public TokenInfo() {}
+
+        public TokenInfo(boolean active, String subject, Long userId, Long expiresAt) {
+            this.active = active;
+            this.subject = subject;
+            this.userId = userId;
+            this.expiresAt = expiresAt;
+        }
+
+        public static TokenInfo inactive() {
+            return new TokenInfo(false, null, null, null);
+        }
+
+        public boolean isActive() { return active; }
+        public void setActive(boolean active) { this.active = active; }
+
+        public String getSubject() { return subject; }
+        public void setSubject(String subject) { this.subject = subject; }
+
+        public Long getUserId() { return userId; }
+        public void setUserId(Long userId) { this.userId = userId; }
+
+        public Long getExpiresAt() { return expiresAt; }
+        public void setExpiresAt(Long expiresAt) { this.expiresAt = expiresAt; }
+    }
+}
@@ -0,0 +1,45 @@
+// src/main/java/com/platform/event/UserChangedEvent.java
+package com.platform.event;
+
+/**
+ * Published whenever a persisted user is updated or removed.
+ */
+public class UserChangedEvent {
+
+    private final Long userId;
+    private final String username;
+    private final boolean securityChanged;
+    private final boolean passwordChanged;
+    private final boolean removed;
+
+    public UserChangedEvent(Long userId, String username, boolean securityChanged,
+                            boolean passwordChanged, boolean removed) {
+        this.userId = userId;
+        this.username = username;
+        this.securityChanged = securityChanged;
+        this.passwordChanged = passwordChanged;
+        this.removed = removed;
+    }
+
+    public Long getUserId() { return userId; }
+
+    public String getUsername() { return username; }
+
+    // Role or enabled flag changed
+    public boolean isSecurityChanged() { return securityChanged; }
+
+    public boolean isPasswordChanged() { return passwordChanged; }
+
+    public boolean isRemoved() { return removed; }
+
+    @Override
+    public String toString() {
+        return "UserChangedEvent{" +
+                "userId=" + userId +
+                ", username='" + username + '\'' +
+                ", securityChanged=" + securityChanged +
+                ", passwordChanged=" + passwordChanged +
+                ", removed=" + removed +
+                '}';
+    }
+}
@@ -0,0 +1,16 @@
+package com.platform.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ContainerBusyException extends RuntimeException {
+    
+    public ContainerBusyException(String message) {
+        super(message);
+    }
+
+    public ContainerBusyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -77,6 +77,13 @@ public class Container {
     @Column(name = "stopped_at")
     private LocalDateTime stoppedAt;
 
+    @Column(name = "exit_code")
+    private Integer exitCode;
+
+    // Last hibernation snapshot: the image to restore from while HIBERNATED, the parent image after
+    @Column(name = "hibernated_image")
+    private String hibernatedImage;
+
     // Constructors
     public Container() {}
 
@@ -134,6 +141,12 @@ public class Container {
     public LocalDateTime getStoppedAt() { return stoppedAt; }
     public void setStoppedAt(LocalDateTime stoppedAt) { this.stoppedAt = stoppedAt; }
 
+    public Integer getExitCode() { return exitCode; }
+    public void setExitCode(Integer exitCode) { this.exitCode = exitCode; }
+
+    public String getHibernatedImage() { return hibernatedImage; }
+    public void setHibernatedImage(String hibernatedImage) { this.hibernatedImage = hibernatedImage; }
+
     // Utility methods
     public void addEnvironmentVariable(String key, String value) {
         this.environmentVariables.put(key, value);
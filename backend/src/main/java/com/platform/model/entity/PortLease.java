@@ -0,0 +1,35 @@
+// src/main/java/com/platform/model/entity/PortLease.java
+package com.platform.model.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A host port handed out by the port allocator. The port is the primary key,
+ * so two backend nodes can never lease the same port.
+ */
+@Entity
+@Table(name = "port_leases")
+public class PortLease {
+
+    @Id
+    @Column(nullable = false)
+    private Integer port;
+
+    @Column(name = "leased_at", nullable = false)
+    private LocalDateTime leasedAt;
+
+    public PortLease() {}
+
+    public PortLease(Integer port, LocalDateTime leasedAt) {
+        this.port = port;
+        this.leasedAt = leasedAt;
+    }
+
+    public Integer getPort() { return port; }
+    public void setPort(Integer port) { this.port = port; }
+
+    public LocalDateTime getLeasedAt() { return leasedAt; }
+    public void setLeasedAt(LocalDateTime leasedAt) { this.leasedAt = leasedAt; }
+}
@@ -2,6 +2,7 @@
 package com.platform.model.entity;
 
 import com.platform.model.enums.UserRole;
+import com.platform.model.listener.UserEntityListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -12,12 +13,19 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
+import java.util.Objects;
 import java.util.Set;
 
 @Entity
-@Table(name = "users")
-@EntityListeners(AuditingEntityListener.class)
+@Table(name = "users", uniqueConstraints = {
+    @UniqueConstraint(name = User.USERNAME_CONSTRAINT, columnNames = "username"),
+    @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email")
+})
+@EntityListeners({AuditingEntityListener.class, UserEntityListener.class})
 public class User {
+
+    public static final String USERNAME_CONSTRAINT = "uk_users_username";
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -25,12 +33,12 @@ public class User {
 
     @NotBlank
     @Size(min = 3, max = 50)
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String username;
 
     @NotBlank
     @Email
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String email;
 
     @NotBlank
@@ -59,12 +67,26 @@ public class User {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Last role or enabled change; tokens issued before it are not trusted on their claims
+    @Column(name = "security_changed_at")
+    private LocalDateTime securityChangedAt;
+
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private Set<Container> containers = new HashSet<>();
 
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private Set<SSHKey> sshKeys = new HashSet<>();
 
+    // State as loaded from the database, used to detect security-relevant changes
+    @Transient
+    private UserRole loadedRole;
+
+    @Transient
+    private Boolean loadedEnabled;
+
+    @Transient
+    private String loadedPassword;
+
     // Constructors
     public User() {}
 
@@ -113,6 +135,9 @@ public class User {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 
+    public LocalDateTime getSecurityChangedAt() { return securityChangedAt; }
+    public void setSecurityChangedAt(LocalDateTime securityChangedAt) { this.securityChangedAt = securityChangedAt; }
+
     public Set<Container> getContainers() { return containers; }
     public void setContainers(Set<Container> containers) { this.containers = containers; }
 
@@ -120,6 +145,29 @@ public class User {
     public void setSshKeys(Set<SSHKey> sshKeys) { this.sshKeys = sshKeys; }
 
     // Utility methods
+    @PostLoad
+    public void snapshotLoadedState() {
+        this.loadedRole = role;
+        this.loadedEnabled = enabled;
+        this.loadedPassword = password;
+    }
+
+    // Written with the change itself, so every node can learn about it after a restart
+    @PreUpdate
+    public void stampSecurityChange() {
+        if (isSecurityStateChanged()) {
+            securityChangedAt = LocalDateTime.now();
+        }
+    }
+
+    public boolean isSecurityStateChanged() {
+        return loadedRole != role || !Objects.equals(loadedEnabled, enabled);
+    }
+
+    public boolean isPasswordChanged() {
+        return !Objects.equals(loadedPassword, password);
+    }
+
     public String getFullName() {
         if (firstName != null && lastName != null) {
             return firstName + " " + lastName;
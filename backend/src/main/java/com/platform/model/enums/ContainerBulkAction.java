@@ -0,0 +1,10 @@
+// src/main/java/com/platform/model/enums/ContainerBulkAction.java
+package com.platform.model.enums;
+
+public enum ContainerBulkAction {
+    START,
+    STOP,
+    RESTART,
+    DELETE,
+    PAUSE
+}
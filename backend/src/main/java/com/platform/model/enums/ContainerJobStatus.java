@@ -0,0 +1,13 @@
+// src/main/java/com/platform/model/enums/ContainerJobStatus.java
+package com.platform.model.enums;
+
+public enum ContainerJobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED;
+
+    public boolean isFinished() {
+        return this == SUCCEEDED || this == FAILED;
+    }
+}
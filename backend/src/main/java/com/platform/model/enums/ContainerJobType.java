@@ -0,0 +1,9 @@
+// src/main/java/com/platform/model/enums/ContainerJobType.java
+package com.platform.model.enums;
+
+public enum ContainerJobType {
+    CREATE,
+    START,
+    STOP,
+    DELETE
+}
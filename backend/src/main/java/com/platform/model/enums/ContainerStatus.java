@@ -6,9 +6,14 @@ public enum ContainerStatus {
     RUNNING("running"),
     PAUSED("paused"),
     RESTARTING("restarting"),
+    // Written before the Docker call of a start, stop or delete and replaced once it returns
+    STARTING("starting"),
+    STOPPING("stopping"),
     REMOVING("removing"),
     EXITED("exited"),
-    DEAD("dead");
+    DEAD("dead"),
+    // Committed to an image and removed from Docker after a long idle period; restored on start
+    HIBERNATED("hibernated");
 
     private final String dockerStatus;
 
@@ -36,4 +41,14 @@ public enum ContainerStatus {
     public boolean canConnect() {
         return this == RUNNING;
     }
+
+    // A lifecycle call is in flight; reconciliation leaves the row alone for a while
+    public boolean isTransitional() {
+        return this == STARTING || this == STOPPING || this == REMOVING;
+    }
+
+    // Brought back to RUNNING by a start or connect instead of a plain Docker start
+    public boolean isResumable() {
+        return this == PAUSED || this == HIBERNATED;
+    }
 }
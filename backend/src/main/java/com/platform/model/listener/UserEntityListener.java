@@ -0,0 +1,33 @@
+// src/main/java/com/platform/model/listener/UserEntityListener.java
+package com.platform.model.listener;
+
+import com.platform.event.UserChangedEvent;
+import com.platform.model.entity.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UserEntityListener {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PostUpdate
+    public void onUpdate(User user) {
+        boolean securityChanged = user.isSecurityStateChanged();
+        boolean passwordChanged = user.isPasswordChanged();
+        user.snapshotLoadedState();
+
+        eventPublisher.publishEvent(new UserChangedEvent(
+                user.getId(), user.getUsername(), securityChanged, passwordChanged, false));
+    }
+
+    @PostRemove
+    public void onRemove(User user) {
+        eventPublisher.publishEvent(new UserChangedEvent(
+                user.getId(), user.getUsername(), true, true, true));
+    }
+}
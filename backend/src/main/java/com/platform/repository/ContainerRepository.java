@@ -3,12 +3,16 @@ package com.platform.repository;
 import com.platform.model.entity.Container;
 import com.platform.model.entity.User;
 import com.platform.model.enums.ContainerStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,6 +31,152 @@ public interface ContainerRepository extends JpaRepository<Container, Long> {
     
     long countByUserAndStatusIn(User user, List<ContainerStatus> statuses);
     
+    // Scoped by the authenticated user's id, so no User row has to be loaded first
+    List<Container> findByUserId(Long userId);
+    
+    // Maps fetched eagerly: lifecycle operations use the entity outside of a transaction
+    @EntityGraph(attributePaths = {"environmentVariables", "portMappings"})
+    Optional<Container> findByIdAndUserId(Long id, Long userId);
+    
+    long countByUserIdAndStatusIn(Long userId, List<ContainerStatus> statuses);
+    
+    List<Container> findByUserIdAndIdIn(Long userId, Collection<Long> ids);
+    
+    // Lightweight view used to resync the in-memory state store and status counters
+    interface ContainerStatusView {
+        String getContainerId();
+        Long getUserId();
+        ContainerStatus getStatus();
+        LocalDateTime getUpdatedAt();
+    }
+    
+    // Includes hibernated rows, which are counted but have no Docker container to reconcile with
+    @Query("SELECT c.containerId AS containerId, c.user.id AS userId, c.status AS status, " +
+           "c.updatedAt AS updatedAt FROM Container c")
+    List<ContainerStatusView> findAllStatuses();
+    
+    @Query("SELECT c.containerId AS containerId, c.user.id AS userId, c.status AS status, " +
+           "c.updatedAt AS updatedAt FROM Container c WHERE c.user.id = :userId")
+    List<ContainerStatusView> findStatusesByUserId(@Param("userId") Long userId);
+    
+    // Seeds the in-memory status counters
+    interface ContainerOwnerStatusView {
+        String getContainerId();
+        Long getUserId();
+        ContainerStatus getStatus();
+    }
+    
+    @Query("SELECT c.containerId AS containerId, c.user.id AS userId, c.status AS status FROM Container c")
+    List<ContainerOwnerStatusView> findAllOwnerStatuses();
+    
+    List<Container> findByStatusIn(List<ContainerStatus> statuses);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE Container c SET c.status = :status, c.updatedAt = :updatedAt WHERE c.containerId IN :containerIds")
+    int updateStatuses(@Param("containerIds") List<String> containerIds,
+                       @Param("status") ContainerStatus status,
+                       @Param("updatedAt") LocalDateTime updatedAt);
+    
+    // Only moves the row on if nobody else changed its status since it was read
+    @Modifying
+    @Transactional
+    @Query("UPDATE Container c SET c.status = :to, c.updatedAt = :updatedAt WHERE c.id = :id AND c.status = :from")
+    int transitionStatus(@Param("id") Long id,
+                         @Param("from") ContainerStatus from,
+                         @Param("to") ContainerStatus to,
+                         @Param("updatedAt") LocalDateTime updatedAt);
+    
+    // Bulk counterpart of updateState; null timestamps keep the stored value
+    @Modifying
+    @Transactional
+    @Query("UPDATE Container c SET c.status = :status, " +
+           "c.startedAt = COALESCE(:startedAt, c.startedAt), " +
+           "c.stoppedAt = COALESCE(:stoppedAt, c.stoppedAt), " +
+           "c.updatedAt = :updatedAt " +
+           "WHERE c.containerId IN :containerIds")
+    int updateStates(@Param("containerIds") List<String> containerIds,
+                     @Param("status") ContainerStatus status,
+                     @Param("startedAt") LocalDateTime startedAt,
+                     @Param("stoppedAt") LocalDateTime stoppedAt,
+                     @Param("updatedAt") LocalDateTime updatedAt);
+    
+    // Null timestamps/exit code keep the stored value
+    @Modifying
+    @Transactional
+    @Query("UPDATE Container c SET c.status = :status, " +
+           "c.startedAt = COALESCE(:startedAt, c.startedAt), " +
+           "c.stoppedAt = COALESCE(:stoppedAt, c.stoppedAt), " +
+           "c.exitCode = COALESCE(:exitCode, c.exitCode), " +
+           "c.updatedAt = :updatedAt " +
+           "WHERE c.containerId = :containerId")
+    int updateState(@Param("containerId") String containerId,
+                    @Param("status") ContainerStatus status,
+                    @Param("startedAt") LocalDateTime startedAt,
+                    @Param("stoppedAt") LocalDateTime stoppedAt,
+                    @Param("exitCode") Integer exitCode,
+                    @Param("updatedAt") LocalDateTime updatedAt);
+    
+    // Same as updateState for Docker events; a row in a transitional status is left to the
+    // lifecycle call that set it, which writes the outcome itself
+    @Modifying
+    @Transactional
+    @Query("UPDATE Container c SET c.status = :status, " +
+           "c.startedAt = COALESCE(:startedAt, c.startedAt), " +
+           "c.stoppedAt = COALESCE(:stoppedAt, c.stoppedAt), " +
+           "c.exitCode = COALESCE(:exitCode, c.exitCode), " +
+           "c.updatedAt = :updatedAt " +
+           "WHERE c.containerId = :containerId " +
+           "AND c.status NOT IN (com.platform.model.enums.ContainerStatus.STARTING, " +
+           "com.platform.model.enums.ContainerStatus.STOPPING, " +
+           "com.platform.model.enums.ContainerStatus.REMOVING)")
+    int updateObservedState(@Param("containerId") String containerId,
+                            @Param("status") ContainerStatus status,
+                            @Param("startedAt") LocalDateTime startedAt,
+                            @Param("stoppedAt") LocalDateTime stoppedAt,
+                            @Param("exitCode") Integer exitCode,
+                            @Param("updatedAt") LocalDateTime updatedAt);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE Container c SET c.containerId = :containerId, c.updatedAt = :updatedAt WHERE c.id = :id")
+    int updateContainerId(@Param("id") Long id,
+                          @Param("containerId") String containerId,
+                          @Param("updatedAt") LocalDateTime updatedAt);
+    
+    // The port is released with the Docker container; the snapshot stays until the next one or the delete.
+    // Only a row still PAUSED is hibernated, so one resumed meanwhile keeps its container
+    @Modifying
+    @Transactional
+    @Query("UPDATE Container c SET c.status = com.platform.model.enums.ContainerStatus.HIBERNATED, " +
+           "c.hibernatedImage = :image, c.sshPort = NULL, c.updatedAt = :updatedAt " +
+           "WHERE c.id = :id AND c.status = com.platform.model.enums.ContainerStatus.PAUSED")
+    int markHibernated(@Param("id") Long id,
+                       @Param("image") String image,
+                       @Param("updatedAt") LocalDateTime updatedAt);
+    
+    // Points the row at another Docker container, as long as it still has the expected status
+    @Modifying
+    @Transactional
+    @Query("UPDATE Container c SET c.containerId = :containerId, c.sshPort = :sshPort, c.status = :to, " +
+           "c.updatedAt = :updatedAt WHERE c.id = :id AND c.status = :from")
+    int repointContainer(@Param("id") Long id,
+                         @Param("from") ContainerStatus from,
+                         @Param("to") ContainerStatus to,
+                         @Param("containerId") String containerId,
+                         @Param("sshPort") Integer sshPort,
+                         @Param("updatedAt") LocalDateTime updatedAt);
+    
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE container_port_mappings SET host_port = :sshPort " +
+                   "WHERE container_id = :id AND container_port = 22", nativeQuery = true)
+    int updateSshPortMapping(@Param("id") Long id, @Param("sshPort") Integer sshPort);
+    
+    @Query(value = "SELECT host_port FROM container_port_mappings " +
+                   "WHERE container_id = :id AND container_port = 22", nativeQuery = true)
+    Integer findSshPortMapping(@Param("id") Long id);
+    
     @Query("SELECT c FROM Container c WHERE c.user = :user AND c.status IN :statuses")
     List<Container> findByUserAndStatusIn(@Param("user") User user, @Param("statuses") List<ContainerStatus> statuses);
     
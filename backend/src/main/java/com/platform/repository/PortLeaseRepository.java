@@ -0,0 +1,50 @@
+package com.platform.repository;
+
+import com.platform.model.entity.PortLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PortLeaseRepository extends JpaRepository<PortLease, Integer> {
+
+    @Query("SELECT l.port FROM PortLease l")
+    List<Integer> findAllPorts();
+
+    // Committed on its own so the lease is visible to other nodes before the container row is
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query(value = "INSERT INTO port_leases (port, leased_at) VALUES (:port, :leasedAt)", nativeQuery = true)
+    int insertLease(@Param("port") Integer port, @Param("leasedAt") LocalDateTime leasedAt);
+
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query("DELETE FROM PortLease l WHERE l.port = :port")
+    int deleteLease(@Param("port") Integer port);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM PortLease l WHERE l.port IN :ports")
+    int deleteLeases(@Param("ports") Collection<Integer> ports);
+
+    // Keeps leases of ports held without a container row (warm pool) from looking orphaned
+    @Modifying
+    @Transactional
+    @Query("UPDATE PortLease l SET l.leasedAt = :leasedAt WHERE l.port IN :ports")
+    int renewLeases(@Param("ports") Collection<Integer> ports, @Param("leasedAt") LocalDateTime leasedAt);
+
+    // Leases left behind by a node that crashed between reserving a port and saving the container
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM PortLease l WHERE l.leasedAt < :cutoff " +
+           "AND l.port NOT IN (SELECT c.sshPort FROM Container c WHERE c.sshPort IS NOT NULL)")
+    int deleteOrphanedLeases(@Param("cutoff") LocalDateTime cutoff);
+}
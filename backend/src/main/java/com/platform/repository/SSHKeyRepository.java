@@ -23,6 +23,15 @@ public interface SSHKeyRepository extends JpaRepository<SSHKey, Long> {
     
     boolean existsByUserAndPublicKey(User user, String publicKey);
     
+    // Scoped by the authenticated user's id, so no User row has to be loaded first
+    List<SSHKey> findByUserIdOrderByCreatedAtDesc(Long userId);
+    
+    Optional<SSHKey> findByIdAndUserId(Long id, Long userId);
+    
+    long countByUserId(Long userId);
+    
+    boolean existsByUserIdAndPublicKey(Long userId, String publicKey);
+    
     // Corrigido: active -> enabled
     List<SSHKey> findByUserAndEnabled(User user, boolean enabled);
     
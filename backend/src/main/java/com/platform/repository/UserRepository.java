@@ -3,7 +3,9 @@ package com.platform.repository;
 
 import com.platform.model.entity.User;
 import com.platform.model.enums.UserRole;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -25,6 +27,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     boolean existsByEmail(String email);
     
+    // Row lock that serializes per-user checks such as the container limit; needs a transaction
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> lockById(@Param("id") Long id);
+    
+    // Rows of [id, securityChangedAt]; seeds the epoch registry at startup
+    @Query("SELECT u.id, u.securityChangedAt FROM User u WHERE u.securityChangedAt >= :since")
+    List<Object[]> findSecurityChangesSince(@Param("since") LocalDateTime since);
+    
     List<User> findByRole(UserRole role);
     
     List<User> findByEnabledTrue();
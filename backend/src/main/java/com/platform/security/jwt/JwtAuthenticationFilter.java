@@ -2,6 +2,7 @@
 package com.platform.security.jwt;
 
 import com.platform.security.service.CustomUserDetailsService;
+import com.platform.security.service.UserEpochRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,6 +10,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -18,34 +20,60 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Set;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
+    // Endpoints under /api/auth that act on the current user
+    static final Set<String> AUTHENTICATED_AUTH_PATHS = Set.of(
+            "/api/auth/me", "/api/auth/logout", "/api/auth/logout-all", "/api/auth/validate-token"
+    );
+
     @Autowired
     private JwtUtil jwtUtil;
 
     @Autowired
     private CustomUserDetailsService customUserDetailsService;
 
+    @Autowired
+    private UserEpochRegistry userEpochRegistry;
+
+    // Off unless configured: trusting claims needs epochs shared by every node (user-epoch-store)
+    @Value("${jwt.claims-authentication:false}")
+    private boolean claimsAuthentication;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                   FilterChain filterChain) throws ServletException, IOException {
         try {
             String jwt = getJwtFromRequest(request);
             
-            if (StringUtils.hasText(jwt) && jwtUtil.validateToken(jwt)) {
+            TokenClaims claims = StringUtils.hasText(jwt) ? jwtUtil.verifyToken(jwt).orElse(null) : null;
+
+            if (claims != null) {
                 // Verificar se é um access token
-                if (!jwtUtil.isAccessToken(jwt)) {
+                if (!claims.isAccessToken()) {
                     logger.warn("Refresh token used for authentication - rejecting");
                     filterChain.doFilter(request, response);
                     return;
                 }
 
-                String username = jwtUtil.getUsernameFromToken(jwt);
-                UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
+                String username = claims.getSubject();
+                UserDetails userDetails;
+                if (claimsAuthentication && claims.hasPrincipalClaims() && userEpochRegistry.isCurrent(claims)) {
+                    userDetails = UserPrincipal.fromClaims(claims);
+                } else {
+                    userDetails = customUserDetailsService.loadUserByUsername(username);
+                }
+
+                if (!userDetails.isEnabled()) {
+                    logger.warn("Disabled user '{}' attempted to authenticate", username);
+                    filterChain.doFilter(request, response);
+                    return;
+                }
                 
                 UsernamePasswordAuthenticationToken authentication = 
                     new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
@@ -75,8 +103,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String path = request.getRequestURI();
         
         // Skip JWT filtering for public endpoints
-        return path.startsWith("/api/auth/") || 
+        return (path.startsWith("/api/auth/") && !AUTHENTICATED_AUTH_PATHS.contains(path)) || 
                path.startsWith("/actuator/") ||
+               path.startsWith("/.well-known/") ||
                path.startsWith("/swagger-ui/") ||
                path.startsWith("/v3/api-docs/") ||
                path.equals("/") ||
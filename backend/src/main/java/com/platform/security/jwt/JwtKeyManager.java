@@ -0,0 +1,264 @@
+// src/main/java/com/platform/security/jwt/JwtKeyManager.java
+package com.platform.security.jwt;
+
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Owns the keys used to sign and verify JWTs.
+ *
+ * In RS256 mode tokens carry a key id (kid) and are verified against a preloaded map of public keys,
+ * which is also published as a JWKS document. Rotated keys stay verifiable until every token they
+ * signed has expired. In HS256 mode the shared secret is used for both signing and verification.
+ */
+@Component
+public class JwtKeyManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtKeyManager.class);
+    private static final int RSA_KEY_SIZE = 2048;
+
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+
+    @Value("${jwt.refresh-expiration}")
+    private long jwtRefreshExpirationMs;
+
+    @Value("${jwt.signing.algorithm:HS256}")
+    private String algorithm;
+
+    // Directory of PKCS#8 PEM private keys named <kid>.pem, shared by all backend nodes
+    @Value("${jwt.signing.key-directory:}")
+    private String keyDirectory;
+
+    // Single-node development only: tokens die with the process and other nodes reject them
+    @Value("${jwt.signing.allow-ephemeral-keys:false}")
+    private boolean allowEphemeralKeys;
+
+    @Value("${jwt.signing.active-kid:}")
+    private String configuredActiveKid;
+
+    @Value("${jwt.signing.rotation-interval-hours:0}")
+    private long rotationIntervalHours;
+
+    private SecretKey hmacKey;
+    private volatile SigningKey activeKey;
+    private final Map<String, VerificationKey> verificationKeys = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() throws IOException, GeneralSecurityException {
+        this.hmacKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+
+        if (!isAsymmetric()) {
+            logger.info("JWT signing uses the shared HMAC secret (HS256)");
+            return;
+        }
+
+        if (keyDirectory != null && !keyDirectory.isBlank()) {
+            loadKeys(Paths.get(keyDirectory));
+        } else if (allowEphemeralKeys) {
+            logger.warn("No jwt.signing.key-directory configured - generating an in-memory RSA key. " +
+                        "Tokens will not survive restarts or be shared between nodes.");
+            rotate();
+        } else {
+            throw new IllegalStateException("jwt.signing.algorithm is RS256 but no jwt.signing.key-directory " +
+                    "is configured; set one, or use HS256");
+        }
+    }
+
+    public boolean isAsymmetric() {
+        return "RS256".equalsIgnoreCase(algorithm);
+    }
+
+    public Key getSigningKey() {
+        return isAsymmetric() ? activeKey.privateKey : hmacKey;
+    }
+
+    // Null in HS256 mode, where tokens carry no key id
+    public String getActiveKid() {
+        return isAsymmetric() ? activeKey.kid : null;
+    }
+
+    /**
+     * Returns the verification key for a token header, or null when the key id is unknown.
+     */
+    public Key locate(String kid) {
+        if (!isAsymmetric()) {
+            return kid == null ? hmacKey : null;
+        }
+        if (kid == null) {
+            return null;
+        }
+        VerificationKey key = verificationKeys.get(kid);
+        return key == null ? null : key.publicKey;
+    }
+
+    /**
+     * Generates a fresh key pair and makes it the active signing key.
+     * The previous key remains available for verification until its tokens expire.
+     */
+    public synchronized String rotate() throws GeneralSecurityException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(RSA_KEY_SIZE);
+        KeyPair keyPair = generator.generateKeyPair();
+
+        String kid = UUID.randomUUID().toString();
+        retireActiveKey();
+        verificationKeys.put(kid, new VerificationKey((RSAPublicKey) keyPair.getPublic()));
+        activeKey = new SigningKey(kid, keyPair.getPrivate(), System.currentTimeMillis());
+
+        logger.info("Activated JWT signing key: {}", kid);
+        return kid;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.signing.rotation-check-ms:3600000}")
+    public void rotateIfDue() throws GeneralSecurityException {
+        if (!isAsymmetric()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        verificationKeys.entrySet().removeIf(entry -> {
+            long retiredAt = entry.getValue().retiredAt;
+            return retiredAt > 0 && retiredAt + jwtRefreshExpirationMs < now;
+        });
+
+        // Keys loaded from disk are rotated by replacing the files, not in memory
+        boolean generatedKeys = keyDirectory == null || keyDirectory.isBlank();
+        long rotationMs = rotationIntervalHours * 3600000L;
+        if (generatedKeys && rotationMs > 0 && activeKey.activatedAt + rotationMs < now) {
+            rotate();
+        }
+    }
+
+    /**
+     * Public keys in JWKS format, including retired keys that can still verify live tokens.
+     */
+    public List<Map<String, Object>> getPublicJwks() {
+        List<Map<String, Object>> jwks = new ArrayList<>();
+        verificationKeys.forEach((kid, key) -> {
+            Map<String, Object> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "RSA");
+            jwk.put("use", "sig");
+            jwk.put("alg", "RS256");
+            jwk.put("kid", kid);
+            jwk.put("n", base64Url(key.publicKey.getModulus()));
+            jwk.put("e", base64Url(key.publicKey.getPublicExponent()));
+            jwks.add(jwk);
+        });
+        return jwks;
+    }
+
+    private void retireActiveKey() {
+        if (activeKey != null) {
+            VerificationKey previous = verificationKeys.get(activeKey.kid);
+            if (previous != null) {
+                previous.retiredAt = System.currentTimeMillis();
+            }
+        }
+    }
+
+    private void loadKeys(Path directory) throws IOException, GeneralSecurityException {
+        List<Path> pemFiles;
+        try (Stream<Path> files = Files.list(directory)) {
+            pemFiles = files.filter(path -> path.getFileName().toString().endsWith(".pem"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        if (pemFiles.isEmpty()) {
+            throw new IllegalStateException("No .pem signing keys found in " + directory);
+        }
+
+        KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+        SigningKey selected = null;
+        for (Path pemFile : pemFiles) {
+            String fileName = pemFile.getFileName().toString();
+            String kid = fileName.substring(0, fileName.length() - ".pem".length());
+
+            RSAPrivateCrtKey privateKey = (RSAPrivateCrtKey) keyFactory.generatePrivate(
+                    new PKCS8EncodedKeySpec(decodePem(Files.readString(pemFile))));
+            RSAPublicKey publicKey = (RSAPublicKey) keyFactory.generatePublic(
+                    new RSAPublicKeySpec(privateKey.getModulus(), privateKey.getPublicExponent()));
+
+            verificationKeys.put(kid, new VerificationKey(publicKey));
+            // Without an explicit active kid, the last key in name order signs new tokens
+            if (configuredActiveKid.isBlank() || configuredActiveKid.equals(kid)) {
+                selected = new SigningKey(kid, privateKey, System.currentTimeMillis());
+            }
+        }
+        if (selected == null) {
+            throw new IllegalStateException("Active signing key not found: " + configuredActiveKid);
+        }
+
+        activeKey = selected;
+        logger.info("Loaded {} JWT signing keys, active key: {}", verificationKeys.size(), selected.kid);
+    }
+
+    private static byte[] decodePem(String pem) {
+        String base64 = pem.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        // Drop the sign byte BigInteger adds for values with the high bit set
+        if (bytes.length > 1 && bytes[0] == 0) {
+            byte[] unsigned = new byte[bytes.length - 1];
+            System.arraycopy(bytes, 1, unsigned, 0, unsigned.length);
+            bytes = unsigned;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static class SigningKey {
+        private final String kid;
+        private final PrivateKey privateKey;
+        private final long activatedAt;
+
+        SigningKey(String kid, PrivateKey privateKey, long activatedAt) {
+            this.kid = kid;
+            this.privateKey = privateKey;
+            this.activatedAt = activatedAt;
+        }
+    }
+
+    private static class VerificationKey {
+        private final RSAPublicKey publicKey;
+        private volatile long retiredAt;
+
+        VerificationKey(RSAPublicKey publicKey) {
+            this.publicKey = publicKey;
+        }
+    }
+}
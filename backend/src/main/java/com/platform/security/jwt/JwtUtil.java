@@ -1,18 +1,24 @@
 // src/main/java/com/platform/security/jwt/JwtUtil.java
 package com.platform.security.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
+import java.security.Key;
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Component
@@ -20,8 +26,8 @@ public class JwtUtil {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtUtil.class);
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    @Autowired
+    private JwtKeyManager keyManager;
 
     @Value("${jwt.expiration}")
     private long jwtExpirationMs;
@@ -29,9 +35,55 @@ public class JwtUtil {
     @Value("${jwt.refresh-expiration}")
     private long jwtRefreshExpirationMs;
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    @Value("${jwt.verification-cache.max-size:10000}")
+    private long verificationCacheMaxSize;
+
+    private JwtParser jwtParser;
+    private Cache<String, TokenClaims> verifiedTokens;
+
+    @PostConstruct
+    public void init() {
+        // Keys are resolved from the preloaded key set by kid, nothing is parsed per call
+        this.jwtParser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        return keyManager.locate(header.getKeyId());
+                    }
+                })
+                .build();
+        // Entries never outlive the token itself, so an expired token is always re-parsed and rejected
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verificationCacheMaxSize)
+                .expireAfter(new Expiry<String, TokenClaims>() {
+                    @Override
+                    public long expireAfterCreate(String token, TokenClaims claims, long currentTime) {
+                        long remainingMs = claims.getExpirationMillis() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String token, TokenClaims claims, long currentTime,
+                                                  long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String token, TokenClaims claims, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    private JwtBuilder newTokenBuilder() {
+        JwtBuilder builder = Jwts.builder();
+        String kid = keyManager.getActiveKid();
+        if (kid != null) {
+            builder.header().keyId(kid).and();
+        }
+        return builder.signWith(keyManager.getSigningKey());
     }
 
     public String generateToken(Authentication authentication) {
@@ -42,7 +94,7 @@ public class JwtUtil {
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.joining(","));
 
-        return Jwts.builder()
+        return newTokenBuilder()
                 .subject(userPrincipal.getUsername())
                 .claim("userId", userPrincipal.getId())
                 .claim("email", userPrincipal.getEmail())
@@ -50,61 +102,52 @@ public class JwtUtil {
                 .claim("type", "access")
                 .issuedAt(new Date())
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
                 .compact();
     }
 
     public String generateRefreshToken(Authentication authentication) {
+        return generateRefreshToken(authentication, UUID.randomUUID().toString());
+    }
+
+    public String generateRefreshToken(Authentication authentication, String tokenId) {
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
         Date expiryDate = new Date(System.currentTimeMillis() + jwtRefreshExpirationMs);
 
-        return Jwts.builder()
+        return newTokenBuilder()
+                .id(tokenId)
                 .subject(userPrincipal.getUsername())
                 .claim("userId", userPrincipal.getId())
                 .claim("type", "refresh")
                 .issuedAt(new Date())
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
                 .compact();
     }
 
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        
-        return claims.getSubject();
+    public long getRefreshExpirationMs() {
+        return jwtRefreshExpirationMs;
     }
 
-    public Long getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        
-        return claims.get("userId", Long.class);
-    }
+    /**
+     * Verifies the token signature and expiry once and returns its claims.
+     * Tokens that were already verified are served from an in-memory cache until they expire.
+     */
+    public Optional<TokenClaims> verifyToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
 
-    public String getTokenType(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        
-        return claims.get("type", String.class);
-    }
+        TokenClaims cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            if (!cached.isExpired()) {
+                return Optional.of(cached);
+            }
+            verifiedTokens.invalidate(token);
+        }
 
-    public boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token);
-            return true;
+            TokenClaims claims = TokenClaims.from(jwtParser.parseSignedClaims(token).getPayload());
+            verifiedTokens.put(token, claims);
+            return Optional.of(claims);
         } catch (SecurityException ex) {
             logger.error("Invalid JWT signature: {}", ex.getMessage());
         } catch (MalformedJwtException ex) {
@@ -115,46 +158,46 @@ public class JwtUtil {
             logger.error("Unsupported JWT token: {}", ex.getMessage());
         } catch (IllegalArgumentException ex) {
             logger.error("JWT claims string is empty: {}", ex.getMessage());
+        } catch (JwtException ex) {
+            logger.error("JWT verification failed: {}", ex.getMessage());
         }
-        return false;
+        return Optional.empty();
+    }
+
+    private TokenClaims requireClaims(String token) {
+        return verifyToken(token)
+                .orElseThrow(() -> new JwtException("Invalid JWT token"));
+    }
+
+    public String getUsernameFromToken(String token) {
+        return requireClaims(token).getSubject();
+    }
+
+    public Long getUserIdFromToken(String token) {
+        return requireClaims(token).getUserId();
+    }
+
+    public String getTokenType(String token) {
+        return requireClaims(token).getType();
+    }
+
+    public boolean validateToken(String token) {
+        return verifyToken(token).isPresent();
     }
 
     public boolean isAccessToken(String token) {
-        try {
-            String tokenType = getTokenType(token);
-            return "access".equals(tokenType);
-        } catch (Exception e) {
-            logger.error("Error checking token type: {}", e.getMessage());
-            return false;
-        }
+        return verifyToken(token).map(TokenClaims::isAccessToken).orElse(false);
     }
 
     public boolean isRefreshToken(String token) {
-        try {
-            String tokenType = getTokenType(token);
-            return "refresh".equals(tokenType);
-        } catch (Exception e) {
-            logger.error("Error checking token type: {}", e.getMessage());
-            return false;
-        }
+        return verifyToken(token).map(TokenClaims::isRefreshToken).orElse(false);
     }
 
     public Date getExpirationDateFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        
-        return claims.getExpiration();
+        return requireClaims(token).getExpiration();
     }
 
     public boolean isTokenExpired(String token) {
-        try {
-            Date expiration = getExpirationDateFromToken(token);
-            return expiration.before(new Date());
-        } catch (Exception e) {
-            return true;
-        }
+        return verifyToken(token).map(TokenClaims::isExpired).orElse(true);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,95 @@
+// src/main/java/com/platform/security/jwt/TokenClaims.java
+package com.platform.security.jwt;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+
+/**
+ * Immutable view of the claims of a token whose signature has already been verified.
+ */
+public final class TokenClaims {
+
+    private final String subject;
+    private final Long userId;
+    private final String email;
+    private final String authorities;
+    private final String type;
+    private final Date issuedAt;
+    private final Date expiration;
+    private final String id;
+
+    public TokenClaims(String subject, Long userId, String email, String authorities,
+                       String type, Date issuedAt, Date expiration, String id) {
+        this.subject = subject;
+        this.userId = userId;
+        this.email = email;
+        this.authorities = authorities;
+        this.type = type;
+        this.issuedAt = issuedAt;
+        this.expiration = expiration;
+        this.id = id;
+    }
+
+    public static TokenClaims from(Claims claims) {
+        return new TokenClaims(
+                claims.getSubject(),
+                claims.get("userId", Long.class),
+                claims.get("email", String.class),
+                claims.get("authorities", String.class),
+                claims.get("type", String.class),
+                claims.getIssuedAt(),
+                claims.getExpiration(),
+                claims.getId()
+        );
+    }
+
+    public String getSubject() { return subject; }
+
+    public Long getUserId() { return userId; }
+
+    public String getEmail() { return email; }
+
+    public String getAuthorities() { return authorities; }
+
+    public String getType() { return type; }
+
+    public Date getIssuedAt() { return issuedAt == null ? null : new Date(issuedAt.getTime()); }
+
+    public Date getExpiration() { return expiration == null ? null : new Date(expiration.getTime()); }
+
+    // jti, only set on refresh tokens
+    public String getId() { return id; }
+
+    public long getExpirationMillis() {
+        return expiration == null ? Long.MAX_VALUE : expiration.getTime();
+    }
+
+    // Utility methods
+    public boolean isAccessToken() {
+        return "access".equals(type);
+    }
+
+    public boolean isRefreshToken() {
+        return "refresh".equals(type);
+    }
+
+    public boolean hasPrincipalClaims() {
+        return subject != null && userId != null && authorities != null && !authorities.isEmpty()
+                && authorities.indexOf(',') < 0;
+    }
+
+    public boolean isExpired() {
+        return getExpirationMillis() <= System.currentTimeMillis();
+    }
+
+    @Override
+    public String toString() {
+        return "TokenClaims{" +
+                "subject='" + subject + '\'' +
+                ", userId=" + userId +
+                ", type='" + type + '\'' +
+                ", expiration=" + expiration +
+                '}';
+    }
+}
@@ -40,6 +40,18 @@ public class UserPrincipal implements UserDetails {
         );
     }
 
+    // Rebuilds the principal from verified access token claims, without a database lookup
+    public static UserPrincipal fromClaims(TokenClaims claims) {
+        return new UserPrincipal(
+                claims.getUserId(),
+                claims.getSubject(),
+                claims.getEmail(),
+                null,
+                UserRole.fromString(claims.getAuthorities()),
+                true
+        );
+    }
+
     // UserDetails implementation
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
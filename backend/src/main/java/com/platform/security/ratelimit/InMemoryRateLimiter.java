@@ -0,0 +1,77 @@
+// src/main/java/com/platform/security/ratelimit/InMemoryRateLimiter.java
+package com.platform.security.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Single-node limiter: buckets live in this JVM, so limits are per instance
+@Component
+@ConditionalOnProperty(name = "rate-limit.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRateLimiter implements RateLimiter {
+
+    private static final int STRIPES = 64;
+
+    @Value("${rate-limit.max-keys:100000}")
+    private long maxKeys;
+
+    // Idle buckets are dropped; a bucket idle this long would be full again anyway
+    @Value("${rate-limit.idle-expiry-seconds:600}")
+    private long idleExpirySeconds;
+
+    private final Object[] locks = new Object[STRIPES];
+    private Cache<String, Bucket> buckets;
+
+    public InMemoryRateLimiter() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofSeconds(idleExpirySeconds))
+                .build();
+    }
+
+    @Override
+    public long tryAcquire(String key, long capacity, double refillPerSecond) {
+        long now = System.nanoTime();
+        Bucket bucket = buckets.get(key, k -> new Bucket(capacity, now));
+
+        // Keys hashing to different stripes never contend
+        synchronized (locks[(key.hashCode() & 0x7fffffff) % STRIPES]) {
+            double elapsedSeconds = (now - bucket.lastRefillNanos) / 1_000_000_000.0;
+            if (elapsedSeconds > 0) {
+                bucket.tokens = Math.min(capacity, bucket.tokens + elapsedSeconds * refillPerSecond);
+                bucket.lastRefillNanos = now;
+            }
+
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return 0;
+            }
+            if (refillPerSecond <= 0) {
+                return Long.MAX_VALUE;
+            }
+            return (long) Math.ceil((1 - bucket.tokens) / refillPerSecond * 1000);
+        }
+    }
+
+    private static class Bucket {
+        private double tokens;
+        private long lastRefillNanos;
+
+        Bucket(long capacity, long now) {
+            this.tokens = capacity;
+            this.lastRefillNanos = now;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+// src/main/java/com/platform/security/ratelimit/RateLimiter.java
+package com.platform.security.ratelimit;
+
+/**
+ * Token bucket rate limiter.
+ *
+ * Each key owns a bucket holding up to {@code capacity} tokens that refills at
+ * {@code refillPerSecond}; a request spends one token.
+ */
+public interface RateLimiter {
+
+    /**
+     * Takes a token from the bucket of the given key.
+     *
+     * @return 0 when the request is allowed, otherwise the milliseconds until a token is available
+     */
+    long tryAcquire(String key, long capacity, double refillPerSecond);
+}
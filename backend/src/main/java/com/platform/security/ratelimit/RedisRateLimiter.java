@@ -0,0 +1,64 @@
+// src/main/java/com/platform/security/ratelimit/RedisRateLimiter.java
+package com.platform.security.ratelimit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Multi-node limiter: every instance shares the same buckets in Redis
+@Component
+@ConditionalOnProperty(name = "rate-limit.store", havingValue = "redis")
+public class RedisRateLimiter implements RateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisRateLimiter.class);
+
+    private static final String KEY_PREFIX = "ratelimit:";
+
+    // Refills and spends in one round trip; returns 0 when allowed, otherwise ms until the next token
+    private static final RedisScript<Long> TOKEN_BUCKET_SCRIPT = new DefaultRedisScript<>(
+            "local capacity = tonumber(ARGV[1]) " +
+            "local rate = tonumber(ARGV[2]) " +
+            "local now = tonumber(ARGV[3]) " +
+            "local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts') " +
+            "local tokens = tonumber(state[1]) " +
+            "local ts = tonumber(state[2]) " +
+            "if tokens == nil then tokens = capacity; ts = now end " +
+            "if now > ts then tokens = math.min(capacity, tokens + (now - ts) / 1000 * rate); ts = now end " +
+            "local wait = 0 " +
+            "if tokens >= 1 then tokens = tokens - 1 " +
+            "elseif rate > 0 then wait = math.ceil((1 - tokens) / rate * 1000) " +
+            "else wait = -1 end " +
+            "redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(ts)) " +
+            "local ttl = 60000 " +
+            "if rate > 0 then ttl = math.ceil(capacity / rate * 1000) + 1000 end " +
+            "redis.call('PEXPIRE', KEYS[1], ttl) " +
+            "return wait",
+            Long.class);
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Override
+    public long tryAcquire(String key, long capacity, double refillPerSecond) {
+        try {
+            Long wait = redisTemplate.execute(TOKEN_BUCKET_SCRIPT, List.of(KEY_PREFIX + key),
+                    String.valueOf(capacity), String.valueOf(refillPerSecond),
+                    String.valueOf(System.currentTimeMillis()));
+            if (wait == null) {
+                return 0;
+            }
+            return wait < 0 ? Long.MAX_VALUE : wait;
+        } catch (RuntimeException e) {
+            // Fail open: an unavailable Redis must not lock every user out
+            logger.warn("Rate limiter unavailable, allowing request: {}", e.getMessage());
+            return 0;
+        }
+    }
+}
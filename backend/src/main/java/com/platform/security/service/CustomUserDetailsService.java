@@ -1,44 +1,143 @@
 // src/main/java/com/platform/security/service/CustomUserDetailsService.java
 package com.platform.security.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.platform.event.UserChangedEvent;
 import com.platform.model.entity.User;
 import com.platform.repository.UserRepository;
 import com.platform.security.jwt.UserPrincipal;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.Duration;
+
+// Lookups are not transactional on purpose: a cache hit must not borrow a pooled connection
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomUserDetailsService.class);
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${user-details-cache.max-size:5000}")
+    private long cacheMaxSize;
+
+    @Value("${user-details-cache.ttl-seconds:300}")
+    private long cacheTtlSeconds;
+
+    private Cache<String, UserPrincipal> principalsByUsername;
+    private Cache<Long, UserPrincipal> principalsById;
+
+    @PostConstruct
+    public void init() {
+        principalsByUsername = newCache();
+        principalsById = newCache();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, principalsByUsername, "userDetails.byUsername");
+        CaffeineCacheMetrics.monitor(meterRegistry, principalsById, "userDetails.byId");
+    }
+
+    private <K> Cache<K, UserPrincipal> newCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .recordStats()
+                .build();
+    }
+
     @Override
-    @Transactional
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        UserPrincipal cached = principalsByUsername.getIfPresent(username);
+        if (cached != null) {
+            return cached;
+        }
+
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
 
-        return UserPrincipal.create(user);
+        return cache(UserPrincipal.create(user));
     }
 
-    @Transactional
     public UserDetails loadUserById(Long id) {
+        UserPrincipal cached = principalsById.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + id));
 
-        return UserPrincipal.create(user);
+        return cache(UserPrincipal.create(user));
     }
 
-    @Transactional
     public UserDetails loadUserByEmail(String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
-        return UserPrincipal.create(user);
+        return cache(UserPrincipal.create(user));
+    }
+
+    // Called after a successful login whose stored hash uses an outdated BCrypt strength
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + userDetails.getUsername()));
+
+        user.setPassword(newPassword);
+        User saved = userRepository.save(user);
+        logger.info("Upgraded password hash for user: {}", saved.getUsername());
+
+        // The entity listener evicts the stale cached principal
+        return UserPrincipal.create(saved);
+    }
+
+    private UserPrincipal cache(UserPrincipal principal) {
+        principalsByUsername.put(principal.getUsername(), principal);
+        principalsById.put(principal.getId(), principal);
+        return principal;
+    }
+
+    public void evict(Long userId, String username) {
+        if (userId != null) {
+            UserPrincipal cached = principalsById.getIfPresent(userId);
+            if (cached != null) {
+                // Covers renames, where the event carries the new username
+                principalsByUsername.invalidate(cached.getUsername());
+            }
+            principalsById.invalidate(userId);
+        }
+        if (username != null) {
+            principalsByUsername.invalidate(username);
+        }
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        evict(event.getUserId(), event.getUsername());
+        logger.debug("Evicted cached user details for user: {}", event.getUsername());
+    }
+
+    // Evict again once the change is visible, in case a concurrent load re-cached the old row
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onUserChangeCommitted(UserChangedEvent event) {
+        evict(event.getUserId(), event.getUsername());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,29 @@
+// src/main/java/com/platform/security/service/LocalUserEpochStore.java
+package com.platform.security.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Single-process stand-in for {@link RedisUserEpochStore}: the registry's own map is all there is,
+ * so claims-based authentication with it is only safe on a single node.
+ */
+@Component
+@ConditionalOnProperty(name = "user-epoch-store.type", havingValue = "memory")
+public class LocalUserEpochStore implements UserEpochStore {
+
+    @Override
+    public void publish(Long userId, long epochMs) {
+    }
+
+    @Override
+    public Map<Long, Long> since(long sinceMs) {
+        return Map.of();
+    }
+
+    @Override
+    public void prune(long beforeMs) {
+    }
+}
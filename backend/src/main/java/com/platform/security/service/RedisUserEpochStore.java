@@ -0,0 +1,48 @@
+// src/main/java/com/platform/security/service/RedisUserEpochStore.java
+package com.platform.security.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+// One sorted set of user ids scored by epoch, shared by every node
+@Component
+@ConditionalOnProperty(name = "user-epoch-store.type", havingValue = "redis", matchIfMissing = true)
+public class RedisUserEpochStore implements UserEpochStore {
+
+    static final String KEY = "user:epochs";
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Override
+    public void publish(Long userId, long epochMs) {
+        redisTemplate.opsForZSet().add(KEY, String.valueOf(userId), epochMs);
+    }
+
+    @Override
+    public Map<Long, Long> since(long sinceMs) {
+        Set<ZSetOperations.TypedTuple<String>> entries =
+            redisTemplate.opsForZSet().rangeByScoreWithScores(KEY, sinceMs, Double.POSITIVE_INFINITY);
+        Map<Long, Long> epochs = new HashMap<>();
+        if (entries != null) {
+            for (ZSetOperations.TypedTuple<String> entry : entries) {
+                if (entry.getValue() != null && entry.getScore() != null) {
+                    epochs.put(Long.valueOf(entry.getValue()), entry.getScore().longValue());
+                }
+            }
+        }
+        return epochs;
+    }
+
+    @Override
+    public void prune(long beforeMs) {
+        redisTemplate.opsForZSet().removeRangeByScore(KEY, Double.NEGATIVE_INFINITY, beforeMs);
+    }
+}
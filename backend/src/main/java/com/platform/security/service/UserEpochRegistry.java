@@ -0,0 +1,127 @@
+// src/main/java/com/platform/security/service/UserEpochRegistry.java
+package com.platform.security.service;
+
+import com.platform.event.UserChangedEvent;
+import com.platform.repository.UserRepository;
+import com.platform.security.jwt.TokenClaims;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks, per user, the last time the role or enabled flag changed.
+ * Tokens issued before that moment can no longer be trusted on their claims alone.
+ *
+ * Changes made through this node are published to the {@link UserEpochStore}, and every node
+ * reads the store back on a short interval. At startup the registry is seeded from the
+ * security_changed_at column of users, so a restart does not forget recent changes. While the
+ * store cannot be read, no claims are trusted and every request loads its user.
+ */
+@Component
+public class UserEpochRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserEpochRegistry.class);
+
+    @Autowired
+    private UserEpochStore epochStore;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${jwt.expiration}")
+    private long jwtExpirationMs;
+
+    @Value("${user-epoch-store.sync-interval-ms:5000}")
+    private long syncIntervalMs;
+
+    private final Map<Long, Long> epochs = new ConcurrentHashMap<>();
+
+    // Time of the last successful read of the store; 0 until the first one
+    private volatile long lastSyncAt;
+
+    @PostConstruct
+    public void init() {
+        LocalDateTime since = LocalDateTime.now().minusNanos(jwtExpirationMs * 1_000_000);
+        for (Object[] row : userRepository.findSecurityChangesSince(since)) {
+            long epoch = ((LocalDateTime) row[1]).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            epochs.merge((Long) row[0], epoch, Math::max);
+        }
+        logger.info("Seeded {} user security epochs from the database", epochs.size());
+        sync();
+    }
+
+    public boolean isCurrent(TokenClaims claims) {
+        if (claims.getUserId() == null || claims.getIssuedAt() == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() - lastSyncAt > 3 * syncIntervalMs) {
+            // Another node may have changed the user meanwhile
+            return false;
+        }
+        Long epoch = epochs.get(claims.getUserId());
+        // iat has second precision, so a token issued in the same second as the change is treated as stale
+        return epoch == null || claims.getIssuedAt().getTime() > epoch;
+    }
+
+    public void invalidate(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        long epoch = System.currentTimeMillis();
+        epochs.merge(userId, epoch, Math::max);
+        try {
+            epochStore.publish(userId, epoch);
+        } catch (RuntimeException e) {
+            // Other nodes still pick the change up from the users table after their next restart;
+            // until then only this node knows
+            logger.error("Failed to publish security change of user id {}: {}", userId, e.getMessage());
+        }
+        logger.debug("Invalidated claims-based authentication for user id: {}", userId);
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.isSecurityChanged()) {
+            invalidate(event.getUserId());
+        }
+    }
+
+    // Reads every epoch that can still matter, so a failed read is made up by the next one
+    @Scheduled(fixedDelayString = "${user-epoch-store.sync-interval-ms:5000}",
+               initialDelayString = "${user-epoch-store.sync-interval-ms:5000}")
+    public void sync() {
+        long startedAt = System.currentTimeMillis();
+        try {
+            epochStore.since(startedAt - jwtExpirationMs).forEach((userId, epoch) -> epochs.merge(userId, epoch, Math::max));
+            lastSyncAt = startedAt;
+        } catch (RuntimeException e) {
+            logger.warn("Failed to read user security epochs, trusting no token claims: {}", e.getMessage());
+        }
+    }
+
+    // Once every token issued before an epoch has expired, the entry is no longer needed
+    @Scheduled(fixedDelayString = "${jwt.expiration}")
+    public void pruneExpiredEpochs() {
+        long cutoff = System.currentTimeMillis() - jwtExpirationMs;
+        epochs.values().removeIf(epoch -> epoch < cutoff);
+        try {
+            epochStore.prune(cutoff);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to prune user security epochs: {}", e.getMessage());
+        }
+    }
+
+    public int size() {
+        return epochs.size();
+    }
+}
@@ -0,0 +1,20 @@
+// src/main/java/com/platform/security/service/UserEpochStore.java
+package com.platform.security.service;
+
+import java.util.Map;
+
+/**
+ * Where {@link UserEpochRegistry} shares security-change epochs with the other nodes.
+ *
+ * Epochs are epoch milliseconds keyed by user id; nodes read back every epoch recent enough
+ * to still matter, so a missed read is caught up by the next one.
+ */
+public interface UserEpochStore {
+
+    void publish(Long userId, long epochMs);
+
+    // Epochs published at or after sinceMs
+    Map<Long, Long> since(long sinceMs);
+
+    void prune(long beforeMs);
+}
@@ -0,0 +1,122 @@
+// src/main/java/com/platform/security/service/VerifiedCredentialCache.java
+package com.platform.security.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.platform.event.UserChangedEvent;
+import com.platform.security.jwt.UserPrincipal;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Remembers username/password pairs that recently passed BCrypt verification.
+ *
+ * Entries are keyed by an HMAC of the credentials under a random per-process key, so neither
+ * the password nor an offline-crackable hash of it is ever held. Nothing is persisted or shared.
+ * An entry only counts while the user's stored password hash is still the one it was verified
+ * against, and it is dropped when the user's password or security state changes.
+ */
+@Component
+public class VerifiedCredentialCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(VerifiedCredentialCache.class);
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${gateway-login.credential-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${gateway-login.credential-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private SecretKeySpec hmacKey;
+    private Cache<String, VerifiedCredential> verified;
+
+    @PostConstruct
+    public void init() {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        hmacKey = new SecretKeySpec(key, HMAC_ALGORITHM);
+
+        verified = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, "gatewayLogin.verifiedCredentials");
+    }
+
+    public String key(String username, String password) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(hmacKey);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            // Separator keeps ("ab", "c") and ("a", "bc") apart
+            mac.update((byte) 0);
+            return Base64.getEncoder().encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+
+    /**
+     * True when the key was verified against the principal's current password hash.
+     */
+    public boolean isVerified(String key, UserPrincipal principal) {
+        VerifiedCredential credential = verified.getIfPresent(key);
+        if (credential == null) {
+            return false;
+        }
+        if (!principal.isEnabled()
+                || !credential.userId.equals(principal.getId())
+                || !credential.passwordHash.equals(principal.getPassword())) {
+            verified.invalidate(key);
+            return false;
+        }
+        return true;
+    }
+
+    public void put(String key, UserPrincipal principal) {
+        verified.put(key, new VerifiedCredential(principal.getId(), principal.getPassword()));
+    }
+
+    public void evictUser(Long userId) {
+        verified.asMap().values().removeIf(credential -> credential.userId.equals(userId));
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.isPasswordChanged() || event.isSecurityChanged() || event.isRemoved()) {
+            evictUser(event.getUserId());
+            logger.debug("Evicted verified credentials for user: {}", event.getUsername());
+        }
+    }
+
+    private static class VerifiedCredential {
+        private final Long userId;
+        private final String passwordHash;
+
+        VerifiedCredential(Long userId, String passwordHash) {
+            this.userId = userId;
+            this.passwordHash = passwordHash;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+// src/main/java/com/platform/security/token/InMemoryRefreshTokenStore.java
+package com.platform.security.token;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-process stand-in for {@link RedisRefreshTokenStore}, used in tests and local runs without Redis.
+ */
+@Component
+@ConditionalOnProperty(name = "refresh-token-store.type", havingValue = "memory")
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+    private final Map<String, Long> activeTokens = new ConcurrentHashMap<>();
+    private final Map<String, Long> usedTokens = new ConcurrentHashMap<>();
+    private final Map<Long, Set<String>> tokensByUser = new ConcurrentHashMap<>();
+
+    @Override
+    public void store(String tokenId, Long userId, Duration ttl) {
+        activeTokens.put(tokenId, System.currentTimeMillis() + ttl.toMillis());
+        tokensByUser.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(tokenId);
+    }
+
+    @Override
+    public synchronized ConsumeResult consume(String tokenId, Long userId) {
+        long now = System.currentTimeMillis();
+        Long expiresAt = activeTokens.remove(tokenId);
+        if (expiresAt != null && expiresAt > now) {
+            usedTokens.put(tokenId, expiresAt);
+            removeFromUser(tokenId, userId);
+            return ConsumeResult.ROTATED;
+        }
+
+        Long usedUntil = usedTokens.get(tokenId);
+        if (usedUntil != null && usedUntil > now) {
+            return ConsumeResult.REUSED;
+        }
+        return ConsumeResult.UNKNOWN;
+    }
+
+    @Override
+    public boolean isActive(String tokenId) {
+        Long expiresAt = activeTokens.get(tokenId);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    @Override
+    public void revoke(String tokenId, Long userId) {
+        activeTokens.remove(tokenId);
+        removeFromUser(tokenId, userId);
+    }
+
+    @Override
+    public int revokeAll(Long userId) {
+        Set<String> tokenIds = tokensByUser.remove(userId);
+        if (tokenIds == null) {
+            return 0;
+        }
+        int revoked = 0;
+        for (String tokenId : tokenIds) {
+            if (activeTokens.remove(tokenId) != null) {
+                revoked++;
+            }
+        }
+        return revoked;
+    }
+
+    // Mirrors Redis key expiry
+    @Scheduled(fixedDelay = 60000)
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        activeTokens.values().removeIf(expiresAt -> expiresAt <= now);
+        usedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+        tokensByUser.values().forEach(tokenIds -> tokenIds.removeIf(tokenId -> !activeTokens.containsKey(tokenId)));
+        tokensByUser.values().removeIf(Set::isEmpty);
+    }
+
+    private void removeFromUser(String tokenId, Long userId) {
+        Set<String> tokenIds = tokensByUser.get(userId);
+        if (tokenIds != null) {
+            tokenIds.remove(tokenId);
+        }
+    }
+}
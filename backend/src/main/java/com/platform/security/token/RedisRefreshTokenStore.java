@@ -0,0 +1,124 @@
+// src/main/java/com/platform/security/token/RedisRefreshTokenStore.java
+package com.platform.security.token;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@ConditionalOnProperty(name = "refresh-token-store.type", havingValue = "redis", matchIfMissing = true)
+public class RedisRefreshTokenStore implements RefreshTokenStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisRefreshTokenStore.class);
+
+    private static final String TOKEN_PREFIX = "refresh:token:";
+    private static final String USED_PREFIX = "refresh:used:";
+    private static final String USER_PREFIX = "refresh:user:";
+
+    // Atomically turns an active token into a tombstone that lives as long as the token would have
+    private static final RedisScript<String> CONSUME_SCRIPT = new DefaultRedisScript<>(
+            "local ttl = redis.call('PTTL', KEYS[1]) " +
+            "if ttl > 0 then " +
+            "  redis.call('DEL', KEYS[1]) " +
+            "  redis.call('SET', KEYS[2], ARGV[1], 'PX', ttl) " +
+            "  redis.call('SREM', KEYS[3], ARGV[2]) " +
+            "  return 'ROTATED' " +
+            "end " +
+            "if redis.call('EXISTS', KEYS[2]) == 1 then return 'REUSED' end " +
+            "return 'UNKNOWN'",
+            String.class);
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Value("${jwt.refresh-expiration}")
+    private long jwtRefreshExpirationMs;
+
+    @Override
+    public void store(String tokenId, Long userId, Duration ttl) {
+        byte[] tokenKey = bytes(TOKEN_PREFIX + tokenId);
+        byte[] userKey = bytes(USER_PREFIX + userId);
+
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.stringCommands().set(tokenKey, bytes(String.valueOf(userId)),
+                    Expiration.from(ttl.toMillis(), TimeUnit.MILLISECONDS), RedisStringCommands.SetOption.upsert());
+            connection.setCommands().sAdd(userKey, bytes(tokenId));
+            connection.keyCommands().pExpire(userKey, jwtRefreshExpirationMs);
+            return null;
+        });
+    }
+
+    @Override
+    public ConsumeResult consume(String tokenId, Long userId) {
+        String result = redisTemplate.execute(CONSUME_SCRIPT,
+                List.of(TOKEN_PREFIX + tokenId, USED_PREFIX + tokenId, USER_PREFIX + userId),
+                String.valueOf(userId), tokenId);
+        return result == null ? ConsumeResult.UNKNOWN : ConsumeResult.valueOf(result);
+    }
+
+    @Override
+    public boolean isActive(String tokenId) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(TOKEN_PREFIX + tokenId));
+    }
+
+    @Override
+    public void revoke(String tokenId, Long userId) {
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.keyCommands().del(bytes(TOKEN_PREFIX + tokenId));
+            connection.setCommands().sRem(bytes(USER_PREFIX + userId), bytes(tokenId));
+            return null;
+        });
+    }
+
+    @Override
+    public int revokeAll(Long userId) {
+        String userKey = USER_PREFIX + userId;
+        Set<String> tokenIds = redisTemplate.opsForSet().members(userKey);
+        if (tokenIds == null || tokenIds.isEmpty()) {
+            return 0;
+        }
+
+        // One round trip regardless of how many sessions the user has
+        List<Object> deleted = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            deleteAll(connection, tokenIds);
+            connection.keyCommands().del(bytes(userKey));
+            return null;
+        });
+
+        int revoked = 0;
+        for (int i = 0; i < tokenIds.size(); i++) {
+            Object count = deleted.get(i);
+            if (count instanceof Long && (Long) count > 0) {
+                revoked++;
+            }
+        }
+        logger.info("Revoked {} refresh tokens for user id: {}", revoked, userId);
+        return revoked;
+    }
+
+    private void deleteAll(RedisConnection connection, Set<String> tokenIds) {
+        for (String tokenId : tokenIds) {
+            connection.keyCommands().del(bytes(TOKEN_PREFIX + tokenId));
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,33 @@
+// src/main/java/com/platform/security/token/RefreshTokenStore.java
+package com.platform.security.token;
+
+import java.time.Duration;
+
+/**
+ * Server-side record of issued refresh tokens, keyed by their jti.
+ *
+ * A refresh token is usable exactly once: consuming it removes it and leaves a tombstone,
+ * so presenting it a second time is reported as reuse.
+ */
+public interface RefreshTokenStore {
+
+    enum ConsumeResult {
+        // Token was active and is now used up
+        ROTATED,
+        // Token was already rotated - a copy is being replayed
+        REUSED,
+        // Token was never issued, expired or has been revoked
+        UNKNOWN
+    }
+
+    void store(String tokenId, Long userId, Duration ttl);
+
+    ConsumeResult consume(String tokenId, Long userId);
+
+    boolean isActive(String tokenId);
+
+    void revoke(String tokenId, Long userId);
+
+    // Revokes every active refresh token of the user ("log out everywhere")
+    int revokeAll(Long userId);
+}
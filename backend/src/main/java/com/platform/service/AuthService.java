@@ -11,19 +11,29 @@ import com.platform.model.entity.User;
 import com.platform.model.enums.UserRole;
 import com.platform.repository.UserRepository;
 import com.platform.security.jwt.JwtUtil;
+import com.platform.security.jwt.TokenClaims;
 import com.platform.security.jwt.UserPrincipal;
+import com.platform.security.service.CustomUserDetailsService;
+import com.platform.security.service.VerifiedCredentialCache;
+import com.platform.security.token.RefreshTokenStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.util.UUID;
+
 @Service
 @Transactional
 public class AuthService {
@@ -42,9 +52,20 @@ public class AuthService {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private RefreshTokenStore refreshTokenStore;
+
+    @Autowired
+    private CustomUserDetailsService customUserDetailsService;
+
+    @Autowired
+    private VerifiedCredentialCache verifiedCredentialCache;
+
     @Value("${jwt.expiration}")
     private long jwtExpirationMs;
 
+    // No transaction: one would hold a pooled connection while BCrypt waits for a hashing worker
+    @Transactional(propagation = Propagation.SUPPORTS)
     public AuthResponse login(LoginRequest loginRequest) {
         try {
             // Authenticate user
@@ -57,7 +78,7 @@ public class AuthService {
 
             // Generate tokens
             String accessToken = jwtUtil.generateToken(authentication);
-            String refreshToken = jwtUtil.generateRefreshToken(authentication);
+            String refreshToken = issueRefreshToken(authentication);
 
             // Get user info
             UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
@@ -70,7 +91,7 @@ public class AuthService {
                 accessToken,
                 refreshToken,
                 jwtExpirationMs / 1000, // Convert to seconds
-                UserDTO.fromUser(user).toUserInfo()
+                AuthResponse.UserInfo.fromUser(user)
             );
 
         } catch (AuthenticationException e) {
@@ -79,17 +100,67 @@ public class AuthService {
         }
     }
 
-    public AuthResponse register(RegisterRequest registerRequest) {
-        // Check if username already exists
-        if (userRepository.existsByUsername(registerRequest.getUsername())) {
-            throw new UserAlreadyExistsException("Username is already taken");
+    /**
+     * Login used by the SSH gateway for every new SSH connection.
+     *
+     * Credentials verified within the last few minutes skip BCrypt, and only an access token
+     * is issued since the gateway never refreshes.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public AuthResponse gatewayLogin(LoginRequest loginRequest) {
+        String credentialKey = verifiedCredentialCache.key(loginRequest.getUsername(), loginRequest.getPassword());
+
+        UserPrincipal userPrincipal = findCachedPrincipal(loginRequest.getUsername());
+        if (userPrincipal == null || !verifiedCredentialCache.isVerified(credentialKey, userPrincipal)) {
+            try {
+                Authentication authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                        loginRequest.getUsername(),
+                        loginRequest.getPassword()
+                    )
+                );
+                userPrincipal = (UserPrincipal) authentication.getPrincipal();
+                verifiedCredentialCache.put(credentialKey, userPrincipal);
+            } catch (AuthenticationException e) {
+                logger.warn("Failed gateway login attempt for username: {}", loginRequest.getUsername());
+                throw new BadRequestException("Invalid username or password");
+            }
         }
 
-        // Check if email already exists
-        if (userRepository.existsByEmail(registerRequest.getEmail())) {
-            throw new UserAlreadyExistsException("Email is already in use");
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+            userPrincipal, null, userPrincipal.getAuthorities()
+        );
+        String accessToken = jwtUtil.generateToken(authentication);
+
+        logger.debug("Gateway login for user {}", userPrincipal.getUsername());
+
+        return new AuthResponse(
+            accessToken,
+            null,
+            jwtExpirationMs / 1000,
+            new AuthResponse.UserInfo(
+                userPrincipal.getId(),
+                userPrincipal.getUsername(),
+                userPrincipal.getEmail(),
+                null,
+                null,
+                userPrincipal.getRole().name(),
+                null
+            )
+        );
+    }
+
+    private UserPrincipal findCachedPrincipal(String username) {
+        try {
+            return (UserPrincipal) customUserDetailsService.loadUserByUsername(username);
+        } catch (UsernameNotFoundException e) {
+            return null;
         }
+    }
 
+    // Hashes before the insert, which commits on its own, for the same reason as login
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public AuthResponse register(RegisterRequest registerRequest) {
         // Create new user
         User user = new User();
         user.setUsername(registerRequest.getUsername());
@@ -100,42 +171,73 @@ public class AuthService {
         user.setRole(UserRole.USER); // Default role
         user.setEnabled(true);
 
-        user = userRepository.save(user);
+        // Duplicates are caught by the unique constraints instead of pre-checking with extra queries
+        try {
+            user = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw toUserAlreadyExists(e);
+        }
 
         logger.info("New user registered: {} ({})", user.getUsername(), user.getEmail());
 
-        // Auto-login after registration
-        Authentication authentication = authenticationManager.authenticate(
-            new UsernamePasswordAuthenticationToken(
-                registerRequest.getUsername(),
-                registerRequest.getPassword()
-            )
+        // Issue tokens for the saved user directly; authenticating again would rerun BCrypt
+        UserPrincipal userPrincipal = UserPrincipal.create(user);
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+            userPrincipal, null, userPrincipal.getAuthorities()
         );
 
         String accessToken = jwtUtil.generateToken(authentication);
-        String refreshToken = jwtUtil.generateRefreshToken(authentication);
+        String refreshToken = issueRefreshToken(authentication);
 
         return new AuthResponse(
             accessToken,
             refreshToken,
             jwtExpirationMs / 1000,
-            UserDTO.fromUser(user).toUserInfo()
+            AuthResponse.UserInfo.fromUser(user)
         );
     }
 
+    private UserAlreadyExistsException toUserAlreadyExists(DataIntegrityViolationException e) {
+        String detail = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase();
+
+        if (detail.contains(User.EMAIL_CONSTRAINT) || detail.contains("(email)")) {
+            return new UserAlreadyExistsException("Email is already in use");
+        }
+        if (detail.contains(User.USERNAME_CONSTRAINT) || detail.contains("(username)")) {
+            return new UserAlreadyExistsException("Username is already taken");
+        }
+
+        logger.warn("Registration rejected by a data integrity violation: {}", detail);
+        return new UserAlreadyExistsException("Username or email is already in use");
+    }
+
     public AuthResponse refreshToken(String refreshToken) {
         // Validate refresh token
-        if (!jwtUtil.validateToken(refreshToken)) {
-            throw new BadRequestException("Invalid refresh token");
-        }
+        TokenClaims claims = jwtUtil.verifyToken(refreshToken)
+            .orElseThrow(() -> new BadRequestException("Invalid refresh token"));
 
         // Check if it's actually a refresh token
-        if (!jwtUtil.isRefreshToken(refreshToken)) {
+        if (!claims.isRefreshToken()) {
             throw new BadRequestException("Token is not a refresh token");
         }
 
+        // Rotate: each refresh token can be exchanged exactly once
+        if (claims.getId() == null) {
+            throw new BadRequestException("Invalid refresh token");
+        }
+        RefreshTokenStore.ConsumeResult result = refreshTokenStore.consume(claims.getId(), claims.getUserId());
+        if (result == RefreshTokenStore.ConsumeResult.REUSED) {
+            // A rotated token was replayed, so the token family may be stolen
+            int revoked = refreshTokenStore.revokeAll(claims.getUserId());
+            logger.warn("Refresh token reuse detected for user {} - revoked {} sessions", claims.getSubject(), revoked);
+            throw new BadRequestException("Refresh token has already been used");
+        }
+        if (result == RefreshTokenStore.ConsumeResult.UNKNOWN) {
+            throw new BadRequestException("Refresh token has been revoked");
+        }
+
         // Get user from refresh token
-        String username = jwtUtil.getUsernameFromToken(refreshToken);
+        String username = claims.getSubject();
         User user = userRepository.findByUsername(username)
             .orElseThrow(() -> new BadRequestException("User not found"));
 
@@ -152,7 +254,7 @@ public class AuthService {
 
         // Generate new tokens
         String newAccessToken = jwtUtil.generateToken(authentication);
-        String newRefreshToken = jwtUtil.generateRefreshToken(authentication);
+        String newRefreshToken = issueRefreshToken(authentication);
 
         logger.debug("Tokens refreshed for user: {}", username);
 
@@ -164,6 +266,29 @@ public class AuthService {
         );
     }
 
+    public void logout(UserPrincipal userPrincipal, String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            return;
+        }
+        jwtUtil.verifyToken(refreshToken)
+            .filter(claims -> claims.isRefreshToken() && claims.getId() != null)
+            .filter(claims -> userPrincipal.getId().equals(claims.getUserId()))
+            .ifPresent(claims -> refreshTokenStore.revoke(claims.getId(), claims.getUserId()));
+    }
+
+    public int logoutEverywhere(UserPrincipal userPrincipal) {
+        return refreshTokenStore.revokeAll(userPrincipal.getId());
+    }
+
+    private String issueRefreshToken(Authentication authentication) {
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        String tokenId = UUID.randomUUID().toString();
+        String refreshToken = jwtUtil.generateRefreshToken(authentication, tokenId);
+
+        refreshTokenStore.store(tokenId, userPrincipal.getId(), Duration.ofMillis(jwtUtil.getRefreshExpirationMs()));
+        return refreshToken;
+    }
+
     @Transactional(readOnly = true)
     public UserDTO getCurrentUser(String username) {
         User user = userRepository.findByUsername(username)
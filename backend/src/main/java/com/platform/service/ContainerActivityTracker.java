@@ -0,0 +1,32 @@
+// src/main/java/com/platform/service/ContainerActivityTracker.java
+package com.platform.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Last time someone used each container: SSH connects through the gateway, log streams,
+ * and CPU or network usage noticed by the idle manager. Kept in memory only; after a restart
+ * every container starts its idle period again.
+ */
+@Component
+public class ContainerActivityTracker {
+
+    // Docker container id -> epoch millis
+    private final Map<String, Long> lastActivity = new ConcurrentHashMap<>();
+
+    public void touch(String containerId) {
+        lastActivity.put(containerId, System.currentTimeMillis());
+    }
+
+    public Optional<Long> lastActivity(String containerId) {
+        return Optional.ofNullable(lastActivity.get(containerId));
+    }
+
+    public void forget(String containerId) {
+        lastActivity.remove(containerId);
+    }
+}
@@ -0,0 +1,159 @@
+// src/main/java/com/platform/service/ContainerIdleManager.java
+package com.platform.service;
+
+import com.platform.model.entity.Container;
+import com.platform.model.enums.ContainerStatus;
+import com.platform.repository.ContainerRepository;
+import com.platform.service.job.ContainerJobService;
+import com.platform.service.stats.ContainerUsage;
+import com.platform.service.stats.ContainerUsageReader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Pauses containers nobody has used for a while and hibernates the ones left paused for longer.
+ *
+ * A container counts as used when the activity tracker saw an SSH connect, an open SSH session
+ * (reported by the gateway on an interval) or a log stream, or when its CPU or network usage
+ * since the previous check is above the configured thresholds.
+ * Paused and hibernated containers come back on the next start or gateway connect.
+ */
+@Service
+public class ContainerIdleManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContainerIdleManager.class);
+
+    private static final String LOCK_OWNER = "idle-manager";
+
+    @Autowired
+    private ContainerRepository containerRepository;
+
+    @Autowired
+    private ContainerService containerService;
+
+    @Autowired
+    private ContainerJobService containerJobService;
+
+    @Autowired
+    private ContainerActivityTracker activityTracker;
+
+    @Autowired
+    private ContainerUsageReader usageReader;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${container-idle.enabled:true}")
+    private boolean enabled;
+
+    @Value("${container-idle.pause-after-minutes:30}")
+    private long pauseAfterMinutes;
+
+    // Counted from the last activity, so it includes the time spent running idle
+    @Value("${container-idle.hibernate-after-minutes:1440}")
+    private long hibernateAfterMinutes;
+
+    // Average share of one CPU between two checks
+    @Value("${container-idle.cpu-threshold-percent:2.0}")
+    private double cpuThresholdPercent;
+
+    // SSH keepalives stay below this, typing in a session does not
+    @Value("${container-idle.network-threshold-bytes:4096}")
+    private long networkThresholdBytes;
+
+    // Docker container id -> usage at the previous check
+    private final Map<String, ContainerUsage> lastUsage = new ConcurrentHashMap<>();
+
+    private Counter paused;
+    private Counter hibernated;
+
+    @PostConstruct
+    public void init() {
+        paused = meterRegistry.counter("containers.idle.paused");
+        hibernated = meterRegistry.counter("containers.idle.hibernated");
+    }
+
+    @Scheduled(fixedDelayString = "${container-idle.check-interval-ms:60000}",
+               initialDelayString = "${container-idle.check-interval-ms:60000}")
+    public void check() {
+        if (!enabled) {
+            return;
+        }
+
+        List<Container> containers = containerRepository.findByStatusIn(
+            List.of(ContainerStatus.RUNNING, ContainerStatus.PAUSED));
+        long now = System.currentTimeMillis();
+
+        for (Container container : containers) {
+            // Held for the whole pause or hibernation, so no job or bulk operation starts meanwhile
+            if (!containerJobService.tryLock(container.getId(), LOCK_OWNER)) {
+                continue;
+            }
+            try {
+                if (container.getStatus() == ContainerStatus.RUNNING) {
+                    checkRunning(container, now);
+                } else {
+                    checkPaused(container, now);
+                }
+            } catch (Exception e) {
+                logger.warn("Idle check failed for container {}: {}", container.getContainerId(), e.getMessage());
+            } finally {
+                containerJobService.unlock(container.getId(), LOCK_OWNER);
+            }
+        }
+
+        // Containers that stopped, were deleted or hibernated
+        Set<String> running = containers.stream()
+            .filter(container -> container.getStatus() == ContainerStatus.RUNNING)
+            .map(Container::getContainerId)
+            .collect(Collectors.toSet());
+        lastUsage.keySet().retainAll(running);
+    }
+
+    private void checkRunning(Container container, long now) {
+        String containerId = container.getContainerId();
+        usageReader.read(containerId).ifPresent(usage -> {
+            ContainerUsage previous = lastUsage.put(containerId, usage);
+            if (previous != null && (usage.cpuPercentSince(previous) >= cpuThresholdPercent
+                    || usage.networkBytesSince(previous) >= networkThresholdBytes)) {
+                activityTracker.touch(containerId);
+            }
+        });
+
+        Long lastActivity = activityTracker.lastActivity(containerId).orElse(null);
+        if (lastActivity == null) {
+            // First look at it since startup: the idle period starts now
+            activityTracker.touch(containerId);
+            return;
+        }
+        if (now - lastActivity >= pauseAfterMinutes * 60_000 && containerService.pauseIdle(container)) {
+            lastUsage.remove(containerId);
+            paused.increment();
+        }
+    }
+
+    private void checkPaused(Container container, long now) {
+        // Paused before a restart: the pause itself is the last sign of use
+        long lastActivity = activityTracker.lastActivity(container.getContainerId())
+            .orElseGet(() -> container.getUpdatedAt() != null
+                ? container.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : now);
+        if (now - lastActivity >= hibernateAfterMinutes * 60_000 && containerService.hibernate(container)) {
+            hibernated.increment();
+        }
+    }
+}
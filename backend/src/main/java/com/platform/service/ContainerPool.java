@@ -0,0 +1,395 @@
+// src/main/java/com/platform/service/ContainerPool.java
+package com.platform.service;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.command.CreateContainerCmd;
+import com.github.dockerjava.api.model.ContainerPort;
+import com.github.dockerjava.api.model.ExposedPort;
+import com.github.dockerjava.api.model.Frame;
+import com.platform.repository.PortLeaseRepository;
+import com.platform.service.image.ImageBaker;
+import com.platform.service.image.ImageService;
+import com.platform.util.ContainerLabels;
+import com.platform.util.SshProbe;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps started-then-paused containers ready per image, so a create only has to claim one.
+ *
+ * Docker cannot change a container's port bindings, environment or labels once it exists, so
+ * each pooled container holds its own leased SSH port, is renamed when claimed, and gets the
+ * requested environment written to /etc/profile.d for SSH sessions. The target size of each
+ * pool grows from min-size towards max-size with recent claims and decays when demand stops.
+ */
+@Service
+public class ContainerPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContainerPool.class);
+
+    static final String NAME_PREFIX = "platform-pool-";
+    private static final Pattern ENV_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+    @Autowired
+    private DockerClient dockerClient;
+
+    @Autowired
+    private PortAllocator portAllocator;
+
+    @Autowired
+    private PortLeaseRepository portLeaseRepository;
+
+    @Autowired
+    private ImageService imageService;
+
+    @Autowired
+    private ImageBaker imageBaker;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${container-pool.enabled:true}")
+    private boolean enabled;
+
+    @Value("${container-pool.images:}")
+    private List<String> images;
+
+    @Value("${container-pool.min-size:1}")
+    private int minSize;
+
+    @Value("${container-pool.max-size:3}")
+    private int maxSize;
+
+    // Unbaked images install sshd at boot, so this covers an apt-get run
+    @Value("${container-pool.ready-timeout-ms:120000}")
+    private long readyTimeoutMs;
+
+    @Value("${container-jobs.ssh-probe-host:localhost}")
+    private String sshProbeHost;
+
+    // Stamped on pooled containers so a restarting node only removes its own; the host name when empty
+    @Value("${container-pool.node-id:}")
+    private String nodeId;
+
+    private final Map<String, Deque<PooledContainer>> idle = new ConcurrentHashMap<>();
+    // Claims since the last scheduled refill, halved on each one
+    private final Map<String, AtomicInteger> demand = new ConcurrentHashMap<>();
+    private final AtomicBoolean refilling = new AtomicBoolean();
+
+    private ExecutorService refillExecutor;
+
+    private Counter hits;
+    private Counter misses;
+    private Timer refillTimer;
+
+    public record PooledContainer(String image, String containerId, int sshPort) {
+    }
+
+    @PostConstruct
+    public void init() {
+        if (nodeId == null || nodeId.isBlank()) {
+            nodeId = localHostName();
+        }
+        images = images.stream()
+                .map(String::trim)
+                .filter(image -> !image.isEmpty())
+                .filter(ContainerService.ALLOWED_IMAGES::contains)
+                .distinct()
+                .collect(Collectors.toList());
+
+        hits = meterRegistry.counter("containers.pool.claims", "result", "hit");
+        misses = meterRegistry.counter("containers.pool.claims", "result", "miss");
+        refillTimer = meterRegistry.timer("containers.pool.refill");
+        for (String image : images) {
+            Deque<PooledContainer> pool = new ConcurrentLinkedDeque<>();
+            idle.put(image, pool);
+            demand.put(image, new AtomicInteger());
+            Gauge.builder("containers.pool.size", pool, Deque::size).tag("image", image).register(meterRegistry);
+        }
+
+        refillExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "container-pool");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refillExecutor.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (enabled && !images.isEmpty()) {
+            refillExecutor.execute(() -> {
+                removeUnclaimed();
+                refill(false);
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${container-pool.refill-interval-ms:30000}",
+               initialDelayString = "${container-pool.refill-interval-ms:30000}")
+    public void scheduledRefill() {
+        if (enabled) {
+            refill(true);
+        }
+    }
+
+    /**
+     * Takes a ready container for the image, if the image is pooled and one is available.
+     * The caller owns it afterwards and must either adopt it or {@link #discard} it.
+     */
+    public Optional<PooledContainer> claim(String image) {
+        Deque<PooledContainer> pool = idle.get(image);
+        if (!enabled || pool == null) {
+            return Optional.empty();
+        }
+        demand.get(image).incrementAndGet();
+        PooledContainer pooled = pool.pollFirst();
+        (pooled != null ? hits : misses).increment();
+        refillExecutor.execute(() -> refill(false));
+        return Optional.ofNullable(pooled);
+    }
+
+    /**
+     * Renames a claimed container for its owner, applies the environment and resumes it.
+     */
+    public void prepare(PooledContainer pooled, String name, Map<String, String> environment) {
+        dockerClient.renameContainerCmd(pooled.containerId()).withName(name).exec();
+        dockerClient.unpauseContainerCmd(pooled.containerId()).exec();
+        writeEnvironment(pooled.containerId(), environment);
+    }
+
+    // For a claim that was refused before the container was touched, e.g. over the user's limit
+    public void giveBack(PooledContainer pooled) {
+        Deque<PooledContainer> pool = idle.get(pooled.image());
+        if (pool == null) {
+            discard(pooled);
+            return;
+        }
+        pool.addFirst(pooled);
+    }
+
+    public void discard(PooledContainer pooled) {
+        try {
+            dockerClient.removeContainerCmd(pooled.containerId()).withForce(true).exec();
+        } catch (Exception e) {
+            logger.warn("Failed to remove pooled container {}: {}", pooled.containerId(), e.getMessage());
+        }
+        portAllocator.release(pooled.sshPort());
+    }
+
+    public Map<String, Integer> getSizes() {
+        Map<String, Integer> sizes = new LinkedHashMap<>();
+        images.forEach(image -> sizes.put(image, idle.get(image).size()));
+        return sizes;
+    }
+
+    int targetSize(String image) {
+        return Math.max(minSize, Math.min(maxSize, minSize + demand.get(image).get()));
+    }
+
+    /**
+     * Tops every pool up to its target. A scheduled pass also trims pools above their
+     * target, oldest first, and lets demand decay.
+     */
+    void refill(boolean scheduled) {
+        if (!refilling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            for (String image : images) {
+                Deque<PooledContainer> pool = idle.get(image);
+                int target = targetSize(image);
+                while (pool.size() < target) {
+                    PooledContainer pooled = createPooled(image);
+                    if (pooled == null) {
+                        break;
+                    }
+                    pool.addLast(pooled);
+                }
+                if (scheduled) {
+                    while (pool.size() > target) {
+                        PooledContainer surplus = pool.pollFirst();
+                        if (surplus != null) {
+                            discard(surplus);
+                        }
+                    }
+                    demand.get(image).updateAndGet(claims -> claims / 2);
+                }
+            }
+
+            List<Integer> heldPorts = idle.values().stream()
+                    .flatMap(Deque::stream)
+                    .map(PooledContainer::sshPort)
+                    .collect(Collectors.toList());
+            if (!heldPorts.isEmpty()) {
+                portLeaseRepository.renewLeases(heldPorts, LocalDateTime.now());
+            }
+        } catch (Exception e) {
+            logger.warn("Container pool refill failed: {}", e.getMessage());
+        } finally {
+            refilling.set(false);
+        }
+    }
+
+    private PooledContainer createPooled(String image) {
+        long startedAt = System.nanoTime();
+        imageService.prefetch(image);
+        Optional<String> bakedImage = imageBaker.bakedImageFor(image);
+        if (bakedImage.isEmpty()) {
+            imageBaker.bakeAsync(image);
+        }
+
+        int sshPort = portAllocator.reserve();
+        String containerId = null;
+        try {
+            CreateContainerCmd createCmd = dockerClient.createContainerCmd(bakedImage.orElse(image));
+            if (bakedImage.isEmpty()) {
+                createCmd.withCmd(ContainerService.getContainerConfig(image).getCommand());
+            }
+            containerId = createCmd
+                .withName(NAME_PREFIX + UUID.randomUUID().toString().substring(0, 8))
+                .withExposedPorts(ExposedPort.tcp(22))
+                .withHostConfig(ContainerService.sshHostConfig(sshPort))
+                .withWorkingDir("/workspace")
+                .withTty(true)
+                .withLabels(Map.of(
+                    ContainerLabels.MANAGED, "true",
+                    ContainerLabels.POOL, image,
+                    ContainerLabels.POOL_NODE, nodeId
+                ))
+                .exec()
+                .getId();
+            dockerClient.startContainerCmd(containerId).exec();
+
+            // Paused only once sshd answers, so a claim never waits for boot
+            if (!awaitSsh(sshPort)) {
+                throw new IllegalStateException("SSH not ready after " + readyTimeoutMs + "ms");
+            }
+            dockerClient.pauseContainerCmd(containerId).exec();
+
+            refillTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            logger.info("Pooled container {} for {} on port {}", containerId, image, sshPort);
+            return new PooledContainer(image, containerId, sshPort);
+
+        } catch (Exception e) {
+            logger.warn("Failed to create pooled container for {}: {}", image, e.getMessage());
+            if (containerId != null) {
+                discard(new PooledContainer(image, containerId, sshPort));
+            } else {
+                portAllocator.release(sshPort);
+            }
+            return null;
+        }
+    }
+
+    // 0 pauses right after the start
+    private boolean awaitSsh(int sshPort) throws InterruptedException {
+        if (readyTimeoutMs <= 0) {
+            return true;
+        }
+        long deadline = System.currentTimeMillis() + readyTimeoutMs;
+        while (System.currentTimeMillis() < deadline) {
+            if (SshProbe.bannerReceived(sshProbeHost, sshPort)) {
+                return true;
+            }
+            Thread.sleep(500);
+        }
+        return false;
+    }
+
+    // Docker cannot change a created container's environment; login shells pick this file up
+    private void writeEnvironment(String containerId, Map<String, String> environment) {
+        String exports = environment.entrySet().stream()
+                .filter(entry -> ENV_NAME.matcher(entry.getKey()).matches())
+                .map(entry -> "export " + entry.getKey() + "='" + entry.getValue().replace("'", "'\\''") + "'")
+                .collect(Collectors.joining("\n"));
+
+        String execId = dockerClient.execCreateCmd(containerId)
+                .withUser("root")
+                .withCmd("/bin/sh", "-c", "printf '%s\\n' \"$1\" > /etc/profile.d/platform-env.sh", "sh", exports)
+                .exec()
+                .getId();
+        try {
+            dockerClient.execStartCmd(execId)
+                    .exec(new ResultCallback.Adapter<Frame>())
+                    .awaitCompletion(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while writing the environment of " + containerId);
+        }
+    }
+
+    // Pooled containers do not survive a restart: this node no longer knows they are idle.
+    // Other nodes' pools share the Docker host and are left alone.
+    void removeUnclaimed() {
+        try {
+            dockerClient.listContainersCmd()
+                .withShowAll(true)
+                .withLabelFilter(Map.of(ContainerLabels.POOL_NODE, nodeId))
+                .exec().stream()
+                .filter(container -> container.getNames() != null && Arrays.stream(container.getNames())
+                        .anyMatch(name -> name.startsWith("/" + NAME_PREFIX)))
+                .forEach(container -> {
+                    Integer port = container.getPorts() == null ? null : Arrays.stream(container.getPorts())
+                            .map(ContainerPort::getPublicPort)
+                            .filter(publicPort -> publicPort != null && publicPort > 0)
+                            .findFirst()
+                            .orElse(null);
+                    try {
+                        dockerClient.removeContainerCmd(container.getId()).withForce(true).exec();
+                        portAllocator.release(port);
+                    } catch (Exception e) {
+                        logger.warn("Failed to remove stale pooled container {}: {}", container.getId(), e.getMessage());
+                    }
+                });
+        } catch (Exception e) {
+            logger.warn("Failed to list stale pooled containers: {}", e.getMessage());
+        }
+    }
+
+    private static String localHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            logger.warn("Could not resolve the host name for the pool node id: {}", e.getMessage());
+            return "local";
+        }
+    }
+}
@@ -0,0 +1,59 @@
+// src/main/java/com/platform/service/ContainerRowWriter.java
+package com.platform.service;
+
+import com.platform.exception.BadRequestException;
+import com.platform.model.entity.Container;
+import com.platform.model.enums.ContainerStatus;
+import com.platform.repository.ContainerRepository;
+import com.platform.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row writes of ContainerService that have to commit together.
+ *
+ * ContainerService runs its Docker calls outside of any transaction, so these live on their own
+ * bean where @Transactional applies.
+ */
+@Service
+public class ContainerRowWriter {
+
+    @Autowired
+    private ContainerRepository containerRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    /**
+     * Inserts a new container row unless the owner is already at the per-user limit.
+     * The owner's row is locked first, so concurrent creates of one user, on any node,
+     * count and insert one after another.
+     */
+    @Transactional
+    public Container insertWithinLimit(Container container, Long userId) {
+        userRepository.lockById(userId);
+        long count = containerRepository.countByUserIdAndStatusIn(userId, ContainerService.COUNTED_STATUSES);
+        if (count >= ContainerService.MAX_CONTAINERS_PER_USER) {
+            throw new BadRequestException(ContainerService.LIMIT_REACHED_MESSAGE);
+        }
+        return containerRepository.saveAndFlush(container);
+    }
+
+    /**
+     * Moves a row to another Docker container together with its SSH port mapping, so the two
+     * never disagree. Fails if the row left the expected status in the meantime.
+     */
+    @Transactional
+    public void repoint(Long id, ContainerStatus from, ContainerStatus to, String containerId,
+                        Integer sshPort, Integer mappedPort) {
+        if (containerRepository.repointContainer(id, from, to, containerId, sshPort, LocalDateTime.now()) == 0) {
+            throw new IllegalStateException("Container " + id + " is no longer " + from);
+        }
+        if (mappedPort != null) {
+            containerRepository.updateSshPortMapping(id, mappedPort);
+        }
+    }
+}
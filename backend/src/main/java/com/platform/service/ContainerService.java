@@ -2,21 +2,27 @@
 package com.platform.service;
 
 import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.command.CreateContainerCmd;
 import com.github.dockerjava.api.command.CreateContainerResponse;
-import com.github.dockerjava.api.command.InspectContainerResponse;
 import com.github.dockerjava.api.exception.NotFoundException;
+import com.github.dockerjava.api.exception.NotModifiedException;
 import com.github.dockerjava.api.model.*;
 import com.platform.dto.request.CreateContainerRequest;
 import com.platform.dto.response.ContainerDTO;
 import com.platform.exception.BadRequestException;
+import com.platform.exception.ContainerBusyException;
 import com.platform.exception.ResourceNotFoundException;
 import com.platform.model.entity.Container;
-import com.platform.model.entity.User;
 import com.platform.model.enums.ContainerStatus;
 import com.platform.repository.ContainerRepository;
 import com.platform.repository.UserRepository;
+import com.platform.security.jwt.UserPrincipal;
+import com.platform.service.image.ImageBaker;
+import com.platform.service.image.ImageService;
+import com.platform.service.job.ContainerProgressListener;
+import com.platform.util.ContainerLabels;
 import com.platform.util.LogContainerResultCallback;
-import com.platform.util.PullImageResultCallback;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,14 +37,20 @@ import java.nio.charset.StandardCharsets;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
+// No class-level transaction: Docker calls run outside of one and each row write commits on its own.
+// Start, stop and delete mark the row STARTING/STOPPING/REMOVING before their Docker call and undo
+// whichever side succeeded when the other one fails.
 @Service
-@Transactional
 public class ContainerService {
 
     private static final Logger logger = LoggerFactory.getLogger(ContainerService.class);
@@ -52,8 +64,41 @@ public class ContainerService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ContainerStateStore containerStateStore;
+
+    @Autowired
+    private PortAllocator portAllocator;
+
+    @Autowired
+    private ImageService imageService;
+
+    @Autowired
+    private ImageBaker imageBaker;
+
+    @Autowired
+    private ContainerPool containerPool;
+
+    @Autowired
+    private ContainerActivityTracker activityTracker;
+
+    @Autowired
+    private ContainerStatusCounters statusCounters;
+
+    @Autowired
+    private ContainerRowWriter rowWriter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Containers in these states count against the per-user limit
+    static final List<ContainerStatus> COUNTED_STATUSES = List.of(ContainerStatus.RUNNING, ContainerStatus.STARTING,
+        ContainerStatus.CREATED, ContainerStatus.PAUSED, ContainerStatus.HIBERNATED);
+    static final int MAX_CONTAINERS_PER_USER = 5;
+    static final String LIMIT_REACHED_MESSAGE = "Container limit reached (max 5 containers per user)";
+
     // Allowed images for security
-    private static final List<String> ALLOWED_IMAGES = List.of(
+    public static final List<String> ALLOWED_IMAGES = List.of(
         "ubuntu:22.04", "ubuntu:20.04", "ubuntu:18.04",
         "debian:11", "debian:10",
         "alpine:3.18", "alpine:3.17",
@@ -65,30 +110,58 @@ public class ContainerService {
         "danielguerra/ubuntu-xrdp:18.04"
     );
 
-    public ContainerDTO createContainer(CreateContainerRequest request, String username) {
-    // Validate user
-    User user = userRepository.findByUsername(username)
-        .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    public ContainerDTO createContainer(CreateContainerRequest request, UserPrincipal userPrincipal) {
+        return createContainer(request, userPrincipal, ContainerProgressListener.NONE);
+    }
+
+    /**
+     * Checks what can be rejected before any Docker work is queued.
+     * pendingCreates counts create jobs of the user that have not finished yet.
+     * Only a fast path: the limit itself is enforced by the locked insert in ContainerRowWriter.
+     */
+    public void validateCreateRequest(CreateContainerRequest request, UserPrincipal userPrincipal, int pendingCreates) {
+        // Validate image
+        if (!ALLOWED_IMAGES.contains(request.getImage())) {
+            throw new BadRequestException("Image not allowed: " + request.getImage());
+        }
 
-    // Validate image
-    if (!ALLOWED_IMAGES.contains(request.getImage())) {
-        throw new BadRequestException("Image not allowed: " + request.getImage());
+        // Check container limit per user (5 containers max)
+        long userContainerCount = containerRepository.countByUserIdAndStatusIn(userPrincipal.getId(), COUNTED_STATUSES);
+        if (userContainerCount + pendingCreates >= MAX_CONTAINERS_PER_USER) {
+            throw new BadRequestException(LIMIT_REACHED_MESSAGE);
+        }
     }
 
-    // Check container limit per user (5 containers max)
-    long userContainerCount = containerRepository.countByUserAndStatusIn(
-        user, List.of(ContainerStatus.RUNNING, ContainerStatus.CREATED, ContainerStatus.PAUSED)
-    );
-    if (userContainerCount >= 5) {
-        throw new BadRequestException("Container limit reached (max 5 containers per user)");
+    // Not transactional: the image pull can take minutes, only the row writes are
+    public ContainerDTO createContainer(CreateContainerRequest request, UserPrincipal userPrincipal,
+                                        ContainerProgressListener progress) {
+    String username = userPrincipal.getUsername();
+
+    validateCreateRequest(request, userPrincipal, 0);
+
+    Optional<ContainerPool.PooledContainer> pooled = containerPool.claim(request.getImage());
+    if (pooled.isPresent()) {
+        try {
+            return adoptPooled(pooled.get(), request, userPrincipal, progress);
+        } catch (BadRequestException e) {
+            // Over the limit; a container created from scratch would be refused as well
+            throw e;
+        } catch (Exception e) {
+            // The pool is only a shortcut; create from scratch instead
+            logger.warn("Failed to adopt pooled container {}, creating a new one: {}",
+                pooled.get().containerId(), e.getMessage());
+        }
     }
 
+    Integer sshPort = null;
+    Long rowId = null;
     try {
         // Pull image if not exists
-        pullImageIfNeeded(request.getImage());
+        progress.onProgress("pulling", "Checking image " + request.getImage());
+        imageService.ensureImage(request.getImage(), progress::onPullProgress);
 
-        // Find available SSH port
-        int sshPort = findAvailablePort();
+        // Lease an SSH port; released below if the container is not created
+        sshPort = portAllocator.reserve();
 
         // Prepare environment variables
         List<String> envVars = new ArrayList<>();
@@ -100,32 +173,19 @@ public class ContainerService {
             );
         }
 
-        // Get container configuration based on image type
-        ContainerConfig config = getContainerConfig(request.getImage());
-
-        // Create container with appropriate configuration
-        CreateContainerResponse dockerContainer = dockerClient.createContainerCmd(request.getImage())
-            .withName(generateContainerName(username, request.getName()))
-            .withEnv(envVars)
-            .withCmd(config.getCommand())
-            .withExposedPorts(ExposedPort.tcp(22)) // SSH port
-            .withHostConfig(
-                HostConfig.newHostConfig()
-                    .withPortBindings(new PortBinding(Ports.Binding.bindPort(sshPort), ExposedPort.tcp(22)))
-                    .withMemory(512L * 1024 * 1024) // 512MB limit
-                    .withCpuQuota(50000L) // 50% CPU limit
-                    .withRestartPolicy(RestartPolicy.noRestart())
-            )
-            .withWorkingDir("/workspace")
-            .withTty(true)
-            .exec();
+        // A baked image boots straight into sshd; without one, install SSH at boot and bake for next time
+        Optional<String> bakedImage = imageBaker.bakedImageFor(request.getImage());
+        if (bakedImage.isEmpty()) {
+            imageBaker.bakeAsync(request.getImage());
+        }
 
-        // Save container info to database
+        // Insert the row first so its id can be stamped on the Docker container
         Container container = new Container();
-        container.setContainerId(dockerContainer.getId());
+        container.setContainerId("pending-" + UUID.randomUUID());
         container.setName(request.getName());
         container.setImage(request.getImage());
-        container.setUser(user);
+        // Reference only - the authenticated user is known to exist
+        container.setUser(userRepository.getReferenceById(userPrincipal.getId()));
         container.setSshPort(sshPort);
         container.setStatus(ContainerStatus.CREATED);
         
@@ -137,20 +197,117 @@ public class ContainerService {
         portMappings.put(sshPort, 22);
         container.setPortMappings(portMappings);
 
-        container = containerRepository.save(container);
+        container = rowWriter.insertWithinLimit(container, userPrincipal.getId());
+        rowId = container.getId();
+
+        // Create container with appropriate configuration
+        progress.onProgress("creating", "Creating container");
+        CreateContainerCmd createCmd = dockerClient.createContainerCmd(bakedImage.orElse(request.getImage()));
+        if (bakedImage.isEmpty()) {
+            createCmd.withCmd(getContainerConfig(request.getImage()).getCommand());
+        }
+        CreateContainerResponse dockerContainer = createCmd
+            .withName(generateContainerName(username, request.getName()))
+            .withEnv(envVars)
+            .withExposedPorts(ExposedPort.tcp(22)) // SSH port
+            .withHostConfig(sshHostConfig(sshPort))
+            .withWorkingDir("/workspace")
+            .withTty(true)
+            .withLabels(Map.of(
+                ContainerLabels.MANAGED, "true",
+                ContainerLabels.USER_ID, String.valueOf(userPrincipal.getId()),
+                ContainerLabels.CONTAINER_ID, String.valueOf(container.getId())
+            ))
+            .exec();
+
+        containerRepository.updateContainerId(container.getId(), dockerContainer.getId(), LocalDateTime.now());
+        container.setContainerId(dockerContainer.getId());
+        statusCounters.register(container.getContainerId(), userPrincipal.getId(), ContainerStatus.CREATED);
+        containerStateStore.track(container.getContainerId(), ContainerStatus.CREATED);
+        progress.onProgress("created", "Container created");
 
         logger.info("Container created: {} for user: {}", dockerContainer.getId(), username);
 
-        return ContainerDTO.fromContainer(container);
+        return ContainerDTO.fromContainer(container, userPrincipal.getUsername());
 
     } catch (Exception e) {
+        if (e instanceof NotFoundException) {
+            // Removed behind the presence cache's back
+            imageService.invalidate(request.getImage());
+            imageBaker.forget(request.getImage());
+        }
+        // Nothing wraps the row insert any more, so undo it here
+        if (rowId != null) {
+            deleteRow(rowId);
+        }
+        releasePort(sshPort);
         logger.error("Failed to create container for user: " + username, e);
         throw new BadRequestException("Failed to create container: " + e.getMessage());
     }
 }
 
+// A pooled container is already running with its own port; only its owner is new
+private ContainerDTO adoptPooled(ContainerPool.PooledContainer pooled, CreateContainerRequest request,
+                                 UserPrincipal userPrincipal, ContainerProgressListener progress) {
+    progress.onProgress("creating", "Claiming a pre-started container");
+    LocalDateTime now = LocalDateTime.now();
+
+    Container container = new Container();
+    container.setContainerId(pooled.containerId());
+    container.setName(request.getName());
+    container.setImage(request.getImage());
+    container.setUser(userRepository.getReferenceById(userPrincipal.getId()));
+    container.setSshPort(pooled.sshPort());
+    container.setStatus(ContainerStatus.RUNNING);
+    container.setStartedAt(now);
+    if (request.getEnvironmentVariables() != null) {
+        container.setEnvironmentVariables(request.getEnvironmentVariables());
+    }
+    Map<Integer, Integer> portMappings = new HashMap<>();
+    portMappings.put(pooled.sshPort(), 22);
+    container.setPortMappings(portMappings);
+
+    Map<String, String> environment = new LinkedHashMap<>();
+    environment.put("CONTAINER_USER", userPrincipal.getUsername());
+    environment.put("CONTAINER_ID", request.getName());
+    if (request.getEnvironmentVariables() != null) {
+        environment.putAll(request.getEnvironmentVariables());
+    }
+
+    try {
+        container = rowWriter.insertWithinLimit(container, userPrincipal.getId());
+    } catch (RuntimeException e) {
+        // Still paused and unnamed, so another create can have it
+        containerPool.giveBack(pooled);
+        throw e;
+    }
+    try {
+        containerPool.prepare(pooled, generateContainerName(userPrincipal.getUsername(), request.getName()), environment);
+    } catch (RuntimeException e) {
+        deleteRow(container.getId());
+        containerPool.discard(pooled);
+        throw e;
+    }
+
+    statusCounters.register(container.getContainerId(), userPrincipal.getId(), ContainerStatus.RUNNING);
+    containerStateStore.track(container.getContainerId(), ContainerStatus.RUNNING);
+    progress.onProgress("started", "Container started");
+    logger.info("Container {} claimed from pool for user: {}", pooled.containerId(), userPrincipal.getUsername());
+
+    return ContainerDTO.fromContainer(container, userPrincipal.getUsername());
+}
+
+// Shared with the warm pool, which creates containers before their owner is known
+static HostConfig sshHostConfig(int sshPort) {
+    return HostConfig.newHostConfig()
+        .withPortBindings(new PortBinding(Ports.Binding.bindPort(sshPort), ExposedPort.tcp(22)))
+        .withMemory(512L * 1024 * 1024) // 512MB limit
+        .withCpuQuota(50000L) // 50% CPU limit
+        .withRestartPolicy(RestartPolicy.noRestart());
+}
+
 // Novo método para configurações específicas por imagem
-private ContainerConfig getContainerConfig(String image) {
+static ContainerConfig getContainerConfig(String image) {
     if (image.startsWith("alpine")) {
         return new ContainerConfig(new String[]{
             "/bin/sh", "-c", 
@@ -191,7 +348,7 @@ private ContainerConfig getContainerConfig(String image) {
     }
 }
 
-private static class ContainerConfig {
+static class ContainerConfig {
     private final String[] command;
 
     public ContainerConfig(String[] command) {
@@ -204,93 +361,199 @@ private static class ContainerConfig {
 }
 
 
-    public ContainerDTO startContainer(Long containerId, String username) {
-        Container container = findContainerByIdAndUser(containerId, username);
+    public ContainerDTO startContainer(Long containerId, UserPrincipal userPrincipal) {
+        return startContainer(containerId, userPrincipal, ContainerProgressListener.NONE);
+    }
+
+    public ContainerDTO startContainer(Long containerId, UserPrincipal userPrincipal,
+                                       ContainerProgressListener progress) {
+        Container container = findContainerByIdAndUser(containerId, userPrincipal.getId());
+        if (container.getStatus().isResumable()) {
+            return resumeContainer(container, userPrincipal, progress);
+        }
         
+        progress.onProgress("starting", "Starting container");
+        beginTransition(container, ContainerStatus.STARTING);
         try {
             dockerClient.startContainerCmd(container.getContainerId()).exec();
-            
-            container.setStatus(ContainerStatus.RUNNING);
-            container.setStartedAt(java.time.LocalDateTime.now());
-            container = containerRepository.save(container);
-            
-            logger.info("Container started: {} by user: {}", container.getContainerId(), username);
-            
-            return ContainerDTO.fromContainer(container);
-            
+        } catch (NotModifiedException e) {
+            // Already running, e.g. claimed from the warm pool
+            logger.debug("Container {} already running", container.getContainerId());
         } catch (Exception e) {
+            revertTransition(container, ContainerStatus.STARTING);
             logger.error("Failed to start container: " + container.getContainerId(), e);
             throw new BadRequestException("Failed to start container: " + e.getMessage());
         }
+        
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            containerRepository.updateState(container.getContainerId(), ContainerStatus.RUNNING, now, null, null, now);
+        } catch (RuntimeException e) {
+            // The row cannot follow Docker, so Docker goes back to what the row says
+            logger.error("Failed to record start of container: " + container.getContainerId(), e);
+            stopContainerQuietly(container.getContainerId());
+            revertTransition(container, ContainerStatus.STARTING);
+            throw new BadRequestException("Failed to start container: " + e.getMessage());
+        }
+        container.setStatus(ContainerStatus.RUNNING);
+        container.setStartedAt(now);
+        containerStateStore.track(container.getContainerId(), ContainerStatus.RUNNING);
+        progress.onProgress("started", "Container started");
+        
+        logger.info("Container started: {} by user: {}", container.getContainerId(), userPrincipal.getUsername());
+        
+        return ContainerDTO.fromContainer(container, userPrincipal.getUsername());
     }
 
-    public ContainerDTO stopContainer(Long containerId, String username) {
-        Container container = findContainerByIdAndUser(containerId, username);
+    public ContainerDTO stopContainer(Long containerId, UserPrincipal userPrincipal) {
+        return stopContainer(containerId, userPrincipal, ContainerProgressListener.NONE);
+    }
+
+    public ContainerDTO stopContainer(Long containerId, UserPrincipal userPrincipal,
+                                      ContainerProgressListener progress) {
+        Container container = findContainerByIdAndUser(containerId, userPrincipal.getId());
+        if (container.getStatus() == ContainerStatus.HIBERNATED) {
+            // Nothing is running; it stays hibernated until started
+            return ContainerDTO.fromContainer(container, userPrincipal.getUsername());
+        }
         
+        progress.onProgress("stopping", "Stopping container");
+        beginTransition(container, ContainerStatus.STOPPING);
         try {
             dockerClient.stopContainerCmd(container.getContainerId()).exec();
-            
-            container.setStatus(ContainerStatus.EXITED);
-            container.setStoppedAt(java.time.LocalDateTime.now());
-            container = containerRepository.save(container);
-            
-            logger.info("Container stopped: {} by user: {}", container.getContainerId(), username);
-            
-            return ContainerDTO.fromContainer(container);
-            
+        } catch (NotModifiedException e) {
+            logger.debug("Container {} already stopped", container.getContainerId());
         } catch (Exception e) {
+            revertTransition(container, ContainerStatus.STOPPING);
             logger.error("Failed to stop container: " + container.getContainerId(), e);
             throw new BadRequestException("Failed to stop container: " + e.getMessage());
         }
+        
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            containerRepository.updateState(container.getContainerId(), ContainerStatus.EXITED, null, now, null, now);
+        } catch (RuntimeException e) {
+            // Not undone: restarting what the user stopped is worse than a row that says STOPPING
+            // until the die event or the reconciler records it
+            logger.error("Failed to record stop of container: " + container.getContainerId(), e);
+        }
+        container.setStatus(ContainerStatus.EXITED);
+        container.setStoppedAt(now);
+        containerStateStore.track(container.getContainerId(), ContainerStatus.EXITED);
+        progress.onProgress("stopped", "Container stopped");
+        
+        logger.info("Container stopped: {} by user: {}", container.getContainerId(), userPrincipal.getUsername());
+        
+        return ContainerDTO.fromContainer(container, userPrincipal.getUsername());
     }
 
-    public void deleteContainer(Long containerId, String username) {
-        Container container = findContainerByIdAndUser(containerId, username);
+    public void deleteContainer(Long containerId, UserPrincipal userPrincipal) {
+        deleteContainer(containerId, userPrincipal, ContainerProgressListener.NONE);
+    }
+
+    public void deleteContainer(Long containerId, UserPrincipal userPrincipal, ContainerProgressListener progress) {
+        Container container = findContainerByIdAndUser(containerId, userPrincipal.getId());
         
+        progress.onProgress("removing", "Removing container");
+        beginTransition(container, ContainerStatus.REMOVING);
         try {
-            // Stop container if running
-            if (container.isRunning()) {
-                dockerClient.stopContainerCmd(container.getContainerId()).exec();
+            // A hibernated container only has its snapshot left in Docker
+            if (container.getStatus() != ContainerStatus.HIBERNATED) {
+                // Stop container if running
+                if (container.isRunning()) {
+                    dockerClient.stopContainerCmd(container.getContainerId()).exec();
+                }
+
+                // Remove container from Docker
+                dockerClient.removeContainerCmd(container.getContainerId())
+                    .withForce(true)
+                    .exec();
             }
-            
-            // Remove container from Docker
-            dockerClient.removeContainerCmd(container.getContainerId())
-                .withForce(true)
-                .exec();
-            
-            // Remove from database
-            containerRepository.delete(container);
-            
-            logger.info("Container deleted: {} by user: {}", container.getContainerId(), username);
-            
+        } catch (NotFoundException e) {
+            // Already gone, e.g. a dead container or a retried delete
+            logger.debug("Container {} already removed", container.getContainerId());
         } catch (Exception e) {
+            revertTransition(container, ContainerStatus.REMOVING);
             logger.error("Failed to delete container: " + container.getContainerId(), e);
             throw new BadRequestException("Failed to delete container: " + e.getMessage());
         }
-    }
-
-    public List<ContainerDTO> getUserContainers(String username) {
-        User user = userRepository.findByUsername(username)
-            .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         
-        List<Container> containers = containerRepository.findByUser(user);
+        // The Docker container is gone, so its host port is free even if the delete below fails
+        releasePort(container.getSshPort());
+
+        // Nothing to undo in Docker from here on: a row left REMOVING is marked dead by the
+        // reconciler, and deleting it again finishes the job
+        try {
+            containerRepository.deleteById(container.getId());
+        } catch (RuntimeException e) {
+            logger.error("Failed to delete row of removed container: " + container.getContainerId(), e);
+            throw new BadRequestException("Container removed, but deleting its record failed: " + e.getMessage());
+        }
+        removeImageQuietly(container.getHibernatedImage());
+        containerStateStore.forget(container.getContainerId());
+        statusCounters.unregister(container.getContainerId());
+        activityTracker.forget(container.getContainerId());
+        progress.onProgress("removed", "Container removed");
         
-        // Update container statuses from Docker
-        containers.forEach(this::updateContainerStatus);
+        logger.info("Container deleted: {} by user: {}", container.getContainerId(), userPrincipal.getUsername());
+    }
+
+    /**
+     * Writes the Docker outcome of a bulk operation in one transaction: one update per new
+     * status and one batch of deletes.
+     */
+    @Transactional
+    public void applyBulkChanges(Map<ContainerStatus, List<String>> statusChanges, List<Long> deletedIds) {
+        LocalDateTime now = LocalDateTime.now();
+        statusChanges.forEach((status, containerIds) -> containerRepository.updateStates(containerIds, status,
+            status == ContainerStatus.RUNNING ? now : null,
+            status == ContainerStatus.EXITED ? now : null,
+            now));
+        if (!deletedIds.isEmpty()) {
+            // Loads the rows so their environment and port mapping rows go too
+            containerRepository.deleteAllById(deletedIds);
+        }
+    }
+
+    // Read-only so the live state copied onto the entities is never flushed
+    @Transactional(readOnly = true)
+    public List<ContainerDTO> getUserContainers(UserPrincipal userPrincipal) {
+        List<Container> containers = containerRepository.findByUserId(userPrincipal.getId());
         
+        // Live status comes from the Docker event stream, not from per-container inspect calls
         return containers.stream()
-            .map(ContainerDTO::fromContainer)
+            .map(containerStateStore::applyTo)
+            .map(container -> ContainerDTO.fromContainer(container, userPrincipal.getUsername()))
             .collect(Collectors.toList());
     }
 
-    public ContainerDTO getContainer(Long containerId, String username) {
-        Container container = findContainerByIdAndUser(containerId, username);
-        updateContainerStatus(container);
-        return ContainerDTO.fromContainer(container);
+    /**
+     * Refreshes the status of all of the user's containers from a single Docker listing
+     * and returns how many rows changed.
+     */
+    public int reconcileContainers(UserPrincipal userPrincipal) {
+        return containerStateStore.reconcileUser(userPrincipal.getId());
+    }
+
+    /**
+     * Without a synced event stream, refreshes the user's containers from one labelled Docker
+     * listing. Call it before getUserContainers, not from inside its read-only transaction,
+     * so a list request never holds two pooled connections.
+     */
+    public void reconcileIfUnsynced(UserPrincipal userPrincipal) {
+        if (!containerStateStore.isSynced()) {
+            containerStateStore.reconcileUser(userPrincipal.getId());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public ContainerDTO getContainer(Long containerId, UserPrincipal userPrincipal) {
+        Container container = containerStateStore.applyTo(findContainerByIdAndUser(containerId, userPrincipal.getId()));
+        return ContainerDTO.fromContainer(container, userPrincipal.getUsername());
     }
 
-    public List<String> getContainerLogs(Long containerId, String username, int lines) {
-        Container container = findContainerByIdAndUser(containerId, username);
+    public List<String> getContainerLogs(Long containerId, UserPrincipal userPrincipal, int lines) {
+        Container container = findContainerByIdAndUser(containerId, userPrincipal.getId());
         
         try {
             LogContainerResultCallback callback = new LogContainerResultCallback();
@@ -310,65 +573,291 @@ private static class ContainerConfig {
     }
 
     // Helper methods
-    private Container findContainerByIdAndUser(Long containerId, String username) {
-        User user = userRepository.findByUsername(username)
-            .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        
-        return containerRepository.findByIdAndUser(containerId, user)
-            .orElseThrow(() -> new ResourceNotFoundException("Container not found"));
+    /**
+     * Called by the SSH gateway before it proxies a session: counts as activity and brings
+     * a paused or hibernated container back first.
+     */
+    public ContainerDTO connectContainer(Long containerId, UserPrincipal userPrincipal) {
+        Container container = findContainerByIdAndUser(containerId, userPrincipal.getId());
+        if (container.getStatus().isResumable()) {
+            return resumeContainer(container, userPrincipal, ContainerProgressListener.NONE);
+        }
+        if (!container.isRunning()) {
+            throw new BadRequestException("Container is not running");
+        }
+        activityTracker.touch(container.getContainerId());
+        return ContainerDTO.fromContainer(container, userPrincipal.getUsername());
+    }
+
+    /**
+     * Called by the SSH gateway on an interval with the containers it still proxies a session
+     * to. An open session counts as activity even while nothing is typed in it.
+     */
+    public int recordSessionActivity(List<Long> containerIds) {
+        int touched = 0;
+        for (Container container : containerRepository.findAllById(containerIds)) {
+            if (container.isRunning()) {
+                activityTracker.touch(container.getContainerId());
+                touched++;
+            }
+        }
+        return touched;
     }
 
-    private void updateContainerStatus(Container container) {
+    private ContainerDTO resumeContainer(Container container, UserPrincipal userPrincipal,
+                                         ContainerProgressListener progress) {
         try {
-            InspectContainerResponse dockerContainer = dockerClient
-                .inspectContainerCmd(container.getContainerId())
-                .exec();
-            
-            ContainerStatus newStatus = ContainerStatus.fromDockerStatus(
-                dockerContainer.getState().getStatus()
-            );
-            
-            if (!newStatus.equals(container.getStatus())) {
-                container.setStatus(newStatus);
-                containerRepository.save(container);
+            if (container.getStatus() == ContainerStatus.HIBERNATED) {
+                restoreContainer(container, userPrincipal, progress);
+            } else {
+                unpauseContainer(container, progress);
             }
-            
-        } catch (NotFoundException e) {
-            // Container was removed from Docker but still in database
-            container.setStatus(ContainerStatus.DEAD);
-            containerRepository.save(container);
+            activityTracker.touch(container.getContainerId());
+            progress.onProgress("started", "Container started");
+
+            logger.info("Container resumed: {} by user: {}", container.getContainerId(), userPrincipal.getUsername());
+            return ContainerDTO.fromContainer(container, userPrincipal.getUsername());
+
+        } catch (ContainerBusyException e) {
+            throw e;
         } catch (Exception e) {
-            logger.warn("Failed to update container status: " + container.getContainerId(), e);
+            logger.error("Failed to resume container: " + container.getContainerId(), e);
+            throw new BadRequestException("Failed to start container: " + e.getMessage());
         }
     }
 
-    private void pullImageIfNeeded(String image) {
+    /**
+     * Recreates a hibernated container from its snapshot. The snapshot keeps the command,
+     * environment and working directory of the original container.
+     *
+     * The row is claimed with HIBERNATED -> STARTING first, so of two connects, or a connect
+     * and a start job, only one restores; the other gets a ContainerBusyException. Until the
+     * new container runs, any failure puts the row back to HIBERNATED with its old Docker id
+     * and port mapping.
+     */
+    private void restoreContainer(Container container, UserPrincipal userPrincipal, ContainerProgressListener progress) {
+        if (containerRepository.transitionStatus(container.getId(), ContainerStatus.HIBERNATED,
+                ContainerStatus.STARTING, LocalDateTime.now()) == 0) {
+            throw new ContainerBusyException("Container is being restored, try again shortly");
+        }
+        progress.onProgress("restoring", "Restoring hibernated container");
+        String hibernatedId = container.getContainerId();
+        Integer hibernatedMapping = containerRepository.findSshPortMapping(container.getId());
+        Integer sshPort = null;
+        String dockerId = null;
+        LocalDateTime now;
         try {
-            dockerClient.inspectImageCmd(image).exec();
-        } catch (NotFoundException e) {
-            logger.info("Pulling image: {}", image);
+            sshPort = portAllocator.reserve();
+            dockerId = dockerClient.createContainerCmd(container.getHibernatedImage())
+                .withName(generateContainerName(userPrincipal.getUsername(), container.getName()))
+                .withExposedPorts(ExposedPort.tcp(22))
+                .withHostConfig(sshHostConfig(sshPort))
+                .withTty(true)
+                .withLabels(Map.of(
+                    ContainerLabels.MANAGED, "true",
+                    ContainerLabels.USER_ID, String.valueOf(userPrincipal.getId()),
+                    ContainerLabels.CONTAINER_ID, String.valueOf(container.getId())
+                ))
+                .exec()
+                .getId();
+
+            rowWriter.repoint(container.getId(), ContainerStatus.STARTING, ContainerStatus.STARTING,
+                dockerId, sshPort, sshPort);
+            dockerClient.startContainerCmd(dockerId).exec();
+            now = LocalDateTime.now();
+            containerRepository.updateState(dockerId, ContainerStatus.RUNNING, now, null, null, now);
+        } catch (RuntimeException e) {
+            if (dockerId != null) {
+                removeContainerQuietly(dockerId);
+            }
+            releasePort(sshPort);
             try {
-                dockerClient.pullImageCmd(image)
-                    .exec(new PullImageResultCallback())
-                    .awaitCompletion();
-            } catch (InterruptedException ie) {
-                Thread.currentThread().interrupt();
-                throw new BadRequestException("Image pull interrupted: " + image);
+                rowWriter.repoint(container.getId(), ContainerStatus.STARTING, ContainerStatus.HIBERNATED,
+                    hibernatedId, null, hibernatedMapping);
+            } catch (RuntimeException revertError) {
+                // Marked dead by the reconciler once the transition times out; the snapshot stays
+                logger.error("Failed to return container {} to hibernation: {}", container.getId(), revertError.getMessage());
             }
+            throw e;
         }
+
+        // Counted under the new Docker id from here on
+        statusCounters.unregister(hibernatedId);
+        statusCounters.register(dockerId, userPrincipal.getId(), ContainerStatus.RUNNING);
+        container.setContainerId(dockerId);
+        container.setSshPort(sshPort);
+        // A new map, so the lazy collection of the detached entity is never loaded
+        container.setPortMappings(new HashMap<>(Map.of(sshPort, 22)));
+        container.setStatus(ContainerStatus.RUNNING);
+        container.setStartedAt(now);
+        containerStateStore.track(dockerId, ContainerStatus.RUNNING);
+        meterRegistry.counter("containers.idle.restored").increment();
     }
 
-    private int findAvailablePort() {
-        // Find available port between 8000-9000
-        List<Integer> usedPorts = containerRepository.findAllSshPorts();
-        
-        for (int port = 8000; port <= 9000; port++) {
-            if (!usedPorts.contains(port)) {
-                return port;
+    /**
+     * Claims the paused row before the unpause, so a hibernation of the same container that
+     * has not written its row yet gives up instead of removing it.
+     */
+    private void unpauseContainer(Container container, ContainerProgressListener progress) {
+        if (containerRepository.transitionStatus(container.getId(), ContainerStatus.PAUSED,
+                ContainerStatus.STARTING, LocalDateTime.now()) == 0) {
+            throw new ContainerBusyException("Container is being resumed or hibernated, try again shortly");
+        }
+        progress.onProgress("resuming", "Resuming paused container");
+        try {
+            dockerClient.unpauseContainerCmd(container.getContainerId()).exec();
+        } catch (RuntimeException e) {
+            revertTransition(container, ContainerStatus.STARTING);
+            throw e;
+        }
+        // Guarded like the claim: if a delete took the row over meanwhile, it is left to the delete
+        containerRepository.transitionStatus(container.getId(), ContainerStatus.STARTING, ContainerStatus.RUNNING,
+            LocalDateTime.now());
+        container.setStatus(ContainerStatus.RUNNING);
+        containerStateStore.track(container.getContainerId(), ContainerStatus.RUNNING);
+    }
+
+    /**
+     * Freezes an idle running container. Called by the idle manager, so there is no user.
+     * Returns false, with the container running again, if the row left RUNNING meanwhile.
+     */
+    public boolean pauseIdle(Container container) {
+        dockerClient.pauseContainerCmd(container.getContainerId()).exec();
+        boolean recorded = false;
+        try {
+            recorded = containerRepository.transitionStatus(container.getId(), ContainerStatus.RUNNING,
+                ContainerStatus.PAUSED, LocalDateTime.now()) == 1;
+        } finally {
+            if (!recorded) {
+                // A paused container the row does not call paused would never be resumed
+                try {
+                    dockerClient.unpauseContainerCmd(container.getContainerId()).exec();
+                } catch (Exception unpauseError) {
+                    logger.warn("Failed to unpause container {}: {}", container.getContainerId(), unpauseError.getMessage());
+                }
             }
         }
-        
-        throw new BadRequestException("No available ports for SSH");
+        if (!recorded) {
+            logger.debug("Container {} changed state while pausing, left running", container.getContainerId());
+            return false;
+        }
+        containerStateStore.track(container.getContainerId(), ContainerStatus.PAUSED);
+        logger.info("Paused idle container {}", container.getContainerId());
+        return true;
+    }
+
+    /**
+     * Commits a long idle container to a snapshot image, then removes it and frees its port.
+     * The row is marked hibernated before the removal, so a reconcile in between never sees
+     * a running container missing from Docker. Returns false, keeping the container, if the
+     * row left PAUSED meanwhile, e.g. because a connect resumed it.
+     */
+    public boolean hibernate(Container container) {
+        String dockerId = container.getContainerId();
+        String snapshot = "platform-hibernated/container-" + container.getId() + ":" + System.currentTimeMillis();
+        int colon = snapshot.lastIndexOf(':');
+        dockerClient.commitCmd(dockerId)
+            .withRepository(snapshot.substring(0, colon))
+            .withTag(snapshot.substring(colon + 1))
+            .withLabels(Map.of(ContainerLabels.CONTAINER_ID, String.valueOf(container.getId())))
+            .exec();
+
+        boolean recorded = false;
+        try {
+            recorded = containerRepository.markHibernated(container.getId(), snapshot, LocalDateTime.now()) == 1;
+        } finally {
+            if (!recorded) {
+                // The container keeps running as before; only the new snapshot has to go
+                removeImageQuietly(snapshot);
+            }
+        }
+        if (!recorded) {
+            logger.debug("Container {} changed state while hibernating, kept", dockerId);
+            return false;
+        }
+        // Still counted, under the id of the container it was taken from
+        statusCounters.moved(dockerId, ContainerStatus.HIBERNATED);
+        containerStateStore.forget(dockerId);
+        activityTracker.forget(dockerId);
+
+        removeContainerQuietly(dockerId);
+        releasePort(container.getSshPort());
+        // An earlier snapshot is a parent of this one, so this only drops its tag
+        if (container.getHibernatedImage() != null) {
+            removeImageQuietly(container.getHibernatedImage());
+        }
+        logger.info("Hibernated idle container {} as {}", dockerId, snapshot);
+        return true;
+    }
+
+    // Short write before a Docker call; fails if another operation moved the row since it was read
+    private void beginTransition(Container container, ContainerStatus transitional) {
+        if (containerRepository.transitionStatus(container.getId(), container.getStatus(), transitional,
+                LocalDateTime.now()) == 0) {
+            throw new BadRequestException("Container state changed, try again");
+        }
+        containerStateStore.track(container.getContainerId(), transitional);
+    }
+
+    // Undoes beginTransition after a failed Docker call; the container still has the status it was read with
+    private void revertTransition(Container container, ContainerStatus transitional) {
+        try {
+            containerRepository.transitionStatus(container.getId(), transitional, container.getStatus(),
+                LocalDateTime.now());
+            containerStateStore.track(container.getContainerId(), container.getStatus());
+        } catch (Exception e) {
+            // Reconciled from Docker once the transition times out
+            logger.warn("Failed to restore status of container {}: {}", container.getContainerId(), e.getMessage());
+        }
+    }
+
+    private void stopContainerQuietly(String dockerId) {
+        try {
+            dockerClient.stopContainerCmd(dockerId).exec();
+        } catch (Exception e) {
+            logger.warn("Failed to stop container {}: {}", dockerId, e.getMessage());
+        }
+    }
+
+    private void removeContainerQuietly(String dockerId) {
+        try {
+            dockerClient.removeContainerCmd(dockerId).withForce(true).exec();
+        } catch (Exception e) {
+            logger.warn("Failed to remove container {}: {}", dockerId, e.getMessage());
+        }
+    }
+
+    private void removeImageQuietly(String image) {
+        if (image == null) {
+            return;
+        }
+        try {
+            dockerClient.removeImageCmd(image).exec();
+        } catch (Exception e) {
+            logger.warn("Failed to remove image {}: {}", image, e.getMessage());
+        }
+    }
+
+    private Container findContainerByIdAndUser(Long containerId, Long userId) {
+        return containerRepository.findByIdAndUserId(containerId, userId)
+            .orElseThrow(() -> new ResourceNotFoundException("Container not found"));
+    }
+
+    private void deleteRow(Long id) {
+        try {
+            containerRepository.deleteById(id);
+        } catch (Exception e) {
+            logger.warn("Failed to remove container row {}: {}", id, e.getMessage());
+        }
+    }
+
+    private void releasePort(Integer port) {
+        try {
+            portAllocator.release(port);
+        } catch (Exception e) {
+            // Leftover leases are removed by the allocator's orphan cleanup
+            logger.warn("Failed to release port {}: {}", port, e.getMessage());
+        }
     }
 
     private String generateContainerName(String username, String name) {
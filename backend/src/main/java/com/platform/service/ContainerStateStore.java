@@ -0,0 +1,557 @@
+// src/main/java/com/platform/service/ContainerStateStore.java
+package com.platform.service;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.model.Event;
+import com.github.dockerjava.api.model.EventType;
+import com.platform.model.entity.Container;
+import com.platform.model.enums.ContainerStatus;
+import com.platform.repository.ContainerRepository;
+import com.platform.util.ContainerLabels;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory view of the Docker state of every platform container.
+ *
+ * Kept current by the Docker event stream, so reads need no Docker calls. Changes are written
+ * to the database in batches. A full resync from a single labelled container listing runs on
+ * startup, after every event stream reconnect and periodically as a safety net; the same
+ * reconciliation is available per user for when no event stream is available.
+ */
+@Service
+public class ContainerStateStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContainerStateStore.class);
+
+    // Docker list status, e.g. "Exited (137) 5 minutes ago"
+    private static final Pattern EXIT_CODE_PATTERN = Pattern.compile("Exited \\((-?\\d+)\\)");
+    private static final long INITIAL_RECONNECT_DELAY_MS = 1000;
+
+    @Autowired
+    private DockerClient dockerClient;
+
+    @Autowired
+    private ContainerRepository containerRepository;
+
+    @Autowired
+    private ContainerStatusCounters statusCounters;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${container-state.events-enabled:true}")
+    private boolean eventsEnabled;
+
+    @Value("${container-state.reconnect-max-delay-ms:60000}")
+    private long reconnectMaxDelayMs;
+
+    // A start, stop or delete still marked in flight after this long died with its node
+    @Value("${container-state.transition-timeout-seconds:300}")
+    private long transitionTimeoutSeconds;
+
+    private final Map<String, ContainerState> states = new ConcurrentHashMap<>();
+    private final Map<String, ContainerState> pendingWrites = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService eventExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "docker-events");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean reconnectPending = new AtomicBoolean();
+
+    private volatile boolean running;
+    private volatile boolean synced;
+    private volatile EventsCallback subscription;
+    private volatile long reconnectDelayMs = INITIAL_RECONNECT_DELAY_MS;
+
+    private Counter eventCounter;
+
+    @PostConstruct
+    public void init() {
+        eventCounter = meterRegistry.counter("containers.state.events");
+        Gauge.builder("containers.state.tracked", states, Map::size).register(meterRegistry);
+        Gauge.builder("containers.state.pending-writes", pendingWrites, Map::size).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!eventsEnabled) {
+            logger.info("Docker event subscription disabled - container status is read from the database");
+            return;
+        }
+        running = true;
+        eventExecutor.execute(this::subscribe);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        closeSubscription();
+        eventExecutor.shutdownNow();
+        try {
+            writePending();
+        } catch (Exception e) {
+            logger.warn("Failed to write pending container states on shutdown: {}", e.getMessage());
+        }
+    }
+
+    public Optional<ContainerState> get(String containerId) {
+        return Optional.ofNullable(states.get(containerId));
+    }
+
+    public boolean isSynced() {
+        return synced;
+    }
+
+    /**
+     * Copies the live state onto a container loaded from the database.
+     * Callers must not let the entity be flushed (e.g. use a read-only transaction).
+     */
+    public Container applyTo(Container container) {
+        ContainerState state = states.get(container.getContainerId());
+        if (state != null) {
+            container.setStatus(state.getStatus());
+            if (state.getStartedAt() != null) {
+                container.setStartedAt(state.getStartedAt());
+            }
+            if (state.getStoppedAt() != null) {
+                container.setStoppedAt(state.getStoppedAt());
+            }
+            if (state.getExitCode() != null) {
+                container.setExitCode(state.getExitCode());
+            }
+        }
+        return container;
+    }
+
+    // Registers a change the caller has already persisted, e.g. right after a lifecycle call
+    public void track(String containerId, ContainerStatus status) {
+        states.compute(containerId, (id, current) -> current == null
+                ? new ContainerState(status, null, null, null, System.currentTimeMillis())
+                : current.with(status, null, null, null, System.currentTimeMillis()));
+        statusCounters.moved(containerId, status);
+    }
+
+    public void forget(String containerId) {
+        states.remove(containerId);
+        pendingWrites.remove(containerId);
+    }
+
+    @Scheduled(fixedDelayString = "${container-state.flush-interval-ms:2000}")
+    @Transactional
+    public void flush() {
+        writePending();
+    }
+
+    @Scheduled(fixedDelayString = "${container-state.resync-interval-ms:300000}",
+               initialDelayString = "${container-state.resync-interval-ms:300000}")
+    public void periodicResync() {
+        if (running && synced) {
+            try {
+                resync();
+            } catch (Exception e) {
+                logger.warn("Periodic container state resync failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the state of every known container from one Docker listing.
+     * States observed after the listing started are newer and kept.
+     */
+    public synchronized void resync() {
+        long listedAt = System.currentTimeMillis();
+        List<ContainerRepository.ContainerStatusView> rows = containerRepository.findAllStatuses();
+
+        int changed = reconcile(rows, Map.of(ContainerLabels.MANAGED, "true"), listedAt);
+
+        Set<String> knownIds = rows.stream()
+                .map(ContainerRepository.ContainerStatusView::getContainerId)
+                .collect(Collectors.toSet());
+        Set<String> liveIds = rows.stream()
+                .filter(row -> row.getStatus() != ContainerStatus.HIBERNATED)
+                .map(ContainerRepository.ContainerStatusView::getContainerId)
+                .collect(Collectors.toSet());
+        states.entrySet().removeIf(entry -> {
+            if (liveIds.contains(entry.getKey()) || entry.getValue().getObservedAt() > listedAt) {
+                return false;
+            }
+            // Deleted, possibly through another node whose destroy event was never seen here;
+            // a hibernated row is still counted under the id of its removed container
+            if (!knownIds.contains(entry.getKey())) {
+                statusCounters.unregister(entry.getKey());
+            }
+            return true;
+        });
+
+        synced = true;
+        logger.info("Container state resynced: {} tracked, {} changed", states.size(), changed);
+    }
+
+    /**
+     * Refreshes one user's containers from a single Docker listing filtered by the owner label.
+     * Writes, so it must not be called from inside a read-only transaction.
+     */
+    @Transactional
+    public int reconcileUser(Long userId) {
+        return reconcile(containerRepository.findStatusesByUserId(userId),
+                Map.of(ContainerLabels.USER_ID, String.valueOf(userId)),
+                System.currentTimeMillis());
+    }
+
+    /**
+     * Applies the Docker state of the given rows to the store and writes the differences
+     * with one bulk update per resulting status. Rows the status counters lack, e.g. created
+     * through another node, are registered with them.
+     */
+    private int reconcile(List<ContainerRepository.ContainerStatusView> rows, Map<String, String> labelFilter,
+                          long listedAt) {
+        Set<String> expectedIds = rows.stream()
+                .filter(row -> row.getStatus() != ContainerStatus.HIBERNATED)
+                .map(ContainerRepository.ContainerStatusView::getContainerId)
+                .collect(Collectors.toSet());
+        Map<String, com.github.dockerjava.api.model.Container> dockerContainers =
+                listDockerContainers(labelFilter, expectedIds);
+
+        Map<ContainerStatus, List<String>> changes = new EnumMap<>(ContainerStatus.class);
+        LocalDateTime transitionCutoff = LocalDateTime.now().minusSeconds(transitionTimeoutSeconds);
+        for (ContainerRepository.ContainerStatusView row : rows) {
+            String containerId = row.getContainerId();
+            if (row.getStatus() == ContainerStatus.HIBERNATED) {
+                // Only its snapshot is left in Docker
+                statusCounters.register(containerId, row.getUserId(), ContainerStatus.HIBERNATED);
+                continue;
+            }
+            if (row.getStatus().isTransitional() && row.getUpdatedAt() != null
+                    && row.getUpdatedAt().isAfter(transitionCutoff)) {
+                // The Docker call is still running; its caller writes the outcome
+                ContainerState live = states.get(containerId);
+                statusCounters.register(containerId, row.getUserId(), live != null ? live.getStatus() : row.getStatus());
+                continue;
+            }
+            com.github.dockerjava.api.model.Container dockerContainer = dockerContainers.get(containerId);
+            // Missing from Docker but still in the database
+            ContainerStatus status = dockerContainer == null
+                    ? ContainerStatus.DEAD
+                    : ContainerStatus.fromDockerStatus(dockerContainer.getState());
+            Integer exitCode = dockerContainer == null ? null : parseExitCode(dockerContainer.getStatus());
+
+            AtomicBoolean applied = new AtomicBoolean();
+            ContainerState state = states.compute(containerId, (id, current) -> {
+                if (current != null && current.getObservedAt() > listedAt) {
+                    return current;
+                }
+                applied.set(true);
+                return current == null
+                        ? new ContainerState(status, null, null, exitCode, listedAt)
+                        : current.with(status, null, null, exitCode, listedAt);
+            });
+
+            statusCounters.register(containerId, row.getUserId(), state.getStatus());
+            if (applied.get() && status != row.getStatus()) {
+                changes.computeIfAbsent(status, key -> new ArrayList<>()).add(containerId);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        changes.forEach((status, containerIds) -> {
+            containerRepository.updateStatuses(containerIds, status, now);
+            logger.info("Reconciled {} containers to {}", containerIds.size(), status);
+        });
+
+        return changes.values().stream().mapToInt(List::size).sum();
+    }
+
+    /**
+     * One labelled listing. Containers created before labels were stamped are looked up
+     * by id in a second call, and only when some expected container is missing.
+     */
+    private Map<String, com.github.dockerjava.api.model.Container> listDockerContainers(
+            Map<String, String> labelFilter, Set<String> expectedIds) {
+        Map<String, com.github.dockerjava.api.model.Container> containers = new HashMap<>();
+        dockerClient.listContainersCmd()
+                .withShowAll(true)
+                .withLabelFilter(labelFilter)
+                .exec()
+                .forEach(container -> containers.put(container.getId(), container));
+
+        Set<String> missing = new HashSet<>(expectedIds);
+        missing.removeAll(containers.keySet());
+        if (!missing.isEmpty()) {
+            dockerClient.listContainersCmd()
+                    .withShowAll(true)
+                    .withIdFilter(missing)
+                    .exec()
+                    .stream()
+                    .filter(container -> missing.contains(container.getId()))
+                    .forEach(container -> containers.put(container.getId(), container));
+        }
+
+        return containers;
+    }
+
+    void onEvent(Event event) {
+        eventCounter.increment();
+
+        String containerId = event.getId();
+        if (containerId == null || !states.containsKey(containerId)) {
+            return;
+        }
+
+        String action = event.getAction() != null ? event.getAction() : event.getStatus();
+        if (action == null) {
+            return;
+        }
+
+        LocalDateTime at = eventTime(event);
+        switch (action) {
+            case "create" -> update(containerId, ContainerStatus.CREATED, null, null, null);
+            case "start", "restart" -> update(containerId, ContainerStatus.RUNNING, at, null, null);
+            case "unpause" -> update(containerId, ContainerStatus.RUNNING, null, null, null);
+            case "pause" -> update(containerId, ContainerStatus.PAUSED, null, null, null);
+            case "die" -> update(containerId, ContainerStatus.EXITED, null, at, exitCode(event));
+            case "destroy" -> update(containerId, ContainerStatus.DEAD, null, null, null);
+            default -> {
+                // exec_*, health_status, kill, stop (followed by die), ...
+            }
+        }
+    }
+
+    private void update(String containerId, ContainerStatus status, LocalDateTime startedAt,
+                        LocalDateTime stoppedAt, Integer exitCode) {
+        long now = System.currentTimeMillis();
+        ContainerState next = states.computeIfPresent(containerId,
+                (id, current) -> current.with(status, startedAt, stoppedAt, exitCode, now));
+        if (next != null) {
+            pendingWrites.put(containerId, next);
+            statusCounters.moved(containerId, status);
+        }
+    }
+
+    private void writePending() {
+        if (pendingWrites.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<String> written = new ArrayList<>();
+        try {
+            for (String containerId : new ArrayList<>(pendingWrites.keySet())) {
+                ContainerState state = pendingWrites.remove(containerId);
+                if (state == null) {
+                    continue;
+                }
+                written.add(containerId);
+                containerRepository.updateObservedState(containerId, state.getStatus(), state.getStartedAt(),
+                        state.getStoppedAt(), state.getExitCode(), now);
+            }
+            logger.debug("Wrote {} container state changes", written.size());
+        } catch (RuntimeException e) {
+            // Requeue unless a newer state arrived in the meantime
+            written.forEach(id -> {
+                ContainerState state = states.get(id);
+                if (state != null) {
+                    pendingWrites.putIfAbsent(id, state);
+                }
+            });
+            throw e;
+        }
+    }
+
+    private void subscribe() {
+        if (!running) {
+            return;
+        }
+        closeSubscription();
+
+        try {
+            EventsCallback callback = new EventsCallback();
+            subscription = callback;
+            dockerClient.eventsCmd()
+                    .withEventTypeFilter(EventType.CONTAINER)
+                    .exec(callback);
+
+            // Anything that happened while disconnected is picked up here
+            resync();
+            reconnectDelayMs = INITIAL_RECONNECT_DELAY_MS;
+        } catch (Exception e) {
+            logger.warn("Docker event subscription failed: {}", e.getMessage());
+            scheduleReconnect();
+        }
+    }
+
+    private void scheduleReconnect() {
+        if (!running || !reconnectPending.compareAndSet(false, true)) {
+            return;
+        }
+
+        long delay = reconnectDelayMs;
+        reconnectDelayMs = Math.min(delay * 2, reconnectMaxDelayMs);
+        logger.info("Reconnecting to the Docker event stream in {} ms", delay);
+
+        try {
+            eventExecutor.schedule(() -> {
+                reconnectPending.set(false);
+                subscribe();
+            }, delay, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            // Executor shut down while stopping
+            reconnectPending.set(false);
+        }
+    }
+
+    private void closeSubscription() {
+        EventsCallback current = subscription;
+        subscription = null;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (Exception e) {
+                logger.debug("Error closing Docker event stream: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static LocalDateTime eventTime(Event event) {
+        Instant instant;
+        if (event.getTimeNano() != null) {
+            instant = Instant.ofEpochSecond(0, event.getTimeNano());
+        } else if (event.getTime() != null) {
+            instant = Instant.ofEpochSecond(event.getTime());
+        } else {
+            instant = Instant.now();
+        }
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+
+    private static Integer exitCode(Event event) {
+        if (event.getActor() == null || event.getActor().getAttributes() == null) {
+            return null;
+        }
+        String exitCode = event.getActor().getAttributes().get("exitCode");
+        try {
+            return exitCode == null ? null : Integer.valueOf(exitCode);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    static Integer parseExitCode(String dockerStatus) {
+        if (dockerStatus == null) {
+            return null;
+        }
+        Matcher matcher = EXIT_CODE_PATTERN.matcher(dockerStatus);
+        return matcher.find() ? Integer.valueOf(matcher.group(1)) : null;
+    }
+
+    private class EventsCallback extends ResultCallback.Adapter<Event> {
+
+        private final AtomicBoolean ended = new AtomicBoolean();
+
+        @Override
+        public void onNext(Event event) {
+            try {
+                onEvent(event);
+            } catch (Exception e) {
+                logger.warn("Failed to apply Docker event {}: {}", event, e.getMessage());
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (ended.compareAndSet(false, true)) {
+                logger.warn("Docker event stream failed: {}", throwable.getMessage());
+                reconnectIfCurrent();
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (ended.compareAndSet(false, true)) {
+                logger.info("Docker event stream closed");
+                reconnectIfCurrent();
+            }
+        }
+
+        private void reconnectIfCurrent() {
+            if (subscription == this) {
+                synced = false;
+                scheduleReconnect();
+            }
+        }
+    }
+
+    /**
+     * Immutable snapshot of a container's Docker state. Null fields mean "unchanged/unknown".
+     */
+    public static final class ContainerState {
+        private final ContainerStatus status;
+        private final LocalDateTime startedAt;
+        private final LocalDateTime stoppedAt;
+        private final Integer exitCode;
+        private final long observedAt;
+
+        ContainerState(ContainerStatus status, LocalDateTime startedAt, LocalDateTime stoppedAt,
+                       Integer exitCode, long observedAt) {
+            this.status = status;
+            this.startedAt = startedAt;
+            this.stoppedAt = stoppedAt;
+            this.exitCode = exitCode;
+            this.observedAt = observedAt;
+        }
+
+        ContainerState with(ContainerStatus status, LocalDateTime startedAt, LocalDateTime stoppedAt,
+                            Integer exitCode, long observedAt) {
+            return new ContainerState(
+                    status,
+                    startedAt != null ? startedAt : this.startedAt,
+                    stoppedAt != null ? stoppedAt : this.stoppedAt,
+                    exitCode != null ? exitCode : this.exitCode,
+                    observedAt);
+        }
+
+        public ContainerStatus getStatus() { return status; }
+
+        public LocalDateTime getStartedAt() { return startedAt; }
+
+        public LocalDateTime getStoppedAt() { return stoppedAt; }
+
+        public Integer getExitCode() { return exitCode; }
+
+        public long getObservedAt() { return observedAt; }
+    }
+}
@@ -0,0 +1,111 @@
+// src/main/java/com/platform/service/ContainerStatusCounters.java
+package com.platform.service;
+
+import com.platform.model.enums.ContainerStatus;
+import com.platform.repository.ContainerRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Number of containers per status, per user and for the whole host, so stats need neither
+ * a row load nor a Docker call.
+ *
+ * Loaded once at startup and then moved along by every lifecycle call, Docker event and
+ * reconciliation. The last counted status of each container is kept, so a change reported
+ * twice (by the lifecycle call and by its Docker event) is only counted once. Containers
+ * created or deleted through another node are registered or unregistered by the state
+ * store's reconciliation.
+ */
+@Service
+public class ContainerStatusCounters {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContainerStatusCounters.class);
+
+    private static final ContainerStatus[] STATUSES = ContainerStatus.values();
+
+    @Autowired
+    private ContainerRepository containerRepository;
+
+    // Docker container id -> owner and counted status
+    private final Map<String, Counted> containers = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLongArray> byUser = new ConcurrentHashMap<>();
+    private final AtomicLongArray total = new AtomicLongArray(STATUSES.length);
+
+    @PostConstruct
+    public void init() {
+        containerRepository.findAllOwnerStatuses().forEach(row ->
+            register(row.getContainerId(), row.getUserId(), row.getStatus()));
+        logger.info("Container status counters loaded for {} containers", containers.size());
+    }
+
+    // A new row, a row whose Docker container was replaced (restored from hibernation), or a
+    // row seen by reconciliation; registering what is already counted changes nothing
+    public void register(String containerId, Long userId, ContainerStatus status) {
+        containers.compute(containerId, (id, current) -> {
+            if (current != null && current.status() == status && current.userId().equals(userId)) {
+                return current;
+            }
+            if (current != null) {
+                adjust(current, -1);
+            }
+            Counted next = new Counted(userId, status);
+            adjust(next, 1);
+            return next;
+        });
+    }
+
+    // Containers that were never registered, e.g. warm pool containers, are ignored
+    public void moved(String containerId, ContainerStatus status) {
+        containers.computeIfPresent(containerId, (id, current) -> {
+            if (current.status() == status) {
+                return current;
+            }
+            adjust(current, -1);
+            Counted next = new Counted(current.userId(), status);
+            adjust(next, 1);
+            return next;
+        });
+    }
+
+    public void unregister(String containerId) {
+        containers.computeIfPresent(containerId, (id, current) -> {
+            adjust(current, -1);
+            return null;
+        });
+    }
+
+    public Map<ContainerStatus, Long> countsFor(Long userId) {
+        AtomicLongArray counts = byUser.get(userId);
+        return counts == null ? toMap(new AtomicLongArray(STATUSES.length)) : toMap(counts);
+    }
+
+    public Map<ContainerStatus, Long> totals() {
+        return toMap(total);
+    }
+
+    private void adjust(Counted counted, int delta) {
+        int index = counted.status().ordinal();
+        total.addAndGet(index, delta);
+        byUser.computeIfAbsent(counted.userId(), userId -> new AtomicLongArray(STATUSES.length))
+            .addAndGet(index, delta);
+    }
+
+    private static Map<ContainerStatus, Long> toMap(AtomicLongArray counts) {
+        Map<ContainerStatus, Long> result = new EnumMap<>(ContainerStatus.class);
+        for (ContainerStatus status : STATUSES) {
+            result.put(status, counts.get(status.ordinal()));
+        }
+        return result;
+    }
+
+    private record Counted(Long userId, ContainerStatus status) {
+    }
+}
@@ -0,0 +1,203 @@
+// src/main/java/com/platform/service/PortAllocator.java
+package com.platform.service;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.model.ContainerPort;
+import com.platform.exception.BadRequestException;
+import com.platform.repository.ContainerRepository;
+import com.platform.repository.PortLeaseRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Hands out host ports for container SSH bindings.
+ *
+ * Free ports are kept in a BitSet over the configured ranges, rebuilt at startup from the
+ * database and the ports Docker already binds. Every reservation is also inserted as a
+ * port_leases row keyed by the port, so concurrent creates on this or another node can
+ * never get the same port: a conflicting insert just marks the port used and moves on.
+ */
+@Component
+public class PortAllocator {
+
+    private static final Logger logger = LoggerFactory.getLogger(PortAllocator.class);
+
+    @Autowired
+    private PortLeaseRepository portLeaseRepository;
+
+    @Autowired
+    private ContainerRepository containerRepository;
+
+    @Autowired
+    private DockerClient dockerClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Comma separated, e.g. "8000-9000,10000-10500"
+    @Value("${port-allocator.ranges:8000-9000}")
+    private String ranges;
+
+    @Value("${port-allocator.lease-ttl-seconds:300}")
+    private long leaseTtlSeconds;
+
+    @Value("${port-allocator.scan-docker:true}")
+    private boolean scanDocker;
+
+    private final BitSet allowed = new BitSet();
+    // Allowed ports that are neither leased nor bound, as far as this node knows
+    private final BitSet free = new BitSet();
+
+    private int cursor;
+    private volatile boolean initialized;
+
+    @PostConstruct
+    public void init() {
+        for (String range : ranges.split(",")) {
+            String[] bounds = range.trim().split("-");
+            int from = Integer.parseInt(bounds[0].trim());
+            int to = bounds.length > 1 ? Integer.parseInt(bounds[1].trim()) : from;
+            if (from < 1 || to > 65535 || from > to) {
+                throw new IllegalArgumentException("Invalid port range: " + range);
+            }
+            allowed.set(from, to + 1);
+        }
+        cursor = allowed.nextSetBit(0);
+        Gauge.builder("ports.ssh.free", this, PortAllocator::freeCount).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            logger.warn("Port allocator rebuild failed, retrying on first reservation: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Recomputes the free ports from the leases, the container rows and Docker's port bindings.
+     */
+    public void rebuild() {
+        int orphaned = portLeaseRepository.deleteOrphanedLeases(LocalDateTime.now().minusSeconds(leaseTtlSeconds));
+
+        BitSet used = new BitSet();
+        portLeaseRepository.findAllPorts().forEach(used::set);
+        containerRepository.findAllSshPorts().forEach(used::set);
+        if (scanDocker) {
+            try {
+                // Bindings of containers the platform does not know about
+                dockerClient.listContainersCmd().withShowAll(true).exec().stream()
+                    .filter(container -> container.getPorts() != null)
+                    .flatMap(container -> Arrays.stream(container.getPorts()))
+                    .map(ContainerPort::getPublicPort)
+                    .filter(port -> port != null && port > 0)
+                    .forEach(used::set);
+            } catch (Exception e) {
+                logger.warn("Could not read Docker port bindings: {}", e.getMessage());
+            }
+        }
+
+        synchronized (this) {
+            free.clear();
+            free.or(allowed);
+            free.andNot(used);
+            initialized = true;
+        }
+
+        logger.info("Port allocator rebuilt: {} free ports, {} orphaned leases removed", freeCount(), orphaned);
+    }
+
+    /**
+     * Reserves a free port. The lease is committed before returning and must be released
+     * if the container is not created.
+     */
+    public int reserve() {
+        if (!initialized) {
+            rebuild();
+        }
+
+        boolean rebuilt = false;
+        while (true) {
+            Integer port = claimNext();
+            if (port == null) {
+                // Ports released by other nodes are only seen after a rebuild
+                if (rebuilt) {
+                    throw new BadRequestException("No available ports for SSH");
+                }
+                rebuild();
+                rebuilt = true;
+                continue;
+            }
+
+            try {
+                portLeaseRepository.insertLease(port, LocalDateTime.now());
+                return port;
+            } catch (DataIntegrityViolationException e) {
+                // Leased by another node in the meantime; keep it marked used
+                logger.debug("Port {} already leased, trying the next one", port);
+            } catch (RuntimeException e) {
+                markFree(port);
+                throw e;
+            }
+        }
+    }
+
+    public void release(Integer port) {
+        if (port == null) {
+            return;
+        }
+        portLeaseRepository.deleteLease(port);
+        markFree(port);
+    }
+
+    // One delete for many ports, e.g. after a bulk container removal
+    public void releaseAll(Collection<Integer> ports) {
+        List<Integer> leased = ports.stream().filter(Objects::nonNull).toList();
+        if (leased.isEmpty()) {
+            return;
+        }
+        portLeaseRepository.deleteLeases(leased);
+        leased.forEach(this::markFree);
+    }
+
+    public synchronized int freeCount() {
+        return free.cardinality();
+    }
+
+    // Next free port after the last one handed out, wrapping around the ranges
+    private synchronized Integer claimNext() {
+        int port = free.nextSetBit(cursor);
+        if (port < 0) {
+            port = free.nextSetBit(0);
+        }
+        if (port < 0) {
+            return null;
+        }
+        free.clear(port);
+        cursor = port + 1;
+        return port;
+    }
+
+    private synchronized void markFree(int port) {
+        if (allowed.get(port)) {
+            free.set(port);
+        }
+    }
+}
@@ -6,7 +6,6 @@ import com.platform.dto.response.SSHKeyDTO;
 import com.platform.exception.BadRequestException;
 import com.platform.exception.ResourceNotFoundException;
 import com.platform.model.entity.SSHKey;
-import com.platform.model.entity.User;
 import com.platform.repository.SSHKeyRepository;
 import com.platform.repository.UserRepository;
 import org.slf4j.Logger;
@@ -31,13 +30,9 @@ public class SSHKeyService {
     @Autowired
     private UserRepository userRepository;
 
-    public SSHKeyDTO addSSHKey(AddSSHKeyRequest request, String username) {
-        // Find user
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
+    public SSHKeyDTO addSSHKey(AddSSHKeyRequest request, Long userId) {
         // Check SSH key limit
-        long keyCount = sshKeyRepository.countByUser(user);
+        long keyCount = sshKeyRepository.countByUserId(userId);
         if (keyCount >= MAX_KEYS_PER_USER) {
             throw new BadRequestException("SSH key limit exceeded (max " + MAX_KEYS_PER_USER + " keys per user)");
         }
@@ -46,7 +41,7 @@ public class SSHKeyService {
         validatePublicKey(request.getPublicKey());
 
         // Check for duplicate key
-        if (sshKeyRepository.existsByUserAndPublicKey(user, request.getPublicKey())) {
+        if (sshKeyRepository.existsByUserIdAndPublicKey(userId, request.getPublicKey())) {
             throw new BadRequestException("SSH key already exists");
         }
 
@@ -54,37 +49,32 @@ public class SSHKeyService {
         SSHKey sshKey = new SSHKey();
         sshKey.setName(request.getName());
         sshKey.setPublicKey(request.getPublicKey());
-        sshKey.setUser(user);
+        // Reference only - the authenticated user is known to exist
+        sshKey.setUser(userRepository.getReferenceById(userId));
         sshKey.setEnabled(true);
 
         sshKey = sshKeyRepository.save(sshKey);
 
-        logger.info("SSH key '{}' added for user: {}", request.getName(), username);
+        logger.info("SSH key '{}' added for user id: {}", request.getName(), userId);
 
         return SSHKeyDTO.fromSSHKey(sshKey);
     }
 
-    public List<SSHKeyDTO> getUserSSHKeys(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        List<SSHKey> keys = sshKeyRepository.findByUserOrderByCreatedAtDesc(user);
+    public List<SSHKeyDTO> getUserSSHKeys(Long userId) {
+        List<SSHKey> keys = sshKeyRepository.findByUserIdOrderByCreatedAtDesc(userId);
 
         return keys.stream()
                 .map(SSHKeyDTO::fromSSHKey)
                 .collect(Collectors.toList());
     }
 
-    public void deleteSSHKey(Long keyId, String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        SSHKey sshKey = sshKeyRepository.findByIdAndUser(keyId, user)
+    public void deleteSSHKey(Long keyId, Long userId) {
+        SSHKey sshKey = sshKeyRepository.findByIdAndUserId(keyId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("SSH key not found"));
 
         sshKeyRepository.delete(sshKey);
 
-        logger.info("SSH key '{}' deleted for user: {}", sshKey.getName(), username);
+        logger.info("SSH key '{}' deleted for user id: {}", sshKey.getName(), userId);
     }
 
     public void validatePublicKey(String publicKey) {
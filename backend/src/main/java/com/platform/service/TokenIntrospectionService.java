@@ -0,0 +1,69 @@
+// src/main/java/com/platform/service/TokenIntrospectionService.java
+package com.platform.service;
+
+import com.platform.dto.response.IntrospectResponse;
+import com.platform.dto.response.IntrospectResponse.TokenInfo;
+import com.platform.security.jwt.JwtUtil;
+import com.platform.security.jwt.TokenClaims;
+import com.platform.security.service.CustomUserDetailsService;
+import com.platform.security.service.UserEpochRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Not transactional: verified tokens and user details are served from caches
+@Service
+public class TokenIntrospectionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenIntrospectionService.class);
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserEpochRegistry userEpochRegistry;
+
+    @Autowired
+    private CustomUserDetailsService customUserDetailsService;
+
+    public IntrospectResponse introspect(List<String> tokens) {
+        // Sessions of the same user often present the same token
+        Map<String, TokenInfo> seen = new HashMap<>();
+        List<TokenInfo> results = new ArrayList<>(tokens.size());
+
+        for (String token : tokens) {
+            results.add(seen.computeIfAbsent(token, this::introspect));
+        }
+
+        return new IntrospectResponse(results);
+    }
+
+    private TokenInfo introspect(String token) {
+        TokenClaims claims = jwtUtil.verifyToken(token).orElse(null);
+        if (claims == null || !claims.isAccessToken() || claims.isExpired() || !isUserActive(claims)) {
+            return TokenInfo.inactive();
+        }
+
+        return new TokenInfo(true, claims.getSubject(), claims.getUserId(), claims.getExpirationMillis() / 1000);
+    }
+
+    // Same rule as the JWT filter: tokens issued before a security change need a fresh user lookup
+    private boolean isUserActive(TokenClaims claims) {
+        if (claims.hasPrincipalClaims() && userEpochRegistry.isCurrent(claims)) {
+            return true;
+        }
+        try {
+            return customUserDetailsService.loadUserByUsername(claims.getSubject()).isEnabled();
+        } catch (UsernameNotFoundException e) {
+            logger.debug("Introspected token for unknown user: {}", claims.getSubject());
+            return false;
+        }
+    }
+}
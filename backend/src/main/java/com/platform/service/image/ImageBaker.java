@@ -0,0 +1,261 @@
+// src/main/java/com/platform/service/image/ImageBaker.java
+package com.platform.service.image;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.command.BuildImageResultCallback;
+import com.github.dockerjava.api.exception.ConflictException;
+import com.github.dockerjava.api.exception.NotFoundException;
+import com.github.dockerjava.api.model.Image;
+import com.platform.util.ContainerLabels;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Builds SSH-ready images derived from the plain base images.
+ *
+ * Without one, every ubuntu/debian/alpine container installs openssh-server on each boot.
+ * The baked image has it installed already and only generates its own ed25519 host key at
+ * first boot. Baked images are tagged with the base image id, so a re-pulled base is baked again.
+ */
+@Service
+public class ImageBaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageBaker.class);
+
+    // Host keys are left out of the image so containers never share them
+    static final String BOOT_COMMAND =
+        "test -f /etc/ssh/ssh_host_ed25519_key || ssh-keygen -q -t ed25519 -N '' -f /etc/ssh/ssh_host_ed25519_key; " +
+        "exec /usr/sbin/sshd -D";
+
+    private static final String CONFIGURE_SSHD =
+        "mkdir -p /var/run/sshd" +
+        " && rm -f /etc/ssh/ssh_host_*" +
+        " && echo 'root:password' | chpasswd" +
+        " && sed -i 's/#PermitRootLogin prohibit-password/PermitRootLogin yes/' /etc/ssh/sshd_config" +
+        " && sed -i 's/#PasswordAuthentication yes/PasswordAuthentication yes/' /etc/ssh/sshd_config" +
+        " && echo 'HostKey /etc/ssh/ssh_host_ed25519_key' >> /etc/ssh/sshd_config";
+
+    @Autowired
+    private DockerClient dockerClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${images.baking.enabled:true}")
+    private boolean enabled;
+
+    @Value("${images.baking.repository:platform-ssh}")
+    private String repository;
+
+    @Value("${images.baking.timeout-seconds:900}")
+    private long timeoutSeconds;
+
+    // Base image -> baked tag for the base image id currently present
+    private final Map<String, String> baked = new ConcurrentHashMap<>();
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    private ExecutorService bakeExecutor;
+
+    @PostConstruct
+    public void init() {
+        // One build at a time: they are CPU and network heavy and never on a request path
+        bakeExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "image-baker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        bakeExecutor.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (enabled) {
+            try {
+                discover();
+            } catch (Exception e) {
+                logger.warn("Failed to discover baked images: {}", e.getMessage());
+            }
+        }
+    }
+
+    public static boolean supports(String image) {
+        return image.startsWith("ubuntu:") || image.startsWith("debian:") || image.startsWith("alpine:");
+    }
+
+    public Optional<String> bakedImageFor(String image) {
+        return Optional.ofNullable(baked.get(image));
+    }
+
+    public Map<String, String> getBaked() {
+        return Map.copyOf(baked);
+    }
+
+    // Called when Docker no longer has the baked image
+    public void forget(String image) {
+        baked.remove(image);
+    }
+
+    /**
+     * Bakes the image in the background unless it is baked or being baked already.
+     */
+    public void bakeAsync(String image) {
+        if (!enabled || !supports(image) || baked.containsKey(image) || !inFlight.add(image)) {
+            return;
+        }
+        bakeExecutor.execute(() -> {
+            try {
+                bake(image);
+            } catch (Exception e) {
+                meterRegistry.counter("images.bakes", "result", "failed").increment();
+                logger.warn("Failed to bake SSH image for {}: {}", image, e.getMessage());
+            } finally {
+                inFlight.remove(image);
+            }
+        });
+    }
+
+    /**
+     * Builds the SSH-ready image for a base image that is present locally, reusing an earlier
+     * build of the same base image id. Returns the baked tag.
+     */
+    public String bake(String image) {
+        String baseId = dockerClient.inspectImageCmd(image).exec().getId();
+        String tag = tagFor(image, baseId);
+
+        if (!exists(tag)) {
+            long startedAt = System.nanoTime();
+            build(image, baseId, tag);
+            meterRegistry.timer("images.bake.duration").record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            meterRegistry.counter("images.bakes", "result", "succeeded").increment();
+            logger.info("Baked SSH image {} from {}", tag, image);
+        }
+
+        register(image, tag);
+        return tag;
+    }
+
+    /**
+     * Picks up images baked before a restart, as long as their base image has not changed since.
+     */
+    public void discover() {
+        for (Image image : dockerClient.listImagesCmd().withLabelFilter(ContainerLabels.BAKED_BASE).exec()) {
+            Map<String, String> labels = image.getLabels();
+            if (labels == null || image.getRepoTags() == null || image.getRepoTags().length == 0) {
+                continue;
+            }
+            String base = labels.get(ContainerLabels.BAKED_BASE);
+            String bakedFrom = labels.get(ContainerLabels.BAKED_FROM);
+            try {
+                if (base != null && dockerClient.inspectImageCmd(base).exec().getId().equals(bakedFrom)) {
+                    baked.put(base, image.getRepoTags()[0]);
+                }
+            } catch (NotFoundException e) {
+                logger.debug("Base image {} of {} is gone", base, image.getId());
+            }
+        }
+        logger.info("Found baked SSH images: {}", baked);
+    }
+
+    // platform-ssh/ubuntu:22.04-3f1a2b3c4d5e
+    String tagFor(String image, String baseId) {
+        int colon = image.lastIndexOf(':');
+        String name = colon > 0 ? image.substring(0, colon) : image;
+        String version = colon > 0 ? image.substring(colon + 1) : "latest";
+        String digest = baseId.startsWith("sha256:") ? baseId.substring("sha256:".length()) : baseId;
+        return repository + "/" + name + ":" + version + "-" + digest.substring(0, Math.min(12, digest.length()));
+    }
+
+    static String dockerfileFor(String image) {
+        String install = image.startsWith("alpine:")
+            ? "apk add --no-cache openssh-server"
+            : "export DEBIAN_FRONTEND=noninteractive" +
+              " && apt-get update -qq" +
+              " && apt-get install -y -qq --no-install-recommends openssh-server" +
+              " && rm -rf /var/lib/apt/lists/*";
+        return "FROM " + image + "\n" +
+               "RUN " + install + " && " + CONFIGURE_SSHD + "\n" +
+               "EXPOSE 22\n" +
+               "CMD [\"/bin/sh\", \"-c\", \"" + BOOT_COMMAND + "\"]\n";
+    }
+
+    private void build(String image, String baseId, String tag) {
+        Path context = null;
+        try {
+            context = Files.createTempDirectory("image-bake-");
+            File dockerfile = context.resolve("Dockerfile").toFile();
+            Files.writeString(dockerfile.toPath(), dockerfileFor(image));
+
+            dockerClient.buildImageCmd()
+                .withBaseDirectory(context.toFile())
+                .withDockerfile(dockerfile)
+                .withTags(Set.of(tag))
+                .withLabels(Map.of(ContainerLabels.BAKED_BASE, image, ContainerLabels.BAKED_FROM, baseId))
+                .withPull(false)
+                .withRemove(true)
+                .exec(new BuildImageResultCallback())
+                .awaitImageId(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to write build context for " + image, e);
+        } finally {
+            deleteQuietly(context);
+        }
+    }
+
+    private boolean exists(String tag) {
+        try {
+            dockerClient.inspectImageCmd(tag).exec();
+            return true;
+        } catch (NotFoundException e) {
+            return false;
+        }
+    }
+
+    private void register(String image, String tag) {
+        String previous = baked.put(image, tag);
+        if (previous != null && !previous.equals(tag)) {
+            // Baked from an older base; containers still using it keep it alive
+            try {
+                dockerClient.removeImageCmd(previous).exec();
+            } catch (ConflictException | NotFoundException e) {
+                logger.debug("Kept previous baked image {}: {}", previous, e.getMessage());
+            }
+        }
+    }
+
+    private static void deleteQuietly(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        } catch (IOException e) {
+            logger.debug("Failed to delete build context {}: {}", directory, e.getMessage());
+        }
+    }
+}
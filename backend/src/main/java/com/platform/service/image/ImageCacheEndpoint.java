@@ -0,0 +1,25 @@
+// src/main/java/com/platform/service/image/ImageCacheEndpoint.java
+package com.platform.service.image;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * /actuator/images: hot set, presence cache hit rate, last use and disk usage of the allowed images.
+ */
+@Component
+@Endpoint(id = "images")
+public class ImageCacheEndpoint {
+
+    @Autowired
+    private ImageCacheManager imageCacheManager;
+
+    @ReadOperation
+    public Map<String, Object> images() {
+        return imageCacheManager.describe();
+    }
+}
@@ -0,0 +1,257 @@
+// src/main/java/com/platform/service/image/ImageCacheManager.java
+package com.platform.service.image;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.exception.ConflictException;
+import com.github.dockerjava.api.exception.NotFoundException;
+import com.github.dockerjava.api.model.Image;
+import com.platform.service.ContainerService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the platform's images warm and within a disk budget.
+ *
+ * The hot set is pulled at startup and on a schedule with bounded parallelism, so the first
+ * user of an image does not pay the pull, and its SSH-ready variants are baked. When the
+ * allowed images use more disk than the budget, the least recently used ones outside the hot
+ * set and without containers are removed.
+ */
+@Service
+public class ImageCacheManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageCacheManager.class);
+
+    @Autowired
+    private DockerClient dockerClient;
+
+    @Autowired
+    private ImageService imageService;
+
+    @Autowired
+    private ImageBaker imageBaker;
+
+    @Value("${images.hot-set:}")
+    private List<String> hotSet;
+
+    @Value("${images.warm-on-startup:true}")
+    private boolean warmOnStartup;
+
+    @Value("${images.warm-parallelism:2}")
+    private int warmParallelism;
+
+    // 0 disables eviction
+    @Value("${images.disk-budget-bytes:0}")
+    private long diskBudgetBytes;
+
+    // Images used more recently than this are never evicted
+    @Value("${images.eviction-min-idle-seconds:3600}")
+    private long evictionMinIdleSeconds;
+
+    private ExecutorService warmExecutor;
+    private final AtomicBoolean warming = new AtomicBoolean();
+
+    private volatile Instant lastWarmAt;
+    private volatile Instant lastEvictionAt;
+    private final AtomicLong diskUsageBytes = new AtomicLong(-1);
+    private final AtomicInteger evictedImages = new AtomicInteger();
+
+    @PostConstruct
+    public void init() {
+        // Anything outside the allowed list could never be used by a container
+        hotSet = hotSet.stream()
+                .map(String::trim)
+                .filter(image -> !image.isEmpty())
+                .filter(ContainerService.ALLOWED_IMAGES::contains)
+                .distinct()
+                .collect(Collectors.toList());
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        warmExecutor = Executors.newFixedThreadPool(Math.max(1, warmParallelism), runnable -> {
+            Thread thread = new Thread(runnable, "image-warmer-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        warmExecutor.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (warmOnStartup && !hotSet.isEmpty()) {
+            // Off the startup thread; the pulls themselves run on the warmer pool
+            Thread thread = new Thread(this::maintain, "image-maintenance");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${images.maintenance-interval-ms:3600000}",
+               initialDelayString = "${images.maintenance-interval-ms:3600000}")
+    public void maintain() {
+        try {
+            warm();
+            evictOverBudget();
+        } catch (Exception e) {
+            logger.warn("Image maintenance failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Pulls every missing hot image, at most warm-parallelism at a time, then queues the bakes.
+     */
+    public void warm() {
+        if (!warming.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<CompletableFuture<Void>> pulls = hotSet.stream()
+                    .map(image -> CompletableFuture.runAsync(() -> {
+                        try {
+                            imageService.prefetch(image);
+                            imageBaker.bakeAsync(image);
+                        } catch (Exception e) {
+                            logger.warn("Failed to pre-pull image {}: {}", image, e.getMessage());
+                        }
+                    }, warmExecutor))
+                    .collect(Collectors.toList());
+            CompletableFuture.allOf(pulls.toArray(CompletableFuture[]::new)).join();
+            lastWarmAt = Instant.now();
+            logger.info("Image hot set warmed: {}", hotSet);
+        } finally {
+            warming.set(false);
+        }
+    }
+
+    /**
+     * Removes least recently used allowed images until their total size fits the budget.
+     * Hot images, images with containers (running or not) and recently used images are kept.
+     */
+    public int evictOverBudget() {
+        if (diskBudgetBytes <= 0) {
+            return 0;
+        }
+
+        List<Image> images = dockerClient.listImagesCmd().exec().stream()
+                .filter(image -> allowedTags(image).size() > 0)
+                .collect(Collectors.toList());
+        long usage = images.stream().mapToLong(image -> image.getSize() != null ? image.getSize() : 0).sum();
+        diskUsageBytes.set(usage);
+        lastEvictionAt = Instant.now();
+        if (usage <= diskBudgetBytes) {
+            return 0;
+        }
+
+        Set<String> imagesInUse = dockerClient.listContainersCmd().withShowAll(true).exec().stream()
+                .map(com.github.dockerjava.api.model.Container::getImageId)
+                .collect(Collectors.toSet());
+        Map<String, Long> lastUsed = imageService.getLastUsed();
+        long idleCutoff = System.currentTimeMillis() - evictionMinIdleSeconds * 1000;
+
+        List<Image> candidates = images.stream()
+                .filter(image -> !imagesInUse.contains(image.getId()))
+                .filter(image -> allowedTags(image).stream().noneMatch(hotSet::contains))
+                .filter(image -> lastUse(image, lastUsed) < idleCutoff)
+                .sorted(Comparator.comparingLong(image -> lastUse(image, lastUsed)))
+                .collect(Collectors.toList());
+
+        int removed = 0;
+        for (Image image : candidates) {
+            if (usage <= diskBudgetBytes) {
+                break;
+            }
+            try {
+                dockerClient.removeImageCmd(image.getId()).exec();
+                allowedTags(image).forEach(imageService::invalidate);
+                usage -= image.getSize() != null ? image.getSize() : 0;
+                removed++;
+                logger.info("Evicted image {} ({} bytes)", allowedTags(image), image.getSize());
+            } catch (ConflictException | NotFoundException e) {
+                // A container was created from it meanwhile, or it is already gone
+                logger.debug("Skipped evicting image {}: {}", image.getId(), e.getMessage());
+            }
+        }
+
+        diskUsageBytes.set(usage);
+        evictedImages.addAndGet(removed);
+        if (usage > diskBudgetBytes) {
+            logger.warn("Images use {} bytes, above the {} byte budget, after evicting {}", usage, diskBudgetBytes, removed);
+        }
+        return removed;
+    }
+
+    public Map<String, Object> describe() {
+        Map<String, Long> lastUsed = imageService.getLastUsed();
+        Set<String> present = imageService.getKnownPresent();
+
+        List<Map<String, Object>> images = new ArrayList<>();
+        for (String image : ContainerService.ALLOWED_IMAGES) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("image", image);
+            entry.put("hot", hotSet.contains(image));
+            entry.put("present", present.contains(image));
+            entry.put("baked", imageBaker.bakedImageFor(image).orElse(null));
+            entry.put("lastUsed", lastUsed.containsKey(image) ? Instant.ofEpochMilli(lastUsed.get(image)) : null);
+            ImagePullProgress.Snapshot pull = imageService.getPullProgress(image);
+            if (pull != null) {
+                entry.put("pull", pull);
+            }
+            images.add(entry);
+        }
+
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("hotSet", hotSet);
+        state.put("presenceCache", imageService.getStats());
+        state.put("diskBudgetBytes", diskBudgetBytes);
+        state.put("diskUsageBytes", diskUsageBytes.get() >= 0 ? diskUsageBytes.get() : null);
+        state.put("evictedImages", evictedImages.get());
+        state.put("lastWarmAt", lastWarmAt);
+        state.put("lastEvictionAt", lastEvictionAt);
+        state.put("images", images);
+        return state;
+    }
+
+    private static List<String> allowedTags(Image image) {
+        if (image.getRepoTags() == null) {
+            return List.of();
+        }
+        return Arrays.stream(image.getRepoTags())
+                .filter(ContainerService.ALLOWED_IMAGES::contains)
+                .collect(Collectors.toList());
+    }
+
+    // Never used since startup counts as oldest
+    private static long lastUse(Image image, Map<String, Long> lastUsed) {
+        return allowedTags(image).stream()
+                .mapToLong(tag -> lastUsed.getOrDefault(tag, 0L))
+                .max()
+                .orElse(0L);
+    }
+}
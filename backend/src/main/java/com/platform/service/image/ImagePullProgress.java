@@ -0,0 +1,112 @@
+// src/main/java/com/platform/service/image/ImagePullProgress.java
+package com.platform.service.image;
+
+import com.github.dockerjava.api.model.PullResponseItem;
+import com.github.dockerjava.api.model.ResponseItem;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Aggregates the per-layer messages of one Docker image pull into overall progress.
+ */
+public class ImagePullProgress {
+
+    // Sent to subscribers at most this often unless a layer changes phase
+    private static final long NOTIFY_INTERVAL_MS = 250;
+
+    private final String image;
+    private final Map<String, Layer> layers = new LinkedHashMap<>();
+    private String status = "Waiting";
+    private long lastNotifiedAt;
+
+    public ImagePullProgress(String image) {
+        this.image = image;
+    }
+
+    /**
+     * Applies one pull message and tells whether subscribers should be notified.
+     */
+    synchronized boolean apply(PullResponseItem item) {
+        boolean phaseChanged = false;
+        if (item.getId() != null && !item.getId().equals(tagOf(image))) {
+            Layer layer = layers.computeIfAbsent(item.getId(), id -> new Layer());
+            phaseChanged = layer.apply(item.getStatus(), item.getProgressDetail());
+        } else if (item.getStatus() != null) {
+            // Image level lines, e.g. "Pulling from library/ubuntu" or "Digest: sha256:..."
+            status = item.getStatus();
+            phaseChanged = true;
+        }
+
+        long now = System.currentTimeMillis();
+        if (phaseChanged || now - lastNotifiedAt >= NOTIFY_INTERVAL_MS) {
+            lastNotifiedAt = now;
+            return true;
+        }
+        return false;
+    }
+
+    synchronized void complete(String finalStatus) {
+        status = finalStatus;
+        layers.values().forEach(Layer::finish);
+    }
+
+    public synchronized Snapshot snapshot() {
+        long current = 0;
+        long total = 0;
+        int completed = 0;
+        for (Layer layer : layers.values()) {
+            current += layer.done ? layer.total : layer.current;
+            total += layer.total;
+            if (layer.done) {
+                completed++;
+            }
+        }
+        int percent = total > 0 ? (int) Math.min(100, current * 100 / total) : 0;
+        return new Snapshot(image, status, layers.size(), completed, current, total, percent);
+    }
+
+    private static String tagOf(String image) {
+        int colon = image.lastIndexOf(':');
+        return colon >= 0 ? image.substring(colon + 1) : "latest";
+    }
+
+    /**
+     * Immutable view handed to subscribers and serialized into job progress.
+     */
+    public record Snapshot(String image, String status, int layers, int completedLayers,
+                           long currentBytes, long totalBytes, int percent) {
+
+        public String summary() {
+            return String.format("Pulling %s: %d/%d layers, %d%%", image, completedLayers, layers, percent);
+        }
+    }
+
+    private static class Layer {
+        private String phase;
+        private long current;
+        private long total;
+        private boolean done;
+
+        boolean apply(String status, ResponseItem.ProgressDetail detail) {
+            boolean changed = status != null && !status.equals(phase);
+            phase = status;
+            if ("Already exists".equals(status) || "Pull complete".equals(status)
+                    || "Download complete".equals(status)) {
+                done = true;
+            } else if ("Downloading".equals(status) && detail != null) {
+                if (detail.getTotal() != null && detail.getTotal() > 0) {
+                    total = detail.getTotal();
+                }
+                if (detail.getCurrent() != null) {
+                    current = detail.getCurrent();
+                }
+            }
+            return changed;
+        }
+
+        void finish() {
+            done = true;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+// src/main/java/com/platform/service/image/ImageService.java
+package com.platform.service.image;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.exception.NotFoundException;
+import com.platform.exception.BadRequestException;
+import com.platform.util.PullImageResultCallback;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Makes sure images are present locally before containers are created from them.
+ *
+ * Presence is cached so creates do not inspect the image every time. Concurrent requests
+ * for the same missing image share a single pull: the first caller pulls, the others wait
+ * on its future and receive the same aggregated progress.
+ */
+@Service
+public class ImageService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageService.class);
+
+    @Autowired
+    private DockerClient dockerClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${images.presence-ttl-seconds:600}")
+    private long presenceTtlSeconds;
+
+    @Value("${images.pull-timeout-seconds:900}")
+    private long pullTimeoutSeconds;
+
+    private Cache<String, Boolean> present;
+    private final Map<String, PullInFlight> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastUsed = new ConcurrentHashMap<>();
+
+    private Counter presenceHits;
+    private Counter presenceMisses;
+    private Counter coalescedPulls;
+
+    @PostConstruct
+    public void init() {
+        // Bounded by ttl: images removed outside the platform are noticed on the next create after it
+        present = Caffeine.newBuilder()
+                .maximumSize(1000)
+                .expireAfterWrite(Duration.ofSeconds(presenceTtlSeconds))
+                .build();
+        presenceHits = meterRegistry.counter("images.presence", "result", "hit");
+        presenceMisses = meterRegistry.counter("images.presence", "result", "miss");
+        coalescedPulls = meterRegistry.counter("images.pulls.coalesced");
+    }
+
+    public void ensureImage(String image) {
+        ensureImage(image, snapshot -> { });
+    }
+
+    /**
+     * Returns once the image is present, pulling it if needed.
+     * The listener receives pull progress when a pull happens (including one started by another caller).
+     */
+    public void ensureImage(String image, Consumer<ImagePullProgress.Snapshot> listener) {
+        lastUsed.put(image, System.currentTimeMillis());
+        if (present.getIfPresent(image) != null) {
+            presenceHits.increment();
+            return;
+        }
+        presenceMisses.increment();
+        ensurePresent(image, listener);
+    }
+
+    /**
+     * Pulls the image ahead of demand. Not counted as a use or in the hit rate.
+     */
+    public void prefetch(String image) {
+        if (present.getIfPresent(image) == null) {
+            ensurePresent(image, snapshot -> { });
+        }
+    }
+
+    private void ensurePresent(String image, Consumer<ImagePullProgress.Snapshot> listener) {
+
+        PullInFlight pull = new PullInFlight(image);
+        PullInFlight existing = inFlight.putIfAbsent(image, pull);
+        if (existing != null) {
+            existing.listeners.add(listener);
+            coalescedPulls.increment();
+            try {
+                existing.future.get(pullTimeoutSeconds, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                throw new BadRequestException("Failed to pull image " + image + ": " + e.getCause().getMessage());
+            } catch (TimeoutException e) {
+                throw new BadRequestException("Timed out waiting for image pull: " + image);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BadRequestException("Image pull interrupted: " + image);
+            } finally {
+                existing.listeners.remove(listener);
+            }
+            return;
+        }
+
+        pull.listeners.add(listener);
+        try {
+            inspectOrPull(pull);
+            present.put(image, Boolean.TRUE);
+            pull.future.complete(null);
+        } catch (RuntimeException e) {
+            pull.future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(image, pull);
+        }
+    }
+
+    public boolean isKnownPresent(String image) {
+        return present.getIfPresent(image) != null;
+    }
+
+    // Called when Docker reports the image missing despite the cache, or after removing it
+    public void invalidate(String image) {
+        present.invalidate(image);
+    }
+
+    public Set<String> getKnownPresent() {
+        return Set.copyOf(present.asMap().keySet());
+    }
+
+    // Epoch millis of the last create that asked for each image since startup
+    public Map<String, Long> getLastUsed() {
+        return Map.copyOf(lastUsed);
+    }
+
+    public double getHitRate() {
+        double hits = presenceHits.count();
+        double total = hits + presenceMisses.count();
+        return total > 0 ? hits / total : 0.0;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", (long) presenceHits.count());
+        stats.put("misses", (long) presenceMisses.count());
+        stats.put("hitRate", getHitRate());
+        stats.put("coalescedPulls", (long) coalescedPulls.count());
+        stats.put("pullsInFlight", inFlight.keySet());
+        return stats;
+    }
+
+    public ImagePullProgress.Snapshot getPullProgress(String image) {
+        PullInFlight pull = inFlight.get(image);
+        return pull != null ? pull.progress.snapshot() : null;
+    }
+
+    private void inspectOrPull(PullInFlight pull) {
+        String image = pull.image;
+        try {
+            dockerClient.inspectImageCmd(image).exec();
+            return;
+        } catch (NotFoundException e) {
+            logger.info("Pulling image: {}", image);
+        }
+
+        long startedAt = System.nanoTime();
+        try {
+            dockerClient.pullImageCmd(image)
+                .exec(new PullImageResultCallback(item -> {
+                    if (pull.progress.apply(item)) {
+                        pull.notifyListeners();
+                    }
+                }))
+                .awaitCompletion(pullTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new BadRequestException("Image pull interrupted: " + image);
+        } catch (RuntimeException e) {
+            meterRegistry.counter("images.pulls", "result", "failed").increment();
+            throw new BadRequestException("Failed to pull image " + image + ": " + e.getMessage());
+        }
+
+        pull.progress.complete("Pull complete");
+        pull.notifyListeners();
+        meterRegistry.timer("images.pull.duration").record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        meterRegistry.counter("images.pulls", "result", "succeeded").increment();
+        logger.info("Pulled image: {}", image);
+    }
+
+    private static class PullInFlight {
+        private final String image;
+        private final ImagePullProgress progress;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private final List<Consumer<ImagePullProgress.Snapshot>> listeners = new CopyOnWriteArrayList<>();
+
+        PullInFlight(String image) {
+            this.image = image;
+            this.progress = new ImagePullProgress(image);
+        }
+
+        void notifyListeners() {
+            ImagePullProgress.Snapshot snapshot = progress.snapshot();
+            for (Consumer<ImagePullProgress.Snapshot> listener : listeners) {
+                try {
+                    listener.accept(snapshot);
+                } catch (RuntimeException e) {
+                    logger.debug("Pull progress listener failed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+}
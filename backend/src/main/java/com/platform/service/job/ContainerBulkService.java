@@ -0,0 +1,443 @@
+// src/main/java/com/platform/service/job/ContainerBulkService.java
+package com.platform.service.job;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.exception.NotFoundException;
+import com.github.dockerjava.api.exception.NotModifiedException;
+import com.platform.dto.request.BulkContainerRequest;
+import com.platform.dto.response.BulkContainerResultDTO;
+import com.platform.dto.response.BulkItemResultDTO;
+import com.platform.exception.BadRequestException;
+import com.platform.model.entity.Container;
+import com.platform.model.enums.ContainerBulkAction;
+import com.platform.model.enums.ContainerStatus;
+import com.platform.repository.ContainerRepository;
+import com.platform.security.jwt.UserPrincipal;
+import com.platform.service.ContainerActivityTracker;
+import com.platform.service.ContainerService;
+import com.platform.service.ContainerStateStore;
+import com.platform.service.ContainerStatusCounters;
+import com.platform.service.PortAllocator;
+import com.platform.util.ContainerLabels;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Applies one action to many containers at once.
+ *
+ * The Docker calls fan out over a fixed pool, so a large request never has more than the
+ * configured number of calls in flight against the daemon. Each item is reported as soon as
+ * its Docker call returns; the database rows of all items that succeeded are then written in
+ * a single transaction. Containers with a job in progress are skipped, and bulk items lock
+ * their containers against new jobs the same way. Like the single operations, a start, stop or
+ * delete moves the row to its transitional status before the Docker call and back if it fails.
+ */
+@Service
+public class ContainerBulkService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContainerBulkService.class);
+
+    @Autowired
+    private DockerClient dockerClient;
+
+    @Autowired
+    private ContainerRepository containerRepository;
+
+    @Autowired
+    private ContainerService containerService;
+
+    @Autowired
+    private ContainerJobService containerJobService;
+
+    @Autowired
+    private ContainerStateStore containerStateStore;
+
+    @Autowired
+    private ContainerActivityTracker activityTracker;
+
+    @Autowired
+    private ContainerStatusCounters statusCounters;
+
+    @Autowired
+    private PortAllocator portAllocator;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Docker calls in flight across all bulk requests
+    @Value("${container-bulk.concurrency:8}")
+    private int concurrency;
+
+    @Value("${container-bulk.max-items:500}")
+    private int maxItems;
+
+    @Value("${container-bulk.sse-timeout-ms:600000}")
+    private long sseTimeoutMs;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "container-bulk-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Blocks until every item is done and the rows are written
+    public BulkContainerResultDTO execute(BulkContainerRequest request, UserPrincipal userPrincipal) {
+        return run(request, userPrincipal, item -> { }).join();
+    }
+
+    /**
+     * Streams an "item" event per container as its Docker call finishes, then a "complete"
+     * event with the totals once the rows are written. Invalid requests fail before streaming.
+     */
+    public SseEmitter stream(BulkContainerRequest request, UserPrincipal userPrincipal) {
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        run(request, userPrincipal, item -> send(emitter, "item", item))
+            .whenComplete((result, error) -> {
+                if (error != null) {
+                    emitter.completeWithError(error);
+                    return;
+                }
+                // The items were already streamed one by one
+                result.setItems(null);
+                send(emitter, "complete", result);
+                emitter.complete();
+            });
+        return emitter;
+    }
+
+    CompletableFuture<BulkContainerResultDTO> run(BulkContainerRequest request, UserPrincipal userPrincipal,
+                                                  Consumer<BulkItemResultDTO> listener) {
+        ContainerBulkAction action = request.getAction();
+        List<BulkItemResultDTO> results = new ArrayList<>();
+        List<Container> targets = resolveTargets(request, userPrincipal, results);
+        results.forEach(listener);
+
+        String owner = "bulk-" + UUID.randomUUID();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        logger.info("Bulk {} of {} containers for user: {}", action, targets.size(), userPrincipal.getUsername());
+
+        List<CompletableFuture<Outcome>> futures = targets.stream()
+            .map(container -> CompletableFuture.supplyAsync(() -> apply(action, container, owner), executor)
+                .whenComplete((outcome, error) -> {
+                    if (outcome != null) {
+                        listener.accept(outcome.result());
+                    }
+                }))
+            .toList();
+
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+            .thenApply(done -> {
+                List<Outcome> outcomes = futures.stream().map(CompletableFuture::join).toList();
+                try {
+                    String error = persist(outcomes);
+                    outcomes.stream().map(Outcome::result).forEach(results::add);
+                    results.forEach(item -> meterRegistry.counter("containers.bulk.items",
+                        "action", action.name(), "result", item.getOutcome().name().toLowerCase()).increment());
+                    return BulkContainerResultDTO.fromItems(action, results, error);
+                } finally {
+                    outcomes.stream()
+                        .filter(Outcome::locked)
+                        .forEach(outcome -> containerJobService.unlock(outcome.container().getId(), owner));
+                    sample.stop(meterRegistry.timer("containers.bulk.duration", "action", action.name()));
+                }
+            });
+    }
+
+    // Explicit ids that are not the caller's are reported as not found, like the single endpoints do
+    private List<Container> resolveTargets(BulkContainerRequest request, UserPrincipal userPrincipal,
+                                           List<BulkItemResultDTO> notFound) {
+        List<Long> ids = request.getContainerIds();
+        BulkContainerRequest.Selector selector = request.getSelector();
+        if ((ids == null || ids.isEmpty()) == (selector == null)) {
+            throw new BadRequestException("Either containerIds or selector is required, not both");
+        }
+
+        List<Container> targets;
+        if (selector == null) {
+            Set<Long> requested = new LinkedHashSet<>(ids);
+            if (requested.size() > maxItems) {
+                throw new BadRequestException("At most " + maxItems + " containers per bulk request");
+            }
+            targets = containerRepository.findByUserIdAndIdIn(userPrincipal.getId(), requested);
+            Set<Long> found = targets.stream().map(Container::getId).collect(Collectors.toSet());
+            requested.stream()
+                .filter(id -> !found.contains(id))
+                .forEach(id -> notFound.add(BulkItemResultDTO.failed(id, null, "Container not found")));
+        } else {
+            targets = select(selector, userPrincipal);
+            if (targets.size() > maxItems) {
+                throw new BadRequestException("Selector matches " + targets.size()
+                    + " containers, at most " + maxItems + " per bulk request");
+            }
+        }
+        return targets;
+    }
+
+    private List<Container> select(BulkContainerRequest.Selector selector, UserPrincipal userPrincipal) {
+        if (selector.isAllUsers() && !userPrincipal.isAdmin()) {
+            throw new AccessDeniedException("Only administrators can select containers of all users");
+        }
+
+        List<Container> candidates = selector.isAllUsers()
+            ? containerRepository.findAll()
+            : containerRepository.findByUserId(userPrincipal.getId());
+
+        Set<String> labelled = null;
+        if (selector.getLabels() != null && !selector.getLabels().isEmpty()) {
+            // One labelled listing instead of an inspect per candidate. Not narrowed by the owner
+            // label, which containers claimed from the warm pool lack: the candidates already
+            // hold only the caller's rows.
+            Map<String, String> labels = new HashMap<>(selector.getLabels());
+            labels.put(ContainerLabels.MANAGED, "true");
+            labelled = dockerClient.listContainersCmd()
+                .withShowAll(true)
+                .withLabelFilter(labels)
+                .exec()
+                .stream()
+                .map(com.github.dockerjava.api.model.Container::getId)
+                .collect(Collectors.toSet());
+        }
+
+        Set<String> matchingLabels = labelled;
+        return candidates.stream()
+            .filter(container -> selector.getStatuses() == null || selector.getStatuses().isEmpty()
+                || selector.getStatuses().contains(container.getStatus()))
+            .filter(container -> selector.getImage() == null || selector.getImage().equals(container.getImage()))
+            .filter(container -> matchingLabels == null || matchingLabels.contains(container.getContainerId()))
+            .toList();
+    }
+
+    private Outcome apply(ContainerBulkAction action, Container container, String owner) {
+        String skipReason = skipReason(action, container.getStatus());
+        if (skipReason != null) {
+            return Outcome.skipped(container, skipReason);
+        }
+        if (!containerJobService.tryLock(container.getId(), owner)) {
+            return Outcome.skipped(container, "Another operation is already in progress for this container");
+        }
+
+        // Same guarded transition as a single start, stop or delete, so the two never overlap
+        ContainerStatus transitional = transitionalStatus(action);
+        boolean transitioned = false;
+        try {
+            if (transitional != null) {
+                if (containerRepository.transitionStatus(container.getId(), container.getStatus(), transitional,
+                        LocalDateTime.now()) == 0) {
+                    return new Outcome(container, container.getStatus(), true, BulkItemResultDTO.skipped(
+                        container.getId(), container.getName(), container.getStatus(), "Container state changed"));
+                }
+                transitioned = true;
+                containerStateStore.track(container.getContainerId(), transitional);
+            }
+            ContainerStatus status = switch (action) {
+                case START -> start(container);
+                case STOP -> stop(container);
+                case RESTART -> {
+                    dockerClient.restartContainerCmd(container.getContainerId()).exec();
+                    yield ContainerStatus.RUNNING;
+                }
+                case PAUSE -> {
+                    dockerClient.pauseContainerCmd(container.getContainerId()).exec();
+                    yield ContainerStatus.PAUSED;
+                }
+                case DELETE -> delete(container);
+            };
+            return new Outcome(container, status, true,
+                BulkItemResultDTO.succeeded(container.getId(), container.getName(), status));
+        } catch (Exception e) {
+            logger.warn("Bulk {} failed for container {}: {}", action, container.getContainerId(), e.getMessage());
+            if (transitioned) {
+                revertTransition(container, transitional);
+            }
+            return new Outcome(container, null, true,
+                BulkItemResultDTO.failed(container.getId(), container.getName(), e.getMessage()));
+        }
+    }
+
+    // Pause has no transitional status; a restart is written as a start
+    private ContainerStatus transitionalStatus(ContainerBulkAction action) {
+        return switch (action) {
+            case START, RESTART -> ContainerStatus.STARTING;
+            case STOP -> ContainerStatus.STOPPING;
+            case DELETE -> ContainerStatus.REMOVING;
+            case PAUSE -> null;
+        };
+    }
+
+    // The Docker call failed, so the container still has the status it was read with
+    private void revertTransition(Container container, ContainerStatus transitional) {
+        try {
+            containerRepository.transitionStatus(container.getId(), transitional, container.getStatus(),
+                LocalDateTime.now());
+            containerStateStore.track(container.getContainerId(), container.getStatus());
+        } catch (Exception e) {
+            // Reconciled from Docker once the transition times out
+            logger.warn("Failed to restore status of container {}: {}", container.getContainerId(), e.getMessage());
+        }
+    }
+
+    // Work that is already done, or that a single start has to do, is skipped rather than failed
+    private String skipReason(ContainerBulkAction action, ContainerStatus status) {
+        if (status.isTransitional()) {
+            return "Another operation is already in progress for this container";
+        }
+        return switch (action) {
+            case START -> status == ContainerStatus.RUNNING ? "Already running"
+                : status == ContainerStatus.HIBERNATED ? "Hibernated, restored by its own start or connect" : null;
+            case STOP -> status == ContainerStatus.RUNNING || status == ContainerStatus.PAUSED
+                || status == ContainerStatus.RESTARTING ? null : "Not running";
+            case RESTART -> status == ContainerStatus.HIBERNATED ? "Hibernated, restored by its own start or connect" : null;
+            case PAUSE -> status == ContainerStatus.RUNNING ? null : "Not running";
+            case DELETE -> null;
+        };
+    }
+
+    private ContainerStatus start(Container container) {
+        if (container.getStatus() == ContainerStatus.PAUSED) {
+            dockerClient.unpauseContainerCmd(container.getContainerId()).exec();
+        } else {
+            try {
+                dockerClient.startContainerCmd(container.getContainerId()).exec();
+            } catch (NotModifiedException e) {
+                logger.debug("Container {} already running", container.getContainerId());
+            }
+        }
+        return ContainerStatus.RUNNING;
+    }
+
+    private ContainerStatus stop(Container container) {
+        try {
+            dockerClient.stopContainerCmd(container.getContainerId()).exec();
+        } catch (NotModifiedException e) {
+            logger.debug("Container {} already stopped", container.getContainerId());
+        }
+        return ContainerStatus.EXITED;
+    }
+
+    // Null status: the row goes
+    private ContainerStatus delete(Container container) {
+        // A hibernated container only has its snapshot left, removed once the row is gone
+        if (container.getStatus() != ContainerStatus.HIBERNATED) {
+            try {
+                dockerClient.removeContainerCmd(container.getContainerId()).withForce(true).exec();
+            } catch (NotFoundException e) {
+                logger.debug("Container {} already removed", container.getContainerId());
+            }
+        }
+        return null;
+    }
+
+    // Returns an error message when the rows could not be written
+    private String persist(List<Outcome> outcomes) {
+        Map<ContainerStatus, List<String>> statusChanges = new EnumMap<>(ContainerStatus.class);
+        List<Container> deleted = new ArrayList<>();
+        for (Outcome outcome : outcomes) {
+            if (outcome.result().getOutcome() != BulkItemResultDTO.Outcome.SUCCEEDED) {
+                continue;
+            }
+            if (outcome.status() == null) {
+                deleted.add(outcome.container());
+            } else {
+                statusChanges.computeIfAbsent(outcome.status(), status -> new ArrayList<>())
+                    .add(outcome.container().getContainerId());
+            }
+        }
+        if (statusChanges.isEmpty() && deleted.isEmpty()) {
+            return null;
+        }
+
+        try {
+            containerService.applyBulkChanges(statusChanges,
+                deleted.stream().map(Container::getId).toList());
+        } catch (Exception e) {
+            // Docker already changed; the reconciler records it once the transitional statuses time out
+            logger.error("Failed to save bulk changes for {} containers", outcomes.size(), e);
+            return "Failed to save changes: " + e.getMessage();
+        }
+
+        statusChanges.forEach((status, containerIds) ->
+            containerIds.forEach(containerId -> containerStateStore.track(containerId, status)));
+        for (Container container : deleted) {
+            containerStateStore.forget(container.getContainerId());
+            statusCounters.unregister(container.getContainerId());
+            activityTracker.forget(container.getContainerId());
+            removeImageQuietly(container.getHibernatedImage());
+        }
+        try {
+            portAllocator.releaseAll(deleted.stream().map(Container::getSshPort).toList());
+        } catch (Exception e) {
+            // Leftover leases are removed by the allocator's orphan cleanup
+            logger.warn("Failed to release ports of deleted containers: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    private void removeImageQuietly(String image) {
+        if (image == null) {
+            return;
+        }
+        try {
+            dockerClient.removeImageCmd(image).exec();
+        } catch (Exception e) {
+            logger.warn("Failed to remove image {}: {}", image, e.getMessage());
+        }
+    }
+
+    private void send(SseEmitter emitter, String name, Object data) {
+        // Items finish on several worker threads at once
+        synchronized (emitter) {
+            try {
+                emitter.send(SseEmitter.event().name(name).data(data));
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the operation itself carries on
+                emitter.completeWithError(e);
+            }
+        }
+    }
+
+    // status is the new status of a succeeded item, null when it was deleted
+    private record Outcome(Container container, ContainerStatus status, boolean locked, BulkItemResultDTO result) {
+
+        static Outcome skipped(Container container, String reason) {
+            return new Outcome(container, container.getStatus(), false,
+                BulkItemResultDTO.skipped(container.getId(), container.getName(), container.getStatus(), reason));
+        }
+    }
+}
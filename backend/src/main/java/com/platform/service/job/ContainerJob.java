@@ -0,0 +1,79 @@
+// src/main/java/com/platform/service/job/ContainerJob.java
+package com.platform.service.job;
+
+import com.platform.dto.response.ContainerDTO;
+import com.platform.model.enums.ContainerJobStatus;
+import com.platform.model.enums.ContainerJobType;
+import com.platform.service.image.ImagePullProgress;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A queued container lifecycle operation. Lives in memory for the retention period after it finishes.
+ */
+public class ContainerJob {
+
+    private final String id = UUID.randomUUID().toString();
+    private final ContainerJobType type;
+    private final Long userId;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+
+    private Long containerId;
+    private ContainerJobStatus status = ContainerJobStatus.QUEUED;
+    private String stage = "queued";
+    private String message;
+    private String error;
+    private ContainerDTO result;
+    private ImagePullProgress.Snapshot pull;
+    private LocalDateTime updatedAt = createdAt;
+
+    public ContainerJob(ContainerJobType type, Long userId, Long containerId) {
+        this.type = type;
+        this.userId = userId;
+        this.containerId = containerId;
+    }
+
+    synchronized void progress(String stage, String message) {
+        this.status = ContainerJobStatus.RUNNING;
+        this.stage = stage;
+        this.message = message;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    synchronized void pullProgress(ImagePullProgress.Snapshot pull) {
+        progress("pulling", pull.summary());
+        this.pull = pull;
+    }
+
+    synchronized void succeed(ContainerDTO result) {
+        this.status = ContainerJobStatus.SUCCEEDED;
+        this.stage = "done";
+        this.result = result;
+        if (result != null) {
+            this.containerId = result.getId();
+        }
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    synchronized void fail(String error) {
+        this.status = ContainerJobStatus.FAILED;
+        this.stage = "failed";
+        this.error = error;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public String getId() { return id; }
+    public ContainerJobType getType() { return type; }
+    public Long getUserId() { return userId; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public synchronized Long getContainerId() { return containerId; }
+    public synchronized ContainerJobStatus getStatus() { return status; }
+    public synchronized String getStage() { return stage; }
+    public synchronized String getMessage() { return message; }
+    public synchronized String getError() { return error; }
+    public synchronized ContainerDTO getResult() { return result; }
+    public synchronized ImagePullProgress.Snapshot getPull() { return pull; }
+    public synchronized LocalDateTime getUpdatedAt() { return updatedAt; }
+}
@@ -0,0 +1,311 @@
+// src/main/java/com/platform/service/job/ContainerJobService.java
+package com.platform.service.job;
+
+import com.platform.dto.request.CreateContainerRequest;
+import com.platform.dto.response.ContainerDTO;
+import com.platform.dto.response.ContainerJobDTO;
+import com.platform.exception.ContainerBusyException;
+import com.platform.exception.ResourceNotFoundException;
+import com.platform.exception.TooManyRequestsException;
+import com.platform.model.enums.ContainerJobType;
+import com.platform.security.jwt.UserPrincipal;
+import com.platform.service.ContainerService;
+import com.platform.service.image.ImagePullProgress;
+import com.platform.util.SshProbe;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Runs container create/start/stop/delete on a bounded worker pool so API calls return at once.
+ *
+ * Progress of each job is kept in memory and pushed to Server-Sent Events subscribers.
+ * Only one job at a time may act on a given container.
+ */
+@Service
+public class ContainerJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContainerJobService.class);
+
+    private static final int CREATE_LOCK_STRIPES = 64;
+
+    @Autowired
+    private ContainerService containerService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${container-jobs.threads:4}")
+    private int threads;
+
+    @Value("${container-jobs.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${container-jobs.retry-after-seconds:5}")
+    private long retryAfterSeconds;
+
+    @Value("${container-jobs.retention-seconds:900}")
+    private long retentionSeconds;
+
+    @Value("${container-jobs.sse-timeout-ms:600000}")
+    private long sseTimeoutMs;
+
+    @Value("${container-jobs.ssh-probe-host:localhost}")
+    private String sshProbeHost;
+
+    // 0 skips waiting for sshd after a start
+    @Value("${container-jobs.ssh-ready-timeout-ms:30000}")
+    private long sshReadyTimeoutMs;
+
+    private final Map<String, ContainerJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    // Container id -> id of the job currently acting on it
+    private final Map<Long, String> activeByContainer = new ConcurrentHashMap<>();
+    // Monitors for submitting creates, striped by user id so they stay bounded however many users
+    // there are; the row insert itself is guarded in the database
+    private final Object[] createLocks = Stream.generate(Object::new).limit(CREATE_LOCK_STRIPES).toArray();
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "container-job-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("containers.jobs.queue.depth", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("containers.jobs.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        subscribers.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+    }
+
+    public ContainerJob submitCreate(CreateContainerRequest request, UserPrincipal userPrincipal) {
+        // Count and queue under one lock per user, so parallel submits see each other's jobs
+        synchronized (createLocks[Math.floorMod(userPrincipal.getId().hashCode(), CREATE_LOCK_STRIPES)]) {
+            // Fail fast on what can be checked without Docker
+            containerService.validateCreateRequest(request, userPrincipal, pendingCreates(userPrincipal.getId()));
+
+            ContainerJob job = new ContainerJob(ContainerJobType.CREATE, userPrincipal.getId(), null);
+            return submit(job, () -> containerService.createContainer(request, userPrincipal, listener(job)));
+        }
+    }
+
+    public ContainerJob submitStart(Long containerId, UserPrincipal userPrincipal) {
+        ContainerJob job = containerJob(ContainerJobType.START, containerId, userPrincipal);
+        return submit(job, () -> {
+            ContainerDTO container = containerService.startContainer(containerId, userPrincipal, listener(job));
+            awaitSsh(job, container.getSshPort());
+            return container;
+        });
+    }
+
+    public ContainerJob submitStop(Long containerId, UserPrincipal userPrincipal) {
+        ContainerJob job = containerJob(ContainerJobType.STOP, containerId, userPrincipal);
+        return submit(job, () -> containerService.stopContainer(containerId, userPrincipal, listener(job)));
+    }
+
+    public ContainerJob submitDelete(Long containerId, UserPrincipal userPrincipal) {
+        ContainerJob job = containerJob(ContainerJobType.DELETE, containerId, userPrincipal);
+        return submit(job, () -> {
+            containerService.deleteContainer(containerId, userPrincipal, listener(job));
+            return null;
+        });
+    }
+
+    // Bulk operations and the idle manager take the same per-container lock as jobs, under their own owner id
+    public boolean tryLock(Long containerId, String owner) {
+        return activeByContainer.putIfAbsent(containerId, owner) == null;
+    }
+
+    public void unlock(Long containerId, String owner) {
+        activeByContainer.remove(containerId, owner);
+    }
+
+    public ContainerJob getJob(String jobId, UserPrincipal userPrincipal) {
+        ContainerJob job = jobs.get(jobId);
+        if (job == null || !job.getUserId().equals(userPrincipal.getId())) {
+            throw new ResourceNotFoundException("Job not found");
+        }
+        return job;
+    }
+
+    /**
+     * Streams "progress" events until the job finishes with a "complete" event.
+     * The current state is sent right away, so late subscribers miss nothing that matters.
+     */
+    public SseEmitter subscribe(String jobId, UserPrincipal userPrincipal) {
+        ContainerJob job = getJob(jobId, userPrincipal);
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+
+        List<SseEmitter> emitters = subscribers.computeIfAbsent(jobId, id -> new CopyOnWriteArrayList<>());
+        emitters.add(emitter);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(error -> emitters.remove(emitter));
+
+        send(emitter, job);
+        if (job.getStatus().isFinished()) {
+            emitters.remove(emitter);
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${container-jobs.cleanup-interval-ms:60000}")
+    public void removeExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusSeconds(retentionSeconds);
+        jobs.values().removeIf(job -> job.getStatus().isFinished() && job.getUpdatedAt().isBefore(cutoff));
+    }
+
+    private ContainerJob containerJob(ContainerJobType type, Long containerId, UserPrincipal userPrincipal) {
+        // Ownership check up front so other users' ids get a 404 instead of a job
+        containerService.getContainer(containerId, userPrincipal);
+        return new ContainerJob(type, userPrincipal.getId(), containerId);
+    }
+
+    private ContainerJob submit(ContainerJob job, Supplier<ContainerDTO> operation) {
+        Long containerId = job.getContainerId();
+        if (containerId != null && activeByContainer.putIfAbsent(containerId, job.getId()) != null) {
+            throw new ContainerBusyException("Another operation is already in progress for this container");
+        }
+
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job, operation));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            if (containerId != null) {
+                activeByContainer.remove(containerId, job.getId());
+            }
+            meterRegistry.counter("containers.jobs.rejected").increment();
+            throw new TooManyRequestsException("Too many container operations queued, try again later",
+                    retryAfterSeconds);
+        }
+
+        logger.debug("Queued {} job {} for user {}", job.getType(), job.getId(), job.getUserId());
+        return job;
+    }
+
+    private void run(ContainerJob job, Supplier<ContainerDTO> operation) {
+        try {
+            job.progress("running", null);
+            publish(job);
+            job.succeed(operation.get());
+            meterRegistry.counter("containers.jobs", "type", job.getType().name(), "result", "succeeded").increment();
+        } catch (Exception e) {
+            logger.warn("{} job {} failed: {}", job.getType(), job.getId(), e.getMessage());
+            job.fail(e.getMessage());
+            meterRegistry.counter("containers.jobs", "type", job.getType().name(), "result", "failed").increment();
+        } finally {
+            if (job.getContainerId() != null) {
+                activeByContainer.remove(job.getContainerId(), job.getId());
+            }
+            publish(job);
+            List<SseEmitter> emitters = subscribers.remove(job.getId());
+            if (emitters != null) {
+                emitters.forEach(SseEmitter::complete);
+            }
+        }
+    }
+
+    private ContainerProgressListener listener(ContainerJob job) {
+        return new ContainerProgressListener() {
+            @Override
+            public void onProgress(String stage, String message) {
+                job.progress(stage, message);
+                publish(job);
+            }
+
+            @Override
+            public void onPullProgress(ImagePullProgress.Snapshot snapshot) {
+                job.pullProgress(snapshot);
+                publish(job);
+            }
+        };
+    }
+
+    private void publish(ContainerJob job) {
+        List<SseEmitter> emitters = subscribers.get(job.getId());
+        if (emitters != null) {
+            emitters.forEach(emitter -> send(emitter, job));
+        }
+    }
+
+    private void send(SseEmitter emitter, ContainerJob job) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .id(job.getId())
+                    .name(job.getStatus().isFinished() ? "complete" : "progress")
+                    .data(ContainerJobDTO.fromJob(job)));
+        } catch (IOException | IllegalStateException e) {
+            // Client went away
+            emitter.completeWithError(e);
+        }
+    }
+
+    private int pendingCreates(Long userId) {
+        return (int) jobs.values().stream()
+                .filter(job -> job.getType() == ContainerJobType.CREATE && job.getUserId().equals(userId))
+                .filter(job -> !job.getStatus().isFinished())
+                .count();
+    }
+
+    // Waits until sshd in the container answers with its banner
+    private void awaitSsh(ContainerJob job, Integer sshPort) {
+        if (sshReadyTimeoutMs <= 0 || sshPort == null) {
+            return;
+        }
+        job.progress("waiting-for-ssh", "Waiting for SSH on port " + sshPort);
+        publish(job);
+
+        long deadline = System.currentTimeMillis() + sshReadyTimeoutMs;
+        while (System.currentTimeMillis() < deadline) {
+            if (SshProbe.bannerReceived(sshProbeHost, sshPort)) {
+                job.progress("ssh-ready", "SSH is accepting connections on port " + sshPort);
+                publish(job);
+                return;
+            }
+            try {
+                Thread.sleep(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        // The container is running; sshd may still be installing packages
+        job.progress("ssh-pending", "Container started, SSH not reachable yet");
+        publish(job);
+    }
+}
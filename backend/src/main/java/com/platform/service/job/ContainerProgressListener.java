@@ -0,0 +1,19 @@
+// src/main/java/com/platform/service/job/ContainerProgressListener.java
+package com.platform.service.job;
+
+import com.platform.service.image.ImagePullProgress;
+
+/**
+ * Receives the stages of a container lifecycle operation, e.g. "pulling", "creating", "ssh-ready".
+ */
+@FunctionalInterface
+public interface ContainerProgressListener {
+
+    ContainerProgressListener NONE = (stage, message) -> { };
+
+    void onProgress(String stage, String message);
+
+    default void onPullProgress(ImagePullProgress.Snapshot snapshot) {
+        onProgress("pulling", snapshot.summary());
+    }
+}
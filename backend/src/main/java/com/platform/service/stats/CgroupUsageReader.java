@@ -0,0 +1,262 @@
+// src/main/java/com/platform/service/stats/CgroupUsageReader.java
+package com.platform.service.stats;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads container usage straight from the cgroup v2 files Docker creates for each container,
+ * which costs a few small file reads instead of a stats API round trip.
+ *
+ * Files are read into one reused buffer and parsed in place, so apart from opening the files
+ * a reading allocates only its result. Network counters are not in the cgroup; they come from
+ * /proc/<pid>/net/dev of the container's first process. Needs the host's /sys/fs/cgroup and
+ * /proc (mounted read-only when the backend itself runs in a container).
+ */
+@Component
+public class CgroupUsageReader {
+
+    private static final Logger logger = LoggerFactory.getLogger(CgroupUsageReader.class);
+
+    private static final byte[] USAGE_USEC = "usage_usec".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] INACTIVE_FILE = "inactive_file".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] RBYTES = "rbytes=".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] WBYTES = "wbytes=".getBytes(StandardCharsets.US_ASCII);
+
+    @Value("${telemetry.cgroup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${telemetry.cgroup.root:/sys/fs/cgroup}")
+    private String cgroupRoot;
+
+    @Value("${telemetry.cgroup.proc-root:/proc}")
+    private String procRoot;
+
+    // Guarded by this; large enough for io.stat with a few dozen devices
+    private final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+    private final byte[] bytes = buffer.array();
+
+    // Output of networkBytes, kept in fields so a reading needs no array
+    private long networkRx;
+    private long networkTx;
+
+    private volatile boolean available;
+
+    @PostConstruct
+    public void init() {
+        // cgroup.controllers only exists at the root of the unified (v2) hierarchy
+        available = enabled && Files.isReadable(Paths.get(cgroupRoot, "cgroup.controllers"));
+        logger.info("cgroup v2 usage reader {}", available ? "enabled at " + cgroupRoot
+                : "unavailable - container usage is read from the Docker stats API");
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Reads all given containers in one pass. Containers whose files cannot be read are left
+     * out, so the caller can fall back to the stats API for just those.
+     */
+    public synchronized Map<String, ContainerUsage> readAll(Collection<String> containerIds) {
+        Map<String, ContainerUsage> usages = new HashMap<>();
+        if (!available) {
+            return usages;
+        }
+        for (String containerId : containerIds) {
+            ContainerUsage usage = readOne(containerId);
+            if (usage != null) {
+                usages.put(containerId, usage);
+            }
+        }
+        return usages;
+    }
+
+    // Null when the container's files cannot be read
+    public synchronized ContainerUsage read(String containerId) {
+        return available ? readOne(containerId) : null;
+    }
+
+    private ContainerUsage readOne(String containerId) {
+        Path cgroup = resolve(containerId);
+        if (cgroup == null) {
+            return null;
+        }
+        try {
+            int length = load(cgroup.resolve("cpu.stat"));
+            long cpuMicros = valueOf(length, USAGE_USEC);
+
+            length = load(cgroup.resolve("memory.current"));
+            long memoryBytes = parseLong(0, length);
+            // Same as `docker stats`: page cache that can be reclaimed does not count
+            length = load(cgroup.resolve("memory.stat"));
+            long inactiveFile = valueOf(length, INACTIVE_FILE);
+            if (inactiveFile > 0 && inactiveFile <= memoryBytes) {
+                memoryBytes -= inactiveFile;
+            }
+
+            length = load(cgroup.resolve("io.stat"));
+            long blockReadBytes = sumOf(length, RBYTES);
+            long blockWriteBytes = sumOf(length, WBYTES);
+
+            length = load(cgroup.resolve("cgroup.procs"));
+            long pid = parseLong(0, length);
+            if (cpuMicros < 0 || memoryBytes < 0 || pid <= 0) {
+                return null;
+            }
+            length = load(Paths.get(procRoot, Long.toString(pid), "net", "dev"));
+            networkBytes(length);
+
+            return new ContainerUsage(cpuMicros * 1000, memoryBytes, networkRx, networkTx,
+                    blockReadBytes, blockWriteBytes, System.nanoTime());
+        } catch (IOException | RuntimeException e) {
+            // Stopped in the meantime, or the files are not mounted into this container
+            logger.debug("Failed to read cgroup of {}: {}", containerId, e.getMessage());
+            return null;
+        }
+    }
+
+    // systemd cgroup driver first (the default on current distributions), then cgroupfs
+    private Path resolve(String containerId) {
+        Path systemd = Paths.get(cgroupRoot, "system.slice", "docker-" + containerId + ".scope");
+        if (Files.isDirectory(systemd)) {
+            return systemd;
+        }
+        Path cgroupfs = Paths.get(cgroupRoot, "docker", containerId);
+        return Files.isDirectory(cgroupfs) ? cgroupfs : null;
+    }
+
+    private int load(Path path) throws IOException {
+        buffer.clear();
+        try (FileChannel channel = FileChannel.open(path)) {
+            // Pseudo files report size 0, so read until end of file
+            while (buffer.hasRemaining() && channel.read(buffer) > 0) {
+                // keep reading
+            }
+        }
+        return buffer.position();
+    }
+
+    // Value of a "key value" line, or -1 when there is none
+    private long valueOf(int length, byte[] key) {
+        int lineStart = 0;
+        while (lineStart < length) {
+            if (startsWith(lineStart, length, key) && lineStart + key.length < length
+                    && bytes[lineStart + key.length] == ' ') {
+                return parseLong(lineStart + key.length, length);
+            }
+            lineStart = nextLine(lineStart, length);
+        }
+        return -1;
+    }
+
+    // Sum of every "key=value" field, e.g. rbytes= over all devices of io.stat
+    private long sumOf(int length, byte[] key) {
+        long sum = 0;
+        for (int i = 0; i + key.length <= length; i++) {
+            if (startsWith(i, length, key)) {
+                sum += Math.max(0, parseLong(i + key.length, length));
+                i += key.length;
+            }
+        }
+        return sum;
+    }
+
+    // Received and transmitted bytes of all interfaces but loopback
+    private void networkBytes(int length) {
+        long rx = 0;
+        long tx = 0;
+        // Two header lines, then "  eth0: rx_bytes packets errs drop fifo frame compressed multicast tx_bytes ..."
+        int lineStart = nextLine(nextLine(0, length), length);
+        while (lineStart < length) {
+            int colon = indexOf(lineStart, length, (byte) ':');
+            if (colon > 0 && !isLoopback(lineStart, colon)) {
+                int field = colon + 1;
+                for (int column = 0; column < 9 && field < length; column++) {
+                    field = skipSpaces(field, length);
+                    if (column == 0) {
+                        rx += parseLong(field, length);
+                    } else if (column == 8) {
+                        tx += parseLong(field, length);
+                    }
+                    while (field < length && bytes[field] >= '0' && bytes[field] <= '9') {
+                        field++;
+                    }
+                }
+            }
+            lineStart = nextLine(lineStart, length);
+        }
+        networkRx = rx;
+        networkTx = tx;
+    }
+
+    private boolean isLoopback(int lineStart, int colon) {
+        int start = skipSpaces(lineStart, colon);
+        return colon - start == 2 && bytes[start] == 'l' && bytes[start + 1] == 'o';
+    }
+
+    // First number at or after from, -1 when the line has none
+    private long parseLong(int from, int length) {
+        int i = skipSpaces(from, length);
+        if (i >= length || bytes[i] < '0' || bytes[i] > '9') {
+            return -1;
+        }
+        long value = 0;
+        while (i < length && bytes[i] >= '0' && bytes[i] <= '9') {
+            value = value * 10 + (bytes[i] - '0');
+            i++;
+        }
+        return value;
+    }
+
+    private boolean startsWith(int from, int length, byte[] key) {
+        if (from + key.length > length) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (bytes[from + i] != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int skipSpaces(int from, int length) {
+        int i = from;
+        while (i < length && (bytes[i] == ' ' || bytes[i] == '\t')) {
+            i++;
+        }
+        return i;
+    }
+
+    private int indexOf(int from, int length, byte value) {
+        for (int i = from; i < length && bytes[i] != '\n'; i++) {
+            if (bytes[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int nextLine(int from, int length) {
+        int i = from;
+        while (i < length && bytes[i] != '\n') {
+            i++;
+        }
+        return i + 1;
+    }
+}
@@ -0,0 +1,101 @@
+// src/main/java/com/platform/service/stats/ContainerTelemetry.java
+package com.platform.service.stats;
+
+import java.util.List;
+
+/**
+ * Recent usage history of one container: raw samples plus 1 minute and 5 minute averages.
+ * Each rollup period is written to its ring once a sample of the next period arrives.
+ */
+final class ContainerTelemetry {
+
+    private final TelemetryRing raw;
+    private final Rollup oneMinute;
+    private final Rollup fiveMinutes;
+
+    private ContainerUsage previous;
+
+    ContainerTelemetry(int rawCapacity, int oneMinuteCapacity, int fiveMinuteCapacity) {
+        raw = new TelemetryRing(rawCapacity);
+        oneMinute = new Rollup(TelemetryResolution.ONE_MINUTE.getPeriodMillis(), new TelemetryRing(oneMinuteCapacity));
+        fiveMinutes = new Rollup(TelemetryResolution.FIVE_MINUTES.getPeriodMillis(), new TelemetryRing(fiveMinuteCapacity));
+    }
+
+    /**
+     * Turns the counters into rates against the previous reading. The first reading, and the
+     * first one after a restart reset the counters, only become the baseline.
+     */
+    synchronized boolean record(ContainerUsage usage, long timestamp) {
+        ContainerUsage earlier = previous;
+        previous = usage;
+        if (earlier == null || usage.isResetSince(earlier)) {
+            return false;
+        }
+        double seconds = (usage.sampledAtNanos() - earlier.sampledAtNanos()) / 1e9;
+        if (seconds <= 0) {
+            return false;
+        }
+
+        double cpu = usage.cpuPercentSince(earlier);
+        double rx = (usage.rxBytes() - earlier.rxBytes()) / seconds;
+        double tx = (usage.txBytes() - earlier.txBytes()) / seconds;
+        double blockRead = (usage.blockReadBytes() - earlier.blockReadBytes()) / seconds;
+        double blockWrite = (usage.blockWriteBytes() - earlier.blockWriteBytes()) / seconds;
+
+        raw.add(timestamp, cpu, usage.memoryBytes(), rx, tx, blockRead, blockWrite);
+        oneMinute.add(timestamp, cpu, usage.memoryBytes(), rx, tx, blockRead, blockWrite);
+        fiveMinutes.add(timestamp, cpu, usage.memoryBytes(), rx, tx, blockRead, blockWrite);
+        return true;
+    }
+
+    synchronized TelemetrySample latest() {
+        return raw.latest();
+    }
+
+    synchronized List<TelemetrySample> history(TelemetryResolution resolution, long since) {
+        return switch (resolution) {
+            case RAW -> raw.since(since);
+            case ONE_MINUTE -> oneMinute.ring.since(since);
+            case FIVE_MINUTES -> fiveMinutes.ring.since(since);
+        };
+    }
+
+    // Running sums of the period in progress
+    private static final class Rollup {
+        private final long periodMillis;
+        private final TelemetryRing ring;
+
+        private long periodStart;
+        private int count;
+        private double cpu;
+        private double memory;
+        private double rx;
+        private double tx;
+        private double blockRead;
+        private double blockWrite;
+
+        Rollup(long periodMillis, TelemetryRing ring) {
+            this.periodMillis = periodMillis;
+            this.ring = ring;
+        }
+
+        void add(long timestamp, double cpuPercent, long memoryBytes, double rxRate, double txRate,
+                 double blockReadRate, double blockWriteRate) {
+            long start = timestamp - timestamp % periodMillis;
+            if (count > 0 && start != periodStart) {
+                ring.add(periodStart, cpu / count, Math.round(memory / count), rx / count, tx / count,
+                        blockRead / count, blockWrite / count);
+                count = 0;
+                cpu = memory = rx = tx = blockRead = blockWrite = 0;
+            }
+            periodStart = start;
+            count++;
+            cpu += cpuPercent;
+            memory += memoryBytes;
+            rx += rxRate;
+            tx += txRate;
+            blockRead += blockReadRate;
+            blockWrite += blockWriteRate;
+        }
+    }
+}
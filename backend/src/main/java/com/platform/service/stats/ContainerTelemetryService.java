@@ -0,0 +1,154 @@
+// src/main/java/com/platform/service/stats/ContainerTelemetryService.java
+package com.platform.service.stats;
+
+import com.platform.model.enums.ContainerStatus;
+import com.platform.repository.ContainerRepository;
+import com.platform.service.ContainerStateStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Samples the resource usage of every running platform container on one shared schedule and
+ * keeps a bounded in-memory history per container.
+ *
+ * Queries are answered from that history only, so no request waits on Docker. History of a
+ * stopped container is kept until its row is deleted.
+ */
+@Service
+public class ContainerTelemetryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContainerTelemetryService.class);
+
+    @Autowired
+    private ContainerRepository containerRepository;
+
+    @Autowired
+    private ContainerStateStore containerStateStore;
+
+    @Autowired
+    private ContainerUsageReader usageReader;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${telemetry.enabled:true}")
+    private boolean enabled;
+
+    // Stats API reads in flight at once, for containers the cgroup reader cannot read
+    @Value("${telemetry.parallelism:4}")
+    private int parallelism;
+
+    // 360 samples at the default 10 s interval is one hour
+    @Value("${telemetry.raw-capacity:360}")
+    private int rawCapacity;
+
+    @Value("${telemetry.one-minute-capacity:360}")
+    private int oneMinuteCapacity;
+
+    @Value("${telemetry.five-minute-capacity:288}")
+    private int fiveMinuteCapacity;
+
+    // Docker container id -> history
+    private final Map<String, ContainerTelemetry> telemetry = new ConcurrentHashMap<>();
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "telemetry-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("telemetry.containers", telemetry, Map::size).register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Scheduled(fixedDelayString = "${telemetry.sample-interval-ms:10000}",
+               initialDelayString = "${telemetry.sample-interval-ms:10000}")
+    public void sample() {
+        if (!enabled) {
+            return;
+        }
+
+        Timer.Sample timer = Timer.start(meterRegistry);
+        List<ContainerRepository.ContainerStatusView> rows = containerRepository.findAllStatuses();
+        // The live status from the event stream is newer than the row
+        List<String> running = rows.stream()
+            .filter(row -> containerStateStore.get(row.getContainerId())
+                .map(ContainerStateStore.ContainerState::getStatus)
+                .orElse(row.getStatus()) == ContainerStatus.RUNNING)
+            .map(ContainerRepository.ContainerStatusView::getContainerId)
+            .toList();
+
+        long timestamp = System.currentTimeMillis();
+        // All cgroup files in one pass, then the stats API for whatever that could not read
+        Map<String, ContainerUsage> cgroupUsages = usageReader.readCgroups(running);
+        cgroupUsages.forEach((containerId, usage) -> record(containerId, usage, timestamp));
+        List<Callable<Void>> reads = running.stream()
+            .filter(containerId -> !cgroupUsages.containsKey(containerId))
+            .<Callable<Void>>map(containerId -> () -> {
+                usageReader.readStats(containerId).ifPresent(usage -> record(containerId, usage, timestamp));
+                return null;
+            })
+            .toList();
+        if (!reads.isEmpty()) {
+            try {
+                executor.invokeAll(reads);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+
+        // Deleted and hibernated containers
+        Set<String> known = rows.stream()
+            .filter(row -> row.getStatus() != ContainerStatus.HIBERNATED)
+            .map(ContainerRepository.ContainerStatusView::getContainerId)
+            .collect(Collectors.toSet());
+        telemetry.keySet().retainAll(known);
+
+        timer.stop(meterRegistry.timer("telemetry.sample.duration"));
+        logger.debug("Sampled {} running containers", running.size());
+    }
+
+    private void record(String containerId, ContainerUsage usage, long timestamp) {
+        telemetry.computeIfAbsent(containerId, id -> new ContainerTelemetry(rawCapacity, oneMinuteCapacity, fiveMinuteCapacity))
+            .record(usage, timestamp);
+    }
+
+    public Optional<TelemetrySample> current(String containerId) {
+        return Optional.ofNullable(telemetry.get(containerId)).map(ContainerTelemetry::latest);
+    }
+
+    // Oldest first; empty until two readings of a running container have been taken
+    public List<TelemetrySample> history(String containerId, TelemetryResolution resolution, long since) {
+        ContainerTelemetry history = telemetry.get(containerId);
+        return history == null ? List.of() : history.history(resolution, since);
+    }
+}
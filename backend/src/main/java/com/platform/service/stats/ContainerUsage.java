@@ -0,0 +1,29 @@
+// src/main/java/com/platform/service/stats/ContainerUsage.java
+package com.platform.service.stats;
+
+/**
+ * Cumulative resource counters of one container at one point in time.
+ * Rates come from the difference between two samples.
+ */
+public record ContainerUsage(long cpuNanos, long memoryBytes, long rxBytes, long txBytes,
+                             long blockReadBytes, long blockWriteBytes, long sampledAtNanos) {
+
+    // Average share of one CPU since the earlier sample, in percent
+    public double cpuPercentSince(ContainerUsage earlier) {
+        long elapsed = sampledAtNanos - earlier.sampledAtNanos;
+        if (elapsed <= 0) {
+            return 0.0;
+        }
+        return Math.max(0, cpuNanos - earlier.cpuNanos) * 100.0 / elapsed;
+    }
+
+    public long networkBytesSince(ContainerUsage earlier) {
+        return Math.max(0, (rxBytes + txBytes) - (earlier.rxBytes + earlier.txBytes));
+    }
+
+    // Counters only go down when the container was restarted in between
+    public boolean isResetSince(ContainerUsage earlier) {
+        return cpuNanos < earlier.cpuNanos || rxBytes < earlier.rxBytes || txBytes < earlier.txBytes
+            || blockReadBytes < earlier.blockReadBytes || blockWriteBytes < earlier.blockWriteBytes;
+    }
+}
@@ -0,0 +1,134 @@
+// src/main/java/com/platform/service/stats/ContainerUsageReader.java
+package com.platform.service.stats;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.model.BlkioStatEntry;
+import com.github.dockerjava.api.model.StatisticNetworksConfig;
+import com.github.dockerjava.api.model.Statistics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Reads a container's cumulative CPU, memory, network and block I/O counters.
+ *
+ * The cgroup files are tried first; Docker's stats API is the fallback for containers whose
+ * files cannot be read, e.g. on cgroup v1 hosts or when /sys/fs/cgroup is not mounted.
+ */
+@Component
+public class ContainerUsageReader {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContainerUsageReader.class);
+
+    @Autowired
+    private DockerClient dockerClient;
+
+    @Autowired
+    private CgroupUsageReader cgroupReader;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Counter cgroupReads;
+    private Counter statsReads;
+
+    @PostConstruct
+    public void init() {
+        cgroupReads = meterRegistry.counter("telemetry.reads", "source", "cgroup");
+        statsReads = meterRegistry.counter("telemetry.reads", "source", "docker");
+    }
+
+    /**
+     * One sample, or empty when the container is gone or not running.
+     */
+    public Optional<ContainerUsage> read(String containerId) {
+        ContainerUsage usage = cgroupReader.read(containerId);
+        if (usage != null) {
+            cgroupReads.increment();
+            return Optional.of(usage);
+        }
+        return readStats(containerId);
+    }
+
+    /**
+     * One pass over the cgroup files of all given containers. Containers missing from the
+     * result have to be read with readStats.
+     */
+    public Map<String, ContainerUsage> readCgroups(Collection<String> containerIds) {
+        Map<String, ContainerUsage> usages = cgroupReader.readAll(containerIds);
+        cgroupReads.increment(usages.size());
+        return usages;
+    }
+
+    // Costs an API round trip of about a second per container
+    public Optional<ContainerUsage> readStats(String containerId) {
+        statsReads.increment();
+        AtomicReference<Statistics> result = new AtomicReference<>();
+        try {
+            dockerClient.statsCmd(containerId)
+                .withNoStream(true)
+                .exec(new ResultCallback.Adapter<Statistics>() {
+                    @Override
+                    public void onNext(Statistics statistics) {
+                        result.compareAndSet(null, statistics);
+                    }
+                })
+                .awaitCompletion(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } catch (RuntimeException e) {
+            logger.debug("Failed to read stats of {}: {}", containerId, e.getMessage());
+            return Optional.empty();
+        }
+        return Optional.ofNullable(result.get()).map(ContainerUsageReader::toUsage);
+    }
+
+    static ContainerUsage toUsage(Statistics statistics) {
+        long cpuNanos = 0;
+        if (statistics.getCpuStats() != null && statistics.getCpuStats().getCpuUsage() != null
+                && statistics.getCpuStats().getCpuUsage().getTotalUsage() != null) {
+            cpuNanos = statistics.getCpuStats().getCpuUsage().getTotalUsage();
+        }
+        long memoryBytes = statistics.getMemoryStats() != null && statistics.getMemoryStats().getUsage() != null
+                ? statistics.getMemoryStats().getUsage()
+                : 0;
+
+        long rxBytes = 0;
+        long txBytes = 0;
+        Map<String, StatisticNetworksConfig> networks = statistics.getNetworks();
+        if (networks != null) {
+            for (StatisticNetworksConfig network : networks.values()) {
+                rxBytes += network.getRxBytes() != null ? network.getRxBytes() : 0;
+                txBytes += network.getTxBytes() != null ? network.getTxBytes() : 0;
+            }
+        }
+
+        long blockReadBytes = 0;
+        long blockWriteBytes = 0;
+        if (statistics.getBlkioStats() != null && statistics.getBlkioStats().getIoServiceBytesRecursive() != null) {
+            for (BlkioStatEntry entry : statistics.getBlkioStats().getIoServiceBytesRecursive()) {
+                long value = entry.getValue() != null ? entry.getValue() : 0;
+                // "Read"/"Write" on cgroup v1, "read"/"write" on v2
+                if ("read".equalsIgnoreCase(entry.getOp())) {
+                    blockReadBytes += value;
+                } else if ("write".equalsIgnoreCase(entry.getOp())) {
+                    blockWriteBytes += value;
+                }
+            }
+        }
+        return new ContainerUsage(cpuNanos, memoryBytes, rxBytes, txBytes, blockReadBytes, blockWriteBytes,
+                System.nanoTime());
+    }
+}
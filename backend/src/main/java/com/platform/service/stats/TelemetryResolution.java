@@ -0,0 +1,35 @@
+// src/main/java/com/platform/service/stats/TelemetryResolution.java
+package com.platform.service.stats;
+
+import com.platform.exception.BadRequestException;
+
+public enum TelemetryResolution {
+    RAW("raw", 0),
+    ONE_MINUTE("1m", 60_000),
+    FIVE_MINUTES("5m", 300_000);
+
+    private final String param;
+    private final long periodMillis;
+
+    TelemetryResolution(String param, long periodMillis) {
+        this.param = param;
+        this.periodMillis = periodMillis;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public long getPeriodMillis() {
+        return periodMillis;
+    }
+
+    public static TelemetryResolution fromParam(String param) {
+        for (TelemetryResolution resolution : values()) {
+            if (resolution.param.equalsIgnoreCase(param)) {
+                return resolution;
+            }
+        }
+        throw new BadRequestException("Unknown resolution: " + param + " (use raw, 1m or 5m)");
+    }
+}
@@ -0,0 +1,74 @@
+// src/main/java/com/platform/service/stats/TelemetryRing.java
+package com.platform.service.stats;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-size history of samples kept in parallel primitive arrays, so recording a sample
+ * allocates nothing and the oldest sample is overwritten once the ring is full.
+ * Not thread-safe; the owning ContainerTelemetry synchronizes.
+ */
+final class TelemetryRing {
+
+    private final long[] timestamps;
+    private final double[] cpuPercent;
+    private final long[] memoryBytes;
+    private final double[] rxBytesPerSecond;
+    private final double[] txBytesPerSecond;
+    private final double[] blockReadBytesPerSecond;
+    private final double[] blockWriteBytesPerSecond;
+
+    // Index the next sample is written to
+    private int head;
+    private int size;
+
+    TelemetryRing(int capacity) {
+        timestamps = new long[capacity];
+        cpuPercent = new double[capacity];
+        memoryBytes = new long[capacity];
+        rxBytesPerSecond = new double[capacity];
+        txBytesPerSecond = new double[capacity];
+        blockReadBytesPerSecond = new double[capacity];
+        blockWriteBytesPerSecond = new double[capacity];
+    }
+
+    void add(long timestamp, double cpu, long memory, double rx, double tx, double blockRead, double blockWrite) {
+        timestamps[head] = timestamp;
+        cpuPercent[head] = cpu;
+        memoryBytes[head] = memory;
+        rxBytesPerSecond[head] = rx;
+        txBytesPerSecond[head] = tx;
+        blockReadBytesPerSecond[head] = blockRead;
+        blockWriteBytesPerSecond[head] = blockWrite;
+        head = (head + 1) % timestamps.length;
+        size = Math.min(size + 1, timestamps.length);
+    }
+
+    int size() {
+        return size;
+    }
+
+    TelemetrySample latest() {
+        return size == 0 ? null : sampleAt((head - 1 + timestamps.length) % timestamps.length);
+    }
+
+    // Oldest first
+    List<TelemetrySample> since(long timestamp) {
+        List<TelemetrySample> samples = new ArrayList<>(size);
+        int oldest = (head - size + timestamps.length) % timestamps.length;
+        for (int i = 0; i < size; i++) {
+            int index = (oldest + i) % timestamps.length;
+            if (timestamps[index] >= timestamp) {
+                samples.add(sampleAt(index));
+            }
+        }
+        return samples;
+    }
+
+    private TelemetrySample sampleAt(int index) {
+        return new TelemetrySample(timestamps[index], cpuPercent[index], memoryBytes[index],
+                rxBytesPerSecond[index], txBytesPerSecond[index],
+                blockReadBytesPerSecond[index], blockWriteBytesPerSecond[index]);
+    }
+}
@@ -0,0 +1,11 @@
+// src/main/java/com/platform/service/stats/TelemetrySample.java
+package com.platform.service.stats;
+
+/**
+ * Resource usage of one container over one sample interval or rollup period.
+ * timestamp is epoch milliseconds: the sample time, or the start of the period for rollups.
+ */
+public record TelemetrySample(long timestamp, double cpuPercent, long memoryBytes,
+                              double rxBytesPerSecond, double txBytesPerSecond,
+                              double blockReadBytesPerSecond, double blockWriteBytesPerSecond) {
+}
@@ -0,0 +1,26 @@
+// src/main/java/com/platform/util/ContainerLabels.java
+package com.platform.util;
+
+/**
+ * Docker labels stamped on every container the platform creates.
+ * They let a single filtered listContainers call find a user's or the whole host's containers.
+ * Warm pool containers carry the image they were pooled for and the backend node that owns them.
+ * Docker cannot relabel a container, so a pooled container claimed by a create never gets the
+ * owner labels (USER_ID, CONTAINER_ID) and keeps POOL: ownership is the row's, and lookups by
+ * owner label fall back to container ids for these.
+ * Images baked by the platform carry the base image they were built from.
+ */
+public final class ContainerLabels {
+
+    public static final String MANAGED = "com.platform.managed";
+    public static final String USER_ID = "com.platform.user-id";
+    public static final String CONTAINER_ID = "com.platform.container-id";
+    public static final String POOL = "com.platform.pool";
+    public static final String POOL_NODE = "com.platform.pool-node";
+
+    public static final String BAKED_BASE = "com.platform.baked-base";
+    public static final String BAKED_FROM = "com.platform.baked-from";
+
+    private ContainerLabels() {
+    }
+}
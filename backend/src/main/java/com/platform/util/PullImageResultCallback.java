@@ -6,12 +6,23 @@ import com.github.dockerjava.api.model.PullResponseItem;
 import java.io.Closeable;
 import java.io.IOException;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 public class PullImageResultCallback implements ResultCallback<PullResponseItem> {
     
+    private final Consumer<PullResponseItem> onItem;
     private CountDownLatch latch = new CountDownLatch(1);
     private boolean completed = false;
-    private Throwable error;
+    private volatile Throwable error;
+
+    public PullImageResultCallback() {
+        this(item -> { });
+    }
+
+    public PullImageResultCallback(Consumer<PullResponseItem> onItem) {
+        this.onItem = onItem;
+    }
 
     @Override
     public void onStart(Closeable closeable) {
@@ -20,10 +31,13 @@ public class PullImageResultCallback implements ResultCallback<PullResponseItem>
 
     @Override
     public void onNext(PullResponseItem item) {
-        // Log progress if needed
-        if (item.getStatus() != null) {
-            System.out.println("Pull progress: " + item.getStatus());
+        // Docker reports some failures as an item rather than an error
+        if (item.getErrorDetail() != null || item.getError() != null) {
+            this.error = new RuntimeException(item.getErrorDetail() != null
+                    ? item.getErrorDetail().getMessage() : item.getError());
+            return;
         }
+        onItem.accept(item);
     }
 
     @Override
@@ -52,6 +66,16 @@ public class PullImageResultCallback implements ResultCallback<PullResponseItem>
         return this;
     }
 
+    public PullImageResultCallback awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+        if (!latch.await(timeout, unit)) {
+            throw new RuntimeException("Image pull timed out");
+        }
+        if (error != null) {
+            throw new RuntimeException("Image pull failed", error);
+        }
+        return this;
+    }
+
     public boolean isCompleted() {
         return completed;
     }
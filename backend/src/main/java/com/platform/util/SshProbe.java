@@ -0,0 +1,31 @@
+// src/main/java/com/platform/util/SshProbe.java
+package com.platform.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Checks whether sshd behind a published port is answering, by reading its "SSH-" banner.
+ * A bare TCP connect is not enough: Docker's proxy accepts connections before sshd is up.
+ */
+public final class SshProbe {
+
+    private SshProbe() {
+    }
+
+    public static boolean bannerReceived(String host, int port) {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(host, port), 1000);
+            socket.setSoTimeout(1000);
+            InputStream in = socket.getInputStream();
+            byte[] banner = new byte[4];
+            int read = in.readNBytes(banner, 0, banner.length);
+            return read == 4 && "SSH-".equals(new String(banner, StandardCharsets.US_ASCII));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.github.dockerjava.api.command.LogContainerCmd;
 import com.github.dockerjava.api.model.Frame;
 import com.platform.model.entity.Container;
 import com.platform.repository.ContainerRepository;
+import com.platform.service.ContainerActivityTracker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -25,11 +26,14 @@ public class ContainerLogsWebSocketHandler extends TextWebSocketHandler {
     
     private final DockerClient dockerClient;
     private final ContainerRepository containerRepository;
+    private final ContainerActivityTracker activityTracker;
     private final Map<String, ResultCallback.Adapter<Frame>> activeCallbacks = new ConcurrentHashMap<>();
 
-    public ContainerLogsWebSocketHandler(DockerClient dockerClient, ContainerRepository containerRepository) {
+    public ContainerLogsWebSocketHandler(DockerClient dockerClient, ContainerRepository containerRepository,
+                                         ContainerActivityTracker activityTracker) {
         this.dockerClient = dockerClient;
         this.containerRepository = containerRepository;
+        this.activityTracker = activityTracker;
     }
 
     @Override
@@ -52,6 +56,7 @@ public class ContainerLogsWebSocketHandler extends TextWebSocketHandler {
             }
 
             // Start streaming logs
+            activityTracker.touch(container.getContainerId());
             startLogStreaming(session, container.getContainerId());
             
         } catch (NumberFormatException e) {
@@ -78,6 +83,8 @@ public class ContainerLogsWebSocketHandler extends TextWebSocketHandler {
                 try {
                     String logLine = new String(frame.getPayload()).trim();
                     if (!logLine.isEmpty() && session.isOpen()) {
+                        // Someone is watching: keeps the container from being paused as idle
+                        activityTracker.touch(dockerContainerId);
                         session.sendMessage(new TextMessage(logLine));
                     }
                 } catch (IOException e) {
@@ -0,0 +1,61 @@
+// src/test/java/com/platform/config/ContainerStatusConstraintTest.java
+package com.platform.config;
+
+import com.platform.model.enums.ContainerStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ContainerStatusConstraintTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private ContainerStatusConstraint constraint;
+
+    @Test
+    void alterStatement_ShouldListEveryStatus() {
+        // Act
+        String statement = ContainerStatusConstraint.alterStatement();
+
+        // Assert
+        assertThat(statement).startsWith("ALTER TABLE containers DROP CONSTRAINT IF EXISTS containers_status_check, ");
+        for (ContainerStatus status : ContainerStatus.values()) {
+            assertThat(statement).contains("'" + status.name() + "'");
+        }
+    }
+
+    @Test
+    void apply_OnPostgres_ShouldRecreateTheConstraint() {
+        // Arrange
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("PostgreSQL");
+
+        // Act
+        constraint.apply();
+
+        // Assert
+        verify(jdbcTemplate).execute(ContainerStatusConstraint.alterStatement());
+    }
+
+    @Test
+    void apply_OnOtherDatabases_ShouldDoNothing() {
+        // Arrange
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("H2");
+
+        // Act
+        constraint.apply();
+
+        // Assert
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+}
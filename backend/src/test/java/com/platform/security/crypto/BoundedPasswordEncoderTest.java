@@ -0,0 +1,115 @@
+package com.platform.security.crypto;
+
+import com.platform.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null) {
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    void encodeAndMatches_ShouldRoundTrip() {
+        // Arrange
+        encoder = new BoundedPasswordEncoder(4, 2, 8, 5000, 1, meterRegistry);
+
+        // Act
+        String hash = encoder.encode("password123");
+
+        // Assert
+        assertThat(encoder.matches("password123", hash)).isTrue();
+        assertThat(encoder.matches("wrong", hash)).isFalse();
+        assertThat(meterRegistry.get("auth.password.hash").tag("operation", "matches").timer().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void matches_WhenTimeoutElapses_ShouldThrowTooManyRequests() throws Exception {
+        // Arrange
+        encoder = new BoundedPasswordEncoder(12, 1, 8, 1, 3, meterRegistry);
+        String hash = new BCryptPasswordEncoder(12).encode("password123");
+
+        // Act & Assert
+        assertThatThrownBy(() -> encoder.matches("password123", hash))
+                .isInstanceOf(TooManyRequestsException.class)
+                .satisfies(ex -> assertThat(((TooManyRequestsException) ex).getRetryAfterSeconds()).isEqualTo(3));
+        assertThat(meterRegistry.get("auth.password.rejected").counter().count()).isEqualTo(1);
+        // The hash keeps its worker after the caller gave up
+        assertThat(meterRegistry.get("auth.password.abandoned").gauge().value()).isEqualTo(1);
+        await(() -> encoder.getAbandonedCount() == 0);
+    }
+
+    @Test
+    void encode_WhenQueueIsFull_ShouldRejectExcessRequests() throws Exception {
+        // Arrange
+        encoder = new BoundedPasswordEncoder(12, 1, 1, 30000, 1, meterRegistry);
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 4; i++) {
+            results.add(callers.submit(() -> {
+                start.await();
+                return encoder.encode("password123");
+            }));
+        }
+        start.countDown();
+
+        int rejected = 0;
+        for (Future<String> result : results) {
+            try {
+                result.get();
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(TooManyRequestsException.class);
+                rejected++;
+            }
+        }
+        callers.shutdown();
+
+        // Assert
+        assertThat(rejected).isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.get("auth.password.rejected").counter().count()).isEqualTo(rejected);
+    }
+
+    @Test
+    void upgradeEncoding_WhenStoredHashIsWeaker_ShouldReturnTrue() {
+        // Arrange
+        encoder = new BoundedPasswordEncoder(6, 1, 4, 5000, 1, meterRegistry);
+        String weakHash = new BCryptPasswordEncoder(4).encode("password123");
+        String currentHash = encoder.encode("password123");
+
+        // Act & Assert
+        assertThat(encoder.upgradeEncoding(weakHash)).isTrue();
+        assertThat(encoder.upgradeEncoding(currentHash)).isFalse();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
@@ -0,0 +1,153 @@
+package com.platform.security.jwt;
+
+import com.platform.model.enums.UserRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+
+class JwtUtilTest {
+
+    private JwtUtil jwtUtil;
+    private Authentication authentication;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jwtUtil = newJwtUtil(newKeyManager("RS256"));
+
+        UserPrincipal principal = new UserPrincipal(
+            42L, "testuser", "test@example.com", "encoded", UserRole.USER, true
+        );
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    private JwtKeyManager newKeyManager(String algorithm) throws Exception {
+        JwtKeyManager keyManager = new JwtKeyManager();
+        ReflectionTestUtils.setField(keyManager, "jwtSecret", "test-secret-key-for-testing-only-not-production");
+        ReflectionTestUtils.setField(keyManager, "jwtRefreshExpirationMs", 86400000L);
+        ReflectionTestUtils.setField(keyManager, "algorithm", algorithm);
+        ReflectionTestUtils.setField(keyManager, "keyDirectory", "");
+        ReflectionTestUtils.setField(keyManager, "configuredActiveKid", "");
+        ReflectionTestUtils.setField(keyManager, "allowEphemeralKeys", true);
+        keyManager.init();
+        return keyManager;
+    }
+
+    private JwtUtil newJwtUtil(JwtKeyManager keyManager) {
+        JwtUtil util = new JwtUtil();
+        ReflectionTestUtils.setField(util, "keyManager", keyManager);
+        ReflectionTestUtils.setField(util, "jwtExpirationMs", 3600000L);
+        ReflectionTestUtils.setField(util, "jwtRefreshExpirationMs", 86400000L);
+        ReflectionTestUtils.setField(util, "verificationCacheMaxSize", 100L);
+        util.init();
+        return util;
+    }
+
+    @Test
+    void verifyToken_WhenAccessToken_ShouldReturnTypedClaims() {
+        // Arrange
+        String token = jwtUtil.generateToken(authentication);
+
+        // Act
+        Optional<TokenClaims> result = jwtUtil.verifyToken(token);
+
+        // Assert
+        assertThat(result).isPresent();
+        TokenClaims claims = result.get();
+        assertThat(claims.getSubject()).isEqualTo("testuser");
+        assertThat(claims.getUserId()).isEqualTo(42L);
+        assertThat(claims.getEmail()).isEqualTo("test@example.com");
+        assertThat(claims.getAuthorities()).isEqualTo("ROLE_USER");
+        assertThat(claims.isAccessToken()).isTrue();
+        assertThat(claims.isExpired()).isFalse();
+    }
+
+    @Test
+    void verifyToken_WhenCalledTwice_ShouldServeCachedClaims() {
+        // Arrange
+        String token = jwtUtil.generateToken(authentication);
+
+        // Act
+        TokenClaims first = jwtUtil.verifyToken(token).orElseThrow();
+        TokenClaims second = jwtUtil.verifyToken(token).orElseThrow();
+
+        // Assert
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void verifyToken_WhenSignedWithRotatedKey_ShouldStillVerify() throws Exception {
+        // Arrange
+        JwtKeyManager keyManager = newKeyManager("RS256");
+        JwtUtil util = newJwtUtil(keyManager);
+        String oldToken = util.generateToken(authentication);
+
+        // Act
+        keyManager.rotate();
+        String newToken = util.generateToken(authentication);
+
+        // Assert
+        assertThat(util.verifyToken(oldToken)).isPresent();
+        assertThat(util.verifyToken(newToken)).isPresent();
+        assertThat(keyManager.getPublicJwks()).hasSize(2);
+    }
+
+    @Test
+    void verifyToken_WhenHmacMode_ShouldVerify() throws Exception {
+        // Arrange
+        JwtUtil hmacUtil = newJwtUtil(newKeyManager("HS256"));
+        String token = hmacUtil.generateToken(authentication);
+
+        // Act & Assert
+        assertThat(hmacUtil.verifyToken(token)).isPresent();
+        assertThat(jwtUtil.verifyToken(token)).isEmpty();
+    }
+
+    @Test
+    void verifyToken_WhenSignedWithOtherKey_ShouldReturnEmpty() throws Exception {
+        // Arrange
+        JwtUtil otherUtil = newJwtUtil(newKeyManager("RS256"));
+        String foreignToken = otherUtil.generateToken(authentication);
+
+        // Act & Assert
+        assertThat(jwtUtil.verifyToken(foreignToken)).isEmpty();
+        assertThat(jwtUtil.validateToken(foreignToken)).isFalse();
+    }
+
+    @Test
+    void init_WhenRs256WithoutKeyDirectory_ShouldFailFast() {
+        // Arrange
+        JwtKeyManager keyManager = new JwtKeyManager();
+        ReflectionTestUtils.setField(keyManager, "jwtSecret", "test-secret-key-for-testing-only-not-production");
+        ReflectionTestUtils.setField(keyManager, "algorithm", "RS256");
+        ReflectionTestUtils.setField(keyManager, "keyDirectory", "");
+        ReflectionTestUtils.setField(keyManager, "configuredActiveKid", "");
+
+        // Act & Assert
+        assertThatThrownBy(keyManager::init)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("key-directory");
+    }
+
+    @Test
+    void verifyToken_WhenMalformed_ShouldReturnEmpty() {
+        assertThat(jwtUtil.verifyToken("not-a-jwt")).isEmpty();
+        assertThat(jwtUtil.verifyToken(null)).isEmpty();
+    }
+
+    @Test
+    void refreshToken_ShouldNotBeAccessToken() {
+        // Arrange
+        String refreshToken = jwtUtil.generateRefreshToken(authentication);
+
+        // Act & Assert
+        assertThat(jwtUtil.isRefreshToken(refreshToken)).isTrue();
+        assertThat(jwtUtil.isAccessToken(refreshToken)).isFalse();
+        assertThat(jwtUtil.getUsernameFromToken(refreshToken)).isEqualTo("testuser");
+    }
+}
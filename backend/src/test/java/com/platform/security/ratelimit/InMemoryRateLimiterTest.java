@@ -0,0 +1,65 @@
+package com.platform.security.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.*;
+
+class InMemoryRateLimiterTest {
+
+    private InMemoryRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = new InMemoryRateLimiter();
+        ReflectionTestUtils.setField(rateLimiter, "maxKeys", 1000L);
+        ReflectionTestUtils.setField(rateLimiter, "idleExpirySeconds", 600L);
+        rateLimiter.init();
+    }
+
+    @Test
+    void tryAcquire_WhenWithinCapacity_ShouldAllow() {
+        // Act & Assert
+        for (int i = 0; i < 3; i++) {
+            assertThat(rateLimiter.tryAcquire("login:ip:10.0.0.1", 3, 0.1)).isZero();
+        }
+    }
+
+    @Test
+    void tryAcquire_WhenBucketEmpty_ShouldReturnWaitTime() {
+        // Arrange
+        for (int i = 0; i < 2; i++) {
+            rateLimiter.tryAcquire("login:ip:10.0.0.1", 2, 0.5);
+        }
+
+        // Act
+        long waitMs = rateLimiter.tryAcquire("login:ip:10.0.0.1", 2, 0.5);
+
+        // Assert
+        assertThat(waitMs).isPositive().isLessThanOrEqualTo(2000);
+    }
+
+    @Test
+    void tryAcquire_ShouldKeepSeparateBucketsPerKey() {
+        // Arrange
+        rateLimiter.tryAcquire("login:ip:10.0.0.1", 1, 0.01);
+
+        // Act & Assert
+        assertThat(rateLimiter.tryAcquire("login:ip:10.0.0.1", 1, 0.01)).isPositive();
+        assertThat(rateLimiter.tryAcquire("login:ip:10.0.0.2", 1, 0.01)).isZero();
+    }
+
+    @Test
+    void tryAcquire_ShouldRefillOverTime() throws InterruptedException {
+        // Arrange
+        rateLimiter.tryAcquire("api:user:1", 1, 50);
+        assertThat(rateLimiter.tryAcquire("api:user:1", 1, 50)).isPositive();
+
+        // Act
+        Thread.sleep(50);
+
+        // Assert
+        assertThat(rateLimiter.tryAcquire("api:user:1", 1, 50)).isZero();
+    }
+}
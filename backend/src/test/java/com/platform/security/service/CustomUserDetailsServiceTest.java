@@ -0,0 +1,101 @@
+package com.platform.security.service;
+
+import com.platform.event.UserChangedEvent;
+import com.platform.model.entity.User;
+import com.platform.model.enums.UserRole;
+import com.platform.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomUserDetailsServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private CustomUserDetailsService userDetailsService;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(userDetailsService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(userDetailsService, "cacheMaxSize", 100L);
+        ReflectionTestUtils.setField(userDetailsService, "cacheTtlSeconds", 300L);
+        userDetailsService.init();
+
+        testUser = new User();
+        testUser.setId(1L);
+        testUser.setUsername("testuser");
+        testUser.setEmail("test@example.com");
+        testUser.setPassword("encoded");
+        testUser.setRole(UserRole.USER);
+        testUser.setEnabled(true);
+    }
+
+    @Test
+    void loadUserByUsername_WhenCalledTwice_ShouldQueryDatabaseOnce() {
+        // Arrange
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+
+        // Act
+        UserDetails first = userDetailsService.loadUserByUsername("testuser");
+        UserDetails second = userDetailsService.loadUserByUsername("testuser");
+
+        // Assert
+        assertThat(second).isSameAs(first);
+        verify(userRepository, times(1)).findByUsername("testuser");
+    }
+
+    @Test
+    void loadUserById_WhenLoadedByUsernameBefore_ShouldServeFromCache() {
+        // Arrange
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        userDetailsService.loadUserByUsername("testuser");
+
+        // Act
+        UserDetails result = userDetailsService.loadUserById(1L);
+
+        // Assert
+        assertThat(result.getUsername()).isEqualTo("testuser");
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void onUserChanged_ShouldEvictCachedPrincipal() {
+        // Arrange
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        userDetailsService.loadUserByUsername("testuser");
+
+        // Act
+        userDetailsService.onUserChanged(new UserChangedEvent(1L, "testuser", true, false, false));
+        userDetailsService.loadUserByUsername("testuser");
+
+        // Assert
+        verify(userRepository, times(2)).findByUsername("testuser");
+    }
+
+    @Test
+    void loadUserByUsername_WhenUserNotFound_ShouldThrowException() {
+        // Arrange
+        when(userRepository.findByUsername("missing")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> userDetailsService.loadUserByUsername("missing"))
+            .isInstanceOf(UsernameNotFoundException.class);
+    }
+}
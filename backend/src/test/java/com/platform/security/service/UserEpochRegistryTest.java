@@ -0,0 +1,117 @@
+package com.platform.security.service;
+
+import com.platform.event.UserChangedEvent;
+import com.platform.repository.UserRepository;
+import com.platform.security.jwt.TokenClaims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class UserEpochRegistryTest {
+
+    private UserEpochRegistry registry;
+    private UserEpochStore epochStore;
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        epochStore = mock(UserEpochStore.class);
+        userRepository = mock(UserRepository.class);
+        registry = new UserEpochRegistry();
+        ReflectionTestUtils.setField(registry, "epochStore", epochStore);
+        ReflectionTestUtils.setField(registry, "userRepository", userRepository);
+        ReflectionTestUtils.setField(registry, "jwtExpirationMs", 3600000L);
+        ReflectionTestUtils.setField(registry, "syncIntervalMs", 5000L);
+    }
+
+    private TokenClaims claimsIssuedAt(long issuedAtMs) {
+        return new TokenClaims("testuser", 1L, "test@example.com", "ROLE_USER", "access",
+                new Date(issuedAtMs), new Date(issuedAtMs + 3600000L), null);
+    }
+
+    @Test
+    void isCurrent_WhenUserNeverChanged_ShouldTrustClaims() {
+        registry.init();
+
+        assertThat(registry.isCurrent(claimsIssuedAt(System.currentTimeMillis()))).isTrue();
+    }
+
+    @Test
+    void isCurrent_WhenTokenIssuedBeforeSecurityChange_ShouldRejectClaims() {
+        // Arrange
+        registry.init();
+        TokenClaims claims = claimsIssuedAt(System.currentTimeMillis() - 60000L);
+
+        // Act
+        registry.onUserChanged(new UserChangedEvent(1L, "testuser", true, false, false));
+
+        // Assert
+        assertThat(registry.isCurrent(claims)).isFalse();
+        assertThat(registry.isCurrent(claimsIssuedAt(System.currentTimeMillis() + 1000L))).isTrue();
+        verify(epochStore).publish(eq(1L), anyLong());
+    }
+
+    @Test
+    void onUserChanged_WhenOnlyProfileChanged_ShouldKeepClaimsTrusted() {
+        // Arrange
+        registry.init();
+        TokenClaims claims = claimsIssuedAt(System.currentTimeMillis() - 60000L);
+
+        // Act
+        registry.onUserChanged(new UserChangedEvent(1L, "testuser", false, false, false));
+
+        // Assert
+        assertThat(registry.isCurrent(claims)).isTrue();
+        assertThat(registry.size()).isZero();
+        verify(epochStore, never()).publish(any(), anyLong());
+    }
+
+    @Test
+    void init_ShouldSeedChangesRecordedBeforeTheRestart() {
+        // Arrange
+        when(userRepository.findSecurityChangesSince(any()))
+            .thenReturn(List.<Object[]>of(new Object[]{1L, LocalDateTime.now().minusMinutes(5)}));
+
+        // Act
+        registry.init();
+
+        // Assert
+        assertThat(registry.isCurrent(claimsIssuedAt(System.currentTimeMillis() - 600000L))).isFalse();
+        assertThat(registry.isCurrent(claimsIssuedAt(System.currentTimeMillis()))).isTrue();
+    }
+
+    @Test
+    void sync_ShouldApplyChangesMadeOnOtherNodes() {
+        // Arrange
+        registry.init();
+        TokenClaims claims = claimsIssuedAt(System.currentTimeMillis() - 60000L);
+        when(epochStore.since(anyLong())).thenReturn(Map.of(1L, System.currentTimeMillis()));
+
+        // Act
+        registry.sync();
+
+        // Assert
+        assertThat(registry.isCurrent(claims)).isFalse();
+    }
+
+    @Test
+    void isCurrent_WhenStoreCannotBeRead_ShouldTrustNoClaims() {
+        // Arrange - the store was never read successfully
+        when(epochStore.since(anyLong())).thenThrow(new IllegalStateException("Redis down"));
+
+        // Act
+        registry.init();
+
+        // Assert
+        assertThat(registry.isCurrent(claimsIssuedAt(System.currentTimeMillis()))).isFalse();
+    }
+}
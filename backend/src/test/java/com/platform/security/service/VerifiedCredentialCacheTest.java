@@ -0,0 +1,79 @@
+package com.platform.security.service;
+
+import com.platform.event.UserChangedEvent;
+import com.platform.model.enums.UserRole;
+import com.platform.security.jwt.UserPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.*;
+
+class VerifiedCredentialCacheTest {
+
+    private VerifiedCredentialCache cache;
+    private UserPrincipal principal;
+
+    @BeforeEach
+    void setUp() {
+        cache = new VerifiedCredentialCache();
+        ReflectionTestUtils.setField(cache, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "maxSize", 100L);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 300L);
+        cache.init();
+
+        principal = new UserPrincipal(1L, "testuser", "test@example.com", "hash-v1", UserRole.USER, true);
+    }
+
+    @Test
+    void key_ShouldDependOnUsernameAndPassword() {
+        // Act & Assert
+        assertThat(cache.key("testuser", "secret")).isEqualTo(cache.key("testuser", "secret"));
+        assertThat(cache.key("testuser", "secret")).isNotEqualTo(cache.key("testuser", "secret2"));
+        assertThat(cache.key("ab", "c")).isNotEqualTo(cache.key("a", "bc"));
+        assertThat(cache.key("testuser", "secret")).doesNotContain("secret");
+    }
+
+    @Test
+    void isVerified_WhenPutForSameHash_ShouldReturnTrue() {
+        // Arrange
+        String key = cache.key("testuser", "secret");
+
+        // Act
+        cache.put(key, principal);
+
+        // Assert
+        assertThat(cache.isVerified(key, principal)).isTrue();
+        assertThat(cache.isVerified(cache.key("testuser", "wrong"), principal)).isFalse();
+    }
+
+    @Test
+    void isVerified_WhenPasswordHashChangedOrUserDisabled_ShouldReturnFalse() {
+        // Arrange
+        String key = cache.key("testuser", "secret");
+        cache.put(key, principal);
+        UserPrincipal rehashed = new UserPrincipal(1L, "testuser", "test@example.com", "hash-v2", UserRole.USER, true);
+        UserPrincipal disabled = new UserPrincipal(1L, "testuser", "test@example.com", "hash-v1", UserRole.USER, false);
+
+        // Act & Assert
+        assertThat(cache.isVerified(key, disabled)).isFalse();
+        assertThat(cache.isVerified(key, principal)).isFalse();
+
+        cache.put(key, principal);
+        assertThat(cache.isVerified(key, rehashed)).isFalse();
+    }
+
+    @Test
+    void onUserChanged_WhenPasswordChanged_ShouldEvictUserEntries() {
+        // Arrange
+        String key = cache.key("testuser", "secret");
+        cache.put(key, principal);
+
+        // Act
+        cache.onUserChanged(new UserChangedEvent(1L, "testuser", false, true, false));
+
+        // Assert
+        assertThat(cache.isVerified(key, principal)).isFalse();
+    }
+}
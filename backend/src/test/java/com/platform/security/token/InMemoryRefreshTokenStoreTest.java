@@ -0,0 +1,72 @@
+package com.platform.security.token;
+
+import com.platform.security.token.RefreshTokenStore.ConsumeResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+class InMemoryRefreshTokenStoreTest {
+
+    private InMemoryRefreshTokenStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryRefreshTokenStore();
+    }
+
+    @Test
+    void consume_WhenTokenActive_ShouldRotateOnce() {
+        // Arrange
+        store.store("jti-1", 1L, Duration.ofHours(1));
+
+        // Act & Assert
+        assertThat(store.consume("jti-1", 1L)).isEqualTo(ConsumeResult.ROTATED);
+        assertThat(store.isActive("jti-1")).isFalse();
+        assertThat(store.consume("jti-1", 1L)).isEqualTo(ConsumeResult.REUSED);
+    }
+
+    @Test
+    void consume_WhenTokenNeverIssued_ShouldReturnUnknown() {
+        assertThat(store.consume("missing", 1L)).isEqualTo(ConsumeResult.UNKNOWN);
+    }
+
+    @Test
+    void consume_WhenTokenExpired_ShouldReturnUnknown() {
+        // Arrange
+        store.store("jti-1", 1L, Duration.ZERO);
+
+        // Act & Assert
+        assertThat(store.consume("jti-1", 1L)).isEqualTo(ConsumeResult.UNKNOWN);
+    }
+
+    @Test
+    void revokeAll_ShouldRevokeOnlyThatUsersTokens() {
+        // Arrange
+        store.store("jti-1", 1L, Duration.ofHours(1));
+        store.store("jti-2", 1L, Duration.ofHours(1));
+        store.store("jti-3", 2L, Duration.ofHours(1));
+
+        // Act
+        int revoked = store.revokeAll(1L);
+
+        // Assert
+        assertThat(revoked).isEqualTo(2);
+        assertThat(store.consume("jti-1", 1L)).isEqualTo(ConsumeResult.UNKNOWN);
+        assertThat(store.isActive("jti-3")).isTrue();
+    }
+
+    @Test
+    void revoke_ShouldRemoveSingleToken() {
+        // Arrange
+        store.store("jti-1", 1L, Duration.ofHours(1));
+
+        // Act
+        store.revoke("jti-1", 1L);
+
+        // Assert
+        assertThat(store.isActive("jti-1")).isFalse();
+    }
+}
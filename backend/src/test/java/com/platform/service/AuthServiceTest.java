@@ -0,0 +1,191 @@
+// src/test/java/com/platform/service/AuthServiceTest.java
+package com.platform.service;
+
+import com.platform.dto.request.LoginRequest;
+import com.platform.dto.request.RegisterRequest;
+import com.platform.dto.response.AuthResponse;
+import com.platform.exception.BadRequestException;
+import com.platform.exception.UserAlreadyExistsException;
+import com.platform.model.entity.User;
+import com.platform.model.enums.UserRole;
+import com.platform.repository.UserRepository;
+import com.platform.security.jwt.JwtUtil;
+import com.platform.security.jwt.UserPrincipal;
+import com.platform.security.service.CustomUserDetailsService;
+import com.platform.security.service.VerifiedCredentialCache;
+import com.platform.security.token.RefreshTokenStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceTest {
+
+    @Mock
+    private AuthenticationManager authenticationManager;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @Mock
+    private RefreshTokenStore refreshTokenStore;
+
+    @Mock
+    private CustomUserDetailsService customUserDetailsService;
+
+    @Mock
+    private VerifiedCredentialCache verifiedCredentialCache;
+
+    @InjectMocks
+    private AuthService authService;
+
+    private RegisterRequest registerRequest;
+
+    @BeforeEach
+    void setUp() {
+        registerRequest = new RegisterRequest();
+        registerRequest.setUsername("newuser");
+        registerRequest.setEmail("new@example.com");
+        registerRequest.setPassword("password123");
+        registerRequest.setFirstName("New");
+        registerRequest.setLastName("User");
+    }
+
+    @Test
+    void register_WhenValid_ShouldHashOnceAndIssueTokensWithoutReauthenticating() {
+        // Arrange
+        when(passwordEncoder.encode("password123")).thenReturn("hashed");
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> {
+            User saved = invocation.getArgument(0);
+            saved.setId(7L);
+            return saved;
+        });
+        when(jwtUtil.generateToken(any(Authentication.class))).thenReturn("access-token");
+        when(jwtUtil.generateRefreshToken(any(Authentication.class), anyString())).thenReturn("refresh-token");
+
+        // Act
+        AuthResponse response = authService.register(registerRequest);
+
+        // Assert
+        assertThat(response.getAccessToken()).isEqualTo("access-token");
+        assertThat(response.getRefreshToken()).isEqualTo("refresh-token");
+
+        ArgumentCaptor<Authentication> authCaptor = ArgumentCaptor.forClass(Authentication.class);
+        verify(jwtUtil).generateToken(authCaptor.capture());
+        UserPrincipal principal = (UserPrincipal) authCaptor.getValue().getPrincipal();
+        assertThat(principal.getId()).isEqualTo(7L);
+        assertThat(principal.getUsername()).isEqualTo("newuser");
+
+        verify(passwordEncoder, times(1)).encode(anyString());
+        verify(refreshTokenStore).store(anyString(), eq(7L), any());
+        verifyNoInteractions(authenticationManager);
+        verify(userRepository, never()).existsByUsername(anyString());
+        verify(userRepository, never()).existsByEmail(anyString());
+    }
+
+    @Test
+    void register_WhenUsernameConstraintViolated_ShouldThrowUserAlreadyExists() {
+        // Arrange
+        when(passwordEncoder.encode(anyString())).thenReturn("hashed");
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException(
+            "could not execute statement",
+            new SQLException("duplicate key value violates unique constraint \"uk_users_username\"")
+        ));
+
+        // Act & Assert
+        assertThatThrownBy(() -> authService.register(registerRequest))
+            .isInstanceOf(UserAlreadyExistsException.class)
+            .hasMessage("Username is already taken");
+
+        verifyNoInteractions(jwtUtil, refreshTokenStore);
+    }
+
+    @Test
+    void register_WhenEmailConstraintViolated_ShouldThrowUserAlreadyExists() {
+        // Arrange
+        when(passwordEncoder.encode(anyString())).thenReturn("hashed");
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException(
+            "could not execute statement",
+            new SQLException("Key (email)=(new@example.com) already exists")
+        ));
+
+        // Act & Assert
+        assertThatThrownBy(() -> authService.register(registerRequest))
+            .isInstanceOf(UserAlreadyExistsException.class)
+            .hasMessage("Email is already in use");
+    }
+
+    @Test
+    void gatewayLogin_WhenCredentialsRecentlyVerified_ShouldSkipAuthentication() {
+        // Arrange
+        UserPrincipal principal = new UserPrincipal(7L, "newuser", "new@example.com", "hashed", UserRole.USER, true);
+        when(verifiedCredentialCache.key("newuser", "password123")).thenReturn("key");
+        when(customUserDetailsService.loadUserByUsername("newuser")).thenReturn(principal);
+        when(verifiedCredentialCache.isVerified("key", principal)).thenReturn(true);
+        when(jwtUtil.generateToken(any(Authentication.class))).thenReturn("access-token");
+
+        // Act
+        AuthResponse response = authService.gatewayLogin(new LoginRequest("newuser", "password123"));
+
+        // Assert
+        assertThat(response.getAccessToken()).isEqualTo("access-token");
+        assertThat(response.getRefreshToken()).isNull();
+        assertThat(response.getUser().getId()).isEqualTo(7L);
+        verifyNoInteractions(authenticationManager, refreshTokenStore);
+    }
+
+    @Test
+    void gatewayLogin_WhenNotCached_ShouldAuthenticateAndRememberCredentials() {
+        // Arrange
+        UserPrincipal principal = new UserPrincipal(7L, "newuser", "new@example.com", "hashed", UserRole.USER, true);
+        when(verifiedCredentialCache.key("newuser", "password123")).thenReturn("key");
+        when(customUserDetailsService.loadUserByUsername("newuser")).thenReturn(principal);
+        when(verifiedCredentialCache.isVerified("key", principal)).thenReturn(false);
+        when(authenticationManager.authenticate(any()))
+            .thenReturn(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        when(jwtUtil.generateToken(any(Authentication.class))).thenReturn("access-token");
+
+        // Act
+        authService.gatewayLogin(new LoginRequest("newuser", "password123"));
+
+        // Assert
+        verify(authenticationManager).authenticate(any());
+        verify(verifiedCredentialCache).put("key", principal);
+    }
+
+    @Test
+    void gatewayLogin_WhenPasswordWrong_ShouldThrowBadRequest() {
+        // Arrange
+        UserPrincipal principal = new UserPrincipal(7L, "newuser", "new@example.com", "hashed", UserRole.USER, true);
+        when(verifiedCredentialCache.key("newuser", "wrong")).thenReturn("other-key");
+        when(customUserDetailsService.loadUserByUsername("newuser")).thenReturn(principal);
+        when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> authService.gatewayLogin(new LoginRequest("newuser", "wrong")))
+            .isInstanceOf(BadRequestException.class);
+        verify(verifiedCredentialCache, never()).put(anyString(), any());
+    }
+}
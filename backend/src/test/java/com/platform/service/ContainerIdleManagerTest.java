@@ -0,0 +1,156 @@
+// src/test/java/com/platform/service/ContainerIdleManagerTest.java
+package com.platform.service;
+
+import com.platform.model.entity.Container;
+import com.platform.model.enums.ContainerStatus;
+import com.platform.repository.ContainerRepository;
+import com.platform.service.job.ContainerJobService;
+import com.platform.service.stats.ContainerUsage;
+import com.platform.service.stats.ContainerUsageReader;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ContainerIdleManagerTest {
+
+    @Mock
+    private ContainerRepository containerRepository;
+
+    @Mock
+    private ContainerService containerService;
+
+    @Mock
+    private ContainerJobService containerJobService;
+
+    @Mock
+    private ContainerActivityTracker activityTracker;
+
+    @Mock
+    private ContainerUsageReader usageReader;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private ContainerIdleManager idleManager;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(idleManager, "enabled", true);
+        ReflectionTestUtils.setField(idleManager, "pauseAfterMinutes", 30L);
+        ReflectionTestUtils.setField(idleManager, "hibernateAfterMinutes", 1440L);
+        ReflectionTestUtils.setField(idleManager, "cpuThresholdPercent", 2.0);
+        ReflectionTestUtils.setField(idleManager, "networkThresholdBytes", 4096L);
+        idleManager.init();
+    }
+
+    private Container container(Long id, String containerId, ContainerStatus status) {
+        Container container = new Container();
+        container.setId(id);
+        container.setContainerId(containerId);
+        container.setStatus(status);
+        return container;
+    }
+
+    private long minutesAgo(long minutes) {
+        return System.currentTimeMillis() - minutes * 60_000;
+    }
+
+    @Test
+    void check_WhenRunningContainerIdlePastThreshold_ShouldPauseIt() {
+        // Arrange
+        Container idle = container(1L, "idle", ContainerStatus.RUNNING);
+        Container recent = container(2L, "recent", ContainerStatus.RUNNING);
+        when(containerRepository.findByStatusIn(anyList())).thenReturn(List.of(idle, recent));
+        when(usageReader.read(anyString())).thenReturn(Optional.empty());
+        when(activityTracker.lastActivity("idle")).thenReturn(Optional.of(minutesAgo(31)));
+        when(activityTracker.lastActivity("recent")).thenReturn(Optional.of(minutesAgo(5)));
+        when(containerJobService.tryLock(anyLong(), anyString())).thenReturn(true);
+        when(containerService.pauseIdle(idle)).thenReturn(true);
+
+        // Act
+        idleManager.check();
+
+        // Assert
+        verify(containerService).pauseIdle(idle);
+        verify(containerService, never()).pauseIdle(recent);
+        assertThat(meterRegistry.counter("containers.idle.paused").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void check_WhenCpuUsageAboveThreshold_ShouldCountAsActivity() {
+        // Arrange - 1s of CPU over 10s is 10% of one CPU
+        Container busy = container(1L, "busy", ContainerStatus.RUNNING);
+        when(containerRepository.findByStatusIn(anyList())).thenReturn(List.of(busy));
+        when(usageReader.read("busy")).thenReturn(
+            Optional.of(new ContainerUsage(0, 0, 0, 0, 0, 0, 0)),
+            Optional.of(new ContainerUsage(1_000_000_000L, 0, 100, 100, 0, 0, 10_000_000_000L)));
+        when(activityTracker.lastActivity("busy")).thenReturn(Optional.of(minutesAgo(5)));
+        when(containerJobService.tryLock(anyLong(), anyString())).thenReturn(true);
+
+        // Act
+        idleManager.check();
+        idleManager.check();
+
+        // Assert
+        verify(activityTracker, times(1)).touch("busy");
+        verify(containerService, never()).pauseIdle(any());
+    }
+
+    @Test
+    void check_WhenPausedLongEnough_ShouldHibernateUnlessJobRunning() {
+        // Arrange - no activity recorded since startup, so the last update counts
+        Container paused = container(1L, "paused", ContainerStatus.PAUSED);
+        paused.setUpdatedAt(LocalDateTime.now().minusHours(25));
+        Container busy = container(2L, "busy", ContainerStatus.PAUSED);
+        when(containerRepository.findByStatusIn(anyList())).thenReturn(List.of(paused, busy));
+        when(containerJobService.tryLock(eq(1L), anyString())).thenReturn(true);
+        when(containerJobService.tryLock(eq(2L), anyString())).thenReturn(false);
+        when(activityTracker.lastActivity("paused")).thenReturn(Optional.empty());
+        when(containerService.hibernate(paused)).thenReturn(true);
+
+        // Act
+        idleManager.check();
+
+        // Assert
+        verify(containerService).hibernate(paused);
+        verify(containerService, never()).hibernate(busy);
+        verify(containerJobService).unlock(eq(1L), anyString());
+        verify(containerJobService, never()).unlock(eq(2L), anyString());
+        verifyNoInteractions(usageReader);
+        assertThat(meterRegistry.counter("containers.idle.hibernated").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void check_WhenHibernationFails_ShouldStillReleaseTheLock() {
+        // Arrange
+        Container paused = container(1L, "paused", ContainerStatus.PAUSED);
+        when(containerRepository.findByStatusIn(anyList())).thenReturn(List.of(paused));
+        when(containerJobService.tryLock(eq(1L), anyString())).thenReturn(true);
+        when(activityTracker.lastActivity("paused")).thenReturn(Optional.of(minutesAgo(1500)));
+        when(containerService.hibernate(paused)).thenThrow(new RuntimeException("commit failed"));
+
+        // Act
+        idleManager.check();
+
+        // Assert
+        verify(containerJobService).unlock(eq(1L), anyString());
+        assertThat(meterRegistry.counter("containers.idle.hibernated").count()).isZero();
+    }
+}
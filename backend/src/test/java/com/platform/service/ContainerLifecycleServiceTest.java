@@ -0,0 +1,259 @@
+// src/test/java/com/platform/service/ContainerLifecycleServiceTest.java
+package com.platform.service;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.exception.NotFoundException;
+import com.github.dockerjava.api.model.ExposedPort;
+import com.platform.exception.BadRequestException;
+import com.platform.exception.ContainerBusyException;
+import com.platform.model.entity.Container;
+import com.platform.model.enums.ContainerStatus;
+import com.platform.model.enums.UserRole;
+import com.platform.repository.ContainerRepository;
+import com.platform.security.jwt.UserPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ContainerLifecycleServiceTest {
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private DockerClient dockerClient;
+
+    @Mock
+    private ContainerRepository containerRepository;
+
+    @Mock
+    private ContainerStateStore containerStateStore;
+
+    @Mock
+    private ContainerActivityTracker activityTracker;
+
+    @Mock
+    private ContainerStatusCounters statusCounters;
+
+    @Mock
+    private PortAllocator portAllocator;
+
+    @Mock
+    private ContainerRowWriter rowWriter;
+
+    @InjectMocks
+    private ContainerService containerService;
+
+    private final UserPrincipal principal =
+        new UserPrincipal(1L, "testuser", "test@example.com", "encoded", UserRole.USER, true);
+
+    private Container container;
+
+    @BeforeEach
+    void setUp() {
+        container = new Container();
+        container.setId(1L);
+        container.setContainerId("container123");
+        container.setName("test-container");
+        container.setStatus(ContainerStatus.EXITED);
+        container.setSshPort(8001);
+        // The idle manager passes the container in instead of looking it up
+        lenient().when(containerRepository.findByIdAndUserId(1L, 1L)).thenReturn(Optional.of(container));
+    }
+
+    @Test
+    void startContainer_ShouldMarkStartingBeforeTheDockerCall() {
+        // Arrange
+        when(containerRepository.transitionStatus(eq(1L), eq(ContainerStatus.EXITED), eq(ContainerStatus.STARTING), any()))
+            .thenReturn(1);
+
+        // Act
+        containerService.startContainer(1L, principal);
+
+        // Assert
+        InOrder inOrder = inOrder(containerRepository, dockerClient);
+        inOrder.verify(containerRepository).transitionStatus(eq(1L), eq(ContainerStatus.EXITED), eq(ContainerStatus.STARTING), any());
+        inOrder.verify(dockerClient).startContainerCmd("container123");
+        inOrder.verify(containerRepository).updateState(eq("container123"), eq(ContainerStatus.RUNNING), any(), isNull(), isNull(), any());
+    }
+
+    @Test
+    void startContainer_WhenDockerFails_ShouldRestoreThePreviousStatus() {
+        // Arrange
+        when(containerRepository.transitionStatus(eq(1L), eq(ContainerStatus.EXITED), eq(ContainerStatus.STARTING), any()))
+            .thenReturn(1);
+        when(dockerClient.startContainerCmd("container123").exec()).thenThrow(new RuntimeException("daemon error"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> containerService.startContainer(1L, principal))
+            .isInstanceOf(BadRequestException.class);
+        verify(containerRepository).transitionStatus(eq(1L), eq(ContainerStatus.STARTING), eq(ContainerStatus.EXITED), any());
+        verify(containerRepository, never()).updateState(any(), any(), any(), any(), any(), any());
+        verify(containerStateStore).track("container123", ContainerStatus.EXITED);
+    }
+
+    @Test
+    void startContainer_WhenRecordingFails_ShouldStopTheContainerAgain() {
+        // Arrange
+        when(containerRepository.transitionStatus(eq(1L), eq(ContainerStatus.EXITED), eq(ContainerStatus.STARTING), any()))
+            .thenReturn(1);
+        when(containerRepository.updateState(eq("container123"), eq(ContainerStatus.RUNNING), any(), any(), any(), any()))
+            .thenThrow(new DataAccessResourceFailureException("connection lost"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> containerService.startContainer(1L, principal))
+            .isInstanceOf(BadRequestException.class);
+        verify(dockerClient).stopContainerCmd("container123");
+        verify(containerRepository).transitionStatus(eq(1L), eq(ContainerStatus.STARTING), eq(ContainerStatus.EXITED), any());
+    }
+
+    @Test
+    void deleteContainer_WhenStatusChangedConcurrently_ShouldNotTouchDocker() {
+        // Arrange
+        when(containerRepository.transitionStatus(eq(1L), eq(ContainerStatus.EXITED), eq(ContainerStatus.REMOVING), any()))
+            .thenReturn(0);
+
+        // Act & Assert
+        assertThatThrownBy(() -> containerService.deleteContainer(1L, principal))
+            .isInstanceOf(BadRequestException.class)
+            .hasMessageContaining("state changed");
+        verifyNoInteractions(dockerClient);
+        verify(containerRepository, never()).deleteById(any());
+    }
+
+    @Test
+    void deleteContainer_WhenDockerContainerAlreadyGone_ShouldStillDeleteTheRow() {
+        // Arrange
+        container.setStatus(ContainerStatus.DEAD);
+        when(containerRepository.transitionStatus(eq(1L), eq(ContainerStatus.DEAD), eq(ContainerStatus.REMOVING), any()))
+            .thenReturn(1);
+        when(dockerClient.removeContainerCmd("container123").withForce(true).exec())
+            .thenThrow(new NotFoundException("No such container"));
+
+        // Act
+        containerService.deleteContainer(1L, principal);
+
+        // Assert
+        verify(containerRepository).deleteById(1L);
+        verify(portAllocator).release(8001);
+        verify(containerStateStore).forget("container123");
+        verify(statusCounters).unregister("container123");
+    }
+
+    @Test
+    void connectContainer_WhenRestoreAlreadyClaimed_ShouldReportBusyWithoutTouchingDocker() {
+        // Arrange
+        container.setStatus(ContainerStatus.HIBERNATED);
+        container.setHibernatedImage("platform-hibernated/container-1:1");
+        when(containerRepository.transitionStatus(eq(1L), eq(ContainerStatus.HIBERNATED), eq(ContainerStatus.STARTING), any()))
+            .thenReturn(0);
+
+        // Act & Assert
+        assertThatThrownBy(() -> containerService.connectContainer(1L, principal))
+            .isInstanceOf(ContainerBusyException.class);
+        verifyNoInteractions(dockerClient, portAllocator, rowWriter);
+    }
+
+    @Test
+    void connectContainer_WhenRestoredContainerFailsToStart_ShouldReturnTheRowToHibernation() {
+        // Arrange
+        container.setStatus(ContainerStatus.HIBERNATED);
+        container.setHibernatedImage("platform-hibernated/container-1:1");
+        container.setSshPort(null);
+        when(containerRepository.transitionStatus(eq(1L), eq(ContainerStatus.HIBERNATED), eq(ContainerStatus.STARTING), any()))
+            .thenReturn(1);
+        when(containerRepository.findSshPortMapping(1L)).thenReturn(8001);
+        when(portAllocator.reserve()).thenReturn(8002);
+        when(dockerClient.createContainerCmd("platform-hibernated/container-1:1")
+                .withName(anyString()).withExposedPorts(any(ExposedPort[].class))
+                .withHostConfig(any()).withTty(true).withLabels(anyMap()).exec().getId())
+            .thenReturn("restored456");
+        when(dockerClient.startContainerCmd("restored456").exec()).thenThrow(new RuntimeException("daemon error"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> containerService.connectContainer(1L, principal))
+            .isInstanceOf(BadRequestException.class);
+        InOrder inOrder = inOrder(rowWriter);
+        inOrder.verify(rowWriter).repoint(1L, ContainerStatus.STARTING, ContainerStatus.STARTING, "restored456", 8002, 8002);
+        inOrder.verify(rowWriter).repoint(1L, ContainerStatus.STARTING, ContainerStatus.HIBERNATED, "container123", null, 8001);
+        verify(dockerClient).removeContainerCmd("restored456");
+        verify(portAllocator).release(8002);
+        verify(statusCounters, never()).unregister(any());
+    }
+
+    @Test
+    void recordSessionActivity_ShouldTouchOnlyRunningContainers() {
+        // Arrange
+        container.setStatus(ContainerStatus.RUNNING);
+        Container stopped = new Container();
+        stopped.setId(2L);
+        stopped.setContainerId("container456");
+        stopped.setStatus(ContainerStatus.EXITED);
+        when(containerRepository.findAllById(List.of(1L, 2L, 3L))).thenReturn(List.of(container, stopped));
+
+        // Act
+        int touched = containerService.recordSessionActivity(List.of(1L, 2L, 3L));
+
+        // Assert
+        assertThat(touched).isEqualTo(1);
+        verify(activityTracker).touch("container123");
+        verify(activityTracker, never()).touch("container456");
+    }
+
+    @Test
+    void pauseIdle_WhenRowLeftRunningMeanwhile_ShouldUnpauseAgain() {
+        // Arrange
+        container.setStatus(ContainerStatus.RUNNING);
+        when(containerRepository.transitionStatus(eq(1L), eq(ContainerStatus.RUNNING), eq(ContainerStatus.PAUSED), any()))
+            .thenReturn(0);
+
+        // Act
+        boolean paused = containerService.pauseIdle(container);
+
+        // Assert
+        assertThat(paused).isFalse();
+        verify(dockerClient).unpauseContainerCmd("container123");
+        verify(containerStateStore, never()).track(any(), any());
+    }
+
+    @Test
+    void hibernate_WhenRowLeftPausedMeanwhile_ShouldKeepTheContainer() {
+        // Arrange
+        container.setStatus(ContainerStatus.PAUSED);
+        when(containerRepository.markHibernated(eq(1L), anyString(), any())).thenReturn(0);
+
+        // Act
+        boolean hibernated = containerService.hibernate(container);
+
+        // Assert
+        assertThat(hibernated).isFalse();
+        verify(dockerClient).removeImageCmd(startsWith("platform-hibernated/container-1:"));
+        verify(dockerClient, never()).removeContainerCmd(any());
+        verify(portAllocator, never()).release(any());
+        verify(statusCounters, never()).moved(any(), any());
+    }
+
+    @Test
+    void connectContainer_WhenPausedRowAlreadyClaimed_ShouldReportBusyWithoutUnpausing() {
+        // Arrange
+        container.setStatus(ContainerStatus.PAUSED);
+        when(containerRepository.transitionStatus(eq(1L), eq(ContainerStatus.PAUSED), eq(ContainerStatus.STARTING), any()))
+            .thenReturn(0);
+
+        // Act & Assert
+        assertThatThrownBy(() -> containerService.connectContainer(1L, principal))
+            .isInstanceOf(ContainerBusyException.class);
+        verify(dockerClient, never()).unpauseContainerCmd(any());
+    }
+}
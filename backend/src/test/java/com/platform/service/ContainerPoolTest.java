@@ -0,0 +1,142 @@
+// src/test/java/com/platform/service/ContainerPoolTest.java
+package com.platform.service;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.command.ListContainersCmd;
+import com.platform.repository.PortLeaseRepository;
+import com.platform.service.image.ImageBaker;
+import com.platform.service.image.ImageService;
+import com.platform.util.ContainerLabels;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ContainerPoolTest {
+
+    private static final String IMAGE = "ubuntu:22.04";
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private DockerClient dockerClient;
+
+    @Mock
+    private PortAllocator portAllocator;
+
+    @Mock
+    private PortLeaseRepository portLeaseRepository;
+
+    @Mock
+    private ImageService imageService;
+
+    @Mock
+    private ImageBaker imageBaker;
+
+    @Mock
+    private ExecutorService refillExecutor;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private ContainerPool containerPool;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(containerPool, "enabled", true);
+        ReflectionTestUtils.setField(containerPool, "images", List.of(IMAGE, "not/allowed:1"));
+        ReflectionTestUtils.setField(containerPool, "minSize", 1);
+        ReflectionTestUtils.setField(containerPool, "maxSize", 2);
+        ReflectionTestUtils.setField(containerPool, "readyTimeoutMs", 0L);
+        ReflectionTestUtils.setField(containerPool, "nodeId", "node-a");
+        containerPool.init();
+        // Refills triggered by claims are run explicitly by the tests
+        ReflectionTestUtils.setField(containerPool, "refillExecutor", refillExecutor);
+    }
+
+    @Test
+    void refill_ShouldStartAndPauseContainersUpToMinSize() {
+        // Arrange
+        when(imageBaker.bakedImageFor(IMAGE)).thenReturn(Optional.of("platform-ssh/ubuntu:22.04-0123456789ab"));
+        when(portAllocator.reserve()).thenReturn(8000);
+
+        // Act
+        containerPool.refill(false);
+
+        // Assert
+        assertThat(containerPool.getSizes()).containsExactly(entry(IMAGE, 1));
+        verify(dockerClient).createContainerCmd("platform-ssh/ubuntu:22.04-0123456789ab");
+        verify(dockerClient).pauseContainerCmd(any());
+        verify(portLeaseRepository).renewLeases(eq(List.of(8000)), any());
+    }
+
+    @Test
+    void claim_ShouldCountHitsAndMissesAndTriggerRefill() {
+        // Arrange
+        when(imageBaker.bakedImageFor(IMAGE)).thenReturn(Optional.empty());
+        when(portAllocator.reserve()).thenReturn(8000);
+        containerPool.refill(false);
+
+        // Act
+        Optional<ContainerPool.PooledContainer> hit = containerPool.claim(IMAGE);
+        Optional<ContainerPool.PooledContainer> miss = containerPool.claim(IMAGE);
+        Optional<ContainerPool.PooledContainer> notPooled = containerPool.claim("debian:11");
+
+        // Assert
+        assertThat(hit).isPresent().get().extracting(ContainerPool.PooledContainer::sshPort).isEqualTo(8000);
+        assertThat(miss).isEmpty();
+        assertThat(notPooled).isEmpty();
+        assertThat(meterRegistry.counter("containers.pool.claims", "result", "hit").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("containers.pool.claims", "result", "miss").count()).isEqualTo(1.0);
+        verify(refillExecutor, times(2)).execute(any());
+        verify(imageBaker).bakeAsync(IMAGE);
+    }
+
+    @Test
+    void scheduledRefill_ShouldTrimSurplusOnceDemandDecays() {
+        // Arrange - two claims raise the target to max-size
+        when(imageBaker.bakedImageFor(IMAGE)).thenReturn(Optional.empty());
+        when(portAllocator.reserve()).thenReturn(8000, 8001);
+        containerPool.claim(IMAGE);
+        containerPool.claim(IMAGE);
+        containerPool.refill(false);
+        assertThat(containerPool.targetSize(IMAGE)).isEqualTo(2);
+
+        // Act - each scheduled pass halves the demand: 2, 1, then 0
+        containerPool.refill(true);
+        containerPool.refill(true);
+        containerPool.refill(true);
+
+        // Assert
+        assertThat(containerPool.targetSize(IMAGE)).isEqualTo(1);
+        assertThat(containerPool.getSizes()).containsExactly(entry(IMAGE, 1));
+        verify(portAllocator).release(8000);
+    }
+
+    @Test
+    void removeUnclaimed_ShouldOnlyListThisNodesPooledContainers() {
+        // Act
+        containerPool.removeUnclaimed();
+
+        // Assert - other backends sharing the Docker host keep their pools
+        ListContainersCmd listCmd = dockerClient.listContainersCmd().withShowAll(true);
+        verify(listCmd).withLabelFilter(Map.of(ContainerLabels.POOL_NODE, "node-a"));
+        verify(dockerClient, never()).removeContainerCmd(any());
+    }
+}
@@ -0,0 +1,60 @@
+// src/test/java/com/platform/service/ContainerRowWriterTest.java
+package com.platform.service;
+
+import com.platform.exception.BadRequestException;
+import com.platform.model.entity.Container;
+import com.platform.repository.ContainerRepository;
+import com.platform.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ContainerRowWriterTest {
+
+    @Mock
+    private ContainerRepository containerRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private ContainerRowWriter rowWriter;
+
+    @Test
+    void insertWithinLimit_ShouldLockTheOwnerBeforeCountingAndInserting() {
+        // Arrange
+        Container container = new Container();
+        when(containerRepository.countByUserIdAndStatusIn(7L, ContainerService.COUNTED_STATUSES)).thenReturn(4L);
+        when(containerRepository.saveAndFlush(container)).thenReturn(container);
+
+        // Act
+        Container saved = rowWriter.insertWithinLimit(container, 7L);
+
+        // Assert
+        assertThat(saved).isSameAs(container);
+        InOrder inOrder = inOrder(userRepository, containerRepository);
+        inOrder.verify(userRepository).lockById(7L);
+        inOrder.verify(containerRepository).countByUserIdAndStatusIn(7L, ContainerService.COUNTED_STATUSES);
+        inOrder.verify(containerRepository).saveAndFlush(container);
+    }
+
+    @Test
+    void insertWithinLimit_WhenAtTheLimit_ShouldNotInsert() {
+        // Arrange
+        when(containerRepository.countByUserIdAndStatusIn(7L, ContainerService.COUNTED_STATUSES)).thenReturn(5L);
+
+        // Act & Assert
+        assertThatThrownBy(() -> rowWriter.insertWithinLimit(new Container(), 7L))
+            .isInstanceOf(BadRequestException.class)
+            .hasMessageContaining("limit");
+        verify(containerRepository, never()).saveAndFlush(any());
+    }
+}
@@ -0,0 +1,245 @@
+// src/test/java/com/platform/service/ContainerStateStoreTest.java
+package com.platform.service;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.model.Event;
+import com.github.dockerjava.api.model.EventActor;
+import com.platform.model.entity.Container;
+import com.platform.model.enums.ContainerStatus;
+import com.platform.repository.ContainerRepository;
+import com.platform.util.ContainerLabels;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ContainerStateStoreTest {
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private DockerClient dockerClient;
+
+    @Mock
+    private ContainerRepository containerRepository;
+
+    @Mock
+    private ContainerStatusCounters statusCounters;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private ContainerStateStore containerStateStore;
+
+    @BeforeEach
+    void setUp() {
+        containerStateStore.init();
+    }
+
+    private ContainerRepository.ContainerStatusView row(String containerId, ContainerStatus status) {
+        return row(containerId, status, null);
+    }
+
+    private ContainerRepository.ContainerStatusView row(String containerId, ContainerStatus status,
+                                                        LocalDateTime updatedAt) {
+        return new ContainerRepository.ContainerStatusView() {
+            @Override
+            public String getContainerId() { return containerId; }
+
+            @Override
+            public Long getUserId() { return 7L; }
+
+            @Override
+            public ContainerStatus getStatus() { return status; }
+
+            @Override
+            public LocalDateTime getUpdatedAt() { return updatedAt; }
+        };
+    }
+
+    private com.github.dockerjava.api.model.Container dockerContainer(String id, String state, String status) {
+        com.github.dockerjava.api.model.Container container = mock(com.github.dockerjava.api.model.Container.class);
+        when(container.getId()).thenReturn(id);
+        when(container.getState()).thenReturn(state);
+        lenient().when(container.getStatus()).thenReturn(status);
+        return container;
+    }
+
+    @Test
+    void resync_ShouldLoadDockerStateAndBulkUpdateOnlyChangedRows() {
+        // Arrange
+        List<com.github.dockerjava.api.model.Container> listed = List.of(
+            dockerContainer("running1", "running", "Up 5 minutes"),
+            dockerContainer("exited1", "exited", "Exited (137) 2 minutes ago")
+        );
+        when(dockerClient.listContainersCmd().withShowAll(true)
+            .withLabelFilter(Map.of(ContainerLabels.MANAGED, "true")).exec()).thenReturn(listed);
+        when(dockerClient.listContainersCmd().withShowAll(true).withIdFilter(anyCollection()).exec())
+            .thenReturn(List.of());
+        when(containerRepository.findAllStatuses()).thenReturn(List.of(
+            row("running1", ContainerStatus.RUNNING),
+            row("exited1", ContainerStatus.RUNNING),
+            row("gone1", ContainerStatus.RUNNING),
+            row("gone2", ContainerStatus.EXITED)
+        ));
+
+        // Act
+        containerStateStore.resync();
+
+        // Assert
+        assertThat(containerStateStore.isSynced()).isTrue();
+        assertThat(containerStateStore.get("running1")).get()
+            .extracting(ContainerStateStore.ContainerState::getStatus).isEqualTo(ContainerStatus.RUNNING);
+        assertThat(containerStateStore.get("exited1").orElseThrow().getExitCode()).isEqualTo(137);
+        assertThat(containerStateStore.get("gone1").orElseThrow().getStatus()).isEqualTo(ContainerStatus.DEAD);
+
+        verify(containerRepository).updateStatuses(eq(List.of("exited1")), eq(ContainerStatus.EXITED), any());
+        verify(containerRepository).updateStatuses(eq(List.of("gone1", "gone2")), eq(ContainerStatus.DEAD), any());
+        verify(containerRepository, times(2)).updateStatuses(anyList(), any(), any());
+        verify(containerRepository, never()).updateObservedState(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void resync_ShouldRegisterRowsFromOtherNodesAndUnregisterDeletedOnes() {
+        // Arrange - "deleted1" was tracked here and deleted through another node, "new1" was
+        // created through another node, "hib1" was hibernated through another node
+        containerStateStore.track("deleted1", ContainerStatus.RUNNING);
+        containerStateStore.track("hib1", ContainerStatus.RUNNING);
+        List<com.github.dockerjava.api.model.Container> listed = List.of(
+            dockerContainer("new1", "running", "Up 1 minute")
+        );
+        when(dockerClient.listContainersCmd().withShowAll(true)
+            .withLabelFilter(Map.of(ContainerLabels.MANAGED, "true")).exec()).thenReturn(listed);
+        when(containerRepository.findAllStatuses()).thenReturn(List.of(
+            row("new1", ContainerStatus.RUNNING),
+            row("hib1", ContainerStatus.HIBERNATED)
+        ));
+
+        // Act
+        containerStateStore.resync();
+
+        // Assert
+        verify(statusCounters).register("new1", 7L, ContainerStatus.RUNNING);
+        verify(statusCounters).register("hib1", 7L, ContainerStatus.HIBERNATED);
+        verify(statusCounters).unregister("deleted1");
+        verify(statusCounters, never()).unregister("hib1");
+        assertThat(containerStateStore.get("deleted1")).isEmpty();
+        assertThat(containerStateStore.get("hib1")).isEmpty();
+        verify(containerRepository, never()).updateStatuses(anyList(), any(), any());
+    }
+
+    @Test
+    void reconcileUser_ShouldListOnlyTheUsersLabelledContainers() {
+        // Arrange
+        List<com.github.dockerjava.api.model.Container> listed = List.of(
+            dockerContainer("mine1", "paused", "Up 1 hour (Paused)")
+        );
+        when(dockerClient.listContainersCmd().withShowAll(true)
+            .withLabelFilter(Map.of(ContainerLabels.USER_ID, "7")).exec()).thenReturn(listed);
+        when(containerRepository.findStatusesByUserId(7L)).thenReturn(List.of(
+            row("mine1", ContainerStatus.RUNNING)
+        ));
+
+        // Act
+        int changed = containerStateStore.reconcileUser(7L);
+
+        // Assert
+        assertThat(changed).isEqualTo(1);
+        assertThat(containerStateStore.get("mine1").orElseThrow().getStatus()).isEqualTo(ContainerStatus.PAUSED);
+        verify(containerRepository).updateStatuses(eq(List.of("mine1")), eq(ContainerStatus.PAUSED), any());
+        verify(containerRepository, never()).findAllStatuses();
+    }
+
+    @Test
+    void reconcileUser_ShouldLeaveRecentTransitionsToTheirCallerAndRecoverStaleOnes() {
+        // Arrange - a stop in flight and a delete whose node died an hour ago, both gone from Docker
+        ReflectionTestUtils.setField(containerStateStore, "transitionTimeoutSeconds", 300L);
+        when(dockerClient.listContainersCmd().withShowAll(true)
+            .withLabelFilter(Map.of(ContainerLabels.USER_ID, "7")).exec()).thenReturn(List.of());
+        when(dockerClient.listContainersCmd().withShowAll(true).withIdFilter(anyCollection()).exec())
+            .thenReturn(List.of());
+        when(containerRepository.findStatusesByUserId(7L)).thenReturn(List.of(
+            row("stopping1", ContainerStatus.STOPPING, LocalDateTime.now().minusSeconds(5)),
+            row("removing1", ContainerStatus.REMOVING, LocalDateTime.now().minusHours(1))
+        ));
+
+        // Act
+        int changed = containerStateStore.reconcileUser(7L);
+
+        // Assert
+        assertThat(changed).isEqualTo(1);
+        assertThat(containerStateStore.get("stopping1")).isEmpty();
+        verify(containerRepository).updateStatuses(eq(List.of("removing1")), eq(ContainerStatus.DEAD), any());
+    }
+
+    @Test
+    void onEvent_ShouldTrackLifecycleAndBatchWrites() {
+        // Arrange
+        containerStateStore.track("abc", ContainerStatus.CREATED);
+        long nowSeconds = System.currentTimeMillis() / 1000;
+
+        // Act
+        containerStateStore.onEvent(new Event("start", "abc", "ubuntu:22.04", nowSeconds).withAction("start"));
+        containerStateStore.onEvent(new Event("die", "abc", "ubuntu:22.04", nowSeconds)
+            .withAction("die")
+            .withEventActor(new EventActor().withAttributes(Map.of("exitCode", "1"))));
+        containerStateStore.flush();
+
+        // Assert
+        ContainerStateStore.ContainerState state = containerStateStore.get("abc").orElseThrow();
+        assertThat(state.getStatus()).isEqualTo(ContainerStatus.EXITED);
+        assertThat(state.getStartedAt()).isNotNull();
+        assertThat(state.getStoppedAt()).isNotNull();
+        assertThat(state.getExitCode()).isEqualTo(1);
+
+        // Both events collapse into a single write
+        verify(containerRepository, times(1)).updateObservedState(eq("abc"), eq(ContainerStatus.EXITED), any(), any(), eq(1), any());
+    }
+
+    @Test
+    void onEvent_WhenContainerNotManaged_ShouldIgnore() {
+        // Act
+        containerStateStore.onEvent(new Event("start", "foreign", "redis", 0L).withAction("start"));
+        containerStateStore.flush();
+
+        // Assert
+        assertThat(containerStateStore.get("foreign")).isEmpty();
+        verifyNoInteractions(containerRepository);
+    }
+
+    @Test
+    void applyTo_ShouldOverlayLiveState() {
+        // Arrange
+        Container container = new Container();
+        container.setContainerId("abc");
+        container.setStatus(ContainerStatus.RUNNING);
+        containerStateStore.track("abc", ContainerStatus.PAUSED);
+
+        // Act
+        containerStateStore.applyTo(container);
+
+        // Assert
+        assertThat(container.getStatus()).isEqualTo(ContainerStatus.PAUSED);
+    }
+
+    @Test
+    void parseExitCode_ShouldReadDockerListStatus() {
+        assertThat(ContainerStateStore.parseExitCode("Exited (0) 3 hours ago")).isZero();
+        assertThat(ContainerStateStore.parseExitCode("Up 2 minutes")).isNull();
+    }
+}
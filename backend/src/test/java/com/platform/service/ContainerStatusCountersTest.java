@@ -0,0 +1,108 @@
+// src/test/java/com/platform/service/ContainerStatusCountersTest.java
+package com.platform.service;
+
+import com.platform.model.enums.ContainerStatus;
+import com.platform.repository.ContainerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ContainerStatusCountersTest {
+
+    @Mock
+    private ContainerRepository containerRepository;
+
+    @InjectMocks
+    private ContainerStatusCounters statusCounters;
+
+    private ContainerRepository.ContainerOwnerStatusView row(String containerId, Long userId, ContainerStatus status) {
+        return new ContainerRepository.ContainerOwnerStatusView() {
+            @Override
+            public String getContainerId() { return containerId; }
+
+            @Override
+            public Long getUserId() { return userId; }
+
+            @Override
+            public ContainerStatus getStatus() { return status; }
+        };
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(containerRepository.findAllOwnerStatuses()).thenReturn(List.of(
+            row("a", 1L, ContainerStatus.RUNNING),
+            row("b", 1L, ContainerStatus.EXITED),
+            row("c", 2L, ContainerStatus.RUNNING)));
+        statusCounters.init();
+    }
+
+    @Test
+    void init_ShouldCountRowsPerUserAndForTheHost() {
+        // Assert
+        assertThat(statusCounters.countsFor(1L))
+            .containsEntry(ContainerStatus.RUNNING, 1L)
+            .containsEntry(ContainerStatus.EXITED, 1L);
+        assertThat(statusCounters.totals()).containsEntry(ContainerStatus.RUNNING, 2L);
+        assertThat(statusCounters.countsFor(3L).values()).containsOnly(0L);
+    }
+
+    @Test
+    void moved_ReportedTwice_ShouldCountTheChangeOnce() {
+        // Act - the stop call and its die event both report EXITED
+        statusCounters.moved("a", ContainerStatus.EXITED);
+        statusCounters.moved("a", ContainerStatus.EXITED);
+        statusCounters.moved("pooled", ContainerStatus.RUNNING);
+
+        // Assert
+        assertThat(statusCounters.countsFor(1L))
+            .containsEntry(ContainerStatus.RUNNING, 0L)
+            .containsEntry(ContainerStatus.EXITED, 2L);
+        assertThat(statusCounters.totals())
+            .containsEntry(ContainerStatus.RUNNING, 1L)
+            .containsEntry(ContainerStatus.EXITED, 2L);
+    }
+
+    @Test
+    void registerAndUnregister_ShouldFollowCreatesRestoresAndDeletes() {
+        // Act - b is restored under a new Docker id, c is deleted
+        statusCounters.register("d", 2L, ContainerStatus.CREATED);
+        statusCounters.unregister("b");
+        statusCounters.register("b2", 1L, ContainerStatus.RUNNING);
+        statusCounters.unregister("c");
+        statusCounters.unregister("c");
+
+        // Assert
+        assertThat(statusCounters.countsFor(1L))
+            .containsEntry(ContainerStatus.RUNNING, 2L)
+            .containsEntry(ContainerStatus.EXITED, 0L);
+        assertThat(statusCounters.countsFor(2L))
+            .containsEntry(ContainerStatus.RUNNING, 0L)
+            .containsEntry(ContainerStatus.CREATED, 1L);
+        assertThat(statusCounters.totals().values().stream().mapToLong(Long::longValue).sum()).isEqualTo(3L);
+    }
+
+    @Test
+    void register_WhenAlreadyCounted_ShouldOnlyApplyTheDifference() {
+        // Act - reconciliation re-registers every row it sees on each resync
+        statusCounters.register("a", 1L, ContainerStatus.RUNNING);
+        statusCounters.register("a", 1L, ContainerStatus.RUNNING);
+        statusCounters.register("c", 2L, ContainerStatus.EXITED);
+
+        // Assert
+        assertThat(statusCounters.countsFor(1L)).containsEntry(ContainerStatus.RUNNING, 1L);
+        assertThat(statusCounters.countsFor(2L))
+            .containsEntry(ContainerStatus.RUNNING, 0L)
+            .containsEntry(ContainerStatus.EXITED, 1L);
+        assertThat(statusCounters.totals().values().stream().mapToLong(Long::longValue).sum()).isEqualTo(3L);
+    }
+}
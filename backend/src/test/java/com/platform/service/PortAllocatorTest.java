@@ -0,0 +1,112 @@
+// src/test/java/com/platform/service/PortAllocatorTest.java
+package com.platform.service;
+
+import com.github.dockerjava.api.DockerClient;
+import com.platform.exception.BadRequestException;
+import com.platform.repository.ContainerRepository;
+import com.platform.repository.PortLeaseRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PortAllocatorTest {
+
+    @Mock
+    private PortLeaseRepository portLeaseRepository;
+
+    @Mock
+    private ContainerRepository containerRepository;
+
+    @Mock
+    private DockerClient dockerClient;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private PortAllocator portAllocator;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(portAllocator, "ranges", "8000-8003");
+        ReflectionTestUtils.setField(portAllocator, "leaseTtlSeconds", 300L);
+        ReflectionTestUtils.setField(portAllocator, "scanDocker", false);
+        portAllocator.init();
+    }
+
+    @Test
+    void reserve_ShouldSkipPortsUsedInDatabase() {
+        // Arrange
+        when(portLeaseRepository.findAllPorts()).thenReturn(List.of(8000));
+        when(containerRepository.findAllSshPorts()).thenReturn(List.of(8001));
+
+        // Act
+        int port = portAllocator.reserve();
+
+        // Assert
+        assertThat(port).isEqualTo(8002);
+        assertThat(portAllocator.freeCount()).isEqualTo(1);
+        verify(portLeaseRepository).insertLease(eq(8002), any());
+    }
+
+    @Test
+    void reserve_WhenLeasedByAnotherNode_ShouldTryNextPort() {
+        // Arrange
+        when(portLeaseRepository.findAllPorts()).thenReturn(List.of());
+        when(containerRepository.findAllSshPorts()).thenReturn(List.of());
+        when(portLeaseRepository.insertLease(eq(8000), any()))
+            .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // Act
+        int port = portAllocator.reserve();
+
+        // Assert
+        assertThat(port).isEqualTo(8001);
+        assertThat(portAllocator.freeCount()).isEqualTo(2);
+    }
+
+    @Test
+    void reserve_WhenRangeExhausted_ShouldRebuildOnceThenFail() {
+        // Arrange
+        when(portLeaseRepository.findAllPorts()).thenReturn(List.of(8000, 8001, 8002, 8003));
+        when(containerRepository.findAllSshPorts()).thenReturn(List.of());
+
+        // Act & Assert
+        assertThatThrownBy(() -> portAllocator.reserve())
+            .isInstanceOf(BadRequestException.class)
+            .hasMessage("No available ports for SSH");
+        // Initial rebuild plus one retry after finding the range full
+        verify(portLeaseRepository, times(2)).findAllPorts();
+        verify(portLeaseRepository, never()).insertLease(anyInt(), any());
+    }
+
+    @Test
+    void release_ShouldDeleteLeaseAndFreePort() {
+        // Arrange
+        when(portLeaseRepository.findAllPorts()).thenReturn(List.of());
+        when(containerRepository.findAllSshPorts()).thenReturn(List.of());
+        int port = portAllocator.reserve();
+
+        // Act
+        portAllocator.release(port);
+
+        // Assert
+        verify(portLeaseRepository).deleteLease(port);
+        assertThat(portAllocator.freeCount()).isEqualTo(4);
+    }
+}
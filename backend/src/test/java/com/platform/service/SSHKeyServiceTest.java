@@ -66,90 +66,88 @@ class SSHKeyServiceTest {
     @Test
     void addSSHKey_WhenValidKey_ShouldCreateKey() {
         // Arrange
-        String username = "testuser";
+        Long userId = 1L;
         
-        when(userRepository.findByUsername(username))
-            .thenReturn(Optional.of(testUser));
-        
-        when(sshKeyRepository.countByUser(testUser))
+        when(sshKeyRepository.countByUserId(userId))
             .thenReturn(2L);
         
-        when(sshKeyRepository.existsByUserAndPublicKey(testUser, addKeyRequest.getPublicKey()))
+        when(sshKeyRepository.existsByUserIdAndPublicKey(userId, addKeyRequest.getPublicKey()))
             .thenReturn(false);
         
+        when(userRepository.getReferenceById(userId))
+            .thenReturn(testUser);
+        
         when(sshKeyRepository.save(any(SSHKey.class)))
             .thenReturn(testSSHKey);
         
         // Act
-        SSHKeyDTO result = sshKeyService.addSSHKey(addKeyRequest, username);
+        SSHKeyDTO result = sshKeyService.addSSHKey(addKeyRequest, userId);
         
         // Assert
         assertThat(result).isNotNull();
         assertThat(result.getName()).isEqualTo("Test Key");
         assertThat(result.isActive()).isTrue();
         
-        verify(userRepository).findByUsername(username);
-        verify(sshKeyRepository).countByUser(testUser);
-        verify(sshKeyRepository).existsByUserAndPublicKey(testUser, addKeyRequest.getPublicKey());
+        verify(sshKeyRepository).countByUserId(userId);
+        verify(sshKeyRepository).existsByUserIdAndPublicKey(userId, addKeyRequest.getPublicKey());
         verify(sshKeyRepository).save(any(SSHKey.class));
     }
     
     @Test
-    void addSSHKey_WhenUserNotFound_ShouldThrowException() {
+    void addSSHKey_ShouldReferenceUserWithoutLoadingIt() {
         // Arrange
-        String username = "nonexistent";
+        Long userId = 1L;
         
-        when(userRepository.findByUsername(username))
-            .thenReturn(Optional.empty());
+        when(sshKeyRepository.countByUserId(userId))
+            .thenReturn(0L);
         
-        // Act & Assert
-        assertThatThrownBy(() -> 
-            sshKeyService.addSSHKey(addKeyRequest, username)
-        ).isInstanceOf(ResourceNotFoundException.class)
-         .hasMessageContaining("User not found");
+        when(userRepository.getReferenceById(userId))
+            .thenReturn(testUser);
+        
+        when(sshKeyRepository.save(any(SSHKey.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
         
-        verify(userRepository).findByUsername(username);
-        verifyNoInteractions(sshKeyRepository);
+        // Act
+        sshKeyService.addSSHKey(addKeyRequest, userId);
+        
+        // Assert
+        verify(userRepository).getReferenceById(userId);
+        verify(userRepository, never()).findByUsername(anyString());
+        verify(userRepository, never()).findById(anyLong());
     }
     
     @Test
     void addSSHKey_WhenKeyLimitExceeded_ShouldThrowException() {
         // Arrange
-        String username = "testuser";
-        
-        when(userRepository.findByUsername(username))
-            .thenReturn(Optional.of(testUser));
+        Long userId = 1L;
         
-        when(sshKeyRepository.countByUser(testUser))
+        when(sshKeyRepository.countByUserId(userId))
             .thenReturn(5L); // Max is 5
         
         // Act & Assert
         assertThatThrownBy(() -> 
-            sshKeyService.addSSHKey(addKeyRequest, username)
+            sshKeyService.addSSHKey(addKeyRequest, userId)
         ).isInstanceOf(BadRequestException.class)
          .hasMessageContaining("SSH key limit exceeded");
         
-        verify(sshKeyRepository).countByUser(testUser);
+        verify(sshKeyRepository).countByUserId(userId);
         verify(sshKeyRepository, never()).save(any());
     }
     
     @Test
     void addSSHKey_WhenDuplicateKey_ShouldThrowException() {
         // Arrange
-        String username = "testuser";
+        Long userId = 1L;
         
-        when(userRepository.findByUsername(username))
-            .thenReturn(Optional.of(testUser));
-        
-        when(sshKeyRepository.countByUser(testUser))
+        when(sshKeyRepository.countByUserId(userId))
             .thenReturn(2L);
         
-        when(sshKeyRepository.existsByUserAndPublicKey(testUser, addKeyRequest.getPublicKey()))
+        when(sshKeyRepository.existsByUserIdAndPublicKey(userId, addKeyRequest.getPublicKey()))
             .thenReturn(true);
         
         // Act & Assert
         assertThatThrownBy(() -> 
-            sshKeyService.addSSHKey(addKeyRequest, username)
+            sshKeyService.addSSHKey(addKeyRequest, userId)
         ).isInstanceOf(BadRequestException.class)
          .hasMessageContaining("SSH key already exists");
         
@@ -159,40 +157,34 @@ class SSHKeyServiceTest {
     @Test
     void getUserSSHKeys_WhenUserExists_ShouldReturnKeys() {
         // Arrange
-        String username = "testuser";
+        Long userId = 1L;
         List<SSHKey> keys = List.of(testSSHKey);
         
-        when(userRepository.findByUsername(username))
-            .thenReturn(Optional.of(testUser));
-        
-        when(sshKeyRepository.findByUserOrderByCreatedAtDesc(testUser))
+        when(sshKeyRepository.findByUserIdOrderByCreatedAtDesc(userId))
             .thenReturn(keys);
         
         // Act
-        List<SSHKeyDTO> result = sshKeyService.getUserSSHKeys(username);
+        List<SSHKeyDTO> result = sshKeyService.getUserSSHKeys(userId);
         
         // Assert
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getName()).isEqualTo("Test Key");
         
-        verify(userRepository).findByUsername(username);
-        verify(sshKeyRepository).findByUserOrderByCreatedAtDesc(testUser);
+        verify(sshKeyRepository).findByUserIdOrderByCreatedAtDesc(userId);
+        verifyNoInteractions(userRepository);
     }
     
     @Test
     void deleteSSHKey_WhenKeyExistsAndBelongsToUser_ShouldDeleteKey() {
         // Arrange
         Long keyId = 1L;
-        String username = "testuser";
+        Long userId = 1L;
         
-        when(userRepository.findByUsername(username))
-            .thenReturn(Optional.of(testUser));
-        
-        when(sshKeyRepository.findByIdAndUser(keyId, testUser))
+        when(sshKeyRepository.findByIdAndUserId(keyId, userId))
             .thenReturn(Optional.of(testSSHKey));
         
         // Act
-        sshKeyService.deleteSSHKey(keyId, username);
+        sshKeyService.deleteSSHKey(keyId, userId);
         
         // Assert
         verify(sshKeyRepository).delete(testSSHKey);
@@ -202,17 +194,14 @@ class SSHKeyServiceTest {
     void deleteSSHKey_WhenKeyNotFound_ShouldThrowException() {
         // Arrange
         Long keyId = 999L;
-        String username = "testuser";
-        
-        when(userRepository.findByUsername(username))
-            .thenReturn(Optional.of(testUser));
+        Long userId = 1L;
         
-        when(sshKeyRepository.findByIdAndUser(keyId, testUser))
+        when(sshKeyRepository.findByIdAndUserId(keyId, userId))
             .thenReturn(Optional.empty());
         
         // Act & Assert
         assertThatThrownBy(() -> 
-            sshKeyService.deleteSSHKey(keyId, username)
+            sshKeyService.deleteSSHKey(keyId, userId)
         ).isInstanceOf(ResourceNotFoundException.class)
          .hasMessageContaining("SSH key not found");
         
@@ -0,0 +1,87 @@
+// src/test/java/com/platform/service/TokenIntrospectionServiceTest.java
+package com.platform.service;
+
+import com.platform.dto.response.IntrospectResponse;
+import com.platform.model.enums.UserRole;
+import com.platform.security.jwt.JwtUtil;
+import com.platform.security.jwt.TokenClaims;
+import com.platform.security.jwt.UserPrincipal;
+import com.platform.security.service.CustomUserDetailsService;
+import com.platform.security.service.UserEpochRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenIntrospectionServiceTest {
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @Mock
+    private UserEpochRegistry userEpochRegistry;
+
+    @Mock
+    private CustomUserDetailsService customUserDetailsService;
+
+    @InjectMocks
+    private TokenIntrospectionService tokenIntrospectionService;
+
+    private TokenClaims claims(String type, long expiresInMs) {
+        long now = System.currentTimeMillis();
+        return new TokenClaims("testuser", 42L, "test@example.com", "ROLE_USER", type,
+                new Date(now - 1000), new Date(now + expiresInMs), null);
+    }
+
+    @Test
+    void introspect_ShouldReportEachTokenInRequestOrder() {
+        // Arrange
+        TokenClaims access = claims("access", 600_000);
+        when(jwtUtil.verifyToken("good")).thenReturn(Optional.of(access));
+        when(jwtUtil.verifyToken("bad")).thenReturn(Optional.empty());
+        when(jwtUtil.verifyToken("refresh")).thenReturn(Optional.of(claims("refresh", 600_000)));
+        when(userEpochRegistry.isCurrent(access)).thenReturn(true);
+
+        // Act
+        IntrospectResponse response = tokenIntrospectionService.introspect(List.of("good", "bad", "refresh", "good"));
+
+        // Assert
+        assertThat(response.getResults()).extracting(IntrospectResponse.TokenInfo::isActive)
+                .containsExactly(true, false, false, true);
+        IntrospectResponse.TokenInfo info = response.getResults().get(0);
+        assertThat(info.getSubject()).isEqualTo("testuser");
+        assertThat(info.getUserId()).isEqualTo(42L);
+        assertThat(info.getExpiresAt()).isEqualTo(access.getExpirationMillis() / 1000);
+        assertThat(response.getEarliestExpiry()).isEqualTo(info.getExpiresAt());
+
+        verify(jwtUtil, times(1)).verifyToken("good");
+        verifyNoInteractions(customUserDetailsService);
+    }
+
+    @Test
+    void introspect_WhenUserChangedSinceIssue_ShouldCheckCurrentUser() {
+        // Arrange
+        TokenClaims access = claims("access", 600_000);
+        when(jwtUtil.verifyToken("stale")).thenReturn(Optional.of(access));
+        when(userEpochRegistry.isCurrent(access)).thenReturn(false);
+        when(customUserDetailsService.loadUserByUsername("testuser")).thenReturn(
+                new UserPrincipal(42L, "testuser", "test@example.com", "encoded", UserRole.USER, false));
+
+        // Act
+        IntrospectResponse response = tokenIntrospectionService.introspect(List.of("stale"));
+
+        // Assert
+        assertThat(response.getResults().get(0).isActive()).isFalse();
+        assertThat(response.getEarliestExpiry()).isNull();
+    }
+}
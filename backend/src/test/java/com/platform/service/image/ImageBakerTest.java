@@ -0,0 +1,108 @@
+// src/test/java/com/platform/service/image/ImageBakerTest.java
+package com.platform.service.image;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.model.Image;
+import com.platform.util.ContainerLabels;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImageBakerTest {
+
+    private static final String BASE_ID = "sha256:0123456789abcdef0123456789abcdef";
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private DockerClient dockerClient;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private ImageBaker imageBaker;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(imageBaker, "enabled", true);
+        ReflectionTestUtils.setField(imageBaker, "repository", "platform-ssh");
+        ReflectionTestUtils.setField(imageBaker, "timeoutSeconds", 5L);
+        imageBaker.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        imageBaker.shutdown();
+    }
+
+    private Image bakedImage(String tag, String base, String bakedFrom) {
+        Image image = mock(Image.class);
+        when(image.getRepoTags()).thenReturn(new String[]{tag});
+        when(image.getLabels()).thenReturn(Map.of(
+            ContainerLabels.BAKED_BASE, base,
+            ContainerLabels.BAKED_FROM, bakedFrom
+        ));
+        return image;
+    }
+
+    @Test
+    void dockerfileFor_ShouldInstallSshdAtBuildAndOnlyGenerateHostKeyAtBoot() {
+        // Act
+        String debian = ImageBaker.dockerfileFor("debian:11");
+        String alpine = ImageBaker.dockerfileFor("alpine:3.18");
+
+        // Assert
+        assertThat(debian).startsWith("FROM debian:11\n").contains("apt-get install -y -qq --no-install-recommends openssh-server");
+        assertThat(alpine).startsWith("FROM alpine:3.18\n").contains("apk add --no-cache openssh-server");
+        assertThat(debian).contains("rm -f /etc/ssh/ssh_host_*");
+        assertThat(debian.substring(debian.indexOf("CMD"))).contains("ssh-keygen -q -t ed25519").doesNotContain("apt-get");
+    }
+
+    @Test
+    void bake_WhenTagForBaseIdExists_ShouldRegisterWithoutBuilding() {
+        // Arrange
+        when(dockerClient.inspectImageCmd("ubuntu:22.04").exec().getId()).thenReturn(BASE_ID);
+
+        // Act
+        String tag = imageBaker.bake("ubuntu:22.04");
+
+        // Assert
+        assertThat(tag).isEqualTo("platform-ssh/ubuntu:22.04-0123456789ab");
+        assertThat(imageBaker.bakedImageFor("ubuntu:22.04")).contains(tag);
+        verify(dockerClient, never()).buildImageCmd();
+    }
+
+    @Test
+    void discover_ShouldOnlyRegisterImagesBakedFromCurrentBase() {
+        // Arrange
+        List<Image> images = List.of(
+            bakedImage("platform-ssh/ubuntu:22.04-0123456789ab", "ubuntu:22.04", BASE_ID),
+            bakedImage("platform-ssh/alpine:3.18-fedcba987654", "alpine:3.18", "sha256:fedcba987654")
+        );
+        when(dockerClient.listImagesCmd().withLabelFilter(ContainerLabels.BAKED_BASE).exec()).thenReturn(images);
+        when(dockerClient.inspectImageCmd("ubuntu:22.04").exec().getId()).thenReturn(BASE_ID);
+        when(dockerClient.inspectImageCmd("alpine:3.18").exec().getId()).thenReturn("sha256:repulled");
+
+        // Act
+        imageBaker.discover();
+
+        // Assert
+        assertThat(imageBaker.getBaked()).containsOnlyKeys("ubuntu:22.04");
+        assertThat(ImageBaker.supports("node:18")).isFalse();
+    }
+}
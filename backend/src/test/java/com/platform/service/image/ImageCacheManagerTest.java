@@ -0,0 +1,115 @@
+// src/test/java/com/platform/service/image/ImageCacheManagerTest.java
+package com.platform.service.image;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.model.Image;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImageCacheManagerTest {
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private DockerClient dockerClient;
+
+    @Mock
+    private ImageService imageService;
+
+    @Mock
+    private ImageBaker imageBaker;
+
+    @InjectMocks
+    private ImageCacheManager imageCacheManager;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(imageCacheManager, "hotSet", List.of("ubuntu:22.04", "not/allowed:1"));
+        ReflectionTestUtils.setField(imageCacheManager, "warmParallelism", 2);
+        ReflectionTestUtils.setField(imageCacheManager, "diskBudgetBytes", 250L);
+        ReflectionTestUtils.setField(imageCacheManager, "evictionMinIdleSeconds", 3600L);
+        imageCacheManager.init();
+    }
+
+    private Image image(String id, String tag, long size) {
+        Image image = mock(Image.class);
+        lenient().when(image.getId()).thenReturn(id);
+        lenient().when(image.getRepoTags()).thenReturn(new String[]{tag});
+        lenient().when(image.getSize()).thenReturn(size);
+        return image;
+    }
+
+    @Test
+    void warm_ShouldPrefetchAndBakeOnlyAllowedHotImages() {
+        // Act
+        imageCacheManager.warm();
+
+        // Assert
+        verify(imageService).prefetch("ubuntu:22.04");
+        verify(imageBaker).bakeAsync("ubuntu:22.04");
+        verify(imageService, never()).prefetch("not/allowed:1");
+    }
+
+    @Test
+    void evictOverBudget_ShouldRemoveLeastRecentlyUsedIdleImagesFirst() {
+        // Arrange
+        long now = System.currentTimeMillis();
+        List<Image> images = List.of(
+            image("hot", "ubuntu:22.04", 100),
+            image("inUse", "debian:11", 100),
+            image("old", "node:16", 100),
+            image("older", "python:3.9", 100),
+            image("recent", "alpine:3.17", 100),
+            image("foreign", "postgres:15", 1000)
+        );
+        when(dockerClient.listImagesCmd().exec()).thenReturn(images);
+        com.github.dockerjava.api.model.Container container = mock(com.github.dockerjava.api.model.Container.class);
+        when(container.getImageId()).thenReturn("inUse");
+        when(dockerClient.listContainersCmd().withShowAll(true).exec()).thenReturn(List.of(container));
+        when(imageService.getLastUsed()).thenReturn(Map.of(
+            "node:16", now - 7_200_000,
+            "python:3.9", now - 10_800_000,
+            "alpine:3.17", now - 60_000
+        ));
+
+        // Act
+        int removed = imageCacheManager.evictOverBudget();
+
+        // Assert - 500 bytes of allowed images against a 250 byte budget, only two are evictable
+        assertThat(removed).isEqualTo(2);
+        verify(dockerClient).removeImageCmd("older");
+        verify(dockerClient).removeImageCmd("old");
+        verify(dockerClient, never()).removeImageCmd("hot");
+        verify(dockerClient, never()).removeImageCmd("inUse");
+        verify(dockerClient, never()).removeImageCmd("recent");
+        verify(dockerClient, never()).removeImageCmd("foreign");
+        verify(imageService).invalidate("python:3.9");
+        verify(imageService).invalidate("node:16");
+    }
+
+    @Test
+    void evictOverBudget_WhenWithinBudget_ShouldNotListContainers() {
+        // Arrange
+        List<Image> images = List.of(image("small", "node:16", 100));
+        when(dockerClient.listImagesCmd().exec()).thenReturn(images);
+
+        // Act
+        int removed = imageCacheManager.evictOverBudget();
+
+        // Assert
+        assertThat(removed).isZero();
+        verify(dockerClient, never()).listContainersCmd();
+    }
+}
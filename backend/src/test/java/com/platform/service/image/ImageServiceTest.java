@@ -0,0 +1,139 @@
+// src/test/java/com/platform/service/image/ImageServiceTest.java
+package com.platform.service.image;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.command.InspectImageCmd;
+import com.github.dockerjava.api.command.PullImageCmd;
+import com.github.dockerjava.api.exception.NotFoundException;
+import com.github.dockerjava.api.model.PullResponseItem;
+import com.github.dockerjava.api.model.ResponseItem;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImageServiceTest {
+
+    private static final String IMAGE = "ubuntu:22.04";
+
+    @Mock
+    private DockerClient dockerClient;
+
+    @Mock
+    private InspectImageCmd inspectImageCmd;
+
+    @Mock
+    private PullImageCmd pullImageCmd;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private ImageService imageService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(imageService, "presenceTtlSeconds", 600L);
+        ReflectionTestUtils.setField(imageService, "pullTimeoutSeconds", 5L);
+        imageService.init();
+        lenient().when(dockerClient.inspectImageCmd(IMAGE)).thenReturn(inspectImageCmd);
+    }
+
+    private PullResponseItem item(String id, String status, Long current, Long total) {
+        PullResponseItem item = mock(PullResponseItem.class);
+        lenient().when(item.getId()).thenReturn(id);
+        lenient().when(item.getStatus()).thenReturn(status);
+        if (current != null) {
+            ResponseItem.ProgressDetail detail = mock(ResponseItem.ProgressDetail.class);
+            lenient().when(detail.getCurrent()).thenReturn(current);
+            lenient().when(detail.getTotal()).thenReturn(total);
+            lenient().when(item.getProgressDetail()).thenReturn(detail);
+        }
+        return item;
+    }
+
+    @Test
+    void ensureImage_WhenPresent_ShouldInspectOnlyOnce() {
+        // Act
+        imageService.ensureImage(IMAGE);
+        imageService.ensureImage(IMAGE);
+
+        // Assert
+        verify(dockerClient, times(1)).inspectImageCmd(IMAGE);
+        verify(dockerClient, never()).pullImageCmd(anyString());
+        assertThat(imageService.isKnownPresent(IMAGE)).isTrue();
+        assertThat(meterRegistry.counter("images.presence", "result", "hit").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void ensureImage_WhenMissing_ShouldCoalesceConcurrentPullsAndShareProgress() throws Exception {
+        // Arrange
+        when(inspectImageCmd.exec()).thenThrow(new NotFoundException("No such image"));
+        when(dockerClient.pullImageCmd(IMAGE)).thenReturn(pullImageCmd);
+        AtomicReference<ResultCallback<PullResponseItem>> callback = new AtomicReference<>();
+        when(pullImageCmd.exec(any())).thenAnswer(invocation -> {
+            callback.set(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        List<ImagePullProgress.Snapshot> secondCallerProgress = new CopyOnWriteArrayList<>();
+
+        // Act
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> imageService.ensureImage(IMAGE));
+        while (callback.get() == null) {
+            Thread.sleep(5);
+        }
+        CompletableFuture<Void> second = CompletableFuture.runAsync(
+            () -> imageService.ensureImage(IMAGE, secondCallerProgress::add));
+        while (meterRegistry.counter("images.pulls.coalesced").count() < 1) {
+            Thread.sleep(5);
+        }
+        callback.get().onNext(item("layer1", "Downloading", 50L, 100L));
+        callback.get().onNext(item("layer2", "Already exists", null, null));
+        callback.get().onComplete();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+
+        // Assert
+        verify(dockerClient, times(1)).pullImageCmd(IMAGE);
+        assertThat(secondCallerProgress).isNotEmpty();
+        assertThat(secondCallerProgress.get(secondCallerProgress.size() - 1).completedLayers()).isEqualTo(2);
+        assertThat(imageService.isKnownPresent(IMAGE)).isTrue();
+    }
+
+    @Test
+    void imagePullProgress_ShouldAggregateLayerBytes() {
+        // Arrange
+        ImagePullProgress progress = new ImagePullProgress(IMAGE);
+
+        // Act
+        progress.apply(item("a", "Downloading", 25L, 100L));
+        progress.apply(item("b", "Downloading", 100L, 300L));
+        progress.apply(item("c", "Already exists", null, null));
+
+        // Assert
+        ImagePullProgress.Snapshot snapshot = progress.snapshot();
+        assertThat(snapshot.layers()).isEqualTo(3);
+        assertThat(snapshot.completedLayers()).isEqualTo(1);
+        assertThat(snapshot.currentBytes()).isEqualTo(125L);
+        assertThat(snapshot.totalBytes()).isEqualTo(400L);
+        assertThat(snapshot.percent()).isEqualTo(31);
+    }
+}
@@ -0,0 +1,235 @@
+// src/test/java/com/platform/service/job/ContainerBulkServiceTest.java
+package com.platform.service.job;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.command.StopContainerCmd;
+import com.platform.dto.request.BulkContainerRequest;
+import com.platform.dto.response.BulkContainerResultDTO;
+import com.platform.dto.response.BulkItemResultDTO;
+import com.platform.exception.BadRequestException;
+import com.platform.model.entity.Container;
+import com.platform.model.enums.ContainerBulkAction;
+import com.platform.model.enums.ContainerStatus;
+import com.platform.model.enums.UserRole;
+import com.platform.repository.ContainerRepository;
+import com.platform.security.jwt.UserPrincipal;
+import com.platform.service.ContainerActivityTracker;
+import com.platform.service.ContainerStatusCounters;
+import com.platform.service.ContainerService;
+import com.platform.service.ContainerStateStore;
+import com.platform.service.PortAllocator;
+import com.platform.util.ContainerLabels;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ContainerBulkServiceTest {
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private DockerClient dockerClient;
+
+    @Mock
+    private ContainerRepository containerRepository;
+
+    @Mock
+    private ContainerService containerService;
+
+    @Mock
+    private ContainerJobService containerJobService;
+
+    @Mock
+    private ContainerStateStore containerStateStore;
+
+    @Mock
+    private ContainerActivityTracker activityTracker;
+
+    @Mock
+    private ContainerStatusCounters statusCounters;
+
+    @Mock
+    private PortAllocator portAllocator;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private ContainerBulkService bulkService;
+
+    private final UserPrincipal principal =
+        new UserPrincipal(1L, "testuser", "test@example.com", "encoded", UserRole.USER, true);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bulkService, "concurrency", 2);
+        ReflectionTestUtils.setField(bulkService, "maxItems", 10);
+        bulkService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bulkService.shutdown();
+    }
+
+    private Container container(Long id, ContainerStatus status) {
+        Container container = new Container();
+        container.setId(id);
+        container.setName("container-" + id);
+        container.setContainerId("docker-" + id);
+        container.setStatus(status);
+        container.setSshPort(8000 + id.intValue());
+        return container;
+    }
+
+    @Test
+    void execute_ShouldReportEveryItemAndWriteOnlySucceededRowsInOneCall() {
+        // Arrange
+        Container running = container(1L, ContainerStatus.RUNNING);
+        Container exited = container(2L, ContainerStatus.EXITED);
+        Container broken = container(3L, ContainerStatus.RUNNING);
+        when(containerRepository.findByUserIdAndIdIn(eq(1L), anyCollection())).thenReturn(List.of(running, exited, broken));
+        when(containerJobService.tryLock(anyLong(), anyString())).thenReturn(true);
+        when(containerRepository.transitionStatus(anyLong(), eq(ContainerStatus.RUNNING), eq(ContainerStatus.STOPPING), any()))
+            .thenReturn(1);
+        // Plain mocks stubbed up front: deep stubs created lazily by two worker threads can race
+        StopContainerCmd stopRunning = mock(StopContainerCmd.class);
+        StopContainerCmd stopBroken = mock(StopContainerCmd.class);
+        when(stopBroken.exec()).thenThrow(new RuntimeException("daemon error"));
+        when(dockerClient.stopContainerCmd("docker-1")).thenReturn(stopRunning);
+        when(dockerClient.stopContainerCmd("docker-3")).thenReturn(stopBroken);
+
+        // Act
+        BulkContainerResultDTO result = bulkService.execute(
+            new BulkContainerRequest(ContainerBulkAction.STOP, List.of(1L, 2L, 3L, 99L)), principal);
+
+        // Assert
+        assertThat(result.getTotal()).isEqualTo(4);
+        assertThat(result.getSucceeded()).isEqualTo(1);
+        assertThat(result.getSkipped()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(2);
+        assertThat(result.getItems())
+            .extracting(BulkItemResultDTO::getContainerId, BulkItemResultDTO::getOutcome)
+            .containsExactly(
+                tuple(99L, BulkItemResultDTO.Outcome.FAILED),
+                tuple(1L, BulkItemResultDTO.Outcome.SUCCEEDED),
+                tuple(2L, BulkItemResultDTO.Outcome.SKIPPED),
+                tuple(3L, BulkItemResultDTO.Outcome.FAILED));
+        verify(containerService).applyBulkChanges(Map.of(ContainerStatus.EXITED, List.of("docker-1")), List.of());
+        verify(containerStateStore).track("docker-1", ContainerStatus.EXITED);
+        verify(stopRunning).exec();
+        verify(containerRepository).transitionStatus(eq(3L), eq(ContainerStatus.STOPPING), eq(ContainerStatus.RUNNING), any());
+        verify(containerRepository, never()).transitionStatus(eq(1L), eq(ContainerStatus.STOPPING), any(), any());
+        verify(containerJobService).unlock(eq(1L), anyString());
+        verify(containerJobService, never()).unlock(eq(2L), anyString());
+    }
+
+    @Test
+    void execute_Delete_ShouldSkipBusyContainersAndReleasePortsAfterTheBatch() {
+        // Arrange
+        Container idle = container(1L, ContainerStatus.EXITED);
+        Container hibernated = container(2L, ContainerStatus.HIBERNATED);
+        hibernated.setSshPort(null);
+        hibernated.setHibernatedImage("platform-hibernated/container-2:1");
+        Container busy = container(3L, ContainerStatus.RUNNING);
+        when(containerRepository.findByUserIdAndIdIn(eq(1L), anyCollection())).thenReturn(List.of(idle, hibernated, busy));
+        when(containerJobService.tryLock(eq(1L), anyString())).thenReturn(true);
+        when(containerJobService.tryLock(eq(2L), anyString())).thenReturn(true);
+        when(containerJobService.tryLock(eq(3L), anyString())).thenReturn(false);
+        when(containerRepository.transitionStatus(anyLong(), any(), eq(ContainerStatus.REMOVING), any())).thenReturn(1);
+
+        // Act
+        BulkContainerResultDTO result = bulkService.execute(
+            new BulkContainerRequest(ContainerBulkAction.DELETE, List.of(1L, 2L, 3L)), principal);
+
+        // Assert
+        assertThat(result.getSucceeded()).isEqualTo(2);
+        assertThat(result.getSkipped()).isEqualTo(1);
+        verify(dockerClient).removeContainerCmd("docker-1");
+        verify(dockerClient, never()).removeContainerCmd("docker-2");
+        verify(dockerClient, never()).removeContainerCmd("docker-3");
+        verify(containerService).applyBulkChanges(Map.of(), List.of(1L, 2L));
+        verify(dockerClient).removeImageCmd("platform-hibernated/container-2:1");
+        verify(portAllocator).releaseAll(Arrays.asList(8001, null));
+        verify(containerStateStore).forget("docker-1");
+    }
+
+    @Test
+    void execute_WhenRowChangedSinceItWasRead_ShouldSkipWithoutTouchingDocker() {
+        // Arrange - a single start moved the row between the lookup and the bulk item
+        Container exited = container(1L, ContainerStatus.EXITED);
+        when(containerRepository.findByUserIdAndIdIn(eq(1L), anyCollection())).thenReturn(List.of(exited));
+        when(containerJobService.tryLock(anyLong(), anyString())).thenReturn(true);
+        when(containerRepository.transitionStatus(eq(1L), eq(ContainerStatus.EXITED), eq(ContainerStatus.STARTING), any()))
+            .thenReturn(0);
+
+        // Act
+        BulkContainerResultDTO result = bulkService.execute(
+            new BulkContainerRequest(ContainerBulkAction.START, List.of(1L)), principal);
+
+        // Assert
+        assertThat(result.getSkipped()).isEqualTo(1);
+        verify(dockerClient, never()).startContainerCmd(any());
+        verify(containerService, never()).applyBulkChanges(any(), any());
+        verify(containerJobService).unlock(eq(1L), anyString());
+    }
+
+    @Test
+    void execute_ShouldRejectInvalidTargetsBeforeTouchingDocker() {
+        // Arrange
+        BulkContainerRequest both = new BulkContainerRequest(ContainerBulkAction.STOP, List.of(1L));
+        both.setSelector(new BulkContainerRequest.Selector());
+        BulkContainerRequest allUsers = new BulkContainerRequest(ContainerBulkAction.STOP, null);
+        allUsers.setSelector(new BulkContainerRequest.Selector());
+        allUsers.getSelector().setAllUsers(true);
+
+        // Act & Assert
+        assertThatThrownBy(() -> bulkService.execute(both, principal))
+            .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> bulkService.execute(allUsers, principal))
+            .isInstanceOf(AccessDeniedException.class)
+            .hasMessageContaining("administrators");
+        verifyNoInteractions(dockerClient, containerService);
+    }
+
+    @Test
+    void execute_LabelSelector_ShouldMatchByRowOwnershipNotTheOwnerLabel() {
+        // Arrange - a container claimed from the warm pool carries no owner label
+        Container claimed = container(1L, ContainerStatus.EXITED);
+        Container unlabelled = container(2L, ContainerStatus.EXITED);
+        when(containerRepository.findByUserId(1L)).thenReturn(List.of(claimed, unlabelled));
+        com.github.dockerjava.api.model.Container listed = mock(com.github.dockerjava.api.model.Container.class);
+        when(listed.getId()).thenReturn("docker-1");
+        when(dockerClient.listContainersCmd().withShowAll(true).withLabelFilter(anyMap()).exec())
+            .thenReturn(List.of(listed));
+
+        BulkContainerRequest request = new BulkContainerRequest(ContainerBulkAction.STOP, null);
+        request.setSelector(new BulkContainerRequest.Selector());
+        request.getSelector().setLabels(Map.of("team", "a"));
+
+        // Act
+        BulkContainerResultDTO result = bulkService.execute(request, principal);
+
+        // Assert
+        assertThat(result.getItems()).extracting(BulkItemResultDTO::getContainerId).containsExactly(1L);
+        verify(dockerClient.listContainersCmd().withShowAll(true))
+            .withLabelFilter(Map.of("team", "a", ContainerLabels.MANAGED, "true"));
+    }
+}
@@ -0,0 +1,166 @@
+// src/test/java/com/platform/service/job/ContainerJobServiceTest.java
+package com.platform.service.job;
+
+import com.platform.dto.request.CreateContainerRequest;
+import com.platform.dto.response.ContainerDTO;
+import com.platform.exception.BadRequestException;
+import com.platform.exception.ContainerBusyException;
+import com.platform.exception.ResourceNotFoundException;
+import com.platform.exception.TooManyRequestsException;
+import com.platform.model.enums.ContainerJobStatus;
+import com.platform.model.enums.UserRole;
+import com.platform.security.jwt.UserPrincipal;
+import com.platform.service.ContainerService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ContainerJobServiceTest {
+
+    @Mock
+    private ContainerService containerService;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private ContainerJobService containerJobService;
+
+    private final UserPrincipal principal =
+        new UserPrincipal(1L, "testuser", "test@example.com", "encoded", UserRole.USER, true);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(containerJobService, "threads", 1);
+        ReflectionTestUtils.setField(containerJobService, "queueCapacity", 1);
+        ReflectionTestUtils.setField(containerJobService, "retryAfterSeconds", 5L);
+        ReflectionTestUtils.setField(containerJobService, "sseTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(containerJobService, "sshReadyTimeoutMs", 0L);
+        containerJobService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        containerJobService.shutdown();
+    }
+
+    private ContainerDTO container(Long id) {
+        ContainerDTO dto = new ContainerDTO();
+        dto.setId(id);
+        return dto;
+    }
+
+    private void awaitStatus(ContainerJob job, ContainerJobStatus... statuses) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!List.of(statuses).contains(job.getStatus()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private void awaitFinished(ContainerJob job) throws InterruptedException {
+        awaitStatus(job, ContainerJobStatus.SUCCEEDED, ContainerJobStatus.FAILED);
+    }
+
+    private ContainerDTO blockUntilReleased() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return container(7L);
+    }
+
+    @Test
+    void submitCreate_ShouldRunCreateOnWorkerAndRecordResult() throws Exception {
+        // Arrange
+        CreateContainerRequest request = new CreateContainerRequest();
+        when(containerService.createContainer(eq(request), eq(principal), any())).thenAnswer(invocation -> {
+            invocation.getArgument(2, ContainerProgressListener.class).onProgress("pulling", "Pulling image");
+            return container(42L);
+        });
+
+        // Act
+        ContainerJob job = containerJobService.submitCreate(request, principal);
+        awaitFinished(job);
+
+        // Assert
+        verify(containerService).validateCreateRequest(request, principal, 0);
+        assertThat(job.getStatus()).isEqualTo(ContainerJobStatus.SUCCEEDED);
+        assertThat(job.getContainerId()).isEqualTo(42L);
+        assertThat(containerJobService.getJob(job.getId(), principal).getResult().getId()).isEqualTo(42L);
+    }
+
+    @Test
+    void submitStop_WhenOperationFails_ShouldMarkJobFailed() throws Exception {
+        // Arrange
+        when(containerService.stopContainer(eq(7L), eq(principal), any()))
+            .thenThrow(new BadRequestException("Failed to stop container: boom"));
+
+        // Act
+        ContainerJob job = containerJobService.submitStop(7L, principal);
+        awaitFinished(job);
+
+        // Assert
+        assertThat(job.getStatus()).isEqualTo(ContainerJobStatus.FAILED);
+        assertThat(job.getError()).isEqualTo("Failed to stop container: boom");
+    }
+
+    @Test
+    void submitStart_WhenContainerBusy_ShouldReject() throws Exception {
+        // Arrange
+        when(containerService.stopContainer(eq(7L), eq(principal), any())).thenAnswer(invocation -> blockUntilReleased());
+        ContainerJob running = containerJobService.submitStop(7L, principal);
+        awaitStatus(running, ContainerJobStatus.RUNNING);
+
+        // Act & Assert
+        assertThatThrownBy(() -> containerJobService.submitStart(7L, principal))
+            .isInstanceOf(ContainerBusyException.class)
+            .hasMessageContaining("already in progress");
+    }
+
+    @Test
+    void submit_WhenQueueFull_ShouldThrowTooManyRequests() throws Exception {
+        // Arrange - one job running, one queued
+        when(containerService.stopContainer(anyLong(), eq(principal), any())).thenAnswer(invocation -> blockUntilReleased());
+        ContainerJob running = containerJobService.submitStop(1L, principal);
+        awaitStatus(running, ContainerJobStatus.RUNNING);
+        containerJobService.submitStop(2L, principal);
+
+        // Act & Assert
+        assertThatThrownBy(() -> containerJobService.submitStop(3L, principal))
+            .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    void getJob_WhenOwnedByAnotherUser_ShouldThrowNotFound() throws Exception {
+        // Arrange
+        when(containerService.stopContainer(eq(7L), eq(principal), any())).thenReturn(container(7L));
+        ContainerJob job = containerJobService.submitStop(7L, principal);
+        awaitFinished(job);
+        UserPrincipal other = new UserPrincipal(2L, "other", "other@example.com", "encoded", UserRole.USER, true);
+
+        // Act & Assert
+        assertThatThrownBy(() -> containerJobService.getJob(job.getId(), other))
+            .isInstanceOf(ResourceNotFoundException.class);
+    }
+}
@@ -0,0 +1,91 @@
+// src/test/java/com/platform/service/stats/CgroupUsageReaderTest.java
+package com.platform.service.stats;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CgroupUsageReaderTest {
+
+    @TempDir
+    Path root;
+
+    private CgroupUsageReader reader;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path cgroupRoot = Files.createDirectories(root.resolve("cgroup"));
+        Files.writeString(cgroupRoot.resolve("cgroup.controllers"), "cpu io memory pids\n");
+
+        Path cgroup = Files.createDirectories(cgroupRoot.resolve("system.slice/docker-abc.scope"));
+        Files.writeString(cgroup.resolve("cpu.stat"),
+            "usage_usec 2500\nuser_usec 2000\nsystem_usec 500\n");
+        Files.writeString(cgroup.resolve("memory.current"), "10485760\n");
+        Files.writeString(cgroup.resolve("memory.stat"),
+            "anon 4194304\nfile 6291456\nactive_file 2097152\ninactive_file 4194304\n");
+        Files.writeString(cgroup.resolve("io.stat"),
+            "8:0 rbytes=1000 wbytes=200 rios=3 wios=1 dbytes=0 dios=0\n"
+            + "8:16 rbytes=24 wbytes=56 rios=1 wios=1 dbytes=0 dios=0\n");
+        Files.writeString(cgroup.resolve("cgroup.procs"), "4242\n4243\n");
+
+        Path proc = Files.createDirectories(root.resolve("proc/4242/net"));
+        Files.writeString(proc.resolve("dev"),
+            "Inter-|   Receive                                                |  Transmit\n"
+            + " face |bytes    packets errs drop fifo frame compressed multicast|bytes    packets errs drop fifo colls carrier compressed\n"
+            + "    lo:    9999      10    0    0    0     0          0         0     9999      10    0    0    0     0       0          0\n"
+            + "  eth0:    1500      12    0    0    0     0          0         0      700       9    0    0    0     0       0          0\n");
+
+        reader = new CgroupUsageReader();
+        ReflectionTestUtils.setField(reader, "enabled", true);
+        ReflectionTestUtils.setField(reader, "cgroupRoot", cgroupRoot.toString());
+        ReflectionTestUtils.setField(reader, "procRoot", root.resolve("proc").toString());
+        reader.init();
+    }
+
+    @Test
+    void read_ShouldParseCgroupAndNetworkCounters() {
+        // Act
+        ContainerUsage usage = reader.read("abc");
+
+        // Assert
+        assertThat(usage).isNotNull();
+        assertThat(usage.cpuNanos()).isEqualTo(2_500_000L);
+        assertThat(usage.memoryBytes()).isEqualTo(6291456L);
+        assertThat(usage.blockReadBytes()).isEqualTo(1024L);
+        assertThat(usage.blockWriteBytes()).isEqualTo(256L);
+        assertThat(usage.rxBytes()).isEqualTo(1500L);
+        assertThat(usage.txBytes()).isEqualTo(700L);
+    }
+
+    @Test
+    void readAll_ShouldLeaveOutContainersWithoutReadableFiles() {
+        // Act
+        Map<String, ContainerUsage> usages = reader.readAll(List.of("abc", "missing"));
+
+        // Assert
+        assertThat(usages).containsOnlyKeys("abc");
+        assertThat(reader.read("missing")).isNull();
+    }
+
+    @Test
+    void init_WithoutUnifiedHierarchy_ShouldBeUnavailable() {
+        // Arrange
+        ReflectionTestUtils.setField(reader, "cgroupRoot", root.resolve("proc").toString());
+
+        // Act
+        reader.init();
+
+        // Assert
+        assertThat(reader.isAvailable()).isFalse();
+        assertThat(reader.readAll(List.of("abc"))).isEmpty();
+    }
+}
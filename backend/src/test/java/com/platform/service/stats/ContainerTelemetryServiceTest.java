@@ -0,0 +1,153 @@
+// src/test/java/com/platform/service/stats/ContainerTelemetryServiceTest.java
+package com.platform.service.stats;
+
+import com.platform.model.enums.ContainerStatus;
+import com.platform.repository.ContainerRepository;
+import com.platform.service.ContainerStateStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ContainerTelemetryServiceTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Mock
+    private ContainerRepository containerRepository;
+
+    @Mock
+    private ContainerStateStore containerStateStore;
+
+    @Mock
+    private ContainerUsageReader usageReader;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private ContainerTelemetryService telemetryService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(telemetryService, "enabled", true);
+        ReflectionTestUtils.setField(telemetryService, "parallelism", 2);
+        ReflectionTestUtils.setField(telemetryService, "rawCapacity", 3);
+        ReflectionTestUtils.setField(telemetryService, "oneMinuteCapacity", 3);
+        ReflectionTestUtils.setField(telemetryService, "fiveMinuteCapacity", 3);
+        telemetryService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        telemetryService.shutdown();
+    }
+
+    private ContainerRepository.ContainerStatusView row(String containerId, ContainerStatus status) {
+        return new ContainerRepository.ContainerStatusView() {
+            @Override
+            public String getContainerId() { return containerId; }
+
+            @Override
+            public Long getUserId() { return 7L; }
+
+            @Override
+            public ContainerStatus getStatus() { return status; }
+
+            @Override
+            public LocalDateTime getUpdatedAt() { return null; }
+        };
+    }
+
+    private ContainerUsage usage(long cpuNanos, long bytes, long atNanos) {
+        return new ContainerUsage(cpuNanos, 64L * 1024 * 1024, bytes, bytes, bytes, bytes, atNanos);
+    }
+
+    @Test
+    void sample_ShouldReadOnlyRunningContainersAndServeRatesFromMemory() {
+        // Arrange - 1 s of CPU and 10 KB each way over 10 s
+        when(containerRepository.findAllStatuses()).thenReturn(List.of(
+            row("running", ContainerStatus.RUNNING),
+            row("stopped", ContainerStatus.EXITED)));
+        when(containerStateStore.get(anyString())).thenReturn(Optional.empty());
+        when(usageReader.readStats("running")).thenReturn(
+            Optional.of(usage(0, 0, 0)),
+            Optional.of(usage(SECOND, 10_240, 10 * SECOND)));
+
+        // Act
+        telemetryService.sample();
+        telemetryService.sample();
+
+        // Assert
+        TelemetrySample current = telemetryService.current("running").orElseThrow();
+        assertThat(current.cpuPercent()).isCloseTo(10.0, within(0.001));
+        assertThat(current.rxBytesPerSecond()).isCloseTo(1024.0, within(0.001));
+        assertThat(current.memoryBytes()).isEqualTo(64L * 1024 * 1024);
+        assertThat(telemetryService.current("stopped")).isEmpty();
+        verify(usageReader, never()).readStats("stopped");
+    }
+
+    @Test
+    void sample_ShouldDropHistoryOfDeletedContainers() {
+        // Arrange
+        when(containerRepository.findAllStatuses()).thenReturn(
+            List.of(row("gone", ContainerStatus.RUNNING)),
+            List.of(row("gone", ContainerStatus.RUNNING)),
+            List.of());
+        when(containerStateStore.get(anyString())).thenReturn(Optional.empty());
+        when(usageReader.readStats("gone")).thenReturn(
+            Optional.of(usage(0, 0, 0)),
+            Optional.of(usage(SECOND, 0, SECOND)));
+        telemetryService.sample();
+        telemetryService.sample();
+        assertThat(telemetryService.current("gone")).isPresent();
+
+        // Act
+        telemetryService.sample();
+
+        // Assert
+        assertThat(telemetryService.current("gone")).isEmpty();
+        assertThat(telemetryService.history("gone", TelemetryResolution.RAW, 0)).isEmpty();
+    }
+
+    @Test
+    void record_ShouldKeepTheNewestRawSamplesAndAverageCompletedMinutes() {
+        // Arrange - baseline, then one sample per 20 s from 00:00:00 to 00:01:20
+        ContainerTelemetry telemetry = new ContainerTelemetry(3, 3, 3);
+        telemetry.record(usage(0, 0, 0), 0);
+
+        // Act - CPU doubles each minute: 10% in the first, 20% in the second
+        for (int i = 1; i <= 5; i++) {
+            long cpuPerSample = (i <= 3 ? 2 : 4) * SECOND;
+            long cpu = i <= 3 ? i * cpuPerSample : 3 * 2 * SECOND + (i - 3) * cpuPerSample;
+            telemetry.record(usage(cpu, i * 1000L, i * 20 * SECOND), (i - 1) * 20_000L);
+        }
+
+        // Assert
+        assertThat(telemetry.history(TelemetryResolution.RAW, 0))
+            .extracting(TelemetrySample::timestamp)
+            .containsExactly(40_000L, 60_000L, 80_000L);
+        List<TelemetrySample> minutes = telemetry.history(TelemetryResolution.ONE_MINUTE, 0);
+        assertThat(minutes).hasSize(1);
+        assertThat(minutes.get(0).timestamp()).isZero();
+        assertThat(minutes.get(0).cpuPercent()).isCloseTo(10.0, within(0.001));
+        assertThat(telemetry.history(TelemetryResolution.FIVE_MINUTES, 0)).isEmpty();
+        assertThat(telemetry.record(usage(0, 0, 200 * SECOND), 120_000L)).isFalse();
+    }
+}
@@ -119,14 +119,22 @@ const Containers: React.FC = () => {
     }
   };
 
-  const getStatusColor = (running: boolean) => {
-    return running 
-      ? 'bg-green-400 animate-pulse' 
-      : 'bg-red-400';
+  // Paused and hibernated containers were idle; starting them resumes where they left off
+  const getStatusColor = (container: Container) => {
+    if (container.running) return 'bg-green-400 animate-pulse';
+    if (container.status === 'PAUSED' || container.status === 'HIBERNATED') return 'bg-yellow-400';
+    if (['STARTING', 'STOPPING', 'REMOVING'].includes(container.status)) return 'bg-yellow-400 animate-pulse';
+    return 'bg-red-400';
   };
 
-  const getStatusText = (running: boolean) => {
-    return running ? 'Running' : 'Stopped';
+  const getStatusText = (container: Container) => {
+    if (container.running) return 'Running';
+    if (container.status === 'PAUSED') return 'Paused (idle)';
+    if (container.status === 'HIBERNATED') return 'Hibernated';
+    if (container.status === 'STARTING') return 'Starting...';
+    if (container.status === 'STOPPING') return 'Stopping...';
+    if (container.status === 'REMOVING') return 'Removing...';
+    return 'Stopped';
   };
 
   if (loading) {
@@ -239,8 +247,8 @@ const Containers: React.FC = () => {
                     </div>
                   </div>
                   <div className="flex items-center space-x-2">
-                    <div className={`w-3 h-3 rounded-full ${getStatusColor(container.running)}`}></div>
-                    <span className="text-sm text-gray-400">{getStatusText(container.running)}</span>
+                    <div className={`w-3 h-3 rounded-full ${getStatusColor(container)}`}></div>
+                    <span className="text-sm text-gray-400">{getStatusText(container)}</span>
                   </div>
                 </div>
 
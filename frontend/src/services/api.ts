@@ -47,6 +47,20 @@ export const authApi = {
   },
 };
 
+// Container lifecycle calls return 202 with a job; poll it until it finishes
+const awaitJob = async (job: any, intervalMs: number = 1000) => {
+  while (job.status === 'QUEUED' || job.status === 'RUNNING') {
+    await new Promise((resolve) => setTimeout(resolve, intervalMs));
+    const response = await api.get(`/containers/jobs/${job.id}`);
+    job = response.data;
+  }
+  if (job.status === 'FAILED') {
+    // Same shape as an axios error so callers can keep reading error.response.data.message
+    return Promise.reject({ response: { data: { message: job.error } } });
+  }
+  return job.container ?? job;
+};
+
 // Container API
 export const containerApi = {
   getContainers: async () => {
@@ -55,19 +69,19 @@ export const containerApi = {
   },
   createContainer: async (containerData: any) => {
     const response = await api.post('/containers', containerData);
-    return response.data;
+    return awaitJob(response.data);
   },
   startContainer: async (id: number) => {
     const response = await api.post(`/containers/${id}/start`);
-    return response.data;
+    return awaitJob(response.data);
   },
   stopContainer: async (id: number) => {
     const response = await api.post(`/containers/${id}/stop`);
-    return response.data;
+    return awaitJob(response.data);
   },
   deleteContainer: async (id: number) => {
     const response = await api.delete(`/containers/${id}`);
-    return response.data;
+    return awaitJob(response.data);
   },
   getContainerLogs: async (id: number, lines: number = 100) => {
     const response = await api.get(`/containers/${id}/logs?lines=${lines}`);
@@ -2,6 +2,7 @@ package api
 
 import (
 	"encoding/json"
+	"errors"
 	"fmt"
 	"net/http"
 	"strings"
@@ -35,18 +36,32 @@ type AuthResponse struct {
 
 // Client handles communication with Spring Boot API
 type Client struct {
-	baseURL    string
-	httpClient *http.Client
+	baseURL             string
+	httpClient          *http.Client
+	keySet              *KeySet
+	introspectionSecret string
+	introspector        *introspectBatcher
 }
 
-// NewClient creates a new API client
-func NewClient(baseURL string) *Client {
-	return &Client{
-		baseURL: baseURL,
-		httpClient: &http.Client{
-			Timeout: 10 * time.Second,
-		},
+// NewClient creates a new API client.
+// introspectionSecret authenticates the gateway to the backend's token introspection, gateway
+// login and session activity endpoints.
+func NewClient(baseURL, introspectionSecret string) *Client {
+	httpClient := &http.Client{
+		Timeout: 10 * time.Second,
 	}
+
+	// The JWKS document is served from the backend root, not under /api
+	jwksURL := strings.TrimSuffix(strings.TrimSuffix(baseURL, "/"), "/api") + "/.well-known/jwks.json"
+
+	c := &Client{
+		baseURL:             baseURL,
+		httpClient:          httpClient,
+		keySet:              NewKeySet(jwksURL, httpClient, 5*time.Minute),
+		introspectionSecret: introspectionSecret,
+	}
+	c.introspector = newIntrospectBatcher(c.IntrospectTokens, introspectBatchWindow, introspectBatchSize)
+	return c
 }
 
 // Authenticate authenticates user credentials with the Spring Boot API
@@ -61,7 +76,15 @@ func (c *Client) Authenticate(username, password string) (string, int, error) {
 		return "", 0, fmt.Errorf("failed to marshal auth request: %v", err)
 	}
 
-	resp, err := http.Post(c.baseURL+"/auth/login", "application/json", strings.NewReader(string(jsonData)))
+	req, err := http.NewRequest("POST", c.baseURL+"/auth/gateway/login", strings.NewReader(string(jsonData)))
+	if err != nil {
+		return "", 0, fmt.Errorf("failed to create auth request: %v", err)
+	}
+	req.Header.Set("Content-Type", "application/json")
+	// The gateway login endpoint only answers the gateway
+	req.Header.Set("X-Gateway-Secret", c.introspectionSecret)
+
+	resp, err := c.httpClient.Do(req)
 	if err != nil {
 		return "", 0, fmt.Errorf("failed to send auth request: %v", err)
 	}
@@ -107,23 +130,159 @@ func (c *Client) GetUserContainers(token string) ([]Container, error) {
 	return containers, nil
 }
 
-// ValidateToken validates if a token is still valid
-func (c *Client) ValidateToken(token string) error {
-	req, err := http.NewRequest("GET", c.baseURL+"/auth/validate-token", nil)
+// ConnectContainer tells the backend a session is about to be proxied to the container.
+// A container paused or hibernated for being idle is resumed first, which can take longer
+// than other calls, and may come back on a different SSH port. While another session or a
+// start job is already resuming it the backend answers 409, and the call is retried.
+func (c *Client) ConnectContainer(token string, containerID int) (*Container, error) {
+	deadline := time.Now().Add(connectTimeout)
+	for {
+		container, busy, err := c.connectOnce(token, containerID, time.Until(deadline))
+		if !busy || time.Now().Add(connectRetryDelay).After(deadline) {
+			return container, err
+		}
+		time.Sleep(connectRetryDelay)
+	}
+}
+
+const (
+	connectTimeout    = 2 * time.Minute
+	connectRetryDelay = 2 * time.Second
+)
+
+func (c *Client) connectOnce(token string, containerID int, timeout time.Duration) (*Container, bool, error) {
+	url := fmt.Sprintf("%s/containers/%d/connect", c.baseURL, containerID)
+
+	req, err := http.NewRequest("POST", url, nil)
 	if err != nil {
-		return fmt.Errorf("failed to create validate request: %v", err)
+		return nil, false, fmt.Errorf("failed to create connect request: %v", err)
 	}
 
 	req.Header.Set("Authorization", "Bearer "+token)
 
-	resp, err := c.httpClient.Do(req)
+	client := *c.httpClient
+	client.Timeout = timeout
+	resp, err := client.Do(req)
+	if err != nil {
+		return nil, false, fmt.Errorf("failed to connect container: %v", err)
+	}
+	defer resp.Body.Close()
+
+	if resp.StatusCode == http.StatusConflict {
+		return nil, true, fmt.Errorf("failed to connect container: still being resumed")
+	}
+	if resp.StatusCode != http.StatusOK {
+		return nil, false, fmt.Errorf("failed to connect container: status %d", resp.StatusCode)
+	}
+
+	var container Container
+	if err := json.NewDecoder(resp.Body).Decode(&container); err != nil {
+		return nil, false, fmt.Errorf("failed to decode connect response: %v", err)
+	}
+
+	return &container, false, nil
+}
+
+// ValidateToken validates if a token is still valid.
+// RS256 tokens are verified locally against the backend JWKS; the API is only called
+// when the key set cannot be fetched or the token is not locally verifiable.
+func (c *Client) ValidateToken(token string) error {
+	_, err := c.keySet.Verify(token)
+	if err == nil {
+		return nil
+	}
+	if !errors.Is(err, ErrKeySetUnavailable) && !errors.Is(err, ErrUnsupportedToken) {
+		return fmt.Errorf("token validation failed: %v", err)
+	}
+
+	return c.validateTokenRemote(token)
+}
+
+// Concurrent sessions share introspection requests through the batcher
+func (c *Client) validateTokenRemote(token string) error {
+	status, err := c.introspector.Introspect(token)
 	if err != nil {
 		return fmt.Errorf("failed to validate token: %v", err)
 	}
+	if !status.Active {
+		return fmt.Errorf("token validation failed: token is not active")
+	}
+
+	return nil
+}
+
+// TokenStatus is the backend's view of a single introspected token
+type TokenStatus struct {
+	Active    bool   `json:"active"`
+	Subject   string `json:"subject"`
+	UserID    int64  `json:"userId"`
+	ExpiresAt int64  `json:"expiresAt"`
+}
+
+// IntrospectTokens checks a batch of tokens in one request.
+// Results are returned in the same order as the tokens.
+func (c *Client) IntrospectTokens(tokens []string) ([]TokenStatus, error) {
+	jsonData, err := json.Marshal(map[string][]string{"tokens": tokens})
+	if err != nil {
+		return nil, fmt.Errorf("failed to marshal introspect request: %v", err)
+	}
+
+	req, err := http.NewRequest("POST", c.baseURL+"/auth/introspect", strings.NewReader(string(jsonData)))
+	if err != nil {
+		return nil, fmt.Errorf("failed to create introspect request: %v", err)
+	}
+
+	req.Header.Set("Content-Type", "application/json")
+	req.Header.Set("X-Gateway-Secret", c.introspectionSecret)
+
+	resp, err := c.httpClient.Do(req)
+	if err != nil {
+		return nil, fmt.Errorf("failed to send introspect request: %v", err)
+	}
 	defer resp.Body.Close()
 
 	if resp.StatusCode != http.StatusOK {
-		return fmt.Errorf("token validation failed: status %d", resp.StatusCode)
+		return nil, fmt.Errorf("introspection failed with status: %d", resp.StatusCode)
+	}
+
+	var introspectResp struct {
+		Results []TokenStatus `json:"results"`
+	}
+	if err := json.NewDecoder(resp.Body).Decode(&introspectResp); err != nil {
+		return nil, fmt.Errorf("failed to decode introspect response: %v", err)
+	}
+	if len(introspectResp.Results) != len(tokens) {
+		return nil, fmt.Errorf("introspection returned %d results for %d tokens", len(introspectResp.Results), len(tokens))
+	}
+
+	return introspectResp.Results, nil
+}
+
+// ReportSessionActivity tells the backend which containers still have a session proxied to
+// them, so quiet sessions are not taken for idle containers. It is authenticated with the
+// gateway secret rather than a user token, since a session can outlive the token it began with.
+func (c *Client) ReportSessionActivity(containerIDs []int) error {
+	jsonData, err := json.Marshal(map[string][]int{"containerIds": containerIDs})
+	if err != nil {
+		return fmt.Errorf("failed to marshal activity request: %v", err)
+	}
+
+	req, err := http.NewRequest("POST", c.baseURL+"/containers/activity", strings.NewReader(string(jsonData)))
+	if err != nil {
+		return fmt.Errorf("failed to create activity request: %v", err)
+	}
+
+	req.Header.Set("Content-Type", "application/json")
+	req.Header.Set("X-Gateway-Secret", c.introspectionSecret)
+
+	resp, err := c.httpClient.Do(req)
+	if err != nil {
+		return fmt.Errorf("failed to send activity request: %v", err)
+	}
+	defer resp.Body.Close()
+
+	if resp.StatusCode != http.StatusNoContent {
+		return fmt.Errorf("activity report failed with status: %d", resp.StatusCode)
 	}
 
 	return nil
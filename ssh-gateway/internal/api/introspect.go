@@ -0,0 +1,109 @@
+package api
+
+import (
+	"fmt"
+	"sync"
+	"time"
+)
+
+const (
+	// How long the first token of a batch waits for others to join it
+	introspectBatchWindow = 20 * time.Millisecond
+	// The backend accepts at most 100 tokens per request
+	introspectBatchSize = 100
+)
+
+type introspectFunc func(tokens []string) ([]TokenStatus, error)
+
+type introspectCall struct {
+	token  string
+	result chan introspectResult
+}
+
+type introspectResult struct {
+	status TokenStatus
+	err    error
+}
+
+// introspectBatcher collects tokens validated at about the same time into one introspection request.
+// A batch is sent once it is full or its window has passed, whichever comes first.
+type introspectBatcher struct {
+	introspect introspectFunc
+	window     time.Duration
+	maxSize    int
+
+	mu      sync.Mutex
+	pending []introspectCall
+	timer   *time.Timer
+}
+
+func newIntrospectBatcher(introspect introspectFunc, window time.Duration, maxSize int) *introspectBatcher {
+	return &introspectBatcher{
+		introspect: introspect,
+		window:     window,
+		maxSize:    maxSize,
+	}
+}
+
+// Introspect queues the token and blocks until the batch it joined has been answered
+func (b *introspectBatcher) Introspect(token string) (TokenStatus, error) {
+	call := introspectCall{token: token, result: make(chan introspectResult, 1)}
+
+	b.mu.Lock()
+	b.pending = append(b.pending, call)
+	if len(b.pending) >= b.maxSize {
+		batch := b.takeLocked()
+		b.mu.Unlock()
+		go b.send(batch)
+	} else {
+		if len(b.pending) == 1 {
+			b.timer = time.AfterFunc(b.window, b.flush)
+		}
+		b.mu.Unlock()
+	}
+
+	result := <-call.result
+	return result.status, result.err
+}
+
+func (b *introspectBatcher) flush() {
+	b.mu.Lock()
+	batch := b.takeLocked()
+	b.mu.Unlock()
+	b.send(batch)
+}
+
+func (b *introspectBatcher) takeLocked() []introspectCall {
+	batch := b.pending
+	b.pending = nil
+	if b.timer != nil {
+		// A timer that already fired finds nothing pending or sends the next batch a little early
+		b.timer.Stop()
+		b.timer = nil
+	}
+	return batch
+}
+
+func (b *introspectBatcher) send(batch []introspectCall) {
+	if len(batch) == 0 {
+		return
+	}
+
+	tokens := make([]string, len(batch))
+	for i, call := range batch {
+		tokens[i] = call.token
+	}
+
+	results, err := b.introspect(tokens)
+	if err == nil && len(results) != len(batch) {
+		// Results are matched to tokens by position, so a short or long answer matches none
+		err = fmt.Errorf("introspection returned %d results for %d tokens", len(results), len(batch))
+	}
+	for i, call := range batch {
+		if err != nil {
+			call.result <- introspectResult{err: err}
+			continue
+		}
+		call.result <- introspectResult{status: results[i]}
+	}
+}
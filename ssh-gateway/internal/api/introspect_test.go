@@ -0,0 +1,90 @@
+package api
+
+import (
+	"errors"
+	"sync"
+	"testing"
+	"time"
+)
+
+func TestIntrospectBatcherSendsConcurrentTokensTogether(t *testing.T) {
+	var mu sync.Mutex
+	var batches [][]string
+	batcher := newIntrospectBatcher(func(tokens []string) ([]TokenStatus, error) {
+		mu.Lock()
+		batches = append(batches, tokens)
+		mu.Unlock()
+
+		results := make([]TokenStatus, len(tokens))
+		for i, token := range tokens {
+			results[i] = TokenStatus{Active: token != "revoked", Subject: token}
+		}
+		return results, nil
+	}, 50*time.Millisecond, 100)
+
+	tokens := []string{"a", "b", "revoked"}
+	statuses := make([]TokenStatus, len(tokens))
+	var wg sync.WaitGroup
+	for i, token := range tokens {
+		wg.Add(1)
+		go func(i int, token string) {
+			defer wg.Done()
+			status, err := batcher.Introspect(token)
+			if err != nil {
+				t.Errorf("unexpected error: %v", err)
+			}
+			statuses[i] = status
+		}(i, token)
+	}
+	wg.Wait()
+
+	if len(batches) != 1 || len(batches[0]) != 3 {
+		t.Fatalf("expected one batch of 3 tokens, got %v", batches)
+	}
+	for i, token := range tokens {
+		if statuses[i].Subject != token {
+			t.Errorf("token %s got the result for %s", token, statuses[i].Subject)
+		}
+	}
+	if statuses[2].Active {
+		t.Errorf("expected the revoked token to be inactive")
+	}
+}
+
+func TestIntrospectBatcherSendsFullBatchWithoutWaiting(t *testing.T) {
+	batcher := newIntrospectBatcher(func(tokens []string) ([]TokenStatus, error) {
+		return make([]TokenStatus, len(tokens)), nil
+	}, time.Hour, 1)
+
+	done := make(chan struct{})
+	go func() {
+		batcher.Introspect("a")
+		close(done)
+	}()
+
+	select {
+	case <-done:
+	case <-time.After(time.Second):
+		t.Fatal("a full batch should be sent without waiting for the window")
+	}
+}
+
+func TestIntrospectBatcherReportsErrorToEveryCaller(t *testing.T) {
+	batcher := newIntrospectBatcher(func(tokens []string) ([]TokenStatus, error) {
+		return nil, errors.New("backend down")
+	}, time.Millisecond, 100)
+
+	if _, err := batcher.Introspect("a"); err == nil {
+		t.Fatal("expected the backend error")
+	}
+}
+
+func TestIntrospectBatcherFailsBatchOnResultCountMismatch(t *testing.T) {
+	batcher := newIntrospectBatcher(func(tokens []string) ([]TokenStatus, error) {
+		return nil, nil
+	}, time.Millisecond, 100)
+
+	if _, err := batcher.Introspect("a"); err == nil {
+		t.Fatal("expected an error when the backend returns fewer results than tokens")
+	}
+}
@@ -0,0 +1,205 @@
+package api
+
+import (
+	"crypto"
+	"crypto/rsa"
+	"crypto/sha256"
+	"encoding/base64"
+	"encoding/json"
+	"errors"
+	"fmt"
+	"math/big"
+	"net/http"
+	"strings"
+	"sync"
+	"time"
+)
+
+var (
+	// ErrKeySetUnavailable is returned when the backend JWKS document cannot be fetched
+	ErrKeySetUnavailable = errors.New("jwks unavailable")
+	// ErrUnsupportedToken is returned for tokens that cannot be verified locally (e.g. HS256)
+	ErrUnsupportedToken = errors.New("token not locally verifiable")
+)
+
+// TokenClaims holds the access token claims the gateway needs
+type TokenClaims struct {
+	Subject   string `json:"sub"`
+	UserID    int64  `json:"userId"`
+	Type      string `json:"type"`
+	ExpiresAt int64  `json:"exp"`
+}
+
+type jwk struct {
+	Kty string `json:"kty"`
+	Kid string `json:"kid"`
+	N   string `json:"n"`
+	E   string `json:"e"`
+}
+
+// KeySet caches the backend's RSA verification keys so tokens can be checked locally
+type KeySet struct {
+	url        string
+	httpClient *http.Client
+	ttl        time.Duration
+	minRefresh time.Duration
+
+	mu          sync.RWMutex
+	keys        map[string]*rsa.PublicKey
+	fetchedAt   time.Time
+	lastAttempt time.Time
+}
+
+// NewKeySet creates a key set backed by the given JWKS URL
+func NewKeySet(url string, httpClient *http.Client, ttl time.Duration) *KeySet {
+	return &KeySet{
+		url:        url,
+		httpClient: httpClient,
+		ttl:        ttl,
+		minRefresh: 30 * time.Second,
+		keys:       map[string]*rsa.PublicKey{},
+	}
+}
+
+// Verify checks an RS256 token signature and expiry against the cached keys
+func (ks *KeySet) Verify(token string) (*TokenClaims, error) {
+	parts := strings.Split(token, ".")
+	if len(parts) != 3 {
+		return nil, fmt.Errorf("malformed token")
+	}
+
+	var header struct {
+		Alg string `json:"alg"`
+		Kid string `json:"kid"`
+	}
+	if err := decodeSegment(parts[0], &header); err != nil {
+		return nil, fmt.Errorf("invalid token header: %v", err)
+	}
+	if header.Alg != "RS256" || header.Kid == "" {
+		return nil, fmt.Errorf("%w: alg %s", ErrUnsupportedToken, header.Alg)
+	}
+
+	key, err := ks.key(header.Kid)
+	if err != nil {
+		return nil, err
+	}
+
+	signature, err := base64.RawURLEncoding.DecodeString(parts[2])
+	if err != nil {
+		return nil, fmt.Errorf("invalid token signature encoding: %v", err)
+	}
+	digest := sha256.Sum256([]byte(parts[0] + "." + parts[1]))
+	if err := rsa.VerifyPKCS1v15(key, crypto.SHA256, digest[:], signature); err != nil {
+		return nil, fmt.Errorf("invalid token signature")
+	}
+
+	var claims TokenClaims
+	if err := decodeSegment(parts[1], &claims); err != nil {
+		return nil, fmt.Errorf("invalid token claims: %v", err)
+	}
+	if claims.ExpiresAt <= time.Now().Unix() {
+		return nil, fmt.Errorf("token expired")
+	}
+	if claims.Type != "access" {
+		return nil, fmt.Errorf("not an access token")
+	}
+
+	return &claims, nil
+}
+
+// key returns the public key for kid, refreshing the set when it is stale or the kid is unknown
+func (ks *KeySet) key(kid string) (*rsa.PublicKey, error) {
+	ks.mu.RLock()
+	key, ok := ks.keys[kid]
+	fresh := time.Since(ks.fetchedAt) < ks.ttl
+	ks.mu.RUnlock()
+
+	if ok && fresh {
+		return key, nil
+	}
+
+	refreshed, err := ks.refresh()
+	if err != nil {
+		if ok {
+			// Keep using a known key while the backend is unreachable
+			return key, nil
+		}
+		return nil, err
+	}
+
+	ks.mu.RLock()
+	defer ks.mu.RUnlock()
+	key, ok = ks.keys[kid]
+	if !ok {
+		if !refreshed {
+			// Throttled: the key may have been published since the last fetch, so the
+			// caller falls back to introspection instead of rejecting the token
+			return nil, fmt.Errorf("%w: signing key %s not fetched yet", ErrKeySetUnavailable, kid)
+		}
+		return nil, fmt.Errorf("unknown signing key: %s", kid)
+	}
+	return key, nil
+}
+
+// refresh fetches the key set unless the previous attempt was less than minRefresh ago,
+// and reports whether it did
+func (ks *KeySet) refresh() (bool, error) {
+	ks.mu.Lock()
+	if time.Since(ks.lastAttempt) < ks.minRefresh {
+		ks.mu.Unlock()
+		return false, nil
+	}
+	ks.lastAttempt = time.Now()
+	ks.mu.Unlock()
+
+	resp, err := ks.httpClient.Get(ks.url)
+	if err != nil {
+		return false, fmt.Errorf("%w: %v", ErrKeySetUnavailable, err)
+	}
+	defer resp.Body.Close()
+
+	if resp.StatusCode != http.StatusOK {
+		return false, fmt.Errorf("%w: status %d", ErrKeySetUnavailable, resp.StatusCode)
+	}
+
+	var document struct {
+		Keys []jwk `json:"keys"`
+	}
+	if err := json.NewDecoder(resp.Body).Decode(&document); err != nil {
+		return false, fmt.Errorf("%w: %v", ErrKeySetUnavailable, err)
+	}
+
+	keys := make(map[string]*rsa.PublicKey, len(document.Keys))
+	for _, k := range document.Keys {
+		if k.Kty != "RSA" {
+			continue
+		}
+		n, err := base64.RawURLEncoding.DecodeString(k.N)
+		if err != nil {
+			continue
+		}
+		e, err := base64.RawURLEncoding.DecodeString(k.E)
+		if err != nil {
+			continue
+		}
+		keys[k.Kid] = &rsa.PublicKey{
+			N: new(big.Int).SetBytes(n),
+			E: int(new(big.Int).SetBytes(e).Int64()),
+		}
+	}
+
+	ks.mu.Lock()
+	ks.keys = keys
+	ks.fetchedAt = time.Now()
+	ks.mu.Unlock()
+
+	return true, nil
+}
+
+func decodeSegment(segment string, v interface{}) error {
+	data, err := base64.RawURLEncoding.DecodeString(segment)
+	if err != nil {
+		return err
+	}
+	return json.Unmarshal(data, v)
+}
@@ -0,0 +1,48 @@
+package api
+
+import (
+	"crypto/rand"
+	"crypto/rsa"
+	"encoding/base64"
+	"encoding/json"
+	"errors"
+	"math/big"
+	"net/http"
+	"net/http/httptest"
+	"testing"
+	"time"
+)
+
+func TestKeySetFallsBackWhenRefreshOfUnknownKidIsThrottled(t *testing.T) {
+	privateKey, err := rsa.GenerateKey(rand.Reader, 2048)
+	if err != nil {
+		t.Fatal(err)
+	}
+	published := "key-1"
+	server := httptest.NewServer(http.HandlerFunc(func(w http.ResponseWriter, r *http.Request) {
+		json.NewEncoder(w).Encode(map[string][]jwk{"keys": {{
+			Kty: "RSA",
+			Kid: published,
+			N:   base64.RawURLEncoding.EncodeToString(privateKey.N.Bytes()),
+			E:   base64.RawURLEncoding.EncodeToString(big.NewInt(int64(privateKey.E)).Bytes()),
+		}}})
+	}))
+	defer server.Close()
+
+	ks := NewKeySet(server.URL, server.Client(), 5*time.Minute)
+	if _, err := ks.key("key-1"); err != nil {
+		t.Fatalf("unexpected error for a published key: %v", err)
+	}
+
+	// Rotated on the backend within minRefresh of the last fetch
+	published = "key-2"
+	if _, err := ks.key("key-2"); !errors.Is(err, ErrKeySetUnavailable) {
+		t.Fatalf("expected ErrKeySetUnavailable while the refresh is throttled, got %v", err)
+	}
+
+	// A fetched set that still lacks the kid is a hard failure
+	ks.minRefresh = 0
+	if _, err := ks.key("key-3"); err == nil || errors.Is(err, ErrKeySetUnavailable) {
+		t.Fatalf("expected an unknown signing key error after a refresh, got %v", err)
+	}
+}
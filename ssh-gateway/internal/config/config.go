@@ -10,8 +10,14 @@ type Config struct {
 	APIBaseURL  string `json:"api_base_url"`
 	JWTSecret   string `json:"jwt_secret"`
 	HostKeyPath string `json:"host_key_path"`
+	// Must match jwt.introspection.client-secret on the backend; GATEWAY_INTROSPECTION_SECRET
+	// overrides the file. Left empty, the backend refuses the gateway-only endpoints
+	IntrospectionSecret string `json:"introspection_secret"`
 }
 
+// introspectionSecretEnv keeps the secret out of config.json
+const introspectionSecretEnv = "GATEWAY_INTROSPECTION_SECRET"
+
 func DefaultConfig() Config {
 	return Config{
 		SSHPort:     2222,
@@ -22,6 +28,18 @@ func DefaultConfig() Config {
 }
 
 func LoadConfig(filePath string) (Config, error) {
+	config, err := loadFile(filePath)
+	if err != nil {
+		return Config{}, err
+	}
+
+	if secret := os.Getenv(introspectionSecretEnv); secret != "" {
+		config.IntrospectionSecret = secret
+	}
+	return config, nil
+}
+
+func loadFile(filePath string) (Config, error) {
 	if _, err := os.Stat(filePath); os.IsNotExist(err) {
 		return DefaultConfig(), nil
 	}
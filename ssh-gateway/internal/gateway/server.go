@@ -18,6 +18,7 @@ type Server struct {
 	config    config.Config
 	hostKey   ssh.Signer
 	apiClient *api.Client
+	sessions  *sessionTracker
 }
 
 // NewServer creates a new SSH gateway server
@@ -25,7 +26,8 @@ func NewServer(cfg config.Config, hostKey ssh.Signer) *Server {
 	return &Server{
 		config:    cfg,
 		hostKey:   hostKey,
-		apiClient: api.NewClient(cfg.APIBaseURL),
+		apiClient: api.NewClient(cfg.APIBaseURL, cfg.IntrospectionSecret),
+		sessions:  newSessionTracker(),
 	}
 }
 
@@ -43,6 +45,10 @@ func (s *Server) Start() error {
 	}
 	defer listener.Close()
 
+	stop := make(chan struct{})
+	defer close(stop)
+	go s.sessions.run(s.apiClient.ReportSessionActivity, activityReportInterval, stop)
+
 	log.Printf("SSH Gateway listening on :%d", s.config.SSHPort)
 
 	for {
@@ -227,6 +233,17 @@ func (s *Server) startContainerSelection(channel ssh.Channel, containers []api.C
 
 				selectedContainer := containers[containerIndex-1]
 
+				// Idle containers are paused or hibernated; connecting resumes them
+				if isResumable(selectedContainer) {
+					channel.Write([]byte(fmt.Sprintf("\r\nResuming container '%s'...\r\n", selectedContainer.Name)))
+				}
+				connected, err := s.apiClient.ConnectContainer(token, selectedContainer.ID)
+				if err != nil {
+					log.Printf("Connect failed for container %d: %v", selectedContainer.ID, err)
+				} else {
+					selectedContainer = *connected
+				}
+
 				// Check if container is running
 				if !selectedContainer.Running {
 					channel.Write([]byte(fmt.Sprintf("\r\nContainer '%s' is not running. Please start it first.\r\n", selectedContainer.Name)))
@@ -238,6 +255,8 @@ func (s *Server) startContainerSelection(channel ssh.Channel, containers []api.C
 				// Create proxy to container
 				proxy := NewProxy()
 				channel.Write([]byte(fmt.Sprintf("\r\nConnecting to container '%s'...\r\n", selectedContainer.Name)))
+				done := s.sessions.add(selectedContainer.ID)
+				defer done()
 				proxy.ProxyToContainer(channel, selectedContainer, username)
 				return
 
@@ -271,12 +290,19 @@ func (s *Server) showContainerMenu(channel ssh.Channel, containers []api.Contain
 		status := "Stopped"
 		if container.Running {
 			status = "Running"
+		} else if isResumable(container) {
+			status = "Idle, resumes on connect"
 		}
 		channel.Write([]byte(fmt.Sprintf("%d. %s (%s) - %s - Port: %d\r\n",
 			i+1, container.Name, container.ContainerID[:12], status, container.SSHPort)))
 	}
 }
 
+// isResumable reports whether the backend paused or hibernated the container for being idle
+func isResumable(container api.Container) bool {
+	return container.Status == "PAUSED" || container.Status == "HIBERNATED"
+}
+
 // handleDirectTCPIP handles port forwarding
 func (s *Server) handleDirectTCPIP(sshConn *ssh.ServerConn, newChannel ssh.NewChannel) {
 	// Port forwarding implementation could go here
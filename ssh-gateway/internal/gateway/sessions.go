@@ -0,0 +1,76 @@
+package gateway
+
+import (
+	"log"
+	"sort"
+	"sync"
+	"time"
+)
+
+// activityReportInterval must stay well below the backend's container-idle.pause-after-minutes
+const activityReportInterval = 5 * time.Minute
+
+// sessionTracker counts the sessions proxied to each container. The backend only sees the
+// connect call at the start of a session, so the open ones are reported on an interval;
+// otherwise a session left quiet would have its container paused under it.
+type sessionTracker struct {
+	mu   sync.Mutex
+	open map[int]int
+}
+
+func newSessionTracker() *sessionTracker {
+	return &sessionTracker{open: make(map[int]int)}
+}
+
+// add registers a session to the container; the returned func ends it
+func (t *sessionTracker) add(containerID int) func() {
+	t.mu.Lock()
+	t.open[containerID]++
+	t.mu.Unlock()
+
+	var once sync.Once
+	return func() {
+		once.Do(func() {
+			t.mu.Lock()
+			defer t.mu.Unlock()
+			if t.open[containerID]--; t.open[containerID] <= 0 {
+				delete(t.open, containerID)
+			}
+		})
+	}
+}
+
+// containers returns the ids of the containers with at least one open session
+func (t *sessionTracker) containers() []int {
+	t.mu.Lock()
+	defer t.mu.Unlock()
+
+	ids := make([]int, 0, len(t.open))
+	for id := range t.open {
+		ids = append(ids, id)
+	}
+	sort.Ints(ids)
+	return ids
+}
+
+// run reports the open sessions on every tick until stop is closed. A failed report is not
+// retried; the next one covers it, as long as the interval leaves room for that.
+func (t *sessionTracker) run(report func([]int) error, interval time.Duration, stop <-chan struct{}) {
+	ticker := time.NewTicker(interval)
+	defer ticker.Stop()
+
+	for {
+		select {
+		case <-stop:
+			return
+		case <-ticker.C:
+			ids := t.containers()
+			if len(ids) == 0 {
+				continue
+			}
+			if err := report(ids); err != nil {
+				log.Printf("Failed to report activity of %d containers: %v", len(ids), err)
+			}
+		}
+	}
+}
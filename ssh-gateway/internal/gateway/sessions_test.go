@@ -0,0 +1,57 @@
+package gateway
+
+import (
+	"reflect"
+	"testing"
+	"time"
+)
+
+func TestSessionTrackerReportsContainersWhileASessionIsOpen(t *testing.T) {
+	tracker := newSessionTracker()
+	endFirst := tracker.add(7)
+	endSecond := tracker.add(7)
+	endOther := tracker.add(3)
+
+	endFirst()
+	endFirst() // ending twice must not close the other session to 7
+	endOther()
+
+	if got := tracker.containers(); !reflect.DeepEqual(got, []int{7}) {
+		t.Fatalf("expected [7] while one session is open, got %v", got)
+	}
+
+	endSecond()
+	if got := tracker.containers(); len(got) != 0 {
+		t.Fatalf("expected no containers after all sessions ended, got %v", got)
+	}
+}
+
+func TestSessionTrackerRunSkipsEmptyReports(t *testing.T) {
+	tracker := newSessionTracker()
+	reports := make(chan []int, 10)
+	stop := make(chan struct{})
+	defer close(stop)
+
+	go tracker.run(func(ids []int) error {
+		reports <- ids
+		return nil
+	}, 10*time.Millisecond, stop)
+
+	time.Sleep(30 * time.Millisecond)
+	select {
+	case ids := <-reports:
+		t.Fatalf("expected no report without open sessions, got %v", ids)
+	default:
+	}
+
+	end := tracker.add(5)
+	defer end()
+	select {
+	case ids := <-reports:
+		if !reflect.DeepEqual(ids, []int{5}) {
+			t.Fatalf("expected [5], got %v", ids)
+		}
+	case <-time.After(time.Second):
+		t.Fatal("expected a report for the open session")
+	}
+}